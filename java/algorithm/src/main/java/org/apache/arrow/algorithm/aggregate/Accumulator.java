@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.aggregate;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.DataSizeRoundingUtil;
+import org.apache.arrow.vector.BaseIntVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.FloatingPointVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * The state of an aggregate for all the groups, stored off-heap as a 64-bit value and a validity
+ * bit per group. The buffers grow with the number of groups.
+ */
+abstract class Accumulator implements AutoCloseable {
+
+  /**
+   * The width of the value of a group.
+   */
+  static final int VALUE_WIDTH = 8;
+
+  private static final int MIN_CAPACITY = 64;
+
+  private final BufferAllocator allocator;
+
+  /**
+   * The value of each group.
+   */
+  private ArrowBuf values;
+
+  /**
+   * Whether each group has a value, i.e. whether an input value has been aggregated into it.
+   */
+  private ArrowBuf validity;
+
+  private long valuesAddress;
+
+  private long validityAddress;
+
+  /**
+   * The number of groups the buffers can hold.
+   */
+  private int capacity;
+
+  Accumulator(BufferAllocator allocator) {
+    this.allocator = allocator;
+    this.values = allocator.getEmpty();
+    this.validity = allocator.getEmpty();
+  }
+
+  /**
+   * Creates the accumulator of an aggregation.
+   * @param aggregation the aggregation.
+   * @param inputField the input column, or null when rows are counted.
+   * @param allocator the allocator for the buffers.
+   */
+  static Accumulator create(Aggregation aggregation, Field inputField, BufferAllocator allocator) {
+    if (aggregation.getFunction() == AggregateFunction.COUNT) {
+      return new CountAccumulator(inputField != null, allocator);
+    }
+    switch (inputField.getType().getTypeID()) {
+      case Int:
+        final ArrowType.Int intType = (ArrowType.Int) inputField.getType();
+        if (intType.getIsSigned()) {
+          return new LongAccumulator(aggregation.getFunction(), -1L, allocator);
+        }
+        // unsigned 64-bit values do not fit in the signed 64-bit result
+        if (intType.getBitWidth() < Long.SIZE) {
+          return new LongAccumulator(aggregation.getFunction(), (1L << intType.getBitWidth()) - 1, allocator);
+        }
+        break;
+      case FloatingPoint:
+        if (((ArrowType.FloatingPoint) inputField.getType()).getPrecision() != FloatingPointPrecision.HALF) {
+          return new DoubleAccumulator(aggregation.getFunction(), allocator);
+        }
+        break;
+      default:
+        break;
+    }
+    throw new IllegalArgumentException("Cannot compute " + aggregation.getFunction() + " of column " +
+        inputField.getName() + " of type " + inputField.getType());
+  }
+
+  /**
+   * Makes room for the given number of groups. The new groups have no value.
+   */
+  void ensureCapacity(int groupCount) {
+    if (groupCount <= capacity) {
+      return;
+    }
+    final int newCapacity = (int) Math.min(Integer.MAX_VALUE,
+        Math.max(groupCount, Math.max(MIN_CAPACITY, 2L * capacity)));
+    values = grow(values, (long) capacity * VALUE_WIDTH, (long) newCapacity * VALUE_WIDTH);
+    validity = grow(validity, DataSizeRoundingUtil.divideBy8Ceil(capacity),
+        DataSizeRoundingUtil.divideBy8Ceil(newCapacity));
+    valuesAddress = values.memoryAddress();
+    validityAddress = validity.memoryAddress();
+    capacity = newCapacity;
+  }
+
+  private ArrowBuf grow(ArrowBuf buffer, long usedBytes, long newBytes) {
+    ArrowBuf newBuffer = allocator.buffer(newBytes);
+    newBuffer.setZero(0, newBuffer.capacity());
+    newBuffer.setBytes(0, buffer, 0, usedBytes);
+    buffer.close();
+    return newBuffer;
+  }
+
+  protected final boolean hasValue(int group) {
+    return ((PlatformDependent.getByte(validityAddress + (group >>> 3)) >>> (group & 7)) & 1) != 0;
+  }
+
+  protected final long getLong(int group) {
+    return PlatformDependent.getLong(valuesAddress + (long) group * VALUE_WIDTH);
+  }
+
+  /**
+   * Sets the value of a group, which must already have a value.
+   */
+  protected final void replaceLong(int group, long value) {
+    PlatformDependent.putLong(valuesAddress + (long) group * VALUE_WIDTH, value);
+  }
+
+  protected final void setLong(int group, long value) {
+    replaceLong(group, value);
+    final long byteAddress = validityAddress + (group >>> 3);
+    PlatformDependent.putByte(byteAddress, (byte) (PlatformDependent.getByte(byteAddress) | (1 << (group & 7))));
+  }
+
+  protected final double getDouble(int group) {
+    return Double.longBitsToDouble(getLong(group));
+  }
+
+  protected final void setDouble(int group, double value) {
+    setLong(group, Double.doubleToRawLongBits(value));
+  }
+
+  protected final void replaceDouble(int group, double value) {
+    replaceLong(group, Double.doubleToRawLongBits(value));
+  }
+
+  /**
+   * Gets the group of a row of the current batch.
+   */
+  protected static int getGroup(ArrowBuf groupIds, int row) {
+    return PlatformDependent.getInt(groupIds.memoryAddress() + (long) row * Integer.BYTES);
+  }
+
+  /**
+   * Gets the field of the output column.
+   */
+  abstract Field getOutputField(String name);
+
+  /**
+   * Aggregates the values of a batch into their groups.
+   * @param input the input column, or null when rows are counted.
+   * @param groupIds the group of each row, as 32-bit integers.
+   * @param rowCount the number of rows in the batch.
+   */
+  abstract void update(ValueVector input, ArrowBuf groupIds, int rowCount);
+
+  /**
+   * Writes the values of a range of groups into an output vector created from the output field.
+   * @param startGroup the first group to write.
+   * @param count the number of groups to write.
+   * @param output the output vector, whose first value receives the value of the first group.
+   */
+  abstract void emit(int startGroup, int count, FieldVector output);
+
+  @Override
+  public void close() {
+    values.close();
+    validity.close();
+  }
+
+  /**
+   * Counts the rows or the non-null input values.
+   */
+  private static class CountAccumulator extends Accumulator {
+
+    private final boolean skipNulls;
+
+    CountAccumulator(boolean skipNulls, BufferAllocator allocator) {
+      super(allocator);
+      this.skipNulls = skipNulls;
+    }
+
+    @Override
+    Field getOutputField(String name) {
+      return new Field(name, new FieldType(false, Types.MinorType.BIGINT.getType(), null), null);
+    }
+
+    @Override
+    void update(ValueVector input, ArrowBuf groupIds, int rowCount) {
+      for (int row = 0; row < rowCount; row++) {
+        if (!skipNulls || !input.isNull(row)) {
+          int group = getGroup(groupIds, row);
+          replaceLong(group, getLong(group) + 1);
+        }
+      }
+    }
+
+    @Override
+    void emit(int startGroup, int count, FieldVector output) {
+      BigIntVector vector = (BigIntVector) output;
+      for (int i = 0; i < count; i++) {
+        vector.setSafe(i, getLong(startGroup + i));
+      }
+    }
+  }
+
+  /**
+   * Aggregates signed integers of any width, and unsigned integers narrower than 64 bits, into
+   * 64-bit integers. Sums wrap around on overflow.
+   */
+  private static class LongAccumulator extends Accumulator {
+
+    private final AggregateFunction function;
+
+    /**
+     * The mask applied to the input values, which zero-extends unsigned values that
+     * {@link BaseIntVector#getValueAsLong(int)} sign-extends.
+     */
+    private final long mask;
+
+    LongAccumulator(AggregateFunction function, long mask, BufferAllocator allocator) {
+      super(allocator);
+      this.function = function;
+      this.mask = mask;
+    }
+
+    @Override
+    Field getOutputField(String name) {
+      return Field.nullable(name, Types.MinorType.BIGINT.getType());
+    }
+
+    @Override
+    void update(ValueVector input, ArrowBuf groupIds, int rowCount) {
+      BaseIntVector vector = (BaseIntVector) input;
+      for (int row = 0; row < rowCount; row++) {
+        if (input.isNull(row)) {
+          continue;
+        }
+        final int group = getGroup(groupIds, row);
+        final long value = vector.getValueAsLong(row) & mask;
+        if (!hasValue(group)) {
+          setLong(group, value);
+          continue;
+        }
+        switch (function) {
+          case SUM:
+            replaceLong(group, getLong(group) + value);
+            break;
+          case MIN:
+            replaceLong(group, Math.min(getLong(group), value));
+            break;
+          case MAX:
+            replaceLong(group, Math.max(getLong(group), value));
+            break;
+          default:
+            throw new UnsupportedOperationException("Unsupported aggregate function " + function);
+        }
+      }
+    }
+
+    @Override
+    void emit(int startGroup, int count, FieldVector output) {
+      BigIntVector vector = (BigIntVector) output;
+      for (int i = 0; i < count; i++) {
+        if (hasValue(startGroup + i)) {
+          vector.setSafe(i, getLong(startGroup + i));
+        } else {
+          vector.setNull(i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Aggregates single and double precision floating point numbers into doubles.
+   */
+  private static class DoubleAccumulator extends Accumulator {
+
+    private final AggregateFunction function;
+
+    DoubleAccumulator(AggregateFunction function, BufferAllocator allocator) {
+      super(allocator);
+      this.function = function;
+    }
+
+    @Override
+    Field getOutputField(String name) {
+      return Field.nullable(name, Types.MinorType.FLOAT8.getType());
+    }
+
+    @Override
+    void update(ValueVector input, ArrowBuf groupIds, int rowCount) {
+      FloatingPointVector vector = (FloatingPointVector) input;
+      for (int row = 0; row < rowCount; row++) {
+        if (input.isNull(row)) {
+          continue;
+        }
+        final int group = getGroup(groupIds, row);
+        final double value = vector.getValueAsDouble(row);
+        if (!hasValue(group)) {
+          setDouble(group, value);
+          continue;
+        }
+        switch (function) {
+          case SUM:
+            replaceDouble(group, getDouble(group) + value);
+            break;
+          case MIN:
+            replaceDouble(group, Math.min(getDouble(group), value));
+            break;
+          case MAX:
+            replaceDouble(group, Math.max(getDouble(group), value));
+            break;
+          default:
+            throw new UnsupportedOperationException("Unsupported aggregate function " + function);
+        }
+      }
+    }
+
+    @Override
+    void emit(int startGroup, int count, FieldVector output) {
+      Float8Vector vector = (Float8Vector) output;
+      for (int i = 0; i < count; i++) {
+        if (hasValue(startGroup + i)) {
+          vector.setSafe(i, getDouble(startGroup + i));
+        } else {
+          vector.setNull(i);
+        }
+      }
+    }
+  }
+}
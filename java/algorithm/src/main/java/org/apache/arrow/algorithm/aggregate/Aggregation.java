@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.aggregate;
+
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * An aggregate computed by {@link HashAggregator} for each group: a function, the input
+ * column it is applied to, and the name of the output column.
+ */
+public final class Aggregation {
+
+  private final AggregateFunction function;
+
+  private final String inputColumn;
+
+  private final String outputColumn;
+
+  /**
+   * Constructs an aggregation.
+   * @param function the aggregate function.
+   * @param inputColumn the name of the input column, or null to count rows with {@link AggregateFunction#COUNT}.
+   * @param outputColumn the name of the output column.
+   */
+  public Aggregation(AggregateFunction function, String inputColumn, String outputColumn) {
+    Preconditions.checkNotNull(function, "The aggregate function must not be null");
+    Preconditions.checkArgument(inputColumn != null || function == AggregateFunction.COUNT,
+        "Only COUNT can be computed without an input column");
+    Preconditions.checkNotNull(outputColumn, "The output column must not be null");
+    this.function = function;
+    this.inputColumn = inputColumn;
+    this.outputColumn = outputColumn;
+  }
+
+  /**
+   * Counts the rows of each group, in a column named "count".
+   */
+  public static Aggregation countAll() {
+    return new Aggregation(AggregateFunction.COUNT, null, "count");
+  }
+
+  /**
+   * Counts the non-null values of a column, in a column named "count_" followed by the input column name.
+   */
+  public static Aggregation count(String inputColumn) {
+    return new Aggregation(AggregateFunction.COUNT, inputColumn, "count_" + inputColumn);
+  }
+
+  /**
+   * Sums a column, in a column named "sum_" followed by the input column name.
+   */
+  public static Aggregation sum(String inputColumn) {
+    return new Aggregation(AggregateFunction.SUM, inputColumn, "sum_" + inputColumn);
+  }
+
+  /**
+   * Gets the minimum of a column, in a column named "min_" followed by the input column name.
+   */
+  public static Aggregation min(String inputColumn) {
+    return new Aggregation(AggregateFunction.MIN, inputColumn, "min_" + inputColumn);
+  }
+
+  /**
+   * Gets the maximum of a column, in a column named "max_" followed by the input column name.
+   */
+  public static Aggregation max(String inputColumn) {
+    return new Aggregation(AggregateFunction.MAX, inputColumn, "max_" + inputColumn);
+  }
+
+  public AggregateFunction getFunction() {
+    return function;
+  }
+
+  /**
+   * Gets the name of the input column, or null when rows are counted.
+   */
+  public String getInputColumn() {
+    return inputColumn;
+  }
+
+  public String getOutputColumn() {
+    return outputColumn;
+  }
+}
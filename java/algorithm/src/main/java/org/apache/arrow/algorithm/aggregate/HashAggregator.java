@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.algorithm.sort.DefaultVectorComparators;
+import org.apache.arrow.algorithm.sort.VectorValueComparator;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.IndexHashTable;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Hash aggregation (group-by) over a stream of {@link VectorSchemaRoot} batches, e.g. those of an
+ * {@link org.apache.arrow.vector.ipc.ArrowStreamReader}.
+ *
+ * <p>The batches are consumed one at a time. The rows are hashed over the key columns with an
+ * {@link ArrowBufHasher}, and looked up in an {@link IndexHashTable} of group ids. The key of each
+ * group is stored once in vectors of the key types, and the keys are matched with the default
+ * comparators of the key columns, column after column. The aggregates are kept in off-heap
+ * buffers, one 64-bit value per group.
+ *
+ * <p>All the state is allocated from a child allocator, so its memory is accounted to the given
+ * allocator and can be bounded with a limit. There is no spilling: exceeding the limit fails with
+ * an {@link org.apache.arrow.memory.OutOfMemoryException}, after which the aggregator can only be
+ * closed.
+ *
+ * <p>The results, one row per group in the order the groups were first seen, are emitted in
+ * batches with {@link #getResults(int, int, VectorSchemaRoot)}: the key columns first, followed
+ * by a column per aggregation. SUM, MIN and MAX produce BIGINT for integer inputs and FLOAT8
+ * for floating point inputs, and COUNT produces a non-nullable BIGINT. Null keys form a group.
+ */
+public class HashAggregator implements AutoCloseable {
+
+  private final BufferAllocator allocator;
+
+  private final List<String> keyColumns;
+
+  private final List<Aggregation> aggregations;
+
+  private final ArrowBufHasher hasher;
+
+  /**
+   * The key of each group, with the group id as index.
+   */
+  private final FieldVector[] groupKeys;
+
+  /**
+   * Compares the keys of the current batch with the keys of the groups, one per key column.
+   */
+  private final VectorValueComparator[] keyComparators;
+
+  private final Accumulator[] accumulators;
+
+  private final Schema resultSchema;
+
+  /**
+   * The hash table from the hash codes of the keys to the group ids.
+   */
+  private final IndexHashTable hashTable;
+
+  /**
+   * Checks if the key of a group equals the key of the current row.
+   */
+  private final IndexHashTable.IndexMatcher matcher;
+
+  /**
+   * The group id of each row of the current batch, as 32-bit integers.
+   */
+  private ArrowBuf groupIds;
+
+  private int groupCount;
+
+  private int currentRow;
+
+  /**
+   * Constructs an aggregator without memory limit, besides the limit of the given allocator.
+   * @param inputSchema the schema of the batches to aggregate.
+   * @param keyColumns the names of the columns to group by. When empty, all rows form a single group.
+   * @param aggregations the aggregates to compute for each group.
+   * @param allocator the parent allocator of the allocator for the aggregation state.
+   */
+  public HashAggregator(Schema inputSchema, List<String> keyColumns, List<Aggregation> aggregations,
+      BufferAllocator allocator) {
+    this(inputSchema, keyColumns, aggregations, allocator, Long.MAX_VALUE, SimpleHasher.INSTANCE);
+  }
+
+  /**
+   * Constructs an aggregator.
+   * @param inputSchema the schema of the batches to aggregate.
+   * @param keyColumns the names of the columns to group by. When empty, all rows form a single group.
+   *     The columns must be of a type supported by {@link DefaultVectorComparators}.
+   * @param aggregations the aggregates to compute for each group.
+   * @param allocator the parent allocator of the allocator for the aggregation state.
+   * @param memoryLimit the maximum memory of the aggregation state, in bytes.
+   * @param hasher the hasher for the keys.
+   */
+  public HashAggregator(Schema inputSchema, List<String> keyColumns, List<Aggregation> aggregations,
+      BufferAllocator allocator, long memoryLimit, ArrowBufHasher hasher) {
+    this.keyColumns = new ArrayList<>(keyColumns);
+    this.aggregations = new ArrayList<>(aggregations);
+    this.hasher = hasher;
+    this.allocator = allocator.newChildAllocator("HashAggregator", 0, memoryLimit);
+    this.groupKeys = new FieldVector[keyColumns.size()];
+    this.keyComparators = new VectorValueComparator[keyColumns.size()];
+    this.accumulators = new Accumulator[aggregations.size()];
+
+    boolean success = false;
+    try {
+      List<Field> resultFields = new ArrayList<>();
+      for (int i = 0; i < groupKeys.length; i++) {
+        Field keyField = inputSchema.findField(keyColumns.get(i));
+        groupKeys[i] = keyField.createVector(this.allocator);
+        keyComparators[i] = DefaultVectorComparators.createDefaultComparator(groupKeys[i]);
+        resultFields.add(keyField);
+      }
+      for (int i = 0; i < accumulators.length; i++) {
+        Aggregation aggregation = aggregations.get(i);
+        Field inputField = aggregation.getInputColumn() == null ? null :
+            inputSchema.findField(aggregation.getInputColumn());
+        accumulators[i] = Accumulator.create(aggregation, inputField, this.allocator);
+        resultFields.add(accumulators[i].getOutputField(aggregation.getOutputColumn()));
+      }
+      resultSchema = new Schema(resultFields);
+
+      hashTable = new IndexHashTable(this.allocator);
+      groupIds = this.allocator.getEmpty();
+      success = true;
+    } finally {
+      if (!success) {
+        close();
+      }
+    }
+
+    matcher = group -> {
+      for (int i = 0; i < keyComparators.length; i++) {
+        if (keyComparators[i].compare(currentRow, group) != 0) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+
+  /**
+   * Gets the schema of the results.
+   */
+  public Schema getResultSchema() {
+    return resultSchema;
+  }
+
+  /**
+   * Gets the number of groups seen so far.
+   */
+  public int getGroupCount() {
+    return groupCount;
+  }
+
+  /**
+   * Gets the memory held by the aggregation state, in bytes.
+   */
+  public long getAllocatedMemory() {
+    return allocator.getAllocatedMemory();
+  }
+
+  private ValueVector getColumn(VectorSchemaRoot batch, String name, Field expectedField) {
+    FieldVector vector = batch.getVector(name);
+    Preconditions.checkArgument(vector != null, "Column %s not found in the batch", name);
+    Preconditions.checkArgument(vector.getField().getType().equals(expectedField.getType()),
+        "Column %s has type %s, but type %s was expected", name, vector.getField().getType(), expectedField.getType());
+    return vector;
+  }
+
+  /**
+   * Aggregates the rows of a batch. The batch is not retained, so it can be reused for the next batch.
+   * @param batch the batch, whose columns must have the types of the input schema.
+   */
+  @SuppressWarnings("unchecked")
+  public void consume(VectorSchemaRoot batch) {
+    final int rowCount = batch.getRowCount();
+    final ValueVector[] keys = new ValueVector[groupKeys.length];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = getColumn(batch, keyColumns.get(i), groupKeys[i].getField());
+      keyComparators[i].attachVectors(keys[i], groupKeys[i]);
+    }
+    final ValueVector[] inputs = new ValueVector[accumulators.length];
+    for (int i = 0; i < inputs.length; i++) {
+      String inputColumn = aggregations.get(i).getInputColumn();
+      if (inputColumn != null) {
+        inputs[i] = batch.getVector(inputColumn);
+        Preconditions.checkArgument(inputs[i] != null, "Column %s not found in the batch", inputColumn);
+      }
+    }
+
+    if (groupIds.capacity() < (long) rowCount * Integer.BYTES) {
+      groupIds.close();
+      // not left pointing to the released buffer if the allocation fails
+      groupIds = allocator.getEmpty();
+      groupIds = allocator.buffer((long) rowCount * Integer.BYTES);
+    }
+
+    final long groupIdAddress = groupIds.memoryAddress();
+    for (int row = 0; row < rowCount; row++) {
+      int hashCode = 0;
+      for (ValueVector key : keys) {
+        hashCode = ByteFunctionHelpers.combineHash(hashCode, key.hashCode(row, hasher));
+      }
+
+      currentRow = row;
+      int group = hashTable.putIfAbsent(hashCode, groupCount, matcher);
+      if (group == IndexHashTable.NOT_FOUND) {
+        group = groupCount++;
+        for (int i = 0; i < keys.length; i++) {
+          groupKeys[i].copyFromSafe(row, group, keys[i]);
+        }
+      }
+      PlatformDependent.putInt(groupIdAddress + (long) row * Integer.BYTES, group);
+    }
+
+    for (FieldVector groupKey : groupKeys) {
+      groupKey.setValueCount(groupCount);
+    }
+    for (int i = 0; i < accumulators.length; i++) {
+      accumulators[i].ensureCapacity(groupCount);
+      accumulators[i].update(inputs[i], groupIds, rowCount);
+    }
+  }
+
+  /**
+   * Writes the results of a range of groups to a batch.
+   * @param startGroup the first group to write.
+   * @param count the number of groups to write.
+   * @param result the batch to populate, with the {@link #getResultSchema() result schema}.
+   *     Its previous content is discarded.
+   */
+  public void getResults(int startGroup, int count, VectorSchemaRoot result) {
+    Preconditions.checkPositionIndexes(startGroup, startGroup + count, groupCount);
+    Preconditions.checkArgument(result.getSchema().equals(resultSchema),
+        "The result batch must have the schema %s", resultSchema);
+
+    result.allocateNew();
+    for (int i = 0; i < groupKeys.length; i++) {
+      FieldVector output = result.getVector(i);
+      for (int j = 0; j < count; j++) {
+        output.copyFromSafe(startGroup + j, j, groupKeys[i]);
+      }
+    }
+    for (int i = 0; i < accumulators.length; i++) {
+      accumulators[i].emit(startGroup, count, result.getVector(groupKeys.length + i));
+    }
+    result.setRowCount(count);
+  }
+
+  /**
+   * Releases the aggregation state, and closes its allocator.
+   */
+  @Override
+  public void close() {
+    for (FieldVector groupKey : groupKeys) {
+      if (groupKey != null) {
+        groupKey.close();
+      }
+    }
+    for (Accumulator accumulator : accumulators) {
+      if (accumulator != null) {
+        accumulator.close();
+      }
+    }
+    if (hashTable != null) {
+      hashTable.close();
+    }
+    if (groupIds != null) {
+      groupIds.close();
+    }
+    allocator.close();
+  }
+}
@@ -17,10 +17,9 @@
 
 package org.apache.arrow.algorithm.dictionary;
 
-import java.util.HashMap;
-
 import org.apache.arrow.memory.util.ArrowBufPointer;
 import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.IndexHashTable;
 import org.apache.arrow.memory.util.hash.SimpleHasher;
 import org.apache.arrow.vector.ElementAddressableVector;
 
@@ -28,6 +27,7 @@ import org.apache.arrow.vector.ElementAddressableVector;
  * This class builds the dictionary based on a hash table.
  * Each add operation can be finished in O(1) time,
  * where n is the current dictionary size.
+ * The hash table is kept on heap, without an object per dictionary entry.
  *
  * @param <V> the dictionary vector type.
  */
@@ -44,10 +44,9 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
   private final boolean encodeNull;
 
   /**
-   * The hash map for distinct dictionary entries.
-   * The key is the pointer to the dictionary element, whereas the value is the index in the dictionary.
+   * The hash table for distinct dictionary entries, from the hash code of a dictionary element to its index.
    */
-  private HashMap<ArrowBufPointer, Integer> hashMap = new HashMap<>();
+  private final IndexHashTable hashTable;
 
   /**
    * The hasher used for calculating the hash code.
@@ -55,9 +54,19 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
   private final ArrowBufHasher hasher;
 
   /**
-   * Next pointer to try to add to the hash table.
+   * Pointer to the element to try to add to the hash table.
+   */
+  private final ArrowBufPointer nextPointer;
+
+  /**
+   * Pointer to the dictionary element compared with the next pointer.
    */
-  private ArrowBufPointer nextPointer;
+  private final ArrowBufPointer dictionaryPointer;
+
+  /**
+   * Checks if the dictionary element at an index equals the next pointer.
+   */
+  private final IndexHashTable.IndexMatcher matcher;
 
   /**
    * Constructs a hash table based dictionary builder.
@@ -90,6 +99,12 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
     this.encodeNull = encodeNull;
     this.hasher = hasher;
     this.nextPointer = new ArrowBufPointer(hasher);
+    this.dictionaryPointer = new ArrowBufPointer(hasher);
+    this.hashTable = new IndexHashTable(IndexHashTable.DEFAULT_INITIAL_CAPACITY);
+    this.matcher = index -> {
+      dictionary.getDataPointer(index, dictionaryPointer);
+      return dictionaryPointer.equals(nextPointer);
+    };
   }
 
   /**
@@ -132,19 +147,14 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
   public int addValue(V targetVector, int targetIndex) {
     targetVector.getDataPointer(targetIndex, nextPointer);
 
-    Integer index = hashMap.get(nextPointer);
-    if (index == null) {
-      // a new dictionary element is found
+    int dictSize = dictionary.getValueCount();
+    int index = hashTable.putIfAbsent(nextPointer.hashCode(), dictSize, matcher);
+    if (index == IndexHashTable.NOT_FOUND) {
+      // a new dictionary element is found, which was added to the hash table with the next index
 
       // insert it to the dictionary
-      int dictSize = dictionary.getValueCount();
       dictionary.copyFromSafe(targetIndex, dictSize, targetVector);
       dictionary.setValueCount(dictSize + 1);
-      dictionary.getDataPointer(dictSize, nextPointer);
-
-      // insert it to the hash map
-      hashMap.put(nextPointer, dictSize);
-      nextPointer = new ArrowBufPointer(hasher);
 
       return dictSize;
     }
@@ -17,16 +17,16 @@
 
 package org.apache.arrow.algorithm.dictionary;
 
-import java.util.HashMap;
-
 import org.apache.arrow.memory.util.ArrowBufPointer;
 import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.IndexHashTable;
 import org.apache.arrow.memory.util.hash.SimpleHasher;
 import org.apache.arrow.vector.BaseIntVector;
 import org.apache.arrow.vector.ElementAddressableVector;
 
 /**
  * Dictionary encoder based on hash table.
+ * The hash table is kept on heap, without an object per dictionary entry.
  * @param <E> encoded vector type.
  * @param <D> decoded vector type, which is also the dictionary type.
  */
@@ -50,15 +50,24 @@ public class HashTableDictionaryEncoder<E extends BaseIntVector, D extends Eleme
   private final boolean encodeNull;
 
   /**
-   * The hash map for distinct dictionary entries.
-   * The key is the pointer to the dictionary element, whereas the value is the index in the dictionary.
+   * The hash table for distinct dictionary entries, from the hash code of a dictionary element to its index.
    */
-  private HashMap<ArrowBufPointer, Integer> hashMap = new HashMap<>();
+  private final IndexHashTable hashTable;
 
   /**
    * The pointer used to probe each element to encode.
    */
-  private ArrowBufPointer reusablePointer;
+  private final ArrowBufPointer reusablePointer;
+
+  /**
+   * The pointer to the dictionary element compared with the probed element.
+   */
+  private final ArrowBufPointer dictionaryPointer;
+
+  /**
+   * Checks if the dictionary element at an index equals the probed element.
+   */
+  private final IndexHashTable.IndexMatcher matcher;
 
   /**
    * Constructs a dictionary encoder.
@@ -107,15 +116,21 @@ public class HashTableDictionaryEncoder<E extends BaseIntVector, D extends Eleme
     this.encodeNull = encodeNull;
 
     reusablePointer = new ArrowBufPointer(hasher);
-
-    buildHashMap();
+    dictionaryPointer = new ArrowBufPointer(hasher);
+    matcher = index -> {
+      dictionary.getDataPointer(index, dictionaryPointer);
+      return dictionaryPointer.equals(reusablePointer);
+    };
+
+    hashTable = new IndexHashTable(dictionary.getValueCount());
+    buildHashTable();
   }
 
-  private void buildHashMap() {
-    for (int i = 0; i < dictionary.getValueCount(); i++) {
-      ArrowBufPointer pointer = new ArrowBufPointer(hasher);
-      dictionary.getDataPointer(i, pointer);
-      hashMap.put(pointer, i);
+  private void buildHashTable() {
+    // from the last entry, so that duplicate values in the dictionary are encoded to their latest index
+    for (int i = dictionary.getValueCount() - 1; i >= 0; i--) {
+      dictionary.getDataPointer(i, reusablePointer);
+      hashTable.putIfAbsent(reusablePointer.hashCode(), i, matcher);
     }
   }
 
@@ -134,9 +149,9 @@ public class HashTableDictionaryEncoder<E extends BaseIntVector, D extends Eleme
       }
 
       input.getDataPointer(i, reusablePointer);
-      Integer index = hashMap.get(reusablePointer);
+      int index = hashTable.get(reusablePointer.hashCode(), matcher);
 
-      if (index == null) {
+      if (index == IndexHashTable.NOT_FOUND) {
         throw new IllegalArgumentException("The data element is not found in the dictionary");
       }
       output.setWithPossibleTruncate(i, index);
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.join;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.VectorSchemaRootAppender;
+import org.apache.arrow.vector.util.VectorSelector;
+
+/**
+ * Hash join of a build side, collected in memory, with a stream of probe batches.
+ *
+ * <p>The build batches are appended to vectors held by the join with {@link #build(VectorSchemaRoot)}.
+ * When the build side is complete, a hash table is built over it, partitioned by hash code and
+ * built in parallel by the threads of a {@link ForkJoinPool}. Each probe batch is then joined
+ * with {@link #probe(VectorSchemaRoot, VectorSchemaRoot)}: the indices of the matching probe and
+ * build rows are collected first, and the output columns are gathered from them with
+ * {@link VectorSelector#take(ValueVector, IntVector, ValueVector)}.
+ *
+ * <p>Keys are compared with {@link org.apache.arrow.vector.compare.RangeEqualsVisitor}, and a
+ * probe key column must have the same type as the corresponding build key column. Rows with a null
+ * key never match.
+ *
+ * <p>The output has the probe columns followed, for inner and left outer joins, by the build
+ * columns. For left outer joins, the build columns of the probe rows without match are null,
+ * whether or not their fields are nullable.
+ *
+ * <p>All the state is allocated from a child allocator of the given allocator. The join is not
+ * thread-safe.
+ */
+public class HashJoin implements AutoCloseable {
+
+  /**
+   * The number of partitions of the hash table per thread of the pool, which evens out the load.
+   */
+  private static final int PARTITIONS_PER_THREAD = 4;
+
+  private final BufferAllocator allocator;
+
+  private final List<String> probeKeyColumns;
+
+  private final List<String> buildKeyColumns;
+
+  private final JoinType joinType;
+
+  private final ForkJoinPool pool;
+
+  private final ArrowBufHasher hasher;
+
+  private final Schema probeSchema;
+
+  private final Schema outputSchema;
+
+  /**
+   * The rows of the build side.
+   */
+  private final VectorSchemaRoot buildData;
+
+  /**
+   * The hash table over the build rows, created when the build side is complete.
+   */
+  private JoinHashTable hashTable;
+
+  /**
+   * Constructs a join which builds its hash table with the common pool.
+   * @param probeSchema the schema of the probe batches.
+   * @param probeKeyColumns the names of the key columns of the probe batches.
+   * @param buildSchema the schema of the build batches.
+   * @param buildKeyColumns the names of the key columns of the build batches, in the order of the probe key columns.
+   * @param joinType the type of join.
+   * @param allocator the parent allocator of the allocator for the join state.
+   */
+  public HashJoin(Schema probeSchema, List<String> probeKeyColumns, Schema buildSchema, List<String> buildKeyColumns,
+      JoinType joinType, BufferAllocator allocator) {
+    this(probeSchema, probeKeyColumns, buildSchema, buildKeyColumns, joinType, allocator, Long.MAX_VALUE,
+        ForkJoinPool.commonPool(), SimpleHasher.INSTANCE);
+  }
+
+  /**
+   * Constructs a join.
+   * @param probeSchema the schema of the probe batches.
+   * @param probeKeyColumns the names of the key columns of the probe batches.
+   * @param buildSchema the schema of the build batches.
+   * @param buildKeyColumns the names of the key columns of the build batches, in the order of the probe key columns.
+   * @param joinType the type of join.
+   * @param allocator the parent allocator of the allocator for the join state.
+   * @param memoryLimit the maximum memory of the join state, in bytes.
+   * @param pool the pool to build the hash table.
+   * @param hasher the hasher for the keys.
+   */
+  public HashJoin(Schema probeSchema, List<String> probeKeyColumns, Schema buildSchema, List<String> buildKeyColumns,
+      JoinType joinType, BufferAllocator allocator, long memoryLimit, ForkJoinPool pool, ArrowBufHasher hasher) {
+    Preconditions.checkArgument(!probeKeyColumns.isEmpty(), "There must be at least one key column");
+    Preconditions.checkArgument(probeKeyColumns.size() == buildKeyColumns.size(),
+        "The probe and build sides must have the same number of key columns");
+    for (int i = 0; i < probeKeyColumns.size(); i++) {
+      Field probeKey = probeSchema.findField(probeKeyColumns.get(i));
+      Field buildKey = buildSchema.findField(buildKeyColumns.get(i));
+      Preconditions.checkArgument(probeKey.getType().equals(buildKey.getType()),
+          "Probe key column %s has type %s, but build key column %s has type %s",
+          probeKey.getName(), probeKey.getType(), buildKey.getName(), buildKey.getType());
+    }
+
+    this.probeSchema = probeSchema;
+    this.probeKeyColumns = new ArrayList<>(probeKeyColumns);
+    this.buildKeyColumns = new ArrayList<>(buildKeyColumns);
+    this.joinType = joinType;
+    this.pool = pool;
+    this.hasher = hasher;
+
+    List<Field> outputFields = new ArrayList<>(probeSchema.getFields());
+    if (joinType == JoinType.INNER || joinType == JoinType.LEFT_OUTER) {
+      outputFields.addAll(buildSchema.getFields());
+    }
+    this.outputSchema = new Schema(outputFields);
+
+    this.allocator = allocator.newChildAllocator("HashJoin", 0, memoryLimit);
+    this.buildData = VectorSchemaRoot.create(buildSchema, this.allocator);
+    try {
+      // the appender expects the buffers of the target to be allocated
+      buildData.allocateNew();
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the schema of the output batches.
+   */
+  public Schema getOutputSchema() {
+    return outputSchema;
+  }
+
+  /**
+   * Gets the memory held by the join state, in bytes.
+   */
+  public long getAllocatedMemory() {
+    return allocator.getAllocatedMemory();
+  }
+
+  /**
+   * Adds the rows of a batch to the build side. The batch is copied, so it can be reused afterwards.
+   * @param buildBatch the batch, with the schema of the build side.
+   * @throws IllegalStateException if the build side is already complete.
+   */
+  public void build(VectorSchemaRoot buildBatch) {
+    Preconditions.checkState(hashTable == null, "The build side is already complete");
+    VectorSchemaRootAppender.append(buildData, buildBatch);
+  }
+
+  /**
+   * Completes the build side, and builds the hash table. It is called by the first probe if needed.
+   */
+  public void finishBuild() {
+    if (hashTable != null) {
+      return;
+    }
+    final ValueVector[] buildKeys = new ValueVector[buildKeyColumns.size()];
+    for (int i = 0; i < buildKeys.length; i++) {
+      buildKeys[i] = buildData.getVector(buildKeyColumns.get(i));
+    }
+    final int partitionCount = Integer.highestOneBit(Math.max(1, pool.getParallelism()) * PARTITIONS_PER_THREAD);
+    hashTable = new JoinHashTable(buildKeys, buildData.getRowCount(), hasher, partitionCount, pool, allocator);
+  }
+
+  /**
+   * Joins a probe batch with the build side.
+   * @param probeBatch the batch, with the schema of the probe side.
+   * @param output the batch to populate, with the {@link #getOutputSchema() output schema}.
+   *     Its previous content is discarded. It holds all the output rows for the probe batch.
+   */
+  public void probe(VectorSchemaRoot probeBatch, VectorSchemaRoot output) {
+    Preconditions.checkArgument(probeBatch.getSchema().equals(probeSchema),
+        "The probe batch must have the schema %s", probeSchema);
+    Preconditions.checkArgument(output.getSchema().equals(outputSchema),
+        "The output batch must have the schema %s", outputSchema);
+    finishBuild();
+
+    final ValueVector[] probeKeys = new ValueVector[probeKeyColumns.size()];
+    for (int i = 0; i < probeKeys.length; i++) {
+      probeKeys[i] = probeBatch.getVector(probeKeyColumns.get(i));
+    }
+    final JoinHashTable.Prober prober = hashTable.new Prober(probeKeys);
+
+    try (IntVector probeIndices = new IntVector("probe indices", allocator);
+         IntVector buildIndices = new IntVector("build indices", allocator)) {
+      probeIndices.allocateNew(probeBatch.getRowCount());
+      int outputCount = 0;
+      for (int row = 0; row < probeBatch.getRowCount(); row++) {
+        int buildRow = prober.getFirstMatch(row);
+        switch (joinType) {
+          case INNER:
+          case LEFT_OUTER:
+            if (buildRow == JoinHashTable.NO_ROW && joinType == JoinType.LEFT_OUTER) {
+              probeIndices.setSafe(outputCount, row);
+              buildIndices.setSafe(outputCount, 0, 0);
+              outputCount += 1;
+            }
+            for (; buildRow != JoinHashTable.NO_ROW; buildRow = hashTable.getNextRow(buildRow)) {
+              probeIndices.setSafe(outputCount, row);
+              buildIndices.setSafe(outputCount, buildRow);
+              outputCount += 1;
+            }
+            break;
+          case SEMI:
+            if (buildRow != JoinHashTable.NO_ROW) {
+              probeIndices.setSafe(outputCount++, row);
+            }
+            break;
+          case ANTI:
+            if (buildRow == JoinHashTable.NO_ROW) {
+              probeIndices.setSafe(outputCount++, row);
+            }
+            break;
+          default:
+            throw new UnsupportedOperationException("Unsupported join type " + joinType);
+        }
+      }
+      probeIndices.setValueCount(outputCount);
+      buildIndices.setValueCount(outputCount);
+
+      final int probeColumnCount = probeBatch.getFieldVectors().size();
+      for (int i = 0; i < probeColumnCount; i++) {
+        VectorSelector.take(probeBatch.getVector(i), probeIndices, output.getVector(i));
+      }
+      if (output.getFieldVectors().size() > probeColumnCount) {
+        for (int i = 0; i < buildData.getFieldVectors().size(); i++) {
+          VectorSelector.take(buildData.getVector(i), buildIndices, output.getVector(probeColumnCount + i));
+        }
+      }
+      output.setRowCount(outputCount);
+    }
+  }
+
+  /**
+   * Releases the build side and the hash table, and closes the allocator of the join.
+   */
+  @Override
+  public void close() {
+    if (hashTable != null) {
+      hashTable.close();
+    }
+    buildData.close();
+    allocator.close();
+  }
+}
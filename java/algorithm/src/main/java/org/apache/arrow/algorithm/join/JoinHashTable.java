@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.join;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.IndexHashTable;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.compare.Range;
+import org.apache.arrow.vector.compare.RangeEqualsVisitor;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Hash table over the rows of the build side of a hash join, from the key of a row to the build
+ * rows with an equal key.
+ *
+ * <p>The rows are split into partitions by their hash codes, and the partitions are built in
+ * parallel, each into its own {@link IndexHashTable} holding the first row of each distinct key.
+ * The other rows of a key are chained from the first one in an off-heap buffer. Keys are compared
+ * with {@link RangeEqualsVisitor}, and rows with a null key are left out.
+ */
+class JoinHashTable implements AutoCloseable {
+
+  /**
+   * The row returned when there is no (more) matching row.
+   */
+  static final int NO_ROW = -1;
+
+  /**
+   * The minimum number of rows hashed by a single task.
+   */
+  private static final int MIN_HASH_TASK_SIZE = 8192;
+
+  private static final int ROW_WIDTH = Integer.BYTES;
+
+  private final BufferAllocator allocator;
+
+  private final ValueVector[] buildKeys;
+
+  private final ArrowBufHasher hasher;
+
+  private final int partitionBits;
+
+  private final IndexHashTable[] partitions;
+
+  /**
+   * For each build row, the next build row with the same key, or {@link #NO_ROW}.
+   */
+  private ArrowBuf nextRows;
+
+  /**
+   * Builds the hash table.
+   * @param buildKeys the key columns of the build side. They must not change while the table is used.
+   * @param rowCount the number of build rows.
+   * @param hasher the hasher for the keys.
+   * @param partitionCount the number of partitions, a power of two.
+   * @param pool the pool to build the partitions.
+   * @param allocator the allocator for the table.
+   */
+  JoinHashTable(ValueVector[] buildKeys, int rowCount, ArrowBufHasher hasher, int partitionCount,
+      ForkJoinPool pool, BufferAllocator allocator) {
+    this.allocator = allocator;
+    this.buildKeys = buildKeys;
+    this.hasher = hasher;
+    this.partitionBits = Integer.numberOfTrailingZeros(partitionCount);
+    this.partitions = new IndexHashTable[partitionCount];
+
+    nextRows = allocator.buffer((long) rowCount * ROW_WIDTH);
+    try {
+      PlatformDependent.setMemory(nextRows.memoryAddress(), (long) rowCount * ROW_WIDTH, (byte) 0xff);
+      build(rowCount, pool);
+    } catch (RuntimeException | Error e) {
+      close();
+      throw e;
+    }
+  }
+
+  private void build(int rowCount, ForkJoinPool pool) {
+    try (ArrowBuf hashCodes = allocator.buffer((long) rowCount * ROW_WIDTH)) {
+      pool.invoke(new HashTask(hashCodes, 0, rowCount));
+
+      // group the rows with a non-null key by partition
+      final int[] partitionStarts = new int[partitions.length + 1];
+      for (int row = 0; row < rowCount; row++) {
+        if (!hasNullKey(buildKeys, row)) {
+          partitionStarts[partitionOf(getInt(hashCodes, row)) + 1] += 1;
+        }
+      }
+      for (int i = 0; i < partitions.length; i++) {
+        partitionStarts[i + 1] += partitionStarts[i];
+      }
+      try (ArrowBuf partitionRows = allocator.buffer((long) partitionStarts[partitions.length] * ROW_WIDTH)) {
+        final int[] positions = partitionStarts.clone();
+        for (int row = 0; row < rowCount; row++) {
+          if (!hasNullKey(buildKeys, row)) {
+            setInt(partitionRows, positions[partitionOf(getInt(hashCodes, row))]++, row);
+          }
+        }
+
+        final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+          final int partition = i;
+          tasks[i] = ForkJoinTask.adapt(() -> buildPartition(
+              partition, hashCodes, partitionRows, partitionStarts[partition], partitionStarts[partition + 1]));
+        }
+        pool.invoke(new RecursiveAction() {
+          @Override
+          protected void compute() {
+            invokeAll(tasks);
+          }
+        });
+      }
+    }
+  }
+
+  private void buildPartition(int partition, ArrowBuf hashCodes, ArrowBuf partitionRows, int start, int end) {
+    final KeyMatcher matcher = new KeyMatcher(buildKeys);
+    final IndexHashTable table = new IndexHashTable(allocator, end - start);
+    partitions[partition] = table;
+    for (int i = start; i < end; i++) {
+      final int row = getInt(partitionRows, i);
+      matcher.row = row;
+      final int firstRow = table.putIfAbsent(getInt(hashCodes, row), row, matcher);
+      if (firstRow != IndexHashTable.NOT_FOUND) {
+        // chain the row right after the first row of the key
+        setInt(nextRows, row, getInt(nextRows, firstRow));
+        setInt(nextRows, firstRow, row);
+      }
+    }
+  }
+
+  /**
+   * Computes the hash codes of a range of build rows, split between tasks.
+   */
+  private class HashTask extends RecursiveAction {
+
+    private final ArrowBuf hashCodes;
+
+    private final int start;
+
+    private final int end;
+
+    HashTask(ArrowBuf hashCodes, int start, int end) {
+      this.hashCodes = hashCodes;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start <= MIN_HASH_TASK_SIZE) {
+        for (int row = start; row < end; row++) {
+          setInt(hashCodes, row, hashKeys(buildKeys, row, hasher));
+        }
+        return;
+      }
+      final int middle = (start + end) >>> 1;
+      invokeAll(new HashTask(hashCodes, start, middle), new HashTask(hashCodes, middle, end));
+    }
+  }
+
+  private static int getInt(ArrowBuf buffer, int index) {
+    return PlatformDependent.getInt(buffer.memoryAddress() + (long) index * ROW_WIDTH);
+  }
+
+  private static void setInt(ArrowBuf buffer, int index, int value) {
+    PlatformDependent.putInt(buffer.memoryAddress() + (long) index * ROW_WIDTH, value);
+  }
+
+  static int hashKeys(ValueVector[] keys, int row, ArrowBufHasher hasher) {
+    int hashCode = 0;
+    for (ValueVector key : keys) {
+      hashCode = ByteFunctionHelpers.combineHash(hashCode, key.hashCode(row, hasher));
+    }
+    return hashCode;
+  }
+
+  static boolean hasNullKey(ValueVector[] keys, int row) {
+    for (ValueVector key : keys) {
+      if (key.isNull(row)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the partition of a hash code, from bits that are independent of the slot in the partition.
+   */
+  private int partitionOf(int hashCode) {
+    return partitionBits == 0 ? 0 : (hashCode * 0x85EBCA6B) >>> (Integer.SIZE - partitionBits);
+  }
+
+  /**
+   * Gets the build row after the given one with the same key.
+   * @return the next row, or {@link #NO_ROW} if there is none.
+   */
+  int getNextRow(int buildRow) {
+    return getInt(nextRows, buildRow);
+  }
+
+  /**
+   * Checks if the key of a row equals the key of a build row.
+   */
+  private class KeyMatcher implements IndexHashTable.IndexMatcher {
+
+    private final RangeEqualsVisitor[] visitors;
+
+    private final Range range = new Range(0, 0, 1);
+
+    /**
+     * The row whose key is matched.
+     */
+    int row;
+
+    KeyMatcher(ValueVector[] keys) {
+      visitors = new RangeEqualsVisitor[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        // the key types are checked by the caller
+        visitors[i] = new RangeEqualsVisitor(keys[i], buildKeys[i], null);
+      }
+    }
+
+    @Override
+    public boolean matches(int buildRow) {
+      range.setLeftStart(row).setRightStart(buildRow);
+      for (RangeEqualsVisitor visitor : visitors) {
+        if (!visitor.rangeEquals(range)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Looks up the rows of probe batches. Each thread must use its own prober.
+   */
+  class Prober {
+
+    private final ValueVector[] probeKeys;
+
+    private final KeyMatcher matcher;
+
+    /**
+     * Constructs a prober.
+     * @param probeKeys the key columns of the probe batch, of the types of the build key columns.
+     */
+    Prober(ValueVector[] probeKeys) {
+      this.probeKeys = probeKeys;
+      this.matcher = new KeyMatcher(probeKeys);
+    }
+
+    /**
+     * Gets the first build row whose key equals the key of a probe row.
+     * The other matching rows are found with {@link JoinHashTable#getNextRow(int)}.
+     * @return the first matching row, or {@link #NO_ROW} if there is none.
+     */
+    int getFirstMatch(int probeRow) {
+      if (hasNullKey(probeKeys, probeRow)) {
+        return NO_ROW;
+      }
+      final int hashCode = hashKeys(probeKeys, probeRow, hasher);
+      matcher.row = probeRow;
+      final int buildRow = partitions[partitionOf(hashCode)].get(hashCode, matcher);
+      return buildRow == IndexHashTable.NOT_FOUND ? NO_ROW : buildRow;
+    }
+  }
+
+  @Override
+  public void close() {
+    for (IndexHashTable partition : partitions) {
+      if (partition != null) {
+        partition.close();
+      }
+    }
+    nextRows.close();
+  }
+}
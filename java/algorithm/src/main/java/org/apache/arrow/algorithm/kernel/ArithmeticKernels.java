@@ -0,0 +1,486 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+import static io.netty.util.internal.PlatformDependent.getInt;
+import static io.netty.util.internal.PlatformDependent.getLong;
+import static io.netty.util.internal.PlatformDependent.putInt;
+import static io.netty.util.internal.PlatformDependent.putLong;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.dataAddress;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.getDouble;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.prepareBinary;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.prepareUnary;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.putDouble;
+
+import java.math.BigInteger;
+
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+
+/**
+ * Element-wise arithmetic kernels over numeric vectors.
+ *
+ * <p>The kernels read and write the data buffers directly, in loops without per-row null checks,
+ * so the JIT compiler can unroll and vectorize them. The validity buffer of the result is the AND of
+ * the validity buffers of the operands, computed a word at a time by {@link BitVectorHelper#and}.
+ * The values of null slots are computed like the others, and are unspecified.
+ *
+ * <p>Integer arithmetic wraps around on overflow, as in Java. Integer division by zero throws an
+ * {@link ArithmeticException}, unless the slot is null. Decimal arithmetic requires the operands and the
+ * result to have the same scale, and throws an {@link ArithmeticException} when a value does not fit
+ * the precision of the result.
+ *
+ * <p>The result vector must be distinct from the operands. Its previous content is discarded, and its
+ * value count is set to that of the operands.
+ */
+public class ArithmeticKernels {
+
+  private static final int MAX_DECIMAL_PRECISION = 38;
+
+  /**
+   * The powers of ten up to the maximum decimal precision, as the high and low words of 128-bit integers.
+   */
+  private static final long[] POWERS_OF_TEN_HIGH = new long[MAX_DECIMAL_PRECISION + 1];
+
+  private static final long[] POWERS_OF_TEN_LOW = new long[MAX_DECIMAL_PRECISION + 1];
+
+  static {
+    for (int i = 0; i <= MAX_DECIMAL_PRECISION; i++) {
+      BigInteger power = BigInteger.TEN.pow(i);
+      POWERS_OF_TEN_HIGH[i] = power.shiftRight(Long.SIZE).longValue();
+      POWERS_OF_TEN_LOW[i] = power.longValue();
+    }
+  }
+
+  private ArithmeticKernels() {
+  }
+
+  private static void checkNullDivisor(BaseFixedWidthVector result, int index) {
+    if (!result.isNull(index)) {
+      throw new ArithmeticException("Division by zero at index " + index);
+    }
+  }
+
+  private static void checkDecimalScales(DecimalVector result, DecimalVector... operands) {
+    for (DecimalVector operand : operands) {
+      Preconditions.checkArgument(operand.getScale() == result.getScale(),
+          "The operands and the result must have the same scale");
+    }
+  }
+
+  /**
+   * Checks that a 128-bit integer has at most the given number of decimal digits.
+   */
+  private static boolean fitsPrecision(long high, long low, int precision) {
+    if (high < 0) {
+      // negate the value, by two's complement
+      high = low == 0 ? -high : ~high;
+      low = -low;
+    }
+    final long limitHigh = POWERS_OF_TEN_HIGH[precision];
+    return Long.compareUnsigned(high, limitHigh) < 0 ||
+        (high == limitHigh && Long.compareUnsigned(low, POWERS_OF_TEN_LOW[precision]) < 0);
+  }
+
+  private static void checkDecimalResult(DecimalVector result, int index, long high, long low, boolean overflow) {
+    if ((overflow || !fitsPrecision(high, low, result.getPrecision())) && !result.isNull(index)) {
+      throw new ArithmeticException("Decimal overflow at index " + index + " for precision " +
+          result.getPrecision());
+    }
+  }
+
+  /**
+   * Computes left + right.
+   */
+  public static void add(IntVector left, IntVector right, IntVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * IntVector.TYPE_WIDTH;
+      putInt(r + offset, getInt(a + offset) + getInt(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left + right.
+   */
+  public static void add(BigIntVector left, BigIntVector right, BigIntVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * BigIntVector.TYPE_WIDTH;
+      putLong(r + offset, getLong(a + offset) + getLong(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left + right.
+   */
+  public static void add(Float8Vector left, Float8Vector right, Float8Vector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * Float8Vector.TYPE_WIDTH;
+      putDouble(r + offset, getDouble(a + offset) + getDouble(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left + right.
+   * @throws ArithmeticException if a non-null value does not fit the precision of the result.
+   */
+  public static void add(DecimalVector left, DecimalVector right, DecimalVector result) {
+    checkDecimalScales(result, left, right);
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * DecimalVector.TYPE_WIDTH;
+      final long aLow = getLong(a + offset);
+      final long aHigh = getLong(a + offset + Long.BYTES);
+      final long bLow = getLong(b + offset);
+      final long bHigh = getLong(b + offset + Long.BYTES);
+      final long low = aLow + bLow;
+      final long carry = ((aLow & bLow) | ((aLow | bLow) & ~low)) >>> 63;
+      final long high = aHigh + bHigh + carry;
+      checkDecimalResult(result, i, high, low, ((aHigh ^ high) & (bHigh ^ high)) < 0);
+      putLong(r + offset, low);
+      putLong(r + offset + Long.BYTES, high);
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left - right.
+   */
+  public static void subtract(IntVector left, IntVector right, IntVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * IntVector.TYPE_WIDTH;
+      putInt(r + offset, getInt(a + offset) - getInt(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left - right.
+   */
+  public static void subtract(BigIntVector left, BigIntVector right, BigIntVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * BigIntVector.TYPE_WIDTH;
+      putLong(r + offset, getLong(a + offset) - getLong(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left - right.
+   */
+  public static void subtract(Float8Vector left, Float8Vector right, Float8Vector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * Float8Vector.TYPE_WIDTH;
+      putDouble(r + offset, getDouble(a + offset) - getDouble(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left - right.
+   * @throws ArithmeticException if a non-null value does not fit the precision of the result.
+   */
+  public static void subtract(DecimalVector left, DecimalVector right, DecimalVector result) {
+    checkDecimalScales(result, left, right);
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * DecimalVector.TYPE_WIDTH;
+      final long aLow = getLong(a + offset);
+      final long aHigh = getLong(a + offset + Long.BYTES);
+      final long bLow = getLong(b + offset);
+      final long bHigh = getLong(b + offset + Long.BYTES);
+      final long low = aLow - bLow;
+      final long borrow = ((~aLow & bLow) | (~(aLow ^ bLow) & low)) >>> 63;
+      final long high = aHigh - bHigh - borrow;
+      checkDecimalResult(result, i, high, low, ((aHigh ^ bHigh) & (aHigh ^ high)) < 0);
+      putLong(r + offset, low);
+      putLong(r + offset + Long.BYTES, high);
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left * right.
+   */
+  public static void multiply(IntVector left, IntVector right, IntVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * IntVector.TYPE_WIDTH;
+      putInt(r + offset, getInt(a + offset) * getInt(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left * right.
+   */
+  public static void multiply(BigIntVector left, BigIntVector right, BigIntVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * BigIntVector.TYPE_WIDTH;
+      putLong(r + offset, getLong(a + offset) * getLong(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left * right.
+   */
+  public static void multiply(Float8Vector left, Float8Vector right, Float8Vector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * Float8Vector.TYPE_WIDTH;
+      putDouble(r + offset, getDouble(a + offset) * getDouble(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left / right, rounded toward zero. Null slots with a zero divisor produce zero.
+   * @throws ArithmeticException if a non-null divisor is zero.
+   */
+  public static void divide(IntVector left, IntVector right, IntVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * IntVector.TYPE_WIDTH;
+      final int divisor = getInt(b + offset);
+      if (divisor == 0) {
+        checkNullDivisor(result, i);
+      } else {
+        putInt(r + offset, getInt(a + offset) / divisor);
+      }
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left / right, rounded toward zero. Null slots with a zero divisor produce zero.
+   * @throws ArithmeticException if a non-null divisor is zero.
+   */
+  public static void divide(BigIntVector left, BigIntVector right, BigIntVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * BigIntVector.TYPE_WIDTH;
+      final long divisor = getLong(b + offset);
+      if (divisor == 0) {
+        checkNullDivisor(result, i);
+      } else {
+        putLong(r + offset, getLong(a + offset) / divisor);
+      }
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes left / right, as defined by IEEE 754.
+   */
+  public static void divide(Float8Vector left, Float8Vector right, Float8Vector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * Float8Vector.TYPE_WIDTH;
+      putDouble(r + offset, getDouble(a + offset) / getDouble(b + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes -input.
+   */
+  public static void negate(IntVector input, IntVector result) {
+    final int valueCount = prepareUnary(input, result);
+    final long a = dataAddress(input);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * IntVector.TYPE_WIDTH;
+      putInt(r + offset, -getInt(a + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes -input.
+   */
+  public static void negate(BigIntVector input, BigIntVector result) {
+    final int valueCount = prepareUnary(input, result);
+    final long a = dataAddress(input);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * BigIntVector.TYPE_WIDTH;
+      putLong(r + offset, -getLong(a + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes -input.
+   */
+  public static void negate(Float8Vector input, Float8Vector result) {
+    final int valueCount = prepareUnary(input, result);
+    final long a = dataAddress(input);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * Float8Vector.TYPE_WIDTH;
+      putDouble(r + offset, -getDouble(a + offset));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes -input.
+   * @throws ArithmeticException if a non-null value does not fit the precision of the result.
+   */
+  public static void negate(DecimalVector input, DecimalVector result) {
+    checkDecimalScales(result, input);
+    final int valueCount = prepareUnary(input, result);
+    final long a = dataAddress(input);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * DecimalVector.TYPE_WIDTH;
+      final long aLow = getLong(a + offset);
+      final long aHigh = getLong(a + offset + Long.BYTES);
+      final long low = -aLow;
+      final long high = aLow == 0 ? -aHigh : ~aHigh;
+      checkDecimalResult(result, i, high, low, false);
+      putLong(r + offset, low);
+      putLong(r + offset + Long.BYTES, high);
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes the absolute value of input.
+   */
+  public static void abs(IntVector input, IntVector result) {
+    final int valueCount = prepareUnary(input, result);
+    final long a = dataAddress(input);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * IntVector.TYPE_WIDTH;
+      putInt(r + offset, Math.abs(getInt(a + offset)));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes the absolute value of input.
+   */
+  public static void abs(BigIntVector input, BigIntVector result) {
+    final int valueCount = prepareUnary(input, result);
+    final long a = dataAddress(input);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * BigIntVector.TYPE_WIDTH;
+      putLong(r + offset, Math.abs(getLong(a + offset)));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes the absolute value of input.
+   */
+  public static void abs(Float8Vector input, Float8Vector result) {
+    final int valueCount = prepareUnary(input, result);
+    final long a = dataAddress(input);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * Float8Vector.TYPE_WIDTH;
+      putDouble(r + offset, Math.abs(getDouble(a + offset)));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Computes the absolute value of input.
+   * @throws ArithmeticException if a non-null value does not fit the precision of the result.
+   */
+  public static void abs(DecimalVector input, DecimalVector result) {
+    checkDecimalScales(result, input);
+    final int valueCount = prepareUnary(input, result);
+    final long a = dataAddress(input);
+    final long r = dataAddress(result);
+    for (int i = 0; i < valueCount; i++) {
+      final long offset = (long) i * DecimalVector.TYPE_WIDTH;
+      long low = getLong(a + offset);
+      long high = getLong(a + offset + Long.BYTES);
+      if (high < 0) {
+        high = low == 0 ? -high : ~high;
+        low = -low;
+      }
+      checkDecimalResult(result, i, high, low, false);
+      putLong(r + offset, low);
+      putLong(r + offset + Long.BYTES, high);
+    }
+    result.setValueCount(valueCount);
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+import static io.netty.util.internal.PlatformDependent.getInt;
+import static io.netty.util.internal.PlatformDependent.getLong;
+import static io.netty.util.internal.PlatformDependent.putByte;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.dataAddress;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.getDouble;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.prepareBinary;
+import static org.apache.arrow.algorithm.kernel.KernelHelper.prepareUnary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+
+/**
+ * Element-wise comparison kernels over numeric vectors, producing {@link BitVector} masks.
+ *
+ * <p>The values are compared eight at a time: the outcomes of the primitive comparisons are packed into
+ * bytes without branches, and combined by {@link ComparisonOperator#combine} once per byte of the mask.
+ * A value of the mask is null if any of the compared values is null, with the same bulk validity
+ * computation as {@link ArithmeticKernels}. Floating point values are compared as defined by IEEE 754,
+ * so a comparison with NaN is false, except {@link ComparisonOperator#NOT_EQUAL}. Decimal vectors must
+ * have the same scale.
+ *
+ * <p>The mask must be distinct from the operands. Its previous content is discarded, and its
+ * value count is set to that of the operands.
+ */
+public class ComparisonKernels {
+
+  private ComparisonKernels() {
+  }
+
+  private static void putMaskByte(long maskAddress, int row, int count, int bits) {
+    putByte(maskAddress + (row >>> 3), (byte) (bits & ((1 << count) - 1)));
+  }
+
+  /**
+   * Compares the values of two vectors.
+   * @param left the left operands.
+   * @param right the right operands.
+   * @param operator the comparison operator.
+   * @param result the mask to populate with the outcomes.
+   */
+  public static void compare(IntVector left, IntVector right, ComparisonOperator operator, BitVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int row = 0; row < valueCount; row += 8) {
+      final int count = Math.min(8, valueCount - row);
+      int less = 0;
+      int equal = 0;
+      int greater = 0;
+      for (int bit = 0; bit < count; bit++) {
+        final long offset = (long) (row + bit) * IntVector.TYPE_WIDTH;
+        final int x = getInt(a + offset);
+        final int y = getInt(b + offset);
+        less |= (x < y ? 1 : 0) << bit;
+        equal |= (x == y ? 1 : 0) << bit;
+        greater |= (x > y ? 1 : 0) << bit;
+      }
+      putMaskByte(r, row, count, operator.combine(less, equal, greater));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Compares the values of a vector with a constant.
+   * @param left the left operands.
+   * @param right the right operand.
+   * @param operator the comparison operator.
+   * @param result the mask to populate with the outcomes.
+   */
+  public static void compare(IntVector left, int right, ComparisonOperator operator, BitVector result) {
+    final int valueCount = prepareUnary(left, result);
+    final long a = dataAddress(left);
+    final long r = dataAddress(result);
+    for (int row = 0; row < valueCount; row += 8) {
+      final int count = Math.min(8, valueCount - row);
+      int less = 0;
+      int equal = 0;
+      int greater = 0;
+      for (int bit = 0; bit < count; bit++) {
+        final int x = getInt(a + (long) (row + bit) * IntVector.TYPE_WIDTH);
+        less |= (x < right ? 1 : 0) << bit;
+        equal |= (x == right ? 1 : 0) << bit;
+        greater |= (x > right ? 1 : 0) << bit;
+      }
+      putMaskByte(r, row, count, operator.combine(less, equal, greater));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Compares the values of two vectors.
+   * @param left the left operands.
+   * @param right the right operands.
+   * @param operator the comparison operator.
+   * @param result the mask to populate with the outcomes.
+   */
+  public static void compare(BigIntVector left, BigIntVector right, ComparisonOperator operator, BitVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int row = 0; row < valueCount; row += 8) {
+      final int count = Math.min(8, valueCount - row);
+      int less = 0;
+      int equal = 0;
+      int greater = 0;
+      for (int bit = 0; bit < count; bit++) {
+        final long offset = (long) (row + bit) * BigIntVector.TYPE_WIDTH;
+        final long x = getLong(a + offset);
+        final long y = getLong(b + offset);
+        less |= (x < y ? 1 : 0) << bit;
+        equal |= (x == y ? 1 : 0) << bit;
+        greater |= (x > y ? 1 : 0) << bit;
+      }
+      putMaskByte(r, row, count, operator.combine(less, equal, greater));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Compares the values of a vector with a constant.
+   * @param left the left operands.
+   * @param right the right operand.
+   * @param operator the comparison operator.
+   * @param result the mask to populate with the outcomes.
+   */
+  public static void compare(BigIntVector left, long right, ComparisonOperator operator, BitVector result) {
+    final int valueCount = prepareUnary(left, result);
+    final long a = dataAddress(left);
+    final long r = dataAddress(result);
+    for (int row = 0; row < valueCount; row += 8) {
+      final int count = Math.min(8, valueCount - row);
+      int less = 0;
+      int equal = 0;
+      int greater = 0;
+      for (int bit = 0; bit < count; bit++) {
+        final long x = getLong(a + (long) (row + bit) * BigIntVector.TYPE_WIDTH);
+        less |= (x < right ? 1 : 0) << bit;
+        equal |= (x == right ? 1 : 0) << bit;
+        greater |= (x > right ? 1 : 0) << bit;
+      }
+      putMaskByte(r, row, count, operator.combine(less, equal, greater));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Compares the values of two vectors.
+   * @param left the left operands.
+   * @param right the right operands.
+   * @param operator the comparison operator.
+   * @param result the mask to populate with the outcomes.
+   */
+  public static void compare(Float8Vector left, Float8Vector right, ComparisonOperator operator, BitVector result) {
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int row = 0; row < valueCount; row += 8) {
+      final int count = Math.min(8, valueCount - row);
+      int less = 0;
+      int equal = 0;
+      int greater = 0;
+      for (int bit = 0; bit < count; bit++) {
+        final long offset = (long) (row + bit) * Float8Vector.TYPE_WIDTH;
+        final double x = getDouble(a + offset);
+        final double y = getDouble(b + offset);
+        less |= (x < y ? 1 : 0) << bit;
+        equal |= (x == y ? 1 : 0) << bit;
+        greater |= (x > y ? 1 : 0) << bit;
+      }
+      putMaskByte(r, row, count, operator.combine(less, equal, greater));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Compares the values of a vector with a constant.
+   * @param left the left operands.
+   * @param right the right operand.
+   * @param operator the comparison operator.
+   * @param result the mask to populate with the outcomes.
+   */
+  public static void compare(Float8Vector left, double right, ComparisonOperator operator, BitVector result) {
+    final int valueCount = prepareUnary(left, result);
+    final long a = dataAddress(left);
+    final long r = dataAddress(result);
+    for (int row = 0; row < valueCount; row += 8) {
+      final int count = Math.min(8, valueCount - row);
+      int less = 0;
+      int equal = 0;
+      int greater = 0;
+      for (int bit = 0; bit < count; bit++) {
+        final double x = getDouble(a + (long) (row + bit) * Float8Vector.TYPE_WIDTH);
+        less |= (x < right ? 1 : 0) << bit;
+        equal |= (x == right ? 1 : 0) << bit;
+        greater |= (x > right ? 1 : 0) << bit;
+      }
+      putMaskByte(r, row, count, operator.combine(less, equal, greater));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Compares the values of two vectors, with the same scale.
+   * @param left the left operands.
+   * @param right the right operands.
+   * @param operator the comparison operator.
+   * @param result the mask to populate with the outcomes.
+   */
+  public static void compare(DecimalVector left, DecimalVector right, ComparisonOperator operator, BitVector result) {
+    Preconditions.checkArgument(left.getScale() == right.getScale(), "The operands must have the same scale");
+    final int valueCount = prepareBinary(left, right, result);
+    final long a = dataAddress(left);
+    final long b = dataAddress(right);
+    final long r = dataAddress(result);
+    for (int row = 0; row < valueCount; row += 8) {
+      final int count = Math.min(8, valueCount - row);
+      int less = 0;
+      int equal = 0;
+      for (int bit = 0; bit < count; bit++) {
+        final long offset = (long) (row + bit) * DecimalVector.TYPE_WIDTH;
+        final long xLow = getLong(a + offset);
+        final long xHigh = getLong(a + offset + Long.BYTES);
+        final long yLow = getLong(b + offset);
+        final long yHigh = getLong(b + offset + Long.BYTES);
+        less |= (xHigh < yHigh || (xHigh == yHigh && Long.compareUnsigned(xLow, yLow) < 0) ? 1 : 0) << bit;
+        equal |= (xHigh == yHigh && xLow == yLow ? 1 : 0) << bit;
+      }
+      putMaskByte(r, row, count, operator.combine(less, equal, ~(less | equal)));
+    }
+    result.setValueCount(valueCount);
+  }
+
+  /**
+   * Compares the values of a vector with a constant.
+   * @param left the left operands.
+   * @param right the right operand. It must be exactly representable with the scale of the vector.
+   * @param operator the comparison operator.
+   * @param result the mask to populate with the outcomes.
+   */
+  public static void compare(DecimalVector left, BigDecimal right, ComparisonOperator operator, BitVector result) {
+    final BigInteger unscaledRight = right.setScale(left.getScale()).unscaledValue();
+    Preconditions.checkArgument(unscaledRight.bitLength() < DecimalVector.TYPE_WIDTH * Byte.SIZE,
+        "The constant %s does not fit a decimal vector", right);
+    final long yLow = unscaledRight.longValue();
+    final long yHigh = unscaledRight.shiftRight(Long.SIZE).longValue();
+
+    final int valueCount = prepareUnary(left, result);
+    final long a = dataAddress(left);
+    final long r = dataAddress(result);
+    for (int row = 0; row < valueCount; row += 8) {
+      final int count = Math.min(8, valueCount - row);
+      int less = 0;
+      int equal = 0;
+      for (int bit = 0; bit < count; bit++) {
+        final long offset = (long) (row + bit) * DecimalVector.TYPE_WIDTH;
+        final long xLow = getLong(a + offset);
+        final long xHigh = getLong(a + offset + Long.BYTES);
+        less |= (xHigh < yHigh || (xHigh == yHigh && Long.compareUnsigned(xLow, yLow) < 0) ? 1 : 0) << bit;
+        equal |= (xHigh == yHigh && xLow == yLow ? 1 : 0) << bit;
+      }
+      putMaskByte(r, row, count, operator.combine(less, equal, ~(less | equal)));
+    }
+    result.setValueCount(valueCount);
+  }
+}
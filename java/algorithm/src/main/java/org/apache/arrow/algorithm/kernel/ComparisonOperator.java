@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+/**
+ * The comparison operators supported by {@link ComparisonKernels}.
+ */
+public enum ComparisonOperator {
+  EQUAL,
+  NOT_EQUAL,
+  LESS_THAN,
+  LESS_THAN_OR_EQUAL,
+  GREATER_THAN,
+  GREATER_THAN_OR_EQUAL;
+
+  /**
+   * Combines the outcomes of the primitive comparisons of up to eight values into the outcomes of
+   * this operator. Bit i of each argument and of the result is the outcome for value i.
+   * @param less the bits of the values where left &lt; right.
+   * @param equal the bits of the values where left == right.
+   * @param greater the bits of the values where left &gt; right.
+   */
+  int combine(int less, int equal, int greater) {
+    switch (this) {
+      case EQUAL:
+        return equal;
+      case NOT_EQUAL:
+        return ~equal;
+      case LESS_THAN:
+        return less;
+      case LESS_THAN_OR_EQUAL:
+        return less | equal;
+      case GREATER_THAN:
+        return greater;
+      case GREATER_THAN_OR_EQUAL:
+        return greater | equal;
+      default:
+        throw new IllegalStateException("Unknown comparison operator " + this);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BitVectorHelper;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Helper methods shared by the kernels.
+ */
+class KernelHelper {
+
+  private KernelHelper() {
+  }
+
+  /**
+   * Allocates the result of a binary kernel and computes its validity buffer,
+   * as the AND of the validity buffers of the operands.
+   * @return the value count of the operands.
+   */
+  static int prepareBinary(BaseFixedWidthVector left, BaseFixedWidthVector right, BaseFixedWidthVector result) {
+    Preconditions.checkArgument(left.getValueCount() == right.getValueCount(),
+        "The operands must have the same value count");
+    final int valueCount = left.getValueCount();
+    result.allocateNew(valueCount);
+    BitVectorHelper.and(left.getValidityBuffer(), right.getValidityBuffer(), result.getValidityBuffer(), valueCount);
+    return valueCount;
+  }
+
+  /**
+   * Allocates the result of a unary kernel and copies the validity buffer of the operand.
+   * @return the value count of the operand.
+   */
+  static int prepareUnary(BaseFixedWidthVector input, BaseFixedWidthVector result) {
+    final int valueCount = input.getValueCount();
+    result.allocateNew(valueCount);
+    PlatformDependent.copyMemory(input.getValidityBuffer().memoryAddress(),
+        result.getValidityBuffer().memoryAddress(), BitVectorHelper.getValidityBufferSize(valueCount));
+    return valueCount;
+  }
+
+  static long dataAddress(BaseFixedWidthVector vector) {
+    return vector.getDataBuffer().memoryAddress();
+  }
+
+  static double getDouble(long address) {
+    return Double.longBitsToDouble(PlatformDependent.getLong(address));
+  }
+
+  static void putDouble(long address, double value) {
+    PlatformDependent.putLong(address, Double.doubleToRawLongBits(value));
+  }
+}
@@ -0,0 +1,609 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+import static io.netty.util.internal.PlatformDependent.getByte;
+import static io.netty.util.internal.PlatformDependent.getInt;
+import static io.netty.util.internal.PlatformDependent.getLong;
+import static io.netty.util.internal.PlatformDependent.putByte;
+import static io.netty.util.internal.PlatformDependent.putInt;
+import static io.netty.util.internal.PlatformDependent.putLong;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.VarCharVector;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * String kernels over {@link VarCharVector} and {@link LargeVarCharVector}.
+ *
+ * <p>The kernels work on the UTF-8 bytes of the data buffer, delimited by the offset buffer, and never
+ * materialize {@link org.apache.arrow.vector.util.Text} or {@link String} objects. Lengths and positions
+ * are counted in code points. The result has the validity of the input: the outcome for a null value
+ * is null. The data buffer of a string result is sized up front from that of the input.
+ *
+ * <p>The result vector must be distinct from the input. Its previous content is discarded, and its
+ * value count is set to that of the input.
+ */
+public class StringKernels {
+
+  /**
+   * The token of a LIKE pattern that matches any sequence of code points.
+   */
+  private static final int ANY_STRING = -1;
+
+  /**
+   * The token of a LIKE pattern that matches a single code point.
+   */
+  private static final int ANY_CHAR = -2;
+
+  private static final char LIKE_ESCAPE = '\\';
+
+  private StringKernels() {
+  }
+
+  /**
+   * A read-only view of the buffers of a {@link BaseVariableWidthVector}
+   * or a {@link BaseLargeVariableWidthVector}.
+   */
+  private static final class Utf8Column {
+
+    private final long validityAddress;
+
+    private final long offsetAddress;
+
+    private final long dataAddress;
+
+    private final boolean largeOffsets;
+
+    private final int valueCount;
+
+    Utf8Column(BaseVariableWidthVector vector) {
+      this(vector, false);
+    }
+
+    Utf8Column(BaseLargeVariableWidthVector vector) {
+      this(vector, true);
+    }
+
+    private Utf8Column(FieldVector vector, boolean largeOffsets) {
+      this.validityAddress = vector.getValidityBufferAddress();
+      this.offsetAddress = vector.getOffsetBufferAddress();
+      this.dataAddress = vector.getDataBufferAddress();
+      this.largeOffsets = largeOffsets;
+      this.valueCount = vector.getValueCount();
+    }
+
+    /**
+     * Gets the address of the first byte of a value, or of the end of the previous value.
+     */
+    long address(int index) {
+      final long offset = largeOffsets ?
+          getLong(offsetAddress + (long) index * BaseLargeVariableWidthVector.OFFSET_WIDTH) :
+          getInt(offsetAddress + (long) index * BaseVariableWidthVector.OFFSET_WIDTH);
+      return dataAddress + offset;
+    }
+
+    /**
+     * Gets the total number of bytes of the values.
+     */
+    long dataLength() {
+      return valueCount == 0 ? 0 : address(valueCount) - address(0);
+    }
+  }
+
+  /**
+   * Appends values to the data and offset buffers of a {@link BaseVariableWidthVector}
+   * or a {@link BaseLargeVariableWidthVector}, reallocating the data buffer if needed.
+   */
+  private static final class Utf8Writer {
+
+    private final FieldVector vector;
+
+    private final boolean largeOffsets;
+
+    private final int valueCount;
+
+    private long dataAddress;
+
+    private long dataCapacity;
+
+    private long position;
+
+    Utf8Writer(BaseVariableWidthVector vector, Utf8Column input) {
+      this.vector = vector;
+      this.largeOffsets = false;
+      this.valueCount = input.valueCount;
+      vector.allocateNew(input.dataLength(), valueCount);
+      initialize(input);
+    }
+
+    Utf8Writer(BaseLargeVariableWidthVector vector, Utf8Column input) {
+      this.vector = vector;
+      this.largeOffsets = true;
+      this.valueCount = input.valueCount;
+      vector.allocateNew(input.dataLength(), valueCount);
+      initialize(input);
+    }
+
+    private void initialize(Utf8Column input) {
+      PlatformDependent.copyMemory(input.validityAddress, vector.getValidityBufferAddress(),
+          BitVectorHelper.getValidityBufferSize(valueCount));
+      setOffset(0);
+      refreshData();
+    }
+
+    private void refreshData() {
+      dataAddress = vector.getDataBufferAddress();
+      dataCapacity = vector.getDataBuffer().capacity();
+    }
+
+    /**
+     * Ensures that the given number of bytes can be written at the current position.
+     * The data buffer may be reallocated, so previously returned addresses become invalid.
+     * @return the address of the current position.
+     */
+    long reserve(long length) {
+      while (position + length > dataCapacity) {
+        if (largeOffsets) {
+          ((BaseLargeVariableWidthVector) vector).reallocDataBuffer();
+        } else {
+          ((BaseVariableWidthVector) vector).reallocDataBuffer();
+        }
+        refreshData();
+      }
+      return dataAddress + position;
+    }
+
+    /**
+     * Advances the write position past bytes written at the address returned by {@link #reserve}.
+     */
+    void advance(long length) {
+      position += length;
+    }
+
+    /**
+     * Ends the value of the given index at the current write position.
+     */
+    void endValue(int index) {
+      setOffset(index + 1);
+    }
+
+    private void setOffset(int index) {
+      final long offsetAddress = vector.getOffsetBufferAddress();
+      if (largeOffsets) {
+        putLong(offsetAddress + (long) index * BaseLargeVariableWidthVector.OFFSET_WIDTH, position);
+      } else {
+        putInt(offsetAddress + (long) index * BaseVariableWidthVector.OFFSET_WIDTH, (int) position);
+      }
+    }
+
+    void finish() {
+      if (largeOffsets) {
+        ((BaseLargeVariableWidthVector) vector).setLastSet(valueCount - 1);
+      } else {
+        ((BaseVariableWidthVector) vector).setLastSet(valueCount - 1);
+      }
+      vector.setValueCount(valueCount);
+    }
+  }
+
+  /**
+   * Sets bits of the data buffer of a {@link BitVector}.
+   */
+  private static final class MaskWriter {
+
+    private final long address;
+
+    MaskWriter(BitVector vector) {
+      this.address = vector.getDataBuffer().memoryAddress();
+    }
+
+    void set(int index) {
+      final long byteAddress = address + (index >>> 3);
+      putByte(byteAddress, (byte) (getByte(byteAddress) | (1 << (index & 7))));
+    }
+  }
+
+  private static boolean isContinuationByte(int b) {
+    return (b & 0xC0) == 0x80;
+  }
+
+  /**
+   * Gets the address of the next code point, or the end address.
+   */
+  private static long nextCodePoint(long address, long end) {
+    address += 1;
+    while (address < end && isContinuationByte(getByte(address))) {
+      address += 1;
+    }
+    return address;
+  }
+
+  /**
+   * Skips a number of code points.
+   * @return the address after the skipped code points, at most the end address.
+   */
+  private static long skipCodePoints(long address, long end, long count) {
+    for (long i = 0; i < count && address < end; i++) {
+      address = nextCodePoint(address, end);
+    }
+    return address;
+  }
+
+  /**
+   * Allocates a fixed-width result and copies the validity buffer of the input.
+   */
+  private static void prepareFixedWidthResult(Utf8Column input, BaseFixedWidthVector result) {
+    result.allocateNew(input.valueCount);
+    PlatformDependent.copyMemory(input.validityAddress, result.getValidityBuffer().memoryAddress(),
+        BitVectorHelper.getValidityBufferSize(input.valueCount));
+  }
+
+  /**
+   * Computes the number of code points of each value.
+   */
+  public static void length(VarCharVector input, IntVector result) {
+    length(new Utf8Column(input), result);
+  }
+
+  /**
+   * Computes the number of code points of each value.
+   * @throws ArithmeticException if a length does not fit an int.
+   */
+  public static void length(LargeVarCharVector input, IntVector result) {
+    length(new Utf8Column(input), result);
+  }
+
+  private static void length(Utf8Column input, IntVector result) {
+    prepareFixedWidthResult(input, result);
+    final long resultAddress = result.getDataBuffer().memoryAddress();
+    long start = input.valueCount == 0 ? 0 : input.address(0);
+    for (int i = 0; i < input.valueCount; i++) {
+      final long end = input.address(i + 1);
+      long codePoints = 0;
+      for (long address = start; address < end; address++) {
+        codePoints += isContinuationByte(getByte(address)) ? 0 : 1;
+      }
+      putInt(resultAddress + (long) i * IntVector.TYPE_WIDTH, Math.toIntExact(codePoints));
+      start = end;
+    }
+    result.setValueCount(input.valueCount);
+  }
+
+  private static boolean bytesEqual(long address, byte[] bytes) {
+    for (int i = 0; i < bytes.length; i++) {
+      if (getByte(address + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Tests if each value starts with the given prefix.
+   */
+  public static void startsWith(VarCharVector input, String prefix, BitVector result) {
+    matchAffix(new Utf8Column(input), prefix.getBytes(StandardCharsets.UTF_8), true, result);
+  }
+
+  /**
+   * Tests if each value starts with the given prefix.
+   */
+  public static void startsWith(LargeVarCharVector input, String prefix, BitVector result) {
+    matchAffix(new Utf8Column(input), prefix.getBytes(StandardCharsets.UTF_8), true, result);
+  }
+
+  /**
+   * Tests if each value ends with the given suffix.
+   */
+  public static void endsWith(VarCharVector input, String suffix, BitVector result) {
+    matchAffix(new Utf8Column(input), suffix.getBytes(StandardCharsets.UTF_8), false, result);
+  }
+
+  /**
+   * Tests if each value ends with the given suffix.
+   */
+  public static void endsWith(LargeVarCharVector input, String suffix, BitVector result) {
+    matchAffix(new Utf8Column(input), suffix.getBytes(StandardCharsets.UTF_8), false, result);
+  }
+
+  private static void matchAffix(Utf8Column input, byte[] affix, boolean prefix, BitVector result) {
+    prepareFixedWidthResult(input, result);
+    final MaskWriter bits = new MaskWriter(result);
+    for (int i = 0; i < input.valueCount; i++) {
+      final long start = input.address(i);
+      final long end = input.address(i + 1);
+      if (end - start >= affix.length && bytesEqual(prefix ? start : end - affix.length, affix)) {
+        bits.set(i);
+      }
+    }
+    result.setValueCount(input.valueCount);
+  }
+
+  /**
+   * Tests if each value matches a SQL LIKE pattern. In the pattern, '%' matches any sequence of
+   * code points, '_' matches a single code point, and '\' escapes the next character.
+   */
+  public static void like(VarCharVector input, String pattern, BitVector result) {
+    like(new Utf8Column(input), compileLikePattern(pattern), result);
+  }
+
+  /**
+   * Tests if each value matches a SQL LIKE pattern. In the pattern, '%' matches any sequence of
+   * code points, '_' matches a single code point, and '\' escapes the next character.
+   */
+  public static void like(LargeVarCharVector input, String pattern, BitVector result) {
+    like(new Utf8Column(input), compileLikePattern(pattern), result);
+  }
+
+  /**
+   * Converts a LIKE pattern to tokens: the unsigned bytes of the UTF-8 encoding of literal characters,
+   * {@link #ANY_STRING} and {@link #ANY_CHAR}.
+   */
+  static int[] compileLikePattern(String pattern) {
+    // each character of the pattern produces at most as many tokens as its UTF-8 encoding has bytes
+    final int[] tokens = new int[pattern.getBytes(StandardCharsets.UTF_8).length];
+    int tokenCount = 0;
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '%') {
+        tokens[tokenCount++] = ANY_STRING;
+        continue;
+      }
+      if (c == '_') {
+        tokens[tokenCount++] = ANY_CHAR;
+        continue;
+      }
+      if (c == LIKE_ESCAPE) {
+        Preconditions.checkArgument(i + 1 < pattern.length(), "The pattern %s ends with an escape character", pattern);
+        i += 1;
+      }
+      final int codePointEnd = i + Character.charCount(pattern.codePointAt(i));
+      for (byte b : pattern.substring(i, codePointEnd).getBytes(StandardCharsets.UTF_8)) {
+        tokens[tokenCount++] = b & 0xFF;
+      }
+      i = codePointEnd - 1;
+    }
+    return Arrays.copyOf(tokens, tokenCount);
+  }
+
+  /**
+   * Matches a value with the tokens of a LIKE pattern. A mismatch after '%' backtracks to the
+   * most recent '%', which then consumes one more code point.
+   */
+  static boolean matchLike(long start, long end, int[] tokens) {
+    long address = start;
+    int token = 0;
+    int anyStringToken = -1;
+    long anyStringAddress = 0;
+    while (address < end) {
+      if (token < tokens.length && tokens[token] == ANY_CHAR) {
+        address = nextCodePoint(address, end);
+        token += 1;
+      } else if (token < tokens.length && tokens[token] == (getByte(address) & 0xFF)) {
+        address += 1;
+        token += 1;
+      } else if (token < tokens.length && tokens[token] == ANY_STRING) {
+        anyStringToken = token;
+        anyStringAddress = address;
+        token += 1;
+      } else if (anyStringToken >= 0) {
+        anyStringAddress = nextCodePoint(anyStringAddress, end);
+        address = anyStringAddress;
+        token = anyStringToken + 1;
+      } else {
+        return false;
+      }
+    }
+    while (token < tokens.length && tokens[token] == ANY_STRING) {
+      token += 1;
+    }
+    return token == tokens.length;
+  }
+
+  private static void like(Utf8Column input, int[] tokens, BitVector result) {
+    prepareFixedWidthResult(input, result);
+    final MaskWriter bits = new MaskWriter(result);
+    for (int i = 0; i < input.valueCount; i++) {
+      if (matchLike(input.address(i), input.address(i + 1), tokens)) {
+        bits.set(i);
+      }
+    }
+    result.setValueCount(input.valueCount);
+  }
+
+  /**
+   * Extracts a substring of each value.
+   * @param input the values.
+   * @param start the index of the first code point of the substring, starting from 0.
+   * @param length the maximum number of code points of the substring.
+   * @param result the vector to populate with the substrings.
+   */
+  public static void substring(VarCharVector input, long start, long length, VarCharVector result) {
+    Preconditions.checkArgument(start >= 0 && length >= 0, "The start and length must be non-negative");
+    final Utf8Column column = new Utf8Column(input);
+    substring(column, start, length, new Utf8Writer(result, column));
+  }
+
+  /**
+   * Extracts a substring of each value.
+   * @param input the values.
+   * @param start the index of the first code point of the substring, starting from 0.
+   * @param length the maximum number of code points of the substring.
+   * @param result the vector to populate with the substrings.
+   */
+  public static void substring(LargeVarCharVector input, long start, long length, LargeVarCharVector result) {
+    Preconditions.checkArgument(start >= 0 && length >= 0, "The start and length must be non-negative");
+    final Utf8Column column = new Utf8Column(input);
+    substring(column, start, length, new Utf8Writer(result, column));
+  }
+
+  private static void substring(Utf8Column input, long start, long length, Utf8Writer writer) {
+    for (int i = 0; i < input.valueCount; i++) {
+      final long end = input.address(i + 1);
+      final long substringStart = skipCodePoints(input.address(i), end, start);
+      final long substringEnd = skipCodePoints(substringStart, end, length);
+      final long byteLength = substringEnd - substringStart;
+      PlatformDependent.copyMemory(substringStart, writer.reserve(byteLength), byteLength);
+      writer.advance(byteLength);
+      writer.endValue(i);
+    }
+    writer.finish();
+  }
+
+  /**
+   * Converts each value to lower case, code point by code point, as by {@link Character#toLowerCase(int)}.
+   */
+  public static void lower(VarCharVector input, VarCharVector result) {
+    final Utf8Column column = new Utf8Column(input);
+    convertCase(column, false, new Utf8Writer(result, column));
+  }
+
+  /**
+   * Converts each value to lower case, code point by code point, as by {@link Character#toLowerCase(int)}.
+   */
+  public static void lower(LargeVarCharVector input, LargeVarCharVector result) {
+    final Utf8Column column = new Utf8Column(input);
+    convertCase(column, false, new Utf8Writer(result, column));
+  }
+
+  /**
+   * Converts each value to upper case, code point by code point, as by {@link Character#toUpperCase(int)}.
+   * Unlike {@link String#toUpperCase()}, a code point is never expanded to several code points.
+   */
+  public static void upper(VarCharVector input, VarCharVector result) {
+    final Utf8Column column = new Utf8Column(input);
+    convertCase(column, true, new Utf8Writer(result, column));
+  }
+
+  /**
+   * Converts each value to upper case, code point by code point, as by {@link Character#toUpperCase(int)}.
+   * Unlike {@link String#toUpperCase()}, a code point is never expanded to several code points.
+   */
+  public static void upper(LargeVarCharVector input, LargeVarCharVector result) {
+    final Utf8Column column = new Utf8Column(input);
+    convertCase(column, true, new Utf8Writer(result, column));
+  }
+
+  private static void convertCase(Utf8Column input, boolean toUpper, Utf8Writer writer) {
+    // the first ASCII letter of the case to convert, and the difference to the other case
+    final int firstLetter = toUpper ? 'a' : 'A';
+    final int caseDelta = toUpper ? 'A' - 'a' : 'a' - 'A';
+    for (int i = 0; i < input.valueCount; i++) {
+      long address = input.address(i);
+      final long end = input.address(i + 1);
+      // ASCII characters keep their length, so the length of the input is reserved up front
+      long target = writer.reserve(end - address);
+      long written = 0;
+      while (address < end) {
+        final int b = getByte(address) & 0xFF;
+        if (b < 0x80) {
+          final boolean isLetter = b >= firstLetter && b < firstLetter + 26;
+          putByte(target + written, (byte) (isLetter ? b + caseDelta : b));
+          written += 1;
+          address += 1;
+          continue;
+        }
+        final long next = nextCodePoint(address, end);
+        final int codePoint = decodeCodePoint(address, (int) (next - address));
+        if (codePoint < 0) {
+          // not a valid sequence, copied as is
+          target = writer.reserve(written + (end - address));
+          PlatformDependent.copyMemory(address, target + written, next - address);
+          written += next - address;
+        } else {
+          // the converted code point may be longer than the original one
+          target = writer.reserve(written + 4 + (end - next));
+          final int converted = toUpper ? Character.toUpperCase(codePoint) : Character.toLowerCase(codePoint);
+          written += encodeCodePoint(converted, target + written);
+        }
+        address = next;
+      }
+      writer.advance(written);
+      writer.endValue(i);
+    }
+    writer.finish();
+  }
+
+  /**
+   * Decodes a multi-byte UTF-8 sequence.
+   * @return the code point, or -1 if the length does not match the leading byte.
+   */
+  private static int decodeCodePoint(long address, int length) {
+    final int lead = getByte(address) & 0xFF;
+    switch (length) {
+      case 2:
+        if ((lead & 0xE0) != 0xC0) {
+          return -1;
+        }
+        return ((lead & 0x1F) << 6) | (getByte(address + 1) & 0x3F);
+      case 3:
+        if ((lead & 0xF0) != 0xE0) {
+          return -1;
+        }
+        return ((lead & 0x0F) << 12) | ((getByte(address + 1) & 0x3F) << 6) | (getByte(address + 2) & 0x3F);
+      case 4:
+        if ((lead & 0xF8) != 0xF0) {
+          return -1;
+        }
+        return ((lead & 0x07) << 18) | ((getByte(address + 1) & 0x3F) << 12) |
+            ((getByte(address + 2) & 0x3F) << 6) | (getByte(address + 3) & 0x3F);
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Encodes a code point in UTF-8.
+   * @return the number of bytes written.
+   */
+  private static int encodeCodePoint(int codePoint, long address) {
+    if (codePoint < 0x80) {
+      putByte(address, (byte) codePoint);
+      return 1;
+    } else if (codePoint < 0x800) {
+      putByte(address, (byte) (0xC0 | (codePoint >>> 6)));
+      putByte(address + 1, (byte) (0x80 | (codePoint & 0x3F)));
+      return 2;
+    } else if (codePoint < 0x10000) {
+      putByte(address, (byte) (0xE0 | (codePoint >>> 12)));
+      putByte(address + 1, (byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+      putByte(address + 2, (byte) (0x80 | (codePoint & 0x3F)));
+      return 3;
+    } else {
+      putByte(address, (byte) (0xF0 | (codePoint >>> 18)));
+      putByte(address + 1, (byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+      putByte(address + 2, (byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+      putByte(address + 3, (byte) (0x80 | (codePoint & 0x3F)));
+      return 4;
+    }
+  }
+}
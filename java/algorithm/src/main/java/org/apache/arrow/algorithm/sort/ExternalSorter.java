@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.VectorSchemaRootAppender;
+import org.apache.arrow.vector.util.VectorSelector;
+
+/**
+ * Sorter for data larger than the memory available, by an external merge sort.
+ *
+ * <p>The incoming batches are buffered in memory. When the buffer reaches half the memory budget,
+ * its rows are sorted by {@link IndexSorter}, and written as a sorted run to a temporary Arrow
+ * file. The other half of the budget is left for sorting, which gathers the rows into new batches.
+ * When all the batches have been added, the runs are merged with a {@link LoserTree}, reading
+ * one batch of each run at a time. If no run was spilled, the buffer is sorted in memory.
+ *
+ * <p>Rows are compared by the sort columns in turn, as by {@link CompositeVectorComparator}.
+ * All the memory is allocated from a child allocator whose limit is the memory budget. The merge
+ * holds a batch per run, so the budget must allow for a batch of each run. Since the buffers
+ * grow by doubling, half the budget should also hold a few of the incoming batches.
+ */
+public class ExternalSorter implements AutoCloseable {
+
+  /**
+   * The default maximum number of rows in the batches of the runs and of the output.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+
+  private final BufferAllocator allocator;
+
+  private final Schema schema;
+
+  private final List<String> sortColumns;
+
+  /**
+   * The comparators of the sort columns.
+   */
+  private final VectorValueComparator[] comparators;
+
+  private final File spillDirectory;
+
+  private final int batchSize;
+
+  private final long spillThreshold;
+
+  /**
+   * The batches added since the last spill.
+   */
+  private final VectorSchemaRoot buffer;
+
+  /**
+   * The temporary files of the sorted runs.
+   */
+  private final List<File> runFiles = new ArrayList<>();
+
+  private boolean finished;
+
+  /**
+   * The sorted indices of the buffer, when no run was spilled.
+   */
+  private IntVector sortedIndices;
+
+  /**
+   * The number of rows emitted from the buffer, when no run was spilled.
+   */
+  private int emittedCount;
+
+  /**
+   * The readers of the runs being merged.
+   */
+  private final List<RunReader> runReaders = new ArrayList<>();
+
+  private LoserTree loserTree;
+
+  /**
+   * Constructs a sorter by the default comparators of the sort columns.
+   * @param schema the schema of the batches.
+   * @param sortColumns the names of the sort columns, by decreasing precedence.
+   *     Their types must be supported by {@link DefaultVectorComparators}.
+   * @param allocator the parent allocator of the allocator for the sorter.
+   * @param memoryBudget the maximum memory of the sorter, in bytes.
+   * @param spillDirectory the directory of the temporary files, or null for the default temporary directory.
+   */
+  public ExternalSorter(Schema schema, List<String> sortColumns, BufferAllocator allocator, long memoryBudget,
+      File spillDirectory) {
+    this(schema, sortColumns, null, allocator, memoryBudget, spillDirectory, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Constructs a sorter.
+   * @param schema the schema of the batches.
+   * @param sortColumns the names of the sort columns, by decreasing precedence.
+   * @param comparators the comparators of the sort columns, or null for their default comparators.
+   * @param allocator the parent allocator of the allocator for the sorter.
+   * @param memoryBudget the maximum memory of the sorter, in bytes.
+   * @param spillDirectory the directory of the temporary files, or null for the default temporary directory.
+   * @param batchSize the maximum number of rows in the batches of the runs and of the output.
+   */
+  public ExternalSorter(Schema schema, List<String> sortColumns, List<VectorValueComparator<?>> comparators,
+      BufferAllocator allocator, long memoryBudget, File spillDirectory, int batchSize) {
+    Preconditions.checkArgument(!sortColumns.isEmpty(), "There must be at least one sort column");
+    Preconditions.checkArgument(comparators == null || comparators.size() == sortColumns.size(),
+        "There must be a comparator per sort column");
+    Preconditions.checkArgument(batchSize > 0, "The batch size must be positive");
+    for (String sortColumn : sortColumns) {
+      schema.findField(sortColumn);
+    }
+
+    this.schema = schema;
+    this.sortColumns = new ArrayList<>(sortColumns);
+    this.spillDirectory = spillDirectory;
+    this.batchSize = batchSize;
+    this.spillThreshold = memoryBudget / 2;
+    this.allocator = allocator.newChildAllocator("ExternalSorter", 0, memoryBudget);
+    this.buffer = VectorSchemaRoot.create(schema, this.allocator);
+    this.comparators = new VectorValueComparator[sortColumns.size()];
+    try {
+      for (int i = 0; i < this.comparators.length; i++) {
+        this.comparators[i] = comparators != null ? comparators.get(i) :
+            DefaultVectorComparators.createDefaultComparator(buffer.getVector(sortColumns.get(i)));
+      }
+      // the appender expects the buffers of the target to be allocated
+      buffer.allocateNew();
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the number of runs spilled to disk so far.
+   */
+  public int getRunCount() {
+    return runFiles.size();
+  }
+
+  /**
+   * Adds the rows of a batch. The batch is copied, so it can be reused afterwards.
+   * @param batch the batch, with the schema of the sorter.
+   * @throws IOException if a run cannot be spilled.
+   */
+  public void add(VectorSchemaRoot batch) throws IOException {
+    Preconditions.checkState(!finished, "The sorted output has already been read");
+    long dataSize = 0;
+    for (FieldVector vector : batch.getFieldVectors()) {
+      dataSize += vector.getBufferSize();
+    }
+    for (FieldVector vector : buffer.getFieldVectors()) {
+      dataSize += vector.getBufferSize();
+    }
+    // appending may double the capacity of the buffer, while the old buffers are still held
+    if (buffer.getRowCount() > 0 && allocator.getAllocatedMemory() + 2 * dataSize > spillThreshold) {
+      spill();
+    }
+    VectorSchemaRootAppender.append(buffer, batch);
+  }
+
+  @SuppressWarnings("unchecked")
+  private IntVector sortBuffer() {
+    for (int i = 0; i < comparators.length; i++) {
+      comparators[i].attachVector(buffer.getVector(sortColumns.get(i)));
+    }
+    final CompositeVectorComparator comparator = new CompositeVectorComparator(comparators);
+    final int rowCount = buffer.getRowCount();
+    IntVector indices = new IntVector("sorted indices", allocator);
+    try {
+      indices.allocateNew(rowCount);
+      indices.setValueCount(rowCount);
+      new IndexSorter<>().sort(buffer.getVector(0), indices, comparator);
+      return indices;
+    } catch (RuntimeException e) {
+      indices.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gathers a range of the sorted rows of the buffer into a batch.
+   */
+  private void gather(IntVector indices, int start, int count, VectorSchemaRoot target) {
+    try (IntVector range = new IntVector("range indices", allocator)) {
+      range.allocateNew(count);
+      for (int i = 0; i < count; i++) {
+        range.set(i, indices.get(start + i));
+      }
+      range.setValueCount(count);
+      VectorSelector.take(buffer, range, target);
+    }
+  }
+
+  /**
+   * Sorts the buffer and writes it to a new run.
+   */
+  private void spill() throws IOException {
+    final File file = File.createTempFile("arrow-sort-", ".arrow", spillDirectory);
+    runFiles.add(file);
+    try (IntVector indices = sortBuffer();
+         VectorSchemaRoot batch = VectorSchemaRoot.create(schema, allocator);
+         FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+         ArrowFileWriter writer = new ArrowFileWriter(batch, null, channel)) {
+      writer.start();
+      for (int start = 0; start < indices.getValueCount(); start += batchSize) {
+        gather(indices, start, Math.min(batchSize, indices.getValueCount() - start), batch);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+    buffer.clear();
+    buffer.allocateNew();
+  }
+
+  private void finish() throws IOException {
+    finished = true;
+    if (runFiles.isEmpty()) {
+      sortedIndices = sortBuffer();
+      return;
+    }
+    if (buffer.getRowCount() > 0) {
+      spill();
+    }
+    buffer.clear();
+
+    for (File file : runFiles) {
+      runReaders.add(new RunReader(file));
+    }
+    loserTree = new LoserTree(runReaders.size(), new LoserTree.Sources() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public int compare(int source1, int source2) {
+        final RunReader reader1 = runReaders.get(source1);
+        final RunReader reader2 = runReaders.get(source2);
+        for (int i = 0; i < comparators.length; i++) {
+          comparators[i].attachVectors(reader1.root.getVector(sortColumns.get(i)),
+              reader2.root.getVector(sortColumns.get(i)));
+          int result = comparators[i].compare(reader1.row, reader2.row);
+          if (result != 0) {
+            return result;
+          }
+        }
+        return 0;
+      }
+
+      @Override
+      public boolean isExhausted(int source) {
+        return runReaders.get(source).exhausted;
+      }
+    });
+  }
+
+  /**
+   * Loads the next batch of sorted rows.
+   * @param output the batch to populate, with the schema of the sorter. Its previous content is discarded.
+   * @return false if all the rows have been loaded, in which case the output is empty.
+   * @throws IOException if a run cannot be read.
+   */
+  public boolean loadNextBatch(VectorSchemaRoot output) throws IOException {
+    Preconditions.checkArgument(output.getSchema().equals(schema), "The output must have the schema %s", schema);
+    if (!finished) {
+      finish();
+    }
+
+    if (sortedIndices != null) {
+      final int count = Math.min(batchSize, sortedIndices.getValueCount() - emittedCount);
+      gather(sortedIndices, emittedCount, count, output);
+      emittedCount += count;
+      return count > 0;
+    }
+
+    output.allocateNew();
+    final List<FieldVector> outputVectors = output.getFieldVectors();
+    int count = 0;
+    int winner;
+    while (count < batchSize && (winner = loserTree.getWinner()) >= 0) {
+      final RunReader reader = runReaders.get(winner);
+      for (int i = 0; i < outputVectors.size(); i++) {
+        outputVectors.get(i).copyFromSafe(reader.row, count, reader.root.getVector(i));
+      }
+      count += 1;
+      reader.advance();
+      loserTree.update(winner);
+    }
+    output.setRowCount(count);
+    return count > 0;
+  }
+
+  /**
+   * Releases the memory of the sorter, and deletes its temporary files.
+   */
+  @Override
+  public void close() {
+    RuntimeException exception = null;
+    for (RunReader reader : runReaders) {
+      try {
+        reader.close();
+      } catch (IOException e) {
+        exception = exception == null ? new RuntimeException(e) : exception;
+      }
+    }
+    for (File file : runFiles) {
+      file.delete();
+    }
+    if (sortedIndices != null) {
+      sortedIndices.close();
+    }
+    buffer.close();
+    allocator.close();
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  /**
+   * Reads a run, one batch at a time.
+   */
+  private class RunReader implements AutoCloseable {
+
+    private final ArrowFileReader reader;
+
+    private final VectorSchemaRoot root;
+
+    /**
+     * The current row of the current batch.
+     */
+    private int row;
+
+    private boolean exhausted;
+
+    RunReader(File file) throws IOException {
+      final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      ArrowFileReader fileReader = null;
+      try {
+        fileReader = new ArrowFileReader(channel, allocator);
+        reader = fileReader;
+        root = reader.getVectorSchemaRoot();
+        row = -1;
+        advance();
+      } catch (IOException | RuntimeException e) {
+        // closing the reader closes the channel too, unless the reader was not created or fails to close
+        AutoCloseables.close(e, fileReader, channel);
+        throw e;
+      }
+    }
+
+    void advance() throws IOException {
+      row += 1;
+      while (row >= root.getRowCount()) {
+        if (!reader.loadNextBatch()) {
+          exhausted = true;
+          return;
+        }
+        row = 0;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
@@ -17,6 +17,8 @@
 
 package org.apache.arrow.algorithm.sort;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BitVectorHelper;
@@ -31,37 +33,62 @@ import io.netty.util.internal.PlatformDependent;
  */
 public class FixedWidthOutOfPlaceVectorSorter<V extends BaseFixedWidthVector> implements OutOfPlaceVectorSorter<V> {
 
-  protected IndexSorter<V> indexSorter = new IndexSorter<>();
+  protected IndexSorter<V> indexSorter;
+
+  /**
+   * Constructs a sorter which sorts on the calling thread.
+   */
+  public FixedWidthOutOfPlaceVectorSorter() {
+    this.indexSorter = new IndexSorter<>();
+  }
+
+  /**
+   * Constructs a sorter which sorts the value indices by multiple threads of the given pool.
+   * The comparators of the sorting tasks are created by {@link VectorValueComparator#createNew()}.
+   * @param pool the pool to run the sorting tasks.
+   */
+  public FixedWidthOutOfPlaceVectorSorter(ForkJoinPool pool) {
+    this.indexSorter = new ParallelIndexSorter<>(pool);
+  }
 
   @Override
   public void sortOutOfPlace(V srcVector, V dstVector, VectorValueComparator<V> comparator) {
     comparator.attachVector(srcVector);
 
-    int valueWidth = comparator.getValueWidth();
-
-    // buffers referenced in the sort
-    ArrowBuf srcValueBuffer = srcVector.getDataBuffer();
-    ArrowBuf dstValidityBuffer = dstVector.getValidityBuffer();
-    ArrowBuf dstValueBuffer = dstVector.getDataBuffer();
-
     // sort value indices
     try (IntVector sortedIndices = new IntVector("", srcVector.getAllocator())) {
       sortedIndices.allocateNew(srcVector.getValueCount());
       sortedIndices.setValueCount(srcVector.getValueCount());
       indexSorter.sort(srcVector, sortedIndices, comparator);
 
-      // copy sorted values to the output vector
-      for (int dstIndex = 0; dstIndex < sortedIndices.getValueCount(); dstIndex++) {
-        int srcIndex = sortedIndices.get(dstIndex);
-        if (srcVector.isNull(srcIndex)) {
-          BitVectorHelper.unsetBit(dstValidityBuffer, dstIndex);
-        } else {
-          BitVectorHelper.setBit(dstValidityBuffer, dstIndex);
-          PlatformDependent.copyMemory(
-                  srcValueBuffer.memoryAddress() + srcIndex * valueWidth,
-                  dstValueBuffer.memoryAddress() + dstIndex * valueWidth,
-                  valueWidth);
-        }
+      copySortedValues(srcVector, dstVector, sortedIndices, comparator.getValueWidth());
+    }
+  }
+
+  /**
+   * Copies the values of the source vector to the output vector, in the order of the sorted indices.
+   * @param srcVector the vector to sort.
+   * @param dstVector the output vector, which has the same size as the source vector.
+   * @param sortedIndices the sorted indices of the source vector.
+   * @param valueWidth the width of the values, in bytes.
+   */
+  protected void copySortedValues(V srcVector, V dstVector, IntVector sortedIndices, int valueWidth) {
+    // buffers referenced in the copy
+    ArrowBuf srcValueBuffer = srcVector.getDataBuffer();
+    ArrowBuf dstValidityBuffer = dstVector.getValidityBuffer();
+    ArrowBuf dstValueBuffer = dstVector.getDataBuffer();
+
+    // copy sorted values to the output vector
+    for (int dstIndex = 0; dstIndex < sortedIndices.getValueCount(); dstIndex++) {
+      int srcIndex = sortedIndices.get(dstIndex);
+      if (srcVector.isNull(srcIndex)) {
+        BitVectorHelper.unsetBit(dstValidityBuffer, dstIndex);
+      } else {
+        BitVectorHelper.setBit(dstValidityBuffer, dstIndex);
+        PlatformDependent.copyMemory(
+                srcValueBuffer.memoryAddress() + (long) srcIndex * valueWidth,
+                dstValueBuffer.memoryAddress() + (long) dstIndex * valueWidth,
+                valueWidth);
       }
     }
   }
@@ -60,13 +60,28 @@ public class IndexSorter<V extends ValueVector> {
 
     this.comparator = comparator;
 
-    quickSort();
+    quickSort(0, vector.getValueCount() - 1);
   }
 
-  private void quickSort() {
+  /**
+   * Sorts a range of indices that have already been filled in, by quick-sort.
+   * The comparator must already be attached to the vector.
+   * @param indices the vector holding the indices to sort.
+   * @param low the lower bound of the range (inclusive).
+   * @param high the upper bound of the range (inclusive).
+   * @param comparator the comparator to sort indices.
+   */
+  void sortRange(IntVector indices, int low, int high, VectorValueComparator<V> comparator) {
+    this.indices = indices;
+    this.comparator = comparator;
+
+    quickSort(low, high);
+  }
+
+  private void quickSort(int start, int end) {
     try (OffHeapIntStack rangeStack = new OffHeapIntStack(indices.getAllocator())) {
-      rangeStack.push(0);
-      rangeStack.push(indices.getValueCount() - 1);
+      rangeStack.push(start);
+      rangeStack.push(end);
 
       while (!rangeStack.isEmpty()) {
         int high = rangeStack.pop();
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import java.util.Arrays;
+
+/**
+ * Tree of losers for a k-way merge of sorted sources.
+ * Each internal node holds the source which lost the match at that node, and the overall winner
+ * is kept at the root, so replacing the head of the winning source takes log(k) comparisons,
+ * all on the path from its leaf to the root.
+ */
+class LoserTree {
+
+  /**
+   * The sources merged by the tree.
+   */
+  interface Sources {
+
+    /**
+     * Compares the heads of two non-exhausted sources.
+     */
+    int compare(int source1, int source2);
+
+    /**
+     * Checks if a source has no more values.
+     */
+    boolean isExhausted(int source);
+  }
+
+  /**
+   * A virtual source which wins against all the others, used to initialize the tree.
+   */
+  private static final int MIN_SOURCE = -1;
+
+  private final Sources sources;
+
+  private final int sourceCount;
+
+  /**
+   * The losers at the internal nodes 1 to k - 1, and the winner at index 0.
+   * The leaf of source s is the virtual node k + s.
+   */
+  private final int[] tree;
+
+  /**
+   * Constructs the tree over the current heads of the sources.
+   * @param sourceCount the number of sources.
+   * @param sources the sources.
+   */
+  LoserTree(int sourceCount, Sources sources) {
+    this.sources = sources;
+    this.sourceCount = sourceCount;
+    this.tree = new int[Math.max(1, sourceCount)];
+    Arrays.fill(tree, MIN_SOURCE);
+    for (int source = sourceCount - 1; source >= 0; source--) {
+      update(source);
+    }
+  }
+
+  /**
+   * Checks if the first source wins against the second one. Exhausted sources lose against all
+   * the others, and ties are won by the source with the lower index, which makes the merge stable.
+   */
+  private boolean wins(int source1, int source2) {
+    if (source1 == MIN_SOURCE) {
+      return true;
+    }
+    if (source2 == MIN_SOURCE) {
+      return false;
+    }
+    if (sources.isExhausted(source1)) {
+      return false;
+    }
+    if (sources.isExhausted(source2)) {
+      return true;
+    }
+    final int result = sources.compare(source1, source2);
+    return result < 0 || (result == 0 && source1 < source2);
+  }
+
+  /**
+   * Gets the source with the smallest head.
+   * @return the source, or -1 if all the sources are exhausted.
+   */
+  int getWinner() {
+    final int winner = tree[0];
+    return sourceCount == 0 || sources.isExhausted(winner) ? -1 : winner;
+  }
+
+  /**
+   * Replays the matches of a source after its head changed. It must be the current winner,
+   * unless the tree is being initialized.
+   */
+  void update(int source) {
+    int winner = source;
+    for (int node = (source + sourceCount) >>> 1; node > 0; node >>>= 1) {
+      if (wins(tree[node], winner)) {
+        final int loser = winner;
+        winner = tree[node];
+        tree[node] = loser;
+      }
+    }
+    tree[0] = winner;
+  }
+}
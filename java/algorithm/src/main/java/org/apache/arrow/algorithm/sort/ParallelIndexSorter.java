@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Sorter for the indices of a vector, by multiple threads of a {@link ForkJoinPool}.
+ * The indices are split into runs which are sorted in parallel by quick-sort,
+ * and the sorted runs are then merged pairwise, where large merges are split
+ * further between threads.
+ * Each task works with its own comparator, created by {@link VectorValueComparator#createNew()}.
+ * @param <V> vector type.
+ */
+public class ParallelIndexSorter<V extends ValueVector> extends IndexSorter<V> {
+
+  /**
+   * The default minimum number of indices sorted or merged by a single task.
+   */
+  public static final int DEFAULT_MIN_RUN_LENGTH = 8192;
+
+  /**
+   * The number of runs per thread, which evens out the load between threads.
+   */
+  private static final int RUNS_PER_THREAD = 4;
+
+  private final ForkJoinPool pool;
+
+  private final int minRunLength;
+
+  /**
+   * Constructs a parallel sorter.
+   * @param pool the pool to run the sorting tasks.
+   */
+  public ParallelIndexSorter(ForkJoinPool pool) {
+    this(pool, DEFAULT_MIN_RUN_LENGTH);
+  }
+
+  /**
+   * Constructs a parallel sorter.
+   * @param pool the pool to run the sorting tasks.
+   * @param minRunLength the minimum number of indices sorted or merged by a single task.
+   */
+  public ParallelIndexSorter(ForkJoinPool pool, int minRunLength) {
+    Preconditions.checkArgument(minRunLength > 1, "The minimum run length must be greater than 1");
+    this.pool = pool;
+    this.minRunLength = minRunLength;
+  }
+
+  /**
+   * Sorts indices in parallel. Suppose the vector is denoted by v.
+   * After calling this method, the following relations hold:
+   * v(indices[0]) <= v(indices[1]) <= ...
+   * @param vector the vector whose indices need to be sorted.
+   * @param indices the vector for storing the sorted indices, with the same value count as the vector.
+   * @param comparator the comparator to sort indices. It is only used as a prototype
+   *     for the comparators of the sorting tasks.
+   */
+  @Override
+  public void sort(V vector, IntVector indices, VectorValueComparator<V> comparator) {
+    Preconditions.checkArgument(indices.getValueCount() == vector.getValueCount(),
+        "The number of indices %s must equal the number of values %s", indices.getValueCount(),
+        vector.getValueCount());
+    final int valueCount = vector.getValueCount();
+    final int runLength = Math.max(minRunLength,
+        (int) (((long) valueCount + pool.getParallelism() * RUNS_PER_THREAD - 1) /
+            (pool.getParallelism() * RUNS_PER_THREAD)));
+    if (valueCount <= runLength) {
+      super.sort(vector, indices, comparator);
+      return;
+    }
+
+    // set all the validity bits before the tasks start, so that the tasks only
+    // write to the data buffer, whose ranges are disjoint between tasks.
+    for (int i = 0; i < valueCount; i++) {
+      indices.set(i, i);
+    }
+
+    try (ArrowBuf mergeBuffer = indices.getAllocator().buffer((long) valueCount * IntVector.TYPE_WIDTH)) {
+      pool.invoke(new SortTask(vector, indices, comparator, mergeBuffer, 0, valueCount, runLength));
+    }
+  }
+
+  /**
+   * Sorts the range [low, high) of the indices, leaving the result in the indices vector.
+   */
+  private final class SortTask extends RecursiveAction {
+    private final V vector;
+    private final IntVector indices;
+    private final VectorValueComparator<V> prototype;
+    private final ArrowBuf mergeBuffer;
+    private final int low;
+    private final int high;
+    private final int runLength;
+
+    SortTask(V vector, IntVector indices, VectorValueComparator<V> prototype, ArrowBuf mergeBuffer,
+        int low, int high, int runLength) {
+      this.vector = vector;
+      this.indices = indices;
+      this.prototype = prototype;
+      this.mergeBuffer = mergeBuffer;
+      this.low = low;
+      this.high = high;
+      this.runLength = runLength;
+    }
+
+    @Override
+    protected void compute() {
+      if (high - low <= runLength) {
+        VectorValueComparator<V> comparator = prototype.createNew();
+        comparator.attachVector(vector);
+        new IndexSorter<V>().sortRange(indices, low, high - 1, comparator);
+        return;
+      }
+
+      int mid = (low + high) >>> 1;
+      invokeAll(new SortTask(vector, indices, prototype, mergeBuffer, low, mid, runLength),
+          new SortTask(vector, indices, prototype, mergeBuffer, mid, high, runLength));
+
+      ArrowBuf indexBuffer = indices.getDataBuffer();
+      new MergeTask(vector, prototype, indexBuffer, mergeBuffer, low, mid, mid, high, low).invoke();
+      PlatformDependent.copyMemory(mergeBuffer.memoryAddress() + (long) low * IntVector.TYPE_WIDTH,
+          indexBuffer.memoryAddress() + (long) low * IntVector.TYPE_WIDTH,
+          (long) (high - low) * IntVector.TYPE_WIDTH);
+    }
+  }
+
+  /**
+   * Merges the sorted runs [low1, high1) and [low2, high2) of the source buffer
+   * into the destination buffer, starting at the given position.
+   */
+  private final class MergeTask extends RecursiveAction {
+    private final V vector;
+    private final VectorValueComparator<V> prototype;
+    private final ArrowBuf src;
+    private final ArrowBuf dst;
+    private final int low1;
+    private final int high1;
+    private final int low2;
+    private final int high2;
+    private final int dstStart;
+
+    MergeTask(V vector, VectorValueComparator<V> prototype, ArrowBuf src, ArrowBuf dst,
+        int low1, int high1, int low2, int high2, int dstStart) {
+      this.vector = vector;
+      this.prototype = prototype;
+      this.src = src;
+      this.dst = dst;
+      this.low1 = low1;
+      this.high1 = high1;
+      this.low2 = low2;
+      this.high2 = high2;
+      this.dstStart = dstStart;
+    }
+
+    @Override
+    protected void compute() {
+      VectorValueComparator<V> comparator = prototype.createNew();
+      comparator.attachVector(vector);
+
+      int length1 = high1 - low1;
+      int length2 = high2 - low2;
+      if (length1 + length2 <= minRunLength) {
+        mergeSequentially(comparator);
+        return;
+      }
+
+      // split the larger run at its middle, and the other run at the position of the middle value,
+      // so that both halves can be merged independently.
+      if (length1 >= length2) {
+        int mid1 = (low1 + high1) >>> 1;
+        int pivot = getIndex(src, mid1);
+        int mid2 = lowerBound(comparator, low2, high2, pivot);
+        int pivotPos = dstStart + (mid1 - low1) + (mid2 - low2);
+        setIndex(dst, pivotPos, pivot);
+        invokeAll(new MergeTask(vector, prototype, src, dst, low1, mid1, low2, mid2, dstStart),
+            new MergeTask(vector, prototype, src, dst, mid1 + 1, high1, mid2, high2, pivotPos + 1));
+      } else {
+        int mid2 = (low2 + high2) >>> 1;
+        int pivot = getIndex(src, mid2);
+        int mid1 = lowerBound(comparator, low1, high1, pivot);
+        int pivotPos = dstStart + (mid1 - low1) + (mid2 - low2);
+        setIndex(dst, pivotPos, pivot);
+        invokeAll(new MergeTask(vector, prototype, src, dst, low1, mid1, low2, mid2, dstStart),
+            new MergeTask(vector, prototype, src, dst, mid1, high1, mid2 + 1, high2, pivotPos + 1));
+      }
+    }
+
+    /**
+     * Finds the first position in [low, high) of the source buffer whose value is not smaller
+     * than the value at the given vector index.
+     */
+    private int lowerBound(VectorValueComparator<V> comparator, int low, int high, int vectorIndex) {
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (comparator.compare(getIndex(src, mid), vectorIndex) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    private void mergeSequentially(VectorValueComparator<V> comparator) {
+      int i = low1;
+      int j = low2;
+      int k = dstStart;
+      while (i < high1 && j < high2) {
+        int index1 = getIndex(src, i);
+        int index2 = getIndex(src, j);
+        if (comparator.compare(index1, index2) <= 0) {
+          setIndex(dst, k++, index1);
+          i += 1;
+        } else {
+          setIndex(dst, k++, index2);
+          j += 1;
+        }
+      }
+      if (i < high1) {
+        copyIndices(src, i, dst, k, high1 - i);
+        k += high1 - i;
+      }
+      if (j < high2) {
+        copyIndices(src, j, dst, k, high2 - j);
+      }
+    }
+  }
+
+  private static int getIndex(ArrowBuf buffer, int position) {
+    return buffer.getInt((long) position * IntVector.TYPE_WIDTH);
+  }
+
+  private static void setIndex(ArrowBuf buffer, int position, int value) {
+    buffer.setInt((long) position * IntVector.TYPE_WIDTH, value);
+  }
+
+  private static void copyIndices(ArrowBuf src, int srcPosition, ArrowBuf dst, int dstPosition, int length) {
+    PlatformDependent.copyMemory(src.memoryAddress() + (long) srcPosition * IntVector.TYPE_WIDTH,
+        dst.memoryAddress() + (long) dstPosition * IntVector.TYPE_WIDTH, (long) length * IntVector.TYPE_WIDTH);
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Sorter for the indices of a fixed-width vector, by least-significant-digit radix sort.
+ * The values are read directly from the data buffer and mapped to unsigned keys that sort in
+ * the same order as the values, so no comparator is involved. It supports integer (signed and
+ * unsigned), floating point, date, time, timestamp and duration vectors.
+ *
+ * <p>The order is the same as that of {@link DefaultVectorComparators}: nulls come first,
+ * NaN is greater than any other floating point value, and -0.0 equals 0.0.
+ * The sort is stable, so equal values keep the order of their indices.
+ * The time complexity is O(n * w), where w is the type width in bytes.
+ * @param <V> vector type.
+ */
+public class RadixIndexSorter<V extends BaseFixedWidthVector> {
+
+  private static final int RADIX_BITS = 8;
+
+  private static final int RADIX = 1 << RADIX_BITS;
+
+  private static final int KEY_WIDTH = Long.BYTES;
+
+  private static final int INDEX_WIDTH = IntVector.TYPE_WIDTH;
+
+  /**
+   * How the bits of a value are mapped to an unsigned key.
+   */
+  private enum KeyEncoding {
+    UNSIGNED,
+    SIGNED,
+    FLOATING_POINT
+  }
+
+  /**
+   * Checks if the radix sort supports the type of the vector.
+   * @param vector the vector to check.
+   * @return true if the indices of the vector can be sorted by this sorter.
+   */
+  public static boolean isSupported(ValueVector vector) {
+    return vector instanceof BaseFixedWidthVector && getKeyEncoding((BaseFixedWidthVector) vector) != null;
+  }
+
+  /**
+   * Sorts indices by radix sort. Suppose the vector is denoted by v.
+   * After calling this method, the following relations hold:
+   * v(indices[0]) <= v(indices[1]) <= ...
+   * @param vector the vector whose indices need to be sorted.
+   * @param indices the vector for storing the sorted indices, with a capacity of at least
+   *     the value count of the vector.
+   */
+  public void sort(V vector, IntVector indices) {
+    final KeyEncoding encoding = getKeyEncoding(vector);
+    if (encoding == null) {
+      throw new IllegalArgumentException("Radix sort is not supported for " + vector.getField().getType());
+    }
+    final int valueCount = vector.getValueCount();
+    final int width = vector.getTypeWidth();
+    final long dataAddress = vector.getDataBuffer().memoryAddress();
+    final BufferAllocator allocator = indices.getAllocator();
+
+    try (ArrowBuf keys = allocator.buffer((long) valueCount * KEY_WIDTH);
+         ArrowBuf keysCopy = allocator.buffer((long) valueCount * KEY_WIDTH);
+         ArrowBuf positions = allocator.buffer((long) valueCount * INDEX_WIDTH);
+         ArrowBuf positionsCopy = allocator.buffer((long) valueCount * INDEX_WIDTH)) {
+      // nulls come first, the other values are mapped to keys and counted by digit
+      final int[][] counts = new int[width][RADIX];
+      int nullCount = 0;
+      int keyCount = 0;
+      for (int i = 0; i < valueCount; i++) {
+        if (vector.isNull(i)) {
+          indices.set(nullCount++, i);
+          continue;
+        }
+        long key = getKey(dataAddress + (long) i * width, width, encoding);
+        PlatformDependent.putLong(keys.memoryAddress() + (long) keyCount * KEY_WIDTH, key);
+        PlatformDependent.putInt(positions.memoryAddress() + (long) keyCount * INDEX_WIDTH, i);
+        keyCount += 1;
+        for (int digit = 0; digit < width; digit++) {
+          counts[digit][(int) (key >>> (digit * RADIX_BITS)) & (RADIX - 1)] += 1;
+        }
+      }
+
+      ArrowBuf srcKeys = keys;
+      ArrowBuf dstKeys = keysCopy;
+      ArrowBuf srcPositions = positions;
+      ArrowBuf dstPositions = positionsCopy;
+      for (int digit = 0; digit < width; digit++) {
+        if (isSingleBucket(counts[digit], keyCount)) {
+          // the digit is the same for all keys, so the pass would not change the order
+          continue;
+        }
+        scatter(srcKeys, srcPositions, dstKeys, dstPositions, keyCount, digit, counts[digit]);
+
+        ArrowBuf tmp = srcKeys;
+        srcKeys = dstKeys;
+        dstKeys = tmp;
+        tmp = srcPositions;
+        srcPositions = dstPositions;
+        dstPositions = tmp;
+      }
+
+      for (int i = 0; i < keyCount; i++) {
+        indices.set(nullCount + i, PlatformDependent.getInt(srcPositions.memoryAddress() + (long) i * INDEX_WIDTH));
+      }
+    }
+  }
+
+  private static boolean isSingleBucket(int[] counts, int keyCount) {
+    for (int count : counts) {
+      if (count != 0) {
+        return count == keyCount;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Distributes the keys and their positions by the given digit, keeping the order of keys with
+   * the same digit.
+   */
+  private static void scatter(ArrowBuf srcKeys, ArrowBuf srcPositions, ArrowBuf dstKeys, ArrowBuf dstPositions,
+      int keyCount, int digit, int[] counts) {
+    final int[] offsets = new int[RADIX];
+    int offset = 0;
+    for (int bucket = 0; bucket < RADIX; bucket++) {
+      offsets[bucket] = offset;
+      offset += counts[bucket];
+    }
+
+    final int shift = digit * RADIX_BITS;
+    final long srcKeyAddress = srcKeys.memoryAddress();
+    final long srcPositionAddress = srcPositions.memoryAddress();
+    final long dstKeyAddress = dstKeys.memoryAddress();
+    final long dstPositionAddress = dstPositions.memoryAddress();
+    for (int i = 0; i < keyCount; i++) {
+      long key = PlatformDependent.getLong(srcKeyAddress + (long) i * KEY_WIDTH);
+      int target = offsets[(int) (key >>> shift) & (RADIX - 1)]++;
+      PlatformDependent.putLong(dstKeyAddress + (long) target * KEY_WIDTH, key);
+      PlatformDependent.putInt(dstPositionAddress + (long) target * INDEX_WIDTH,
+          PlatformDependent.getInt(srcPositionAddress + (long) i * INDEX_WIDTH));
+    }
+  }
+
+  /**
+   * Reads a value and maps it to an unsigned key of the same width, whose order is the order of the values.
+   */
+  private static long getKey(long address, int width, KeyEncoding encoding) {
+    if (encoding == KeyEncoding.FLOATING_POINT) {
+      if (width == Double.BYTES) {
+        double value = Double.longBitsToDouble(PlatformDependent.getLong(address));
+        long bits = Double.isNaN(value) ? 0x7ff8000000000000L :
+            value == 0.0 ? 0L : Double.doubleToRawLongBits(value);
+        // flip all bits of negative values, and the sign bit of positive values
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+      } else {
+        float value = Float.intBitsToFloat(PlatformDependent.getInt(address));
+        int bits = Float.isNaN(value) ? 0x7fc00000 :
+            value == 0.0f ? 0 : Float.floatToRawIntBits(value);
+        return (bits ^ ((bits >> 31) | Integer.MIN_VALUE)) & 0xFFFFFFFFL;
+      }
+    }
+
+    final long raw;
+    switch (width) {
+      case Byte.BYTES:
+        raw = PlatformDependent.getByte(address) & 0xFFL;
+        break;
+      case Short.BYTES:
+        raw = PlatformDependent.getShort(address) & 0xFFFFL;
+        break;
+      case Integer.BYTES:
+        raw = PlatformDependent.getInt(address) & 0xFFFFFFFFL;
+        break;
+      default:
+        raw = PlatformDependent.getLong(address);
+        break;
+    }
+    // flipping the sign bit maps two's complement values to unsigned values in the same order
+    return encoding == KeyEncoding.SIGNED ? raw ^ (1L << (width * Byte.SIZE - 1)) : raw;
+  }
+
+  private static KeyEncoding getKeyEncoding(BaseFixedWidthVector vector) {
+    final int width = vector.getTypeWidth();
+    if (width != Byte.BYTES && width != Short.BYTES && width != Integer.BYTES && width != Long.BYTES) {
+      return null;
+    }
+    final ArrowType type = vector.getField().getType();
+    switch (type.getTypeID()) {
+      case Int:
+        return ((ArrowType.Int) type).getIsSigned() ? KeyEncoding.SIGNED : KeyEncoding.UNSIGNED;
+      case FloatingPoint:
+        return ((ArrowType.FloatingPoint) type).getPrecision() == FloatingPointPrecision.HALF ?
+            null : KeyEncoding.FLOATING_POINT;
+      case Date:
+      case Time:
+      case Timestamp:
+      case Duration:
+        return KeyEncoding.SIGNED;
+      default:
+        return null;
+    }
+  }
+}
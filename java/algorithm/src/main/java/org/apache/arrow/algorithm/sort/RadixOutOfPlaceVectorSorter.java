@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Out-of-place sorter for fixed-width vectors based on radix sort, see {@link RadixIndexSorter}.
+ * It is an out-of-place sort, with time complexity O(n*w), where w is the type width in bytes.
+ *
+ * <p>The radix sort orders values as {@link DefaultVectorComparators} does, so it is only used when the
+ * comparator is the default comparator of the vector. This includes integer, floating point, date, time,
+ * timestamp and duration vectors, whose values are ordered as signed integers of the type width.
+ * Other comparators and types are sorted by quick-sort with the comparator.
+ * @param <V> vector type.
+ */
+public class RadixOutOfPlaceVectorSorter<V extends BaseFixedWidthVector> extends FixedWidthOutOfPlaceVectorSorter<V> {
+
+  private final RadixIndexSorter<V> radixSorter = new RadixIndexSorter<>();
+
+  @Override
+  public void sortOutOfPlace(V srcVector, V dstVector, VectorValueComparator<V> comparator) {
+    if (!RadixIndexSorter.isSupported(srcVector) || !isDefaultComparator(srcVector, comparator)) {
+      super.sortOutOfPlace(srcVector, dstVector, comparator);
+      return;
+    }
+
+    // sort value indices
+    try (IntVector sortedIndices = new IntVector("", srcVector.getAllocator())) {
+      sortedIndices.allocateNew(srcVector.getValueCount());
+      sortedIndices.setValueCount(srcVector.getValueCount());
+      radixSorter.sort(srcVector, sortedIndices);
+
+      copySortedValues(srcVector, dstVector, sortedIndices, srcVector.getTypeWidth());
+    }
+  }
+
+  /**
+   * Check whether the comparator is the default comparator of the vector, and not e.g. a subclass changing the order.
+   */
+  private static boolean isDefaultComparator(ValueVector vector, VectorValueComparator<?> comparator) {
+    final VectorValueComparator<?> defaultComparator;
+    try {
+      defaultComparator = DefaultVectorComparators.createDefaultComparator(vector);
+    } catch (IllegalArgumentException e) {
+      // e.g. decimals and intervals have no default comparator
+      return false;
+    }
+    return comparator.getClass() == defaultComparator.getClass();
+  }
+}
@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.VectorSelector;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Selects the k smallest rows of a stream of batches, without sorting all the rows.
+ *
+ * <p>The selected rows are kept in a binary max-heap of row references, so that each incoming row
+ * is compared with the largest selected row first, and most rows are rejected by one comparison
+ * when k is much smaller than the number of rows. A row reference is a long, with the id of the
+ * batch in the high 32 bits and the row index in the low 32 bits: the rows retained from previous
+ * batches have batch id 0, and the rows of the batch being consumed have batch id 1. After a batch
+ * is consumed, the selected rows are compacted into vectors owned by the sorter, so the batch
+ * can be reused or released by the caller.
+ *
+ * <p>Rows are compared by the sort columns in turn, as by {@link CompositeVectorComparator}.
+ * Which of the rows that compare equal to the k-th smallest row are selected is unspecified.
+ */
+public class TopKSorter implements AutoCloseable {
+
+  private static final int RETAINED_BATCH = 0;
+
+  private static final int CURRENT_BATCH = 1;
+
+  private final BufferAllocator allocator;
+
+  private final Schema schema;
+
+  private final List<String> sortColumns;
+
+  private final int k;
+
+  /**
+   * The comparators of the sort columns, for each pair of batch ids.
+   */
+  private final VectorValueComparator[][][] comparators;
+
+  /**
+   * The heap of row references.
+   */
+  private final ArrowBuf heap;
+
+  private int heapSize;
+
+  /**
+   * The selected rows of the previous batches.
+   */
+  private VectorSchemaRoot retained;
+
+  /**
+   * Constructs a sorter by the default comparators of the sort columns.
+   * @param schema the schema of the batches.
+   * @param sortColumns the names of the sort columns, by decreasing precedence.
+   *     Their types must be supported by {@link DefaultVectorComparators}.
+   * @param k the number of rows to select.
+   * @param allocator the allocator for the heap and the selected rows.
+   */
+  public TopKSorter(Schema schema, List<String> sortColumns, int k, BufferAllocator allocator) {
+    this(schema, sortColumns, null, k, allocator);
+  }
+
+  /**
+   * Constructs a sorter.
+   * @param schema the schema of the batches.
+   * @param sortColumns the names of the sort columns, by decreasing precedence.
+   * @param comparators the comparators of the sort columns, or null for their default comparators.
+   * @param k the number of rows to select.
+   * @param allocator the allocator for the heap and the selected rows.
+   */
+  public TopKSorter(Schema schema, List<String> sortColumns, List<VectorValueComparator<?>> comparators,
+      int k, BufferAllocator allocator) {
+    Preconditions.checkArgument(!sortColumns.isEmpty(), "There must be at least one sort column");
+    Preconditions.checkArgument(comparators == null || comparators.size() == sortColumns.size(),
+        "There must be a comparator per sort column");
+    Preconditions.checkArgument(k >= 0, "The number of rows to select must be non-negative");
+    for (String sortColumn : sortColumns) {
+      schema.findField(sortColumn);
+    }
+
+    this.allocator = allocator;
+    this.schema = schema;
+    this.sortColumns = new ArrayList<>(sortColumns);
+    this.k = k;
+    this.retained = VectorSchemaRoot.create(schema, allocator);
+    this.comparators = new VectorValueComparator[2][2][sortColumns.size()];
+    for (int i = 0; i < sortColumns.size(); i++) {
+      VectorValueComparator<?> comparator = comparators != null ? comparators.get(i) :
+          DefaultVectorComparators.createDefaultComparator(retained.getVector(sortColumns.get(i)));
+      for (int batch1 = 0; batch1 < 2; batch1++) {
+        for (int batch2 = 0; batch2 < 2; batch2++) {
+          this.comparators[batch1][batch2][i] = comparator.createNew();
+        }
+      }
+    }
+    try {
+      this.heap = allocator.buffer((long) k * Long.BYTES);
+    } catch (RuntimeException e) {
+      retained.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the number of rows selected so far, which is at most k.
+   */
+  public int getRowCount() {
+    return heapSize;
+  }
+
+  private static long rowReference(int batch, int index) {
+    return ((long) batch << 32) | index;
+  }
+
+  private static int batchOf(long reference) {
+    return (int) (reference >>> 32);
+  }
+
+  private static int indexOf(long reference) {
+    return (int) reference;
+  }
+
+  private long getReference(int position) {
+    return PlatformDependent.getLong(heap.memoryAddress() + (long) position * Long.BYTES);
+  }
+
+  private void setReference(int position, long reference) {
+    PlatformDependent.putLong(heap.memoryAddress() + (long) position * Long.BYTES, reference);
+  }
+
+  @SuppressWarnings("unchecked")
+  private int compare(long reference1, long reference2) {
+    final VectorValueComparator[] columnComparators = comparators[batchOf(reference1)][batchOf(reference2)];
+    final int index1 = indexOf(reference1);
+    final int index2 = indexOf(reference2);
+    for (VectorValueComparator comparator : columnComparators) {
+      int result = comparator.compare(index1, index2);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  }
+
+  private void siftUp(int position, long reference) {
+    while (position > 0) {
+      int parent = (position - 1) >>> 1;
+      long parentReference = getReference(parent);
+      if (compare(parentReference, reference) >= 0) {
+        break;
+      }
+      setReference(position, parentReference);
+      position = parent;
+    }
+    setReference(position, reference);
+  }
+
+  private void siftDown(int position, long reference) {
+    while (true) {
+      int child = 2 * position + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      long childReference = getReference(child);
+      if (child + 1 < heapSize) {
+        long rightReference = getReference(child + 1);
+        if (compare(rightReference, childReference) > 0) {
+          child += 1;
+          childReference = rightReference;
+        }
+      }
+      if (compare(reference, childReference) >= 0) {
+        break;
+      }
+      setReference(position, childReference);
+      position = child;
+    }
+    setReference(position, reference);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void attachComparators(VectorSchemaRoot batch) {
+    final VectorSchemaRoot[] roots = {retained, batch};
+    for (int i = 0; i < sortColumns.size(); i++) {
+      for (int batch1 = 0; batch1 < 2; batch1++) {
+        for (int batch2 = 0; batch2 < 2; batch2++) {
+          comparators[batch1][batch2][i].attachVectors(roots[batch1].getVector(sortColumns.get(i)),
+              roots[batch2].getVector(sortColumns.get(i)));
+        }
+      }
+    }
+  }
+
+  /**
+   * Selects the rows of a batch that are among the k smallest so far.
+   * The selected rows are copied, so the batch can be reused afterwards.
+   * @param batch the batch, with the schema of the sorter.
+   */
+  public void consume(VectorSchemaRoot batch) {
+    Preconditions.checkArgument(batch.getSchema().equals(schema), "The batch must have the schema %s", schema);
+    if (k == 0 || batch.getRowCount() == 0) {
+      return;
+    }
+    attachComparators(batch);
+
+    boolean selected = false;
+    for (int i = 0; i < batch.getRowCount(); i++) {
+      final long reference = rowReference(CURRENT_BATCH, i);
+      if (heapSize < k) {
+        heapSize += 1;
+        siftUp(heapSize - 1, reference);
+        selected = true;
+      } else if (compare(reference, getReference(0)) < 0) {
+        siftDown(0, reference);
+        selected = true;
+      }
+    }
+
+    if (selected) {
+      compact(batch);
+    }
+  }
+
+  /**
+   * Copies the selected rows into new owned vectors, in heap order, so the heap stays valid.
+   */
+  private void compact(VectorSchemaRoot batch) {
+    final VectorSchemaRoot compacted = VectorSchemaRoot.create(schema, allocator);
+    try {
+      compacted.allocateNew();
+      final List<FieldVector> targets = compacted.getFieldVectors();
+      final List<FieldVector> retainedVectors = retained.getFieldVectors();
+      final List<FieldVector> batchVectors = batch.getFieldVectors();
+      for (int position = 0; position < heapSize; position++) {
+        final long reference = getReference(position);
+        final List<FieldVector> sources = batchOf(reference) == RETAINED_BATCH ? retainedVectors : batchVectors;
+        for (int i = 0; i < targets.size(); i++) {
+          targets.get(i).copyFromSafe(indexOf(reference), position, sources.get(i));
+        }
+        setReference(position, rowReference(RETAINED_BATCH, position));
+      }
+      compacted.setRowCount(heapSize);
+    } catch (RuntimeException e) {
+      compacted.close();
+      throw e;
+    }
+    retained.close();
+    retained = compacted;
+  }
+
+  /**
+   * Gets the selected rows, in sorted order. More batches may be consumed afterwards.
+   * @param output the batch to populate, with the schema of the sorter. Its previous content is discarded.
+   */
+  @SuppressWarnings("unchecked")
+  public void getResult(VectorSchemaRoot output) {
+    Preconditions.checkArgument(output.getSchema().equals(schema), "The output must have the schema %s", schema);
+    final VectorValueComparator[] columnComparators = comparators[RETAINED_BATCH][RETAINED_BATCH];
+    for (int i = 0; i < columnComparators.length; i++) {
+      columnComparators[i].attachVector(retained.getVector(sortColumns.get(i)));
+    }
+    try (IntVector indices = new IntVector("sorted indices", allocator)) {
+      indices.allocateNew(heapSize);
+      indices.setValueCount(heapSize);
+      new IndexSorter<>().sort(retained.getVector(0), indices, new CompositeVectorComparator(columnComparators));
+      VectorSelector.take(retained, indices, output);
+    }
+  }
+
+  @Override
+  public void close() {
+    heap.close();
+    retained.close();
+  }
+}
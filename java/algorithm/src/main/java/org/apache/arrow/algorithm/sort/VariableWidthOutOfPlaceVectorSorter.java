@@ -17,6 +17,8 @@
 
 package org.apache.arrow.algorithm.sort;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.BaseVariableWidthVector;
 import org.apache.arrow.vector.BitVectorHelper;
@@ -32,7 +34,23 @@ import io.netty.util.internal.PlatformDependent;
 public class VariableWidthOutOfPlaceVectorSorter<V extends BaseVariableWidthVector>
         implements OutOfPlaceVectorSorter<V> {
 
-  protected IndexSorter<V> indexSorter = new IndexSorter<>();
+  protected IndexSorter<V> indexSorter;
+
+  /**
+   * Constructs a sorter which sorts on the calling thread.
+   */
+  public VariableWidthOutOfPlaceVectorSorter() {
+    this.indexSorter = new IndexSorter<>();
+  }
+
+  /**
+   * Constructs a sorter which sorts the value indices by multiple threads of the given pool.
+   * The comparators of the sorting tasks are created by {@link VectorValueComparator#createNew()}.
+   * @param pool the pool to run the sorting tasks.
+   */
+  public VariableWidthOutOfPlaceVectorSorter(ForkJoinPool pool) {
+    this.indexSorter = new ParallelIndexSorter<>(pool);
+  }
 
   @Override
   public void sortOutOfPlace(V srcVector, V dstVector, VectorValueComparator<V> comparator) {
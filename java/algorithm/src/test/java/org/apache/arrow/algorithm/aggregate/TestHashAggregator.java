@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.aggregate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.UInt1Vector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.Text;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link HashAggregator}.
+ */
+public class TestHashAggregator {
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", Types.MinorType.INT.getType()),
+      Field.nullable("name", Types.MinorType.VARCHAR.getType()),
+      Field.nullable("value", Types.MinorType.INT.getType()),
+      Field.nullable("weight", Types.MinorType.FLOAT8.getType())));
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private VectorSchemaRoot createBatch(Integer[] keys, String[] names, Integer[] values, Double[] weights) {
+    VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator);
+    ValueVectorDataPopulator.setVector((IntVector) batch.getVector("key"), keys);
+    ValueVectorDataPopulator.setVector((VarCharVector) batch.getVector("name"), names);
+    ValueVectorDataPopulator.setVector((IntVector) batch.getVector("value"), values);
+    ValueVectorDataPopulator.setVector((Float8Vector) batch.getVector("weight"), weights);
+    batch.setRowCount(keys.length);
+    return batch;
+  }
+
+  @Test
+  public void testGroupBySingleKey() {
+    List<Aggregation> aggregations = Arrays.asList(Aggregation.countAll(), Aggregation.count("value"),
+        Aggregation.sum("value"), Aggregation.min("value"), Aggregation.max("value"));
+    try (HashAggregator aggregator = new HashAggregator(SCHEMA, Collections.singletonList("key"), aggregations,
+        allocator)) {
+      try (VectorSchemaRoot batch = createBatch(
+          new Integer[] {1, 2, 1, 3, null},
+          new String[] {"a", "b", "c", "d", "e"},
+          new Integer[] {10, 20, 30, null, 50},
+          new Double[] {1.0, 2.0, 3.0, 4.0, 5.0})) {
+        aggregator.consume(batch);
+      }
+      try (VectorSchemaRoot batch = createBatch(
+          new Integer[] {3, 1, null},
+          new String[] {"f", "g", "h"},
+          new Integer[] {null, -5, 7},
+          new Double[] {6.0, 7.0, 8.0})) {
+        aggregator.consume(batch);
+      }
+      assertEquals(4, aggregator.getGroupCount());
+
+      try (VectorSchemaRoot result = VectorSchemaRoot.create(aggregator.getResultSchema(), allocator)) {
+        aggregator.getResults(0, 4, result);
+        assertEquals(4, result.getRowCount());
+
+        // groups are in the order they were first seen: 1, 2, 3, null
+        assertEquals(Arrays.asList(1, 2, 3, null), getColumn(result, "key"));
+        assertEquals(Arrays.asList(3L, 1L, 2L, 2L), getColumn(result, "count"));
+        assertEquals(Arrays.asList(3L, 1L, 0L, 2L), getColumn(result, "count_value"));
+        assertEquals(Arrays.asList(35L, 20L, null, 57L), getColumn(result, "sum_value"));
+        assertEquals(Arrays.asList(-5L, 20L, null, 7L), getColumn(result, "min_value"));
+        assertEquals(Arrays.asList(30L, 20L, null, 50L), getColumn(result, "max_value"));
+      }
+    }
+  }
+
+  @Test
+  public void testGroupByMultipleKeys() {
+    List<Aggregation> aggregations = Arrays.asList(Aggregation.sum("weight"), Aggregation.max("weight"));
+    try (HashAggregator aggregator = new HashAggregator(SCHEMA, Arrays.asList("name", "key"), aggregations,
+        allocator)) {
+      try (VectorSchemaRoot batch = createBatch(
+          new Integer[] {1, 1, 2, 1, null, null},
+          new String[] {"a", "b", "a", "a", null, null},
+          new Integer[] {0, 0, 0, 0, 0, 0},
+          new Double[] {1.5, 2.0, 3.0, 4.0, null, 6.0})) {
+        aggregator.consume(batch);
+      }
+      assertEquals(4, aggregator.getGroupCount());
+
+      try (VectorSchemaRoot result = VectorSchemaRoot.create(aggregator.getResultSchema(), allocator)) {
+        aggregator.getResults(0, 4, result);
+        assertEquals(Arrays.asList(new Text("a"), new Text("b"), new Text("a"), null), getColumn(result, "name"));
+        assertEquals(Arrays.asList(1, 1, 2, null), getColumn(result, "key"));
+        assertEquals(Arrays.asList(5.5, 2.0, 3.0, 6.0), getColumn(result, "sum_weight"));
+        assertEquals(Arrays.asList(4.0, 2.0, 3.0, 6.0), getColumn(result, "max_weight"));
+      }
+    }
+  }
+
+  @Test
+  public void testGlobalAggregate() {
+    List<Aggregation> aggregations = Arrays.asList(Aggregation.countAll(), Aggregation.min("weight"));
+    try (HashAggregator aggregator = new HashAggregator(SCHEMA, Collections.emptyList(), aggregations, allocator);
+         VectorSchemaRoot batch = createBatch(
+             new Integer[] {1, 2, 3},
+             new String[] {"a", "b", "c"},
+             new Integer[] {1, 2, 3},
+             new Double[] {2.5, null, -1.0})) {
+      aggregator.consume(batch);
+      aggregator.consume(batch);
+      assertEquals(1, aggregator.getGroupCount());
+
+      try (VectorSchemaRoot result = VectorSchemaRoot.create(aggregator.getResultSchema(), allocator)) {
+        aggregator.getResults(0, 1, result);
+        assertEquals(Collections.singletonList(6L), getColumn(result, "count"));
+        assertEquals(Collections.singletonList(-1.0), getColumn(result, "min_weight"));
+      }
+    }
+  }
+
+  @Test
+  public void testManyGroupsInResultBatches() {
+    final int rowCount = 10000;
+    final int keyCount = 3000;
+    final int resultBatchSize = 1024;
+    Random random = new Random(0);
+    Integer[] keys = new Integer[rowCount];
+    Integer[] values = new Integer[rowCount];
+    Map<Integer, Long> expectedSums = new HashMap<>();
+    for (int i = 0; i < rowCount; i++) {
+      keys[i] = random.nextInt(keyCount);
+      values[i] = random.nextInt(1000);
+      expectedSums.merge(keys[i], (long) values[i], Long::sum);
+    }
+
+    try (HashAggregator aggregator = new HashAggregator(SCHEMA, Collections.singletonList("key"),
+        Collections.singletonList(Aggregation.sum("value")), allocator);
+         VectorSchemaRoot batch = createBatch(keys, new String[rowCount], values, new Double[rowCount])) {
+      aggregator.consume(batch);
+      assertEquals(expectedSums.size(), aggregator.getGroupCount());
+
+      Map<Integer, Long> actualSums = new HashMap<>();
+      try (VectorSchemaRoot result = VectorSchemaRoot.create(aggregator.getResultSchema(), allocator)) {
+        for (int start = 0; start < aggregator.getGroupCount(); start += resultBatchSize) {
+          int count = Math.min(resultBatchSize, aggregator.getGroupCount() - start);
+          aggregator.getResults(start, count, result);
+          IntVector keyVector = (IntVector) result.getVector("key");
+          BigIntVector sumVector = (BigIntVector) result.getVector("sum_value");
+          for (int i = 0; i < count; i++) {
+            assertNull(actualSums.put(keyVector.get(i), sumVector.get(i)));
+          }
+        }
+      }
+      assertEquals(expectedSums, actualSums);
+    }
+  }
+
+  @Test
+  public void testMemoryLimit() {
+    final int rowCount = 10000;
+    Integer[] keys = new Integer[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      keys[i] = i;
+    }
+    try (VectorSchemaRoot batch = createBatch(keys, new String[rowCount], keys, new Double[rowCount])) {
+      HashAggregator aggregator = new HashAggregator(SCHEMA, Collections.singletonList("key"),
+          Collections.singletonList(Aggregation.sum("value")), allocator, 16 * 1024, SimpleHasher.INSTANCE);
+      assertThrows(OutOfMemoryException.class, () -> aggregator.consume(batch));
+      assertTrue(aggregator.getAllocatedMemory() <= 16 * 1024);
+      aggregator.close();
+    }
+  }
+
+  @Test
+  public void testUnsupportedAggregation() {
+    assertThrows(IllegalArgumentException.class, () -> new HashAggregator(SCHEMA, Collections.singletonList("key"),
+        Collections.singletonList(Aggregation.sum("name")), allocator));
+    assertThrows(IllegalArgumentException.class, () -> new HashAggregator(SCHEMA, Collections.singletonList("key"),
+        Collections.singletonList(Aggregation.sum("missing")), allocator));
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testUnsignedValues() {
+    Schema schema = new Schema(Arrays.asList(
+        Field.nullable("small", Types.MinorType.UINT1.getType()),
+        Field.nullable("large", Types.MinorType.UINT4.getType())));
+    List<Aggregation> aggregations = Arrays.asList(Aggregation.sum("small"), Aggregation.min("small"),
+        Aggregation.max("small"), Aggregation.sum("large"), Aggregation.max("large"));
+    try (HashAggregator aggregator = new HashAggregator(schema, Collections.emptyList(), aggregations, allocator);
+         VectorSchemaRoot batch = VectorSchemaRoot.create(schema, allocator)) {
+      ValueVectorDataPopulator.setVector((UInt1Vector) batch.getVector("small"), (byte) 200, (byte) 100, null);
+      ValueVectorDataPopulator.setVector((UInt4Vector) batch.getVector("large"), -1, 1, null);
+      batch.setRowCount(3);
+      aggregator.consume(batch);
+
+      try (VectorSchemaRoot result = VectorSchemaRoot.create(aggregator.getResultSchema(), allocator)) {
+        aggregator.getResults(0, 1, result);
+        assertEquals(Collections.singletonList(300L), getColumn(result, "sum_small"));
+        assertEquals(Collections.singletonList(100L), getColumn(result, "min_small"));
+        assertEquals(Collections.singletonList(200L), getColumn(result, "max_small"));
+        assertEquals(Collections.singletonList(0x1_0000_0000L), getColumn(result, "sum_large"));
+        assertEquals(Collections.singletonList(0xFFFF_FFFFL), getColumn(result, "max_large"));
+      }
+    }
+  }
+
+  @Test
+  public void testUnsupportedUnsignedBigInt() {
+    Schema schema = new Schema(Collections.singletonList(Field.nullable("value", Types.MinorType.UINT8.getType())));
+    assertThrows(IllegalArgumentException.class, () -> new HashAggregator(schema, Collections.emptyList(),
+        Collections.singletonList(Aggregation.sum("value")), allocator));
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  private static List<Object> getColumn(VectorSchemaRoot root, String name) {
+    Object[] values = new Object[root.getRowCount()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = root.getVector(name).getObject(i);
+    }
+    return Arrays.asList(values);
+  }
+}
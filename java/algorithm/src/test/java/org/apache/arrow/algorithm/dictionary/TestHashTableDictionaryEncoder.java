@@ -114,6 +114,41 @@ public class TestHashTableDictionaryEncoder {
     }
   }
 
+  @Test
+  public void testEncodeDuplicateDictionaryValues() {
+    try (VarCharVector rawVector = new VarCharVector("original vector", allocator);
+         IntVector encodedVector = new IntVector("encoded vector", allocator);
+         VarCharVector dictionary = new VarCharVector("dictionary", allocator)) {
+
+      // "a" and "b" appear twice in the dictionary
+      dictionary.allocateNew();
+      String[] dictionaryValues = {"a", "b", "a", "c", "b"};
+      for (int i = 0; i < dictionaryValues.length; i++) {
+        dictionary.setSafe(i, dictionaryValues[i].getBytes(StandardCharsets.UTF_8));
+      }
+      dictionary.setValueCount(dictionaryValues.length);
+
+      rawVector.allocateNew();
+      String[] rawValues = {"a", "b", "c", "a"};
+      for (int i = 0; i < rawValues.length; i++) {
+        rawVector.setSafe(i, rawValues[i].getBytes(StandardCharsets.UTF_8));
+      }
+      rawVector.setValueCount(rawValues.length);
+
+      HashTableDictionaryEncoder<IntVector, VarCharVector> encoder =
+          new HashTableDictionaryEncoder<>(dictionary, false);
+      encodedVector.allocateNew();
+      encoder.encode(rawVector, encodedVector);
+
+      // values are encoded to their latest index in the dictionary
+      assertEquals(4, encodedVector.getValueCount());
+      assertEquals(2, encodedVector.get(0));
+      assertEquals(4, encodedVector.get(1));
+      assertEquals(3, encodedVector.get(2));
+      assertEquals(2, encodedVector.get(3));
+    }
+  }
+
   @Test
   public void testEncodeAndDecodeWithNull() {
     Random random = new Random();
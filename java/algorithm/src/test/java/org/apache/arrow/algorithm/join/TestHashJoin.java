@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link HashJoin}.
+ */
+public class TestHashJoin {
+
+  private static final Schema PROBE_SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("id", Types.MinorType.INT.getType()),
+      Field.nullable("name", Types.MinorType.VARCHAR.getType())));
+
+  private static final Schema BUILD_SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", Types.MinorType.INT.getType()),
+      Field.nullable("label", Types.MinorType.VARCHAR.getType())));
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private VectorSchemaRoot createBatch(Schema schema, Integer[] ints, String[] strings) {
+    VectorSchemaRoot batch = VectorSchemaRoot.create(schema, allocator);
+    ValueVectorDataPopulator.setVector((IntVector) batch.getVector(0), ints);
+    ValueVectorDataPopulator.setVector((VarCharVector) batch.getVector(1), strings);
+    batch.setRowCount(ints.length);
+    return batch;
+  }
+
+  /**
+   * Joins the probe rows (0, a), (1, b), (2, c), (null, d), (3, e) with the build rows
+   * (1, x), (2, y), (null, z) in a first batch and (1, w), (4, v) in a second batch.
+   */
+  private List<String> join(JoinType joinType, List<String> probeKeys, List<String> buildKeys) {
+    try (HashJoin join = new HashJoin(PROBE_SCHEMA, probeKeys, BUILD_SCHEMA, buildKeys, joinType, allocator);
+         VectorSchemaRoot probeBatch = createBatch(PROBE_SCHEMA,
+             new Integer[] {0, 1, 2, null, 3}, new String[] {"a", "b", "c", "d", "e"});
+         VectorSchemaRoot output = VectorSchemaRoot.create(join.getOutputSchema(), allocator)) {
+      try (VectorSchemaRoot buildBatch = createBatch(BUILD_SCHEMA,
+          new Integer[] {1, 2, null}, new String[] {"x", "y", "z"})) {
+        join.build(buildBatch);
+      }
+      try (VectorSchemaRoot buildBatch = createBatch(BUILD_SCHEMA,
+          new Integer[] {1, 4}, new String[] {"w", "v"})) {
+        join.build(buildBatch);
+      }
+      join.probe(probeBatch, output);
+      return getRows(output);
+    }
+  }
+
+  private static List<String> getRows(VectorSchemaRoot root) {
+    List<String> rows = new ArrayList<>();
+    for (int i = 0; i < root.getRowCount(); i++) {
+      StringBuilder row = new StringBuilder();
+      for (int j = 0; j < root.getFieldVectors().size(); j++) {
+        row.append(j == 0 ? "" : ",").append(root.getVector(j).getObject(i));
+      }
+      rows.add(row.toString());
+    }
+    Collections.sort(rows);
+    return rows;
+  }
+
+  @Test
+  public void testInnerJoin() {
+    assertEquals(Arrays.asList("1,b,1,w", "1,b,1,x", "2,c,2,y"),
+        join(JoinType.INNER, Collections.singletonList("id"), Collections.singletonList("key")));
+  }
+
+  @Test
+  public void testLeftOuterJoin() {
+    assertEquals(Arrays.asList("0,a,null,null", "1,b,1,w", "1,b,1,x", "2,c,2,y", "3,e,null,null", "null,d,null,null"),
+        join(JoinType.LEFT_OUTER, Collections.singletonList("id"), Collections.singletonList("key")));
+  }
+
+  @Test
+  public void testSemiJoin() {
+    assertEquals(Arrays.asList("1,b", "2,c"),
+        join(JoinType.SEMI, Collections.singletonList("id"), Collections.singletonList("key")));
+  }
+
+  @Test
+  public void testAntiJoin() {
+    assertEquals(Arrays.asList("0,a", "3,e", "null,d"),
+        join(JoinType.ANTI, Collections.singletonList("id"), Collections.singletonList("key")));
+  }
+
+  @Test
+  public void testMultipleKeyColumns() {
+    try (HashJoin join = new HashJoin(PROBE_SCHEMA, Arrays.asList("id", "name"), BUILD_SCHEMA,
+        Arrays.asList("key", "label"), JoinType.INNER, allocator);
+         VectorSchemaRoot probeBatch = createBatch(PROBE_SCHEMA,
+             new Integer[] {1, 1, 2, 2}, new String[] {"a", "b", "a", null});
+         VectorSchemaRoot buildBatch = createBatch(BUILD_SCHEMA,
+             new Integer[] {1, 2, 2, 1}, new String[] {"b", "a", null, "b"});
+         VectorSchemaRoot output = VectorSchemaRoot.create(join.getOutputSchema(), allocator)) {
+      join.build(buildBatch);
+      join.probe(probeBatch, output);
+      assertEquals(Arrays.asList("1,b,1,b", "1,b,1,b", "2,a,2,a"), getRows(output));
+    }
+  }
+
+  @Test
+  public void testParallelBuild() {
+    final int buildCount = 100000;
+    final int probeCount = 20000;
+    final int keyCount = 50000;
+    Random random = new Random(0);
+    Integer[] buildKeys = new Integer[buildCount];
+    Map<Integer, Integer> expectedMatches = new HashMap<>();
+    for (int i = 0; i < buildCount; i++) {
+      buildKeys[i] = random.nextInt(keyCount);
+      expectedMatches.merge(buildKeys[i], 1, Integer::sum);
+    }
+    Integer[] probeKeys = new Integer[probeCount];
+    int expectedCount = 0;
+    for (int i = 0; i < probeCount; i++) {
+      probeKeys[i] = random.nextInt(2 * keyCount);
+      expectedCount += expectedMatches.getOrDefault(probeKeys[i], 0);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try (HashJoin join = new HashJoin(PROBE_SCHEMA, Collections.singletonList("id"), BUILD_SCHEMA,
+        Collections.singletonList("key"), JoinType.INNER, allocator, Long.MAX_VALUE, pool, SimpleHasher.INSTANCE);
+         VectorSchemaRoot buildBatch = createBatch(BUILD_SCHEMA, buildKeys, new String[buildCount]);
+         VectorSchemaRoot probeBatch = createBatch(PROBE_SCHEMA, probeKeys, new String[probeCount]);
+         VectorSchemaRoot output = VectorSchemaRoot.create(join.getOutputSchema(), allocator)) {
+      join.build(buildBatch);
+      join.finishBuild();
+      join.probe(probeBatch, output);
+
+      assertEquals(expectedCount, output.getRowCount());
+      IntVector ids = (IntVector) output.getVector("id");
+      IntVector keys = (IntVector) output.getVector("key");
+      for (int i = 0; i < output.getRowCount(); i++) {
+        assertEquals(ids.get(i), keys.get(i));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testInvalidUsage() {
+    Schema stringKeySchema = new Schema(Collections.singletonList(
+        Field.nullable("key", Types.MinorType.VARCHAR.getType())));
+    assertThrows(IllegalArgumentException.class, () -> new HashJoin(PROBE_SCHEMA, Collections.singletonList("id"),
+        stringKeySchema, Collections.singletonList("key"), JoinType.INNER, allocator));
+
+    try (HashJoin join = new HashJoin(PROBE_SCHEMA, Collections.singletonList("id"), BUILD_SCHEMA,
+        Collections.singletonList("key"), JoinType.INNER, allocator);
+         VectorSchemaRoot buildBatch = createBatch(BUILD_SCHEMA, new Integer[] {1}, new String[] {"x"})) {
+      join.build(buildBatch);
+      join.finishBuild();
+      assertThrows(IllegalStateException.class, () -> join.build(buildBatch));
+    }
+  }
+}
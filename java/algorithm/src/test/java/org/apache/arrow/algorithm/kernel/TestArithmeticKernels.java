@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ArithmeticKernels}.
+ */
+public class TestArithmeticKernels {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testIntArithmetic() {
+    try (IntVector left = new IntVector("left", allocator);
+         IntVector right = new IntVector("right", allocator);
+         IntVector result = new IntVector("result", allocator)) {
+      ValueVectorDataPopulator.setVector(left, 1, null, 7, -8, Integer.MAX_VALUE, 10, 20, 30, -40, 50);
+      ValueVectorDataPopulator.setVector(right, 2, 3, null, 4, 1, 0, -3, 30, 7, null);
+
+      ArithmeticKernels.add(left, right, result);
+      assertEquals(10, result.getValueCount());
+      assertEquals(3, result.getNullCount());
+      assertEquals(3, result.get(0));
+      assertTrue(result.isNull(1));
+      assertTrue(result.isNull(2));
+      assertEquals(-4, result.get(3));
+      assertEquals(Integer.MIN_VALUE, result.get(4));
+      assertTrue(result.isNull(9));
+
+      ArithmeticKernels.subtract(left, right, result);
+      assertEquals(-1, result.get(0));
+      assertEquals(-12, result.get(3));
+      assertEquals(23, result.get(6));
+
+      ArithmeticKernels.multiply(left, right, result);
+      assertEquals(2, result.get(0));
+      assertEquals(-32, result.get(3));
+      assertEquals(900, result.get(7));
+
+      ArithmeticKernels.negate(left, result);
+      assertEquals(1, result.getNullCount());
+      assertEquals(-1, result.get(0));
+      assertTrue(result.isNull(1));
+      assertEquals(8, result.get(3));
+
+      ArithmeticKernels.abs(left, result);
+      assertEquals(8, result.get(3));
+      assertEquals(40, result.get(8));
+    }
+  }
+
+  @Test
+  public void testIntDivision() {
+    try (IntVector left = new IntVector("left", allocator);
+         IntVector right = new IntVector("right", allocator);
+         IntVector result = new IntVector("result", allocator)) {
+      ValueVectorDataPopulator.setVector(left, 7, -7, null, 9);
+      ValueVectorDataPopulator.setVector(right, 2, 2, 0, 3);
+
+      ArithmeticKernels.divide(left, right, result);
+      assertEquals(3, result.get(0));
+      assertEquals(-3, result.get(1));
+      assertTrue(result.isNull(2));
+      assertEquals(3, result.get(3));
+
+      right.set(3, 0);
+      boolean exceptionThrown = false;
+      try {
+        ArithmeticKernels.divide(left, right, result);
+      } catch (ArithmeticException e) {
+        exceptionThrown = true;
+      }
+      assertTrue(exceptionThrown);
+    }
+  }
+
+  @Test
+  public void testBigIntArithmetic() {
+    try (BigIntVector left = new BigIntVector("left", allocator);
+         BigIntVector right = new BigIntVector("right", allocator);
+         BigIntVector result = new BigIntVector("result", allocator)) {
+      ValueVectorDataPopulator.setVector(left, 1L << 40, null, -9L, 100L);
+      ValueVectorDataPopulator.setVector(right, 3L, 4L, 2L, -7L);
+
+      ArithmeticKernels.add(left, right, result);
+      assertEquals((1L << 40) + 3, result.get(0));
+      assertTrue(result.isNull(1));
+
+      ArithmeticKernels.multiply(left, right, result);
+      assertEquals(3L << 40, result.get(0));
+      assertEquals(-18L, result.get(2));
+
+      ArithmeticKernels.divide(left, right, result);
+      assertEquals(-4L, result.get(2));
+      assertEquals(-14L, result.get(3));
+
+      ArithmeticKernels.abs(left, result);
+      assertEquals(9L, result.get(2));
+    }
+  }
+
+  @Test
+  public void testFloat8Arithmetic() {
+    try (Float8Vector left = new Float8Vector("left", allocator);
+         Float8Vector right = new Float8Vector("right", allocator);
+         Float8Vector result = new Float8Vector("result", allocator)) {
+      ValueVectorDataPopulator.setVector(left, 1.5, -2.0, null, 1.0);
+      ValueVectorDataPopulator.setVector(right, 0.5, 4.0, 1.0, 0.0);
+
+      ArithmeticKernels.add(left, right, result);
+      assertEquals(2.0, result.get(0), 0);
+      assertTrue(result.isNull(2));
+
+      ArithmeticKernels.subtract(left, right, result);
+      assertEquals(-6.0, result.get(1), 0);
+
+      ArithmeticKernels.divide(left, right, result);
+      assertEquals(3.0, result.get(0), 0);
+      assertEquals(Double.POSITIVE_INFINITY, result.get(3), 0);
+
+      ArithmeticKernels.abs(left, result);
+      assertEquals(2.0, result.get(1), 0);
+    }
+  }
+
+  @Test
+  public void testDecimalArithmetic() {
+    try (DecimalVector left = new DecimalVector("left", allocator, 38, 2);
+         DecimalVector right = new DecimalVector("right", allocator, 38, 2);
+         DecimalVector result = new DecimalVector("result", allocator, 38, 2)) {
+      left.allocateNew(4);
+      right.allocateNew(4);
+      left.set(0, new BigDecimal("12345678901234567890.12"));
+      right.set(0, new BigDecimal("98765432109876543210.99"));
+      left.set(1, new BigDecimal("-0.01"));
+      right.set(1, new BigDecimal("0.01"));
+      left.set(2, new BigDecimal("1.00"));
+      right.setNull(2);
+      left.set(3, new BigDecimal("-18446744073709551616.00"));
+      right.set(3, new BigDecimal("1.00"));
+      left.setValueCount(4);
+      right.setValueCount(4);
+
+      ArithmeticKernels.add(left, right, result);
+      assertEquals(new BigDecimal("111111111011111111101.11"), result.getObject(0));
+      assertEquals(new BigDecimal("0.00"), result.getObject(1));
+      assertTrue(result.isNull(2));
+      assertEquals(new BigDecimal("-18446744073709551615.00"), result.getObject(3));
+
+      ArithmeticKernels.subtract(left, right, result);
+      assertEquals(new BigDecimal("-86419753208641975320.87"), result.getObject(0));
+      assertEquals(new BigDecimal("-0.02"), result.getObject(1));
+      assertEquals(new BigDecimal("-18446744073709551617.00"), result.getObject(3));
+
+      ArithmeticKernels.negate(left, result);
+      assertEquals(new BigDecimal("-12345678901234567890.12"), result.getObject(0));
+      assertEquals(new BigDecimal("0.01"), result.getObject(1));
+      assertEquals(new BigDecimal("18446744073709551616.00"), result.getObject(3));
+
+      ArithmeticKernels.abs(left, result);
+      assertEquals(new BigDecimal("12345678901234567890.12"), result.getObject(0));
+      assertEquals(new BigDecimal("0.01"), result.getObject(1));
+    }
+  }
+
+  @Test
+  public void testDecimalOverflow() {
+    try (DecimalVector left = new DecimalVector("left", allocator, 5, 2);
+         DecimalVector right = new DecimalVector("right", allocator, 5, 2);
+         DecimalVector result = new DecimalVector("result", allocator, 5, 2)) {
+      left.allocateNew(2);
+      right.allocateNew(2);
+      left.set(0, new BigDecimal("600.00"));
+      right.set(0, new BigDecimal("300.00"));
+      left.set(1, new BigDecimal("600.00"));
+      right.set(1, new BigDecimal("500.00"));
+      left.setValueCount(2);
+      right.setValueCount(2);
+
+      boolean exceptionThrown = false;
+      try {
+        ArithmeticKernels.add(left, right, result);
+      } catch (ArithmeticException e) {
+        exceptionThrown = true;
+      }
+      assertTrue(exceptionThrown);
+
+      // an overflowing null slot is ignored
+      right.setNull(1);
+      ArithmeticKernels.add(left, right, result);
+      assertEquals(new BigDecimal("900.00"), result.getObject(0));
+      assertTrue(result.isNull(1));
+    }
+  }
+}
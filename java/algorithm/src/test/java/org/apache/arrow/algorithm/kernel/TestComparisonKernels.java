@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ComparisonKernels}.
+ */
+public class TestComparisonKernels {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private static boolean expectedOutcome(int cmp, ComparisonOperator operator) {
+    switch (operator) {
+      case EQUAL:
+        return cmp == 0;
+      case NOT_EQUAL:
+        return cmp != 0;
+      case LESS_THAN:
+        return cmp < 0;
+      case LESS_THAN_OR_EQUAL:
+        return cmp <= 0;
+      case GREATER_THAN:
+        return cmp > 0;
+      default:
+        return cmp >= 0;
+    }
+  }
+
+  @Test
+  public void testCompareIntVectors() {
+    final int valueCount = 1003;
+    Random random = new Random(0);
+    try (IntVector left = new IntVector("left", allocator);
+         IntVector right = new IntVector("right", allocator);
+         BitVector result = new BitVector("result", allocator)) {
+      left.allocateNew(valueCount);
+      right.allocateNew(valueCount);
+      for (int i = 0; i < valueCount; i++) {
+        if (i % 7 != 0) {
+          left.set(i, random.nextInt(10));
+        }
+        if (i % 11 != 0) {
+          right.set(i, random.nextInt(10));
+        }
+      }
+      left.setValueCount(valueCount);
+      right.setValueCount(valueCount);
+
+      for (ComparisonOperator operator : ComparisonOperator.values()) {
+        ComparisonKernels.compare(left, right, operator, result);
+        assertEquals(valueCount, result.getValueCount());
+        for (int i = 0; i < valueCount; i++) {
+          if (left.isNull(i) || right.isNull(i)) {
+            assertTrue(result.isNull(i));
+          } else {
+            boolean expected = expectedOutcome(Integer.compare(left.get(i), right.get(i)), operator);
+            assertEquals(expected ? 1 : 0, result.get(i));
+          }
+        }
+
+        ComparisonKernels.compare(left, 5, operator, result);
+        for (int i = 0; i < valueCount; i++) {
+          if (left.isNull(i)) {
+            assertTrue(result.isNull(i));
+          } else {
+            assertEquals(expectedOutcome(Integer.compare(left.get(i), 5), operator) ? 1 : 0, result.get(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCompareFloat8WithNaN() {
+    try (Float8Vector left = new Float8Vector("left", allocator);
+         Float8Vector right = new Float8Vector("right", allocator);
+         BitVector result = new BitVector("result", allocator)) {
+      ValueVectorDataPopulator.setVector(left, 1.0, Double.NaN, 3.0);
+      ValueVectorDataPopulator.setVector(right, 2.0, 2.0, 3.0);
+
+      ComparisonKernels.compare(left, right, ComparisonOperator.LESS_THAN_OR_EQUAL, result);
+      assertEquals(1, result.get(0));
+      assertEquals(0, result.get(1));
+      assertEquals(1, result.get(2));
+
+      ComparisonKernels.compare(left, right, ComparisonOperator.NOT_EQUAL, result);
+      assertEquals(1, result.get(0));
+      assertEquals(1, result.get(1));
+      assertEquals(0, result.get(2));
+
+      ComparisonKernels.compare(left, 2.5, ComparisonOperator.GREATER_THAN, result);
+      assertEquals(0, result.get(0));
+      assertEquals(0, result.get(1));
+      assertEquals(1, result.get(2));
+    }
+  }
+
+  @Test
+  public void testCompareDecimalVectors() {
+    try (DecimalVector left = new DecimalVector("left", allocator, 38, 2);
+         DecimalVector right = new DecimalVector("right", allocator, 38, 2);
+         BitVector result = new BitVector("result", allocator)) {
+      left.allocateNew(4);
+      right.allocateNew(4);
+      left.set(0, new BigDecimal("-1.00"));
+      right.set(0, new BigDecimal("1.00"));
+      left.set(1, new BigDecimal("18446744073709551616.00"));
+      right.set(1, new BigDecimal("18446744073709551615.99"));
+      left.set(2, new BigDecimal("7.50"));
+      right.set(2, new BigDecimal("7.50"));
+      left.setNull(3);
+      right.set(3, new BigDecimal("0.00"));
+      left.setValueCount(4);
+      right.setValueCount(4);
+
+      ComparisonKernels.compare(left, right, ComparisonOperator.LESS_THAN, result);
+      assertEquals(1, result.get(0));
+      assertEquals(0, result.get(1));
+      assertEquals(0, result.get(2));
+      assertTrue(result.isNull(3));
+
+      ComparisonKernels.compare(left, right, ComparisonOperator.GREATER_THAN_OR_EQUAL, result);
+      assertEquals(0, result.get(0));
+      assertEquals(1, result.get(1));
+      assertEquals(1, result.get(2));
+
+      ComparisonKernels.compare(left, new BigDecimal("7.5"), ComparisonOperator.EQUAL, result);
+      assertEquals(0, result.get(0));
+      assertEquals(0, result.get(1));
+      assertEquals(1, result.get(2));
+      assertTrue(result.isNull(3));
+    }
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link StringKernels}.
+ */
+public class TestStringKernels {
+
+  private static final String[] VALUES = {
+      "Hello, World", null, "", "stra\u00DFe", "\u00C0\u00C9\u00CE\u00F5\u00FC",
+      "\u65E5\u672C\u8A9E\u30C6\u30AD\u30B9\u30C8", "a\uD83D\uDE00b", "HELLO"
+  };
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private VarCharVector createVector() {
+    VarCharVector vector = new VarCharVector("input", allocator);
+    ValueVectorDataPopulator.setVector(vector, VALUES);
+    return vector;
+  }
+
+  private LargeVarCharVector createLargeVector() {
+    LargeVarCharVector vector = new LargeVarCharVector("input", allocator);
+    ValueVectorDataPopulator.setVector(vector, VALUES);
+    return vector;
+  }
+
+  private static String getString(VarCharVector vector, int index) {
+    return vector.isNull(index) ? null : new String(vector.get(index), StandardCharsets.UTF_8);
+  }
+
+  private static String getString(LargeVarCharVector vector, int index) {
+    return vector.isNull(index) ? null : new String(vector.get(index), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testLength() {
+    try (VarCharVector input = createVector();
+         LargeVarCharVector largeInput = createLargeVector();
+         IntVector result = new IntVector("result", allocator)) {
+      StringKernels.length(input, result);
+      assertEquals(VALUES.length, result.getValueCount());
+      for (int i = 0; i < VALUES.length; i++) {
+        if (VALUES[i] == null) {
+          assertTrue(result.isNull(i));
+        } else {
+          assertEquals(VALUES[i].codePointCount(0, VALUES[i].length()), result.get(i));
+        }
+      }
+
+      StringKernels.length(largeInput, result);
+      assertEquals(5, result.get(4));
+      assertEquals(3, result.get(6));
+    }
+  }
+
+  @Test
+  public void testStartsWithEndsWith() {
+    try (VarCharVector input = createVector();
+         LargeVarCharVector largeInput = createLargeVector();
+         BitVector result = new BitVector("result", allocator)) {
+      StringKernels.startsWith(input, "Hel", result);
+      assertEquals(1, result.get(0));
+      assertTrue(result.isNull(1));
+      assertEquals(0, result.get(2));
+      assertEquals(0, result.get(7));
+
+      StringKernels.endsWith(input, "\u00DFe", result);
+      assertEquals(0, result.get(0));
+      assertEquals(1, result.get(3));
+
+      StringKernels.startsWith(largeInput, "", result);
+      assertEquals(1, result.get(2));
+      assertEquals(1, result.get(5));
+
+      StringKernels.endsWith(largeInput, "\u30C6\u30AD\u30B9\u30C8", result);
+      assertEquals(1, result.get(5));
+      assertEquals(0, result.get(6));
+    }
+  }
+
+  @Test
+  public void testLike() {
+    try (VarCharVector input = createVector();
+         BitVector result = new BitVector("result", allocator)) {
+      String[] patterns = {
+          "%", "H%", "%o%", "%World", "_ELLO", "str_\u00DFe", "a_b", "%\u672C_%", "Hello%W_rld", "%l%l%o%", "x%"
+      };
+      for (String pattern : patterns) {
+        StringKernels.like(input, pattern, result);
+        String regex = pattern.replace("%", ".*").replace("_", ".");
+        for (int i = 0; i < VALUES.length; i++) {
+          if (VALUES[i] == null) {
+            assertTrue(result.isNull(i));
+          } else {
+            assertEquals(pattern + " " + VALUES[i], VALUES[i].matches(regex) ? 1 : 0, result.get(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLikeEscape() {
+    try (VarCharVector input = new VarCharVector("input", allocator);
+         BitVector result = new BitVector("result", allocator)) {
+      ValueVectorDataPopulator.setVector(input, "100%", "1000", "a_b", "acb");
+      StringKernels.like(input, "100\\%", result);
+      assertEquals(1, result.get(0));
+      assertEquals(0, result.get(1));
+
+      StringKernels.like(input, "a\\_b", result);
+      assertEquals(1, result.get(2));
+      assertEquals(0, result.get(3));
+    }
+  }
+
+  @Test
+  public void testSubstring() {
+    try (VarCharVector input = createVector();
+         LargeVarCharVector largeInput = createLargeVector();
+         VarCharVector result = new VarCharVector("result", allocator);
+         LargeVarCharVector largeResult = new LargeVarCharVector("result", allocator)) {
+      StringKernels.substring(input, 1, 3, result);
+      assertEquals(VALUES.length, result.getValueCount());
+      assertEquals("ell", getString(result, 0));
+      assertNull(getString(result, 1));
+      assertEquals("", getString(result, 2));
+      assertEquals("tra", getString(result, 3));
+      assertEquals("\u672C\u8A9E\u30C6", getString(result, 5));
+      assertEquals("\uD83D\uDE00b", getString(result, 6));
+
+      StringKernels.substring(largeInput, 4, 100, largeResult);
+      assertEquals("o, World", getString(largeResult, 0));
+      assertEquals("\u00DFe", getString(largeResult, 3));
+      assertEquals("", getString(largeResult, 6));
+    }
+  }
+
+  @Test
+  public void testLowerUpper() {
+    try (VarCharVector input = createVector();
+         LargeVarCharVector largeInput = createLargeVector();
+         VarCharVector result = new VarCharVector("result", allocator);
+         LargeVarCharVector largeResult = new LargeVarCharVector("result", allocator)) {
+      StringKernels.lower(input, result);
+      StringKernels.upper(largeInput, largeResult);
+      for (int i = 0; i < VALUES.length; i++) {
+        if (VALUES[i] == null) {
+          assertTrue(result.isNull(i));
+          assertTrue(largeResult.isNull(i));
+        } else {
+          assertEquals(VALUES[i].toLowerCase(Locale.ROOT), getString(result, i));
+        }
+      }
+      assertEquals("HELLO, WORLD", getString(largeResult, 0));
+      // code points are converted one by one, so the sharp s is not expanded
+      assertEquals("STRA\u00DFE", getString(largeResult, 3));
+      assertEquals("\u00C0\u00C9\u00CE\u00D5\u00DC", getString(largeResult, 4));
+    }
+  }
+
+  @Test
+  public void testCaseConversionGrowsData() {
+    // U+023A has a two-byte encoding, and its lower case U+2C65 has a three-byte encoding
+    try (VarCharVector input = new VarCharVector("input", allocator);
+         VarCharVector result = new VarCharVector("result", allocator)) {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < 1000; i++) {
+        builder.append('\u023A');
+      }
+      ValueVectorDataPopulator.setVector(input, builder.toString(), "\u023Ax");
+      StringKernels.lower(input, result);
+      assertEquals(builder.toString().toLowerCase(Locale.ROOT), getString(result, 0));
+      assertEquals("\u2C65x", getString(result, 1));
+    }
+  }
+}
@@ -24,8 +24,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DurationVector;
 import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampSecVector;
 import org.apache.arrow.vector.TinyIntVector;
 import org.apache.arrow.vector.UInt1Vector;
 import org.apache.arrow.vector.UInt2Vector;
@@ -33,7 +36,9 @@ import org.apache.arrow.vector.UInt4Vector;
 import org.apache.arrow.vector.UInt8Vector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.apache.arrow.vector.types.TimeUnit;
 import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.FieldType;
 import org.junit.After;
 import org.junit.Before;
@@ -390,4 +395,56 @@ public class TestDefaultVectorComparator {
       assertTrue(comparator.compare(7, 7) == 0);
     }
   }
+
+  @Test
+  public void testCompareDateDay() {
+    try (DateDayVector vec = new DateDayVector("", allocator)) {
+      vec.allocateNew(5);
+      ValueVectorDataPopulator.setVector(vec, -1, 0, null, Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+      VectorValueComparator<DateDayVector> comparator =
+          DefaultVectorComparators.createDefaultComparator(vec);
+      comparator.attachVector(vec);
+
+      assertTrue(comparator.compare(0, 1) < 0);
+      assertTrue(comparator.compare(2, 0) < 0);
+      assertTrue(comparator.compare(3, 4) > 0);
+      assertTrue(comparator.compare(4, 4) == 0);
+    }
+  }
+
+  @Test
+  public void testCompareTimeStamp() {
+    try (TimeStampSecVector vec = new TimeStampSecVector("", allocator)) {
+      vec.allocateNew(5);
+      ValueVectorDataPopulator.setVector(vec, -1L, 0L, null, Long.MAX_VALUE, Long.MIN_VALUE);
+
+      VectorValueComparator<TimeStampSecVector> comparator =
+          DefaultVectorComparators.createDefaultComparator(vec);
+      comparator.attachVector(vec);
+
+      assertTrue(comparator.compare(0, 1) < 0);
+      assertTrue(comparator.compare(2, 0) < 0);
+      assertTrue(comparator.compare(3, 4) > 0);
+      assertTrue(comparator.compare(4, 4) == 0);
+    }
+  }
+
+  @Test
+  public void testCompareDuration() {
+    try (DurationVector vec = new DurationVector(
+        "", FieldType.nullable(new ArrowType.Duration(TimeUnit.MILLISECOND)), allocator)) {
+      vec.allocateNew(5);
+      ValueVectorDataPopulator.setVector(vec, -1L, 0L, null, Long.MAX_VALUE, Long.MIN_VALUE);
+
+      VectorValueComparator<DurationVector> comparator =
+          DefaultVectorComparators.createDefaultComparator(vec);
+      comparator.attachVector(vec);
+
+      assertTrue(comparator.compare(0, 1) < 0);
+      assertTrue(comparator.compare(2, 0) < 0);
+      assertTrue(comparator.compare(3, 4) > 0);
+      assertTrue(comparator.compare(4, 4) == 0);
+    }
+  }
 }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link ExternalSorter}.
+ */
+public class TestExternalSorter {
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", Types.MinorType.INT.getType()),
+      Field.nullable("name", Types.MinorType.VARCHAR.getType())));
+
+  private static final Comparator<Object[]> ROW_COMPARATOR = Comparator
+      .comparing((Object[] row) -> (Integer) row[0], Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparing((Object[] row) -> (String) row[1], Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  @Rule
+  public TemporaryFolder spillDirectory = new TemporaryFolder();
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private List<Object[]> createRows(int rowCount, Random random) {
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      Integer key = random.nextInt(20) == 0 ? null : random.nextInt(rowCount / 4);
+      String name = random.nextInt(20) == 0 ? null : "name" + random.nextInt(100);
+      rows.add(new Object[] {key, name});
+    }
+    return rows;
+  }
+
+  private VectorSchemaRoot createBatch(List<Object[]> rows) {
+    VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator);
+    Integer[] keys = new Integer[rows.size()];
+    String[] names = new String[rows.size()];
+    for (int i = 0; i < rows.size(); i++) {
+      keys[i] = (Integer) rows.get(i)[0];
+      names[i] = (String) rows.get(i)[1];
+    }
+    ValueVectorDataPopulator.setVector((IntVector) batch.getVector("key"), keys);
+    ValueVectorDataPopulator.setVector((VarCharVector) batch.getVector("name"), names);
+    batch.setRowCount(rows.size());
+    return batch;
+  }
+
+  /**
+   * Sorts the rows in batches of 1000 rows, and checks the output against a sort of the rows on heap.
+   * @return the number of runs spilled.
+   */
+  private int sortAndVerify(int rowCount, long memoryBudget) throws IOException {
+    List<Object[]> rows = createRows(rowCount, new Random(rowCount));
+    try (ExternalSorter sorter = new ExternalSorter(SCHEMA, Arrays.asList("key", "name"), null, allocator,
+        memoryBudget, spillDirectory.getRoot(), 512)) {
+      for (int start = 0; start < rowCount; start += 1000) {
+        try (VectorSchemaRoot batch = createBatch(rows.subList(start, Math.min(rowCount, start + 1000)))) {
+          sorter.add(batch);
+        }
+      }
+
+      List<Object[]> sortedRows = new ArrayList<>();
+      try (VectorSchemaRoot output = VectorSchemaRoot.create(SCHEMA, allocator)) {
+        while (sorter.loadNextBatch(output)) {
+          assertTrue(output.getRowCount() <= 512);
+          IntVector keys = (IntVector) output.getVector("key");
+          VarCharVector names = (VarCharVector) output.getVector("name");
+          for (int i = 0; i < output.getRowCount(); i++) {
+            sortedRows.add(new Object[] {keys.getObject(i), names.isNull(i) ? null : names.getObject(i).toString()});
+          }
+        }
+        assertEquals(0, output.getRowCount());
+      }
+
+      rows.sort(ROW_COMPARATOR);
+      assertEquals(rows.size(), sortedRows.size());
+      for (int i = 0; i < rows.size(); i++) {
+        assertTrue(Objects.deepEquals(rows.get(i), sortedRows.get(i)));
+      }
+      return sorter.getRunCount();
+    }
+  }
+
+  @Test
+  public void testSortInMemory() throws IOException {
+    assertEquals(0, sortAndVerify(5000, 64 * 1024 * 1024));
+    assertEquals(0, spillDirectory.getRoot().list().length);
+  }
+
+  @Test
+  public void testSortWithSpilledRuns() throws IOException {
+    int runCount = sortAndVerify(50000, 512 * 1024);
+    assertTrue(runCount > 2);
+    // the runs are deleted when the sorter is closed
+    assertEquals(0, spillDirectory.getRoot().list().length);
+  }
+
+  @Test
+  public void testSortEmptyInput() throws IOException {
+    try (ExternalSorter sorter = new ExternalSorter(SCHEMA, Arrays.asList("key"), allocator, 1024 * 1024,
+        spillDirectory.getRoot());
+         VectorSchemaRoot output = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      assertFalse(sorter.loadNextBatch(output));
+      assertEquals(0, output.getRowCount());
+    }
+  }
+
+  @Test
+  public void testRunFilesAreReadable() throws IOException {
+    try (ExternalSorter sorter = new ExternalSorter(SCHEMA, Arrays.asList("key"), null, allocator,
+        256 * 1024, spillDirectory.getRoot(), 1024)) {
+      List<Object[]> rows = createRows(20000, new Random(0));
+      for (int start = 0; start < rows.size(); start += 1000) {
+        try (VectorSchemaRoot batch = createBatch(rows.subList(start, start + 1000))) {
+          sorter.add(batch);
+        }
+      }
+      assertTrue(sorter.getRunCount() > 0);
+      File[] files = spillDirectory.getRoot().listFiles();
+      assertEquals(sorter.getRunCount(), files.length);
+    }
+  }
+}
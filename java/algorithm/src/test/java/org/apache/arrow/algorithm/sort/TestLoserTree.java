@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link LoserTree}.
+ */
+public class TestLoserTree {
+
+  private List<Integer> merge(int[][] sources) {
+    final int[] positions = new int[sources.length];
+    LoserTree tree = new LoserTree(sources.length, new LoserTree.Sources() {
+      @Override
+      public int compare(int source1, int source2) {
+        return Integer.compare(sources[source1][positions[source1]], sources[source2][positions[source2]]);
+      }
+
+      @Override
+      public boolean isExhausted(int source) {
+        return positions[source] == sources[source].length;
+      }
+    });
+
+    List<Integer> merged = new ArrayList<>();
+    for (int winner = tree.getWinner(); winner >= 0; winner = tree.getWinner()) {
+      merged.add(sources[winner][positions[winner]++]);
+      tree.update(winner);
+    }
+    return merged;
+  }
+
+  @Test
+  public void testMergeRandomSources() {
+    Random random = new Random(0);
+    for (int sourceCount = 0; sourceCount <= 17; sourceCount++) {
+      int[][] sources = new int[sourceCount][];
+      List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < sourceCount; i++) {
+        // some sources are empty
+        sources[i] = new int[random.nextInt(20)];
+        for (int j = 0; j < sources[i].length; j++) {
+          sources[i][j] = random.nextInt(50);
+          expected.add(sources[i][j]);
+        }
+        Arrays.sort(sources[i]);
+      }
+      Collections.sort(expected);
+      assertEquals(expected, merge(sources));
+    }
+  }
+
+  @Test
+  public void testMergeIsStable() {
+    // equal values are taken from the sources in order
+    final int[][] sources = new int[][] {{1, 2}, {1, 2}, {0, 1}};
+    final int[] positions = new int[sources.length];
+    LoserTree tree = new LoserTree(sources.length, new LoserTree.Sources() {
+      @Override
+      public int compare(int source1, int source2) {
+        return Integer.compare(sources[source1][positions[source1]], sources[source2][positions[source2]]);
+      }
+
+      @Override
+      public boolean isExhausted(int source) {
+        return positions[source] == sources[source].length;
+      }
+    });
+
+    List<Integer> order = new ArrayList<>();
+    for (int winner = tree.getWinner(); winner >= 0; winner = tree.getWinner()) {
+      order.add(winner);
+      positions[winner] += 1;
+      tree.update(winner);
+    }
+    assertEquals(Arrays.asList(2, 0, 1, 2, 0, 1), order);
+  }
+}
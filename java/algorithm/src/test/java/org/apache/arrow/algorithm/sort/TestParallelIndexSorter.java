@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ParallelIndexSorter}.
+ */
+public class TestParallelIndexSorter {
+
+  private static final int VECTOR_LENGTH = 10000;
+
+  private BufferAllocator allocator;
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void shutdown() {
+    pool.shutdown();
+    allocator.close();
+  }
+
+  @Test
+  public void testIndexSort() {
+    Random random = new Random(0);
+    try (IntVector vec = new IntVector("", allocator);
+         IntVector indices = new IntVector("", allocator)) {
+      vec.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 17 == 0) {
+          vec.setNull(i);
+        } else {
+          // many duplicates
+          vec.set(i, random.nextInt(1000));
+        }
+      }
+      vec.setValueCount(VECTOR_LENGTH);
+      indices.allocateNew(VECTOR_LENGTH);
+      indices.setValueCount(VECTOR_LENGTH);
+
+      VectorValueComparator<IntVector> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+      new ParallelIndexSorter<IntVector>(pool, 16).sort(vec, indices, comparator);
+
+      // every index appears exactly once, in sorted order
+      boolean[] seen = new boolean[VECTOR_LENGTH];
+      comparator.attachVector(vec);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        assertTrue(!indices.isNull(i));
+        int index = indices.get(i);
+        assertTrue(!seen[index]);
+        seen[index] = true;
+        if (i > 0) {
+          assertTrue(comparator.compare(indices.get(i - 1), index) <= 0);
+        }
+      }
+      assertTrue(vec.isNull(indices.get(0)));
+    }
+  }
+
+  @Test
+  public void testSmallVector() {
+    try (IntVector vec = new IntVector("", allocator);
+         IntVector indices = new IntVector("", allocator)) {
+      vec.allocateNew(5);
+      vec.set(0, 3);
+      vec.set(1, 1);
+      vec.setNull(2);
+      vec.set(3, 2);
+      vec.set(4, 0);
+      vec.setValueCount(5);
+      indices.allocateNew(5);
+      indices.setValueCount(5);
+
+      VectorValueComparator<IntVector> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+      new ParallelIndexSorter<IntVector>(pool).sort(vec, indices, comparator);
+
+      int[] expected = new int[] {2, 4, 1, 3, 0};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], indices.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testMismatchedIndices() {
+    try (IntVector vec = new IntVector("", allocator);
+         IntVector indices = new IntVector("", allocator)) {
+      vec.allocateNew(5);
+      vec.setValueCount(5);
+      indices.allocateNew(5);
+      indices.setValueCount(4);
+
+      VectorValueComparator<IntVector> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+      assertThrows(IllegalArgumentException.class,
+          () -> new ParallelIndexSorter<IntVector>(pool).sort(vec, indices, comparator));
+    }
+  }
+
+  @Test
+  public void testFixedWidthOutOfPlaceSort() {
+    Random random = new Random(1);
+    try (BigIntVector vec = new BigIntVector("", allocator);
+         BigIntVector sortedVec = new BigIntVector("", allocator)) {
+      vec.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        vec.set(i, random.nextLong());
+      }
+      vec.setValueCount(VECTOR_LENGTH);
+      sortedVec.allocateNew(VECTOR_LENGTH);
+      sortedVec.setValueCount(VECTOR_LENGTH);
+
+      OutOfPlaceVectorSorter<BigIntVector> sorter = new FixedWidthOutOfPlaceVectorSorter<>(pool);
+      sorter.sortOutOfPlace(vec, sortedVec, DefaultVectorComparators.createDefaultComparator(vec));
+
+      long sum = 0;
+      long sortedSum = 0;
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        sum += vec.get(i);
+        sortedSum += sortedVec.get(i);
+        if (i > 0) {
+          assertTrue(sortedVec.get(i - 1) <= sortedVec.get(i));
+        }
+      }
+      assertEquals(sum, sortedSum);
+    }
+  }
+
+  @Test
+  public void testVariableWidthOutOfPlaceSort() {
+    Random random = new Random(2);
+    try (VarCharVector vec = new VarCharVector("", allocator)) {
+      vec.allocateNew(VECTOR_LENGTH * 8L, VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 31 == 0) {
+          vec.setNull(i);
+        } else {
+          vec.setSafe(i, ("v" + random.nextInt(100000)).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      vec.setValueCount(VECTOR_LENGTH);
+
+      VectorValueComparator<VarCharVector> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+      try (VarCharVector sortedVec = new VarCharVector("", allocator);
+           VarCharVector expectedVec = new VarCharVector("", allocator)) {
+        sortedVec.allocateNew(vec.getByteCapacity(), VECTOR_LENGTH);
+        sortedVec.setValueCount(VECTOR_LENGTH);
+        expectedVec.allocateNew(vec.getByteCapacity(), VECTOR_LENGTH);
+        expectedVec.setValueCount(VECTOR_LENGTH);
+
+        new VariableWidthOutOfPlaceVectorSorter<VarCharVector>(pool).sortOutOfPlace(vec, sortedVec, comparator);
+        new VariableWidthOutOfPlaceVectorSorter<VarCharVector>().sortOutOfPlace(vec, expectedVec, comparator);
+
+        for (int i = 0; i < VECTOR_LENGTH; i++) {
+          assertEquals(expectedVec.isNull(i), sortedVec.isNull(i));
+          if (!expectedVec.isNull(i)) {
+            assertEquals(new String(expectedVec.get(i), StandardCharsets.UTF_8),
+                new String(sortedVec.get(i), StandardCharsets.UTF_8));
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link RadixIndexSorter}.
+ */
+public class TestRadixIndexSorter {
+
+  private static final int VECTOR_LENGTH = 5000;
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  /**
+   * Sorts the indices of the vector, and checks them against the given comparator.
+   * Equal values must keep the order of their indices.
+   */
+  private <V extends BaseFixedWidthVector> void verifySort(V vector, VectorValueComparator<V> comparator) {
+    try (IntVector indices = new IntVector("", allocator)) {
+      indices.allocateNew(vector.getValueCount());
+      indices.setValueCount(vector.getValueCount());
+      new RadixIndexSorter<V>().sort(vector, indices);
+
+      comparator.attachVector(vector);
+      boolean[] seen = new boolean[vector.getValueCount()];
+      for (int i = 0; i < vector.getValueCount(); i++) {
+        assertFalse(indices.isNull(i));
+        int index = indices.get(i);
+        assertFalse(seen[index]);
+        seen[index] = true;
+        if (i > 0) {
+          int previous = indices.get(i - 1);
+          int result = comparator.compare(previous, index);
+          assertTrue(result < 0 || (result == 0 && previous < index));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSortInt() {
+    Random random = new Random(0);
+    try (IntVector vec = new IntVector("", allocator)) {
+      vec.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 10 == 0) {
+          vec.setNull(i);
+        } else {
+          vec.set(i, i % 3 == 0 ? random.nextInt(100) - 50 : random.nextInt());
+        }
+      }
+      vec.setValueCount(VECTOR_LENGTH);
+      verifySort(vec, new DefaultVectorComparators.IntComparator());
+    }
+  }
+
+  @Test
+  public void testSortBigInt() {
+    Random random = new Random(1);
+    try (BigIntVector vec = new BigIntVector("", allocator)) {
+      vec.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        vec.set(i, i % 2 == 0 ? random.nextInt(1000) - 500 : random.nextLong());
+      }
+      vec.set(0, Long.MIN_VALUE);
+      vec.set(1, Long.MAX_VALUE);
+      vec.setValueCount(VECTOR_LENGTH);
+      verifySort(vec, new DefaultVectorComparators.LongComparator());
+    }
+  }
+
+  @Test
+  public void testSortSmallWidths() {
+    Random random = new Random(2);
+    try (TinyIntVector tinyInts = new TinyIntVector("", allocator);
+         SmallIntVector smallInts = new SmallIntVector("", allocator)) {
+      tinyInts.allocateNew(VECTOR_LENGTH);
+      smallInts.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        tinyInts.set(i, (byte) random.nextInt());
+        smallInts.set(i, (short) random.nextInt());
+      }
+      tinyInts.setNull(7);
+      smallInts.setNull(7);
+      tinyInts.setValueCount(VECTOR_LENGTH);
+      smallInts.setValueCount(VECTOR_LENGTH);
+      verifySort(tinyInts, new DefaultVectorComparators.ByteComparator());
+      verifySort(smallInts, new DefaultVectorComparators.ShortComparator());
+    }
+  }
+
+  @Test
+  public void testSortUnsigned() {
+    Random random = new Random(3);
+    try (UInt4Vector vec = new UInt4Vector("", allocator)) {
+      vec.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        // values with the top bit set are the largest
+        vec.set(i, random.nextInt());
+      }
+      vec.setValueCount(VECTOR_LENGTH);
+      verifySort(vec, new DefaultVectorComparators.UInt4Comparator());
+    }
+  }
+
+  @Test
+  public void testSortFloatingPoint() {
+    Random random = new Random(4);
+    double[] specials = new double[] {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+        -Double.MIN_VALUE, Double.MIN_VALUE, Double.longBitsToDouble(0xfff8000000000001L)};
+    try (Float8Vector doubles = new Float8Vector("", allocator);
+         Float4Vector floats = new Float4Vector("", allocator)) {
+      doubles.allocateNew(VECTOR_LENGTH);
+      floats.allocateNew(VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        double value = i % 5 == 0 ? specials[random.nextInt(specials.length)] : random.nextGaussian() * 1000;
+        doubles.set(i, value);
+        floats.set(i, (float) value);
+      }
+      doubles.setNull(3);
+      floats.setNull(3);
+      doubles.setValueCount(VECTOR_LENGTH);
+      floats.setValueCount(VECTOR_LENGTH);
+      verifySort(doubles, new DefaultVectorComparators.Float8Comparator());
+      verifySort(floats, new DefaultVectorComparators.Float4Comparator());
+    }
+  }
+
+  @Test
+  public void testSortTimeStamp() {
+    try (TimeStampMilliVector vec = new TimeStampMilliVector("", allocator);
+         IntVector indices = new IntVector("", allocator)) {
+      vec.allocateNew(5);
+      vec.set(0, 1000L);
+      vec.set(1, -2000L);
+      vec.setNull(2);
+      vec.set(3, 0L);
+      vec.set(4, 1000L);
+      vec.setValueCount(5);
+      indices.allocateNew(5);
+      indices.setValueCount(5);
+
+      new RadixIndexSorter<TimeStampMilliVector>().sort(vec, indices);
+
+      int[] expected = new int[] {2, 1, 3, 0, 4};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], indices.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testIsSupported() {
+    try (IntVector ints = new IntVector("", allocator);
+         BitVector bits = new BitVector("", allocator);
+         VarCharVector varChars = new VarCharVector("", allocator)) {
+      assertTrue(RadixIndexSorter.isSupported(ints));
+      assertFalse(RadixIndexSorter.isSupported(bits));
+      assertFalse(RadixIndexSorter.isSupported(varChars));
+    }
+  }
+}
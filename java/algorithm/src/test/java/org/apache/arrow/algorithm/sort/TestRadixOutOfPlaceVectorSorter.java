@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link RadixOutOfPlaceVectorSorter}.
+ */
+public class TestRadixOutOfPlaceVectorSorter {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testSortBigInt() {
+    try (BigIntVector vec = new BigIntVector("", allocator);
+         BigIntVector sortedVec = new BigIntVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(vec, 10L, -8L, null, 33L, Long.MIN_VALUE, 12L, null, 10L);
+      sortedVec.allocateNew(vec.getValueCount());
+      sortedVec.setValueCount(vec.getValueCount());
+
+      OutOfPlaceVectorSorter<BigIntVector> sorter = new RadixOutOfPlaceVectorSorter<>();
+      sorter.sortOutOfPlace(vec, sortedVec, DefaultVectorComparators.createDefaultComparator(vec));
+
+      assertTrue(sortedVec.isNull(0));
+      assertTrue(sortedVec.isNull(1));
+      long[] expected = new long[] {Long.MIN_VALUE, -8L, 10L, 10L, 12L, 33L};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], sortedVec.get(i + 2));
+      }
+    }
+  }
+
+  @Test
+  public void testSortWithCustomComparator() {
+    try (BigIntVector vec = new BigIntVector("", allocator);
+         BigIntVector sortedVec = new BigIntVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(vec, 10L, -8L, null, 33L, Long.MIN_VALUE, 12L, null, 10L);
+      sortedVec.allocateNew(vec.getValueCount());
+      sortedVec.setValueCount(vec.getValueCount());
+
+      // the radix sort only applies to the natural order
+      VectorValueComparator<BigIntVector> descending = new DefaultVectorComparators.LongComparator() {
+        @Override
+        public int compareNotNull(int index1, int index2) {
+          return -super.compareNotNull(index1, index2);
+        }
+      };
+      OutOfPlaceVectorSorter<BigIntVector> sorter = new RadixOutOfPlaceVectorSorter<>();
+      sorter.sortOutOfPlace(vec, sortedVec, descending);
+
+      assertTrue(sortedVec.isNull(0));
+      assertTrue(sortedVec.isNull(1));
+      long[] expected = new long[] {33L, 12L, 10L, 10L, -8L, Long.MIN_VALUE};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], sortedVec.get(i + 2));
+      }
+    }
+  }
+
+  @Test
+  public void testSortTimeStamp() {
+    try (TimeStampMilliVector vec = new TimeStampMilliVector("", allocator);
+         TimeStampMilliVector sortedVec = new TimeStampMilliVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(vec, 1_600_000_000_000L, -86_400_000L, null, 0L, Long.MIN_VALUE, null);
+      sortedVec.allocateNew(vec.getValueCount());
+      sortedVec.setValueCount(vec.getValueCount());
+
+      VectorValueComparator<TimeStampMilliVector> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+      OutOfPlaceVectorSorter<TimeStampMilliVector> sorter = new RadixOutOfPlaceVectorSorter<>();
+      sorter.sortOutOfPlace(vec, sortedVec, comparator);
+
+      // the radix path never attaches the vectors to the comparator
+      assertNull(comparator.vector1);
+      assertNull(comparator.vector2);
+
+      assertTrue(sortedVec.isNull(0));
+      assertTrue(sortedVec.isNull(1));
+      long[] expected = new long[] {Long.MIN_VALUE, -86_400_000L, 0L, 1_600_000_000_000L};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], sortedVec.get(i + 2));
+      }
+    }
+  }
+
+  @Test
+  public void testSortDateMilli() {
+    try (DateMilliVector vec = new DateMilliVector("", allocator);
+         DateMilliVector sortedVec = new DateMilliVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(vec, 86_400_000L, null, -86_400_000L, 0L);
+      sortedVec.allocateNew(vec.getValueCount());
+      sortedVec.setValueCount(vec.getValueCount());
+
+      VectorValueComparator<DateMilliVector> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+      OutOfPlaceVectorSorter<DateMilliVector> sorter = new RadixOutOfPlaceVectorSorter<>();
+      sorter.sortOutOfPlace(vec, sortedVec, comparator);
+
+      assertNull(comparator.vector1);
+
+      assertTrue(sortedVec.isNull(0));
+      assertEquals(-86_400_000L, sortedVec.get(1));
+      assertEquals(0L, sortedVec.get(2));
+      assertEquals(86_400_000L, sortedVec.get(3));
+    }
+  }
+
+  @Test
+  public void testSameResultAsQuickSort() {
+    final int length = 10000;
+    Random random = new Random(0);
+    try (Float8Vector vec = new Float8Vector("", allocator);
+         Float8Vector radixSorted = new Float8Vector("", allocator);
+         Float8Vector quickSorted = new Float8Vector("", allocator)) {
+      vec.allocateNew(length);
+      for (int i = 0; i < length; i++) {
+        if (i % 13 == 0) {
+          vec.setNull(i);
+        } else {
+          vec.set(i, random.nextInt(100) - random.nextDouble());
+        }
+      }
+      vec.setValueCount(length);
+      radixSorted.allocateNew(length);
+      radixSorted.setValueCount(length);
+      quickSorted.allocateNew(length);
+      quickSorted.setValueCount(length);
+
+      VectorValueComparator<Float8Vector> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+      new RadixOutOfPlaceVectorSorter<Float8Vector>().sortOutOfPlace(vec, radixSorted, comparator);
+      new FixedWidthOutOfPlaceVectorSorter<Float8Vector>().sortOutOfPlace(vec, quickSorted, comparator);
+
+      for (int i = 0; i < length; i++) {
+        assertEquals(quickSorted.isNull(i), radixSorted.isNull(i));
+        if (!quickSorted.isNull(i)) {
+          assertEquals(quickSorted.get(i), radixSorted.get(i), 0.0);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link TopKSorter}.
+ */
+public class TestTopKSorter {
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", Types.MinorType.INT.getType()),
+      Field.nullable("name", Types.MinorType.VARCHAR.getType())));
+
+  private static final Comparator<Object[]> ROW_COMPARATOR = Comparator
+      .comparing((Object[] row) -> (Integer) row[0], Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparing((Object[] row) -> (String) row[1], Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private List<Object[]> createRows(int rowCount, Random random) {
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      Integer key = random.nextInt(20) == 0 ? null : random.nextInt(rowCount / 4 + 1);
+      String name = random.nextInt(20) == 0 ? null : "name" + random.nextInt(100);
+      rows.add(new Object[] {key, name});
+    }
+    return rows;
+  }
+
+  private VectorSchemaRoot createBatch(List<Object[]> rows) {
+    VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator);
+    Integer[] keys = new Integer[rows.size()];
+    String[] names = new String[rows.size()];
+    for (int i = 0; i < rows.size(); i++) {
+      keys[i] = (Integer) rows.get(i)[0];
+      names[i] = (String) rows.get(i)[1];
+    }
+    ValueVectorDataPopulator.setVector((IntVector) batch.getVector("key"), keys);
+    ValueVectorDataPopulator.setVector((VarCharVector) batch.getVector("name"), names);
+    batch.setRowCount(rows.size());
+    return batch;
+  }
+
+  private List<Object[]> readRows(VectorSchemaRoot root) {
+    IntVector keys = (IntVector) root.getVector("key");
+    VarCharVector names = (VarCharVector) root.getVector("name");
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < root.getRowCount(); i++) {
+      rows.add(new Object[] {keys.getObject(i), names.isNull(i) ? null : names.getObject(i).toString()});
+    }
+    return rows;
+  }
+
+  private void selectAndVerify(int rowCount, int batchSize, int k) {
+    List<Object[]> rows = createRows(rowCount, new Random(rowCount + k));
+    try (TopKSorter sorter = new TopKSorter(SCHEMA, Arrays.asList("key", "name"), k, allocator);
+         VectorSchemaRoot output = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      for (int start = 0; start < rowCount; start += batchSize) {
+        try (VectorSchemaRoot batch = createBatch(rows.subList(start, Math.min(rowCount, start + batchSize)))) {
+          sorter.consume(batch);
+        }
+      }
+      assertEquals(Math.min(k, rowCount), sorter.getRowCount());
+
+      sorter.getResult(output);
+      List<Object[]> selectedRows = readRows(output);
+      rows.sort(ROW_COMPARATOR);
+      List<Object[]> expectedRows = rows.subList(0, Math.min(k, rowCount));
+      assertEquals(expectedRows.size(), selectedRows.size());
+      for (int i = 0; i < expectedRows.size(); i++) {
+        assertTrue(Objects.deepEquals(expectedRows.get(i), selectedRows.get(i)));
+      }
+    }
+  }
+
+  @Test
+  public void testSelectFewRows() {
+    selectAndVerify(10000, 1000, 1);
+    selectAndVerify(10000, 1000, 10);
+    selectAndVerify(10000, 333, 100);
+  }
+
+  @Test
+  public void testSelectMoreRowsThanBatch() {
+    selectAndVerify(10000, 100, 2500);
+  }
+
+  @Test
+  public void testSelectAllRows() {
+    selectAndVerify(500, 64, 500);
+    selectAndVerify(500, 64, 10000);
+  }
+
+  @Test
+  public void testSelectNoRows() {
+    selectAndVerify(1000, 100, 0);
+    selectAndVerify(0, 100, 10);
+  }
+
+  @Test
+  public void testResultBetweenBatches() {
+    try (TopKSorter sorter = new TopKSorter(SCHEMA, Collections.singletonList("key"), 2, allocator);
+         VectorSchemaRoot output = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      try (VectorSchemaRoot batch = createBatch(Arrays.asList(
+          new Object[] {5, "a"}, new Object[] {3, "b"}, new Object[] {4, "c"}))) {
+        sorter.consume(batch);
+      }
+      sorter.getResult(output);
+      IntVector keys = (IntVector) output.getVector("key");
+      assertEquals(2, output.getRowCount());
+      assertEquals(3, keys.get(0));
+      assertEquals(4, keys.get(1));
+
+      try (VectorSchemaRoot batch = createBatch(Arrays.asList(
+          new Object[] {1, "d"}, new Object[] {9, "e"}))) {
+        sorter.consume(batch);
+      }
+      sorter.getResult(output);
+      keys = (IntVector) output.getVector("key");
+      VarCharVector names = (VarCharVector) output.getVector("name");
+      assertEquals(2, output.getRowCount());
+      assertEquals(1, keys.get(0));
+      assertEquals("d", names.getObject(0).toString());
+      assertEquals(3, keys.get(1));
+      assertEquals("b", names.getObject(1).toString());
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import static org.apache.arrow.memory.util.LargeMemoryUtil.checkedCastToInt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.compression.AbstractCompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.utils.IOUtils;
+
+import io.airlift.compress.lz4.Lz4Compressor;
+import io.airlift.compress.lz4.Lz4Decompressor;
+
+/**
+ * Compression codec for the LZ4 frame format.
+ *
+ * <p>Frames are written with independent blocks of up to 4MB, each compressed with the pure-Java LZ4
+ * block codec of aircompressor directly between off-heap buffers. Frames with independent blocks
+ * are read the same way; frames with linked blocks, as written by some other implementations, are
+ * read through the (slower) stream decoder of commons-compress.
+ */
+public class Lz4CompressionCodec extends AbstractCompressionCodec {
+
+  private static final int MAGIC = 0x184D2204;
+
+  private static final int VERSION = 1;
+
+  private static final int FLAG_BLOCK_INDEPENDENCE = 0x20;
+
+  private static final int FLAG_BLOCK_CHECKSUM = 0x10;
+
+  private static final int FLAG_CONTENT_SIZE = 0x08;
+
+  private static final int FLAG_DICTIONARY_ID = 0x01;
+
+  private static final int BLOCK_MAX_SIZE_4MB = 7;
+
+  private static final int BLOCK_SIZE = 4 * 1024 * 1024;
+
+  private static final int UNCOMPRESSED_BLOCK_FLAG = 0x80000000;
+
+  // magic, FLG, BD, content size and header checksum
+  private static final int FRAME_HEADER_SIZE = 4 + 1 + 1 + 8 + 1;
+
+  private static final int BLOCK_HEADER_SIZE = 4;
+
+  private final Lz4Compressor compressor = new Lz4Compressor();
+
+  private final Lz4Decompressor decompressor = new Lz4Decompressor();
+
+  @Override
+  protected ArrowBuf doCompress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
+    Preconditions.checkArgument(uncompressedBuffer.writerIndex() <= Integer.MAX_VALUE,
+        "The uncompressed buffer size exceeds the integer limit %s.", Integer.MAX_VALUE);
+
+    final int uncompressedLength = (int) uncompressedBuffer.writerIndex();
+    long maxFrameLength = FRAME_HEADER_SIZE + BLOCK_HEADER_SIZE;
+    for (int offset = 0; offset < uncompressedLength; offset += BLOCK_SIZE) {
+      maxFrameLength += BLOCK_HEADER_SIZE + compressor.maxCompressedLength(
+          Math.min(BLOCK_SIZE, uncompressedLength - offset));
+    }
+
+    ArrowBuf compressedBuffer = allocator.buffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + maxFrameLength);
+    try {
+      long pos = CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH;
+      compressedBuffer.setInt(pos, MAGIC);
+      pos += 4;
+
+      // frame descriptor
+      final long descriptorStart = pos;
+      compressedBuffer.setByte(pos++, (VERSION << 6) | FLAG_BLOCK_INDEPENDENCE | FLAG_CONTENT_SIZE);
+      compressedBuffer.setByte(pos++, BLOCK_MAX_SIZE_4MB << 4);
+      compressedBuffer.setLong(pos, uncompressedLength);
+      pos += 8;
+      compressedBuffer.setByte(pos, (xxHash32(compressedBuffer, descriptorStart, (int) (pos - descriptorStart)) >> 8));
+      pos++;
+
+      for (int offset = 0; offset < uncompressedLength; offset += BLOCK_SIZE) {
+        final int blockLength = Math.min(BLOCK_SIZE, uncompressedLength - offset);
+        final ByteBuffer in = uncompressedBuffer.nioBuffer(offset, blockLength);
+        final ByteBuffer out = compressedBuffer.nioBuffer(pos + BLOCK_HEADER_SIZE,
+            compressor.maxCompressedLength(blockLength));
+        compressor.compress(in, out);
+        final int compressedLength = out.position();
+        if (compressedLength < blockLength) {
+          compressedBuffer.setInt(pos, compressedLength);
+          pos += BLOCK_HEADER_SIZE + compressedLength;
+        } else {
+          compressedBuffer.setInt(pos, blockLength | UNCOMPRESSED_BLOCK_FLAG);
+          compressedBuffer.setBytes(pos + BLOCK_HEADER_SIZE, uncompressedBuffer, offset, blockLength);
+          pos += BLOCK_HEADER_SIZE + blockLength;
+        }
+      }
+
+      // end mark
+      compressedBuffer.setInt(pos, 0);
+      pos += 4;
+      compressedBuffer.writerIndex(pos);
+      return compressedBuffer;
+    } catch (RuntimeException e) {
+      compressedBuffer.close();
+      throw e;
+    }
+  }
+
+  @Override
+  protected ArrowBuf doDecompress(BufferAllocator allocator, ArrowBuf compressedBuffer, long decompressedLength) {
+    final long limit = compressedBuffer.writerIndex();
+    long pos = CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH;
+    checkFrame(pos + 7 <= limit && compressedBuffer.getInt(pos) == MAGIC, "invalid frame header");
+    pos += 4;
+    final int flags = compressedBuffer.getByte(pos) & 0xFF;
+    checkFrame((flags >> 6) == VERSION, "unsupported version");
+    if ((flags & FLAG_BLOCK_INDEPENDENCE) == 0 || (flags & FLAG_DICTIONARY_ID) != 0) {
+      return decompressStream(allocator, compressedBuffer, decompressedLength);
+    }
+    pos += 2;
+    if ((flags & FLAG_CONTENT_SIZE) != 0) {
+      pos += 8;
+    }
+    pos++;
+    final int blockChecksumSize = (flags & FLAG_BLOCK_CHECKSUM) != 0 ? 4 : 0;
+
+    ArrowBuf decompressedBuffer = allocator.buffer(decompressedLength);
+    try {
+      long outPos = 0;
+      while (true) {
+        checkFrame(pos + BLOCK_HEADER_SIZE <= limit, "truncated frame");
+        final int blockHeader = compressedBuffer.getInt(pos);
+        pos += BLOCK_HEADER_SIZE;
+        if (blockHeader == 0) {
+          break;
+        }
+        final int blockLength = blockHeader & ~UNCOMPRESSED_BLOCK_FLAG;
+        checkFrame(pos + blockLength + blockChecksumSize <= limit, "truncated block");
+        if ((blockHeader & UNCOMPRESSED_BLOCK_FLAG) != 0) {
+          checkFrame(outPos + blockLength <= decompressedLength, "data exceeds the uncompressed length");
+          decompressedBuffer.setBytes(outPos, compressedBuffer, pos, blockLength);
+          outPos += blockLength;
+        } else {
+          checkFrame(outPos < decompressedLength, "data exceeds the uncompressed length");
+          final ByteBuffer in = compressedBuffer.nioBuffer(pos, blockLength);
+          final ByteBuffer out = decompressedBuffer.nioBuffer(outPos, checkedCastToInt(decompressedLength - outPos));
+          decompressor.decompress(in, out);
+          outPos += out.position();
+        }
+        pos += blockLength + blockChecksumSize;
+      }
+      checkFrame(outPos == decompressedLength, "data is shorter than the uncompressed length");
+      return decompressedBuffer;
+    } catch (RuntimeException e) {
+      decompressedBuffer.close();
+      throw e;
+    }
+  }
+
+  private ArrowBuf decompressStream(BufferAllocator allocator, ArrowBuf compressedBuffer, long decompressedLength) {
+    Preconditions.checkArgument(compressedBuffer.writerIndex() <= Integer.MAX_VALUE,
+        "The compressed buffer size exceeds the integer limit %s", Integer.MAX_VALUE);
+
+    byte[] inBytes = new byte[(int) (compressedBuffer.writerIndex() - CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH)];
+    compressedBuffer.getBytes(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, inBytes);
+    byte[] outBytes = new byte[checkedCastToInt(decompressedLength)];
+    try (InputStream in = new FramedLZ4CompressorInputStream(new ByteArrayInputStream(inBytes))) {
+      checkFrame(IOUtils.readFully(in, outBytes) == outBytes.length, "data is shorter than the uncompressed length");
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+
+    ArrowBuf decompressedBuffer = allocator.buffer(decompressedLength);
+    decompressedBuffer.setBytes(/*index=*/0, outBytes);
+    return decompressedBuffer;
+  }
+
+  private static void checkFrame(boolean expression, String message) {
+    if (!expression) {
+      throw new IllegalArgumentException("Malformed LZ4 frame: " + message);
+    }
+  }
+
+  /**
+   * Computes the 32-bit xxHash, with seed 0, of a short (less than 16 bytes) range of the buffer,
+   * as used for the frame header checksum.
+   */
+  private static int xxHash32(ArrowBuf buffer, long start, int length) {
+    final int prime1 = 0x9E3779B1;
+    final int prime2 = 0x85EBCA77;
+    final int prime3 = 0xC2B2AE3D;
+    final int prime4 = 0x27D4EB2F;
+    final int prime5 = 0x165667B1;
+
+    int hash = prime5 + length;
+    int i = 0;
+    for (; i + 4 <= length; i += 4) {
+      hash += buffer.getInt(start + i) * prime3;
+      hash = Integer.rotateLeft(hash, 17) * prime4;
+    }
+    for (; i < length; i++) {
+      hash += (buffer.getByte(start + i) & 0xFF) * prime5;
+      hash = Integer.rotateLeft(hash, 11) * prime1;
+    }
+    hash ^= hash >>> 15;
+    hash *= prime2;
+    hash ^= hash >>> 13;
+    hash *= prime3;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  @Override
+  public CompressionUtil.CodecType getCodecType() {
+    return CompressionUtil.CodecType.LZ4_FRAME;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import static org.apache.arrow.memory.util.LargeMemoryUtil.checkedCastToInt;
+
+import java.nio.ByteBuffer;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.compression.AbstractCompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+
+import io.airlift.compress.zstd.ZstdCompressor;
+import io.airlift.compress.zstd.ZstdDecompressor;
+
+/**
+ * Compression codec for the ZSTD format, backed by the pure-Java implementation in aircompressor.
+ * The data is compressed directly between off-heap buffers, without copying it to the heap.
+ */
+public class ZstdCompressionCodec extends AbstractCompressionCodec {
+
+  private final ZstdCompressor compressor = new ZstdCompressor();
+
+  private final ZstdDecompressor decompressor = new ZstdDecompressor();
+
+  @Override
+  protected ArrowBuf doCompress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
+    Preconditions.checkArgument(uncompressedBuffer.writerIndex() <= Integer.MAX_VALUE,
+        "The uncompressed buffer size exceeds the integer limit %s.", Integer.MAX_VALUE);
+
+    int uncompressedLength = (int) uncompressedBuffer.writerIndex();
+    int maxCompressedLength = compressor.maxCompressedLength(uncompressedLength);
+    ArrowBuf compressedBuffer = allocator.buffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + maxCompressedLength);
+    try {
+      ByteBuffer in = uncompressedBuffer.nioBuffer(0, uncompressedLength);
+      ByteBuffer out = compressedBuffer.nioBuffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, maxCompressedLength);
+      compressor.compress(in, out);
+      compressedBuffer.writerIndex(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + out.position());
+      return compressedBuffer;
+    } catch (RuntimeException e) {
+      compressedBuffer.close();
+      throw e;
+    }
+  }
+
+  @Override
+  protected ArrowBuf doDecompress(BufferAllocator allocator, ArrowBuf compressedBuffer, long decompressedLength) {
+    Preconditions.checkArgument(compressedBuffer.writerIndex() <= Integer.MAX_VALUE,
+        "The compressed buffer size exceeds the integer limit %s", Integer.MAX_VALUE);
+
+    int compressedLength = (int) (compressedBuffer.writerIndex() - CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH);
+    ArrowBuf decompressedBuffer = allocator.buffer(decompressedLength);
+    try {
+      ByteBuffer in = compressedBuffer.nioBuffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, compressedLength);
+      ByteBuffer out = decompressedBuffer.nioBuffer(0, checkedCastToInt(decompressedLength));
+      decompressor.decompress(in, out);
+      if (out.position() != decompressedLength) {
+        throw new IllegalArgumentException("Decompressed length " + out.position() +
+            " does not match the expected length " + decompressedLength);
+      }
+      return decompressedBuffer;
+    } catch (RuntimeException e) {
+      decompressedBuffer.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public CompressionUtil.CodecType getCodecType() {
+    return CompressionUtil.CodecType.ZSTD;
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Test cases for {@link CompressionCodec}s.
+ */
+@RunWith(Parameterized.class)
+public class TestCompressionCodec {
+
+  private final CompressionCodec codec;
+
+  private BufferAllocator allocator;
+
+  public TestCompressionCodec(CompressionUtil.CodecType type) {
+    this.codec = DefaultCompressionCodecFactory.INSTANCE.createCodec(type);
+  }
+
+  @Parameterized.Parameters(name = "codec = {0}")
+  public static Collection<Object[]> getCodecs() {
+    List<Object[]> params = new ArrayList<>();
+    params.add(new Object[] {CompressionUtil.CodecType.LZ4_FRAME});
+    params.add(new Object[] {CompressionUtil.CodecType.ZSTD});
+    return params;
+  }
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() {
+    allocator.close();
+  }
+
+  private ArrowBuf roundTrip(ArrowBuf buffer) {
+    try (ArrowBuf compressed = codec.compress(allocator, buffer)) {
+      return codec.decompress(allocator, compressed);
+    }
+  }
+
+  @Test
+  public void testCompressIntVector() {
+    final int vecLength = 10000;
+    try (IntVector vector = new IntVector("vec", allocator)) {
+      vector.allocateNew(vecLength);
+      for (int i = 0; i < vecLength; i++) {
+        if (i % 10 == 0) {
+          vector.setNull(i);
+        } else {
+          vector.set(i, i % 100);
+        }
+      }
+      vector.setValueCount(vecLength);
+
+      ArrowBuf dataBuffer = vector.getDataBuffer();
+      try (ArrowBuf compressed = codec.compress(allocator, dataBuffer)) {
+        assertTrue(compressed.writerIndex() < dataBuffer.writerIndex());
+        assertEquals(dataBuffer.writerIndex(), compressed.getLong(0));
+
+        try (ArrowBuf decompressed = codec.decompress(allocator, compressed)) {
+          assertEquals(dataBuffer.writerIndex(), decompressed.writerIndex());
+          for (int i = 0; i < vecLength; i++) {
+            assertEquals(dataBuffer.getInt(i * 4L), decompressed.getInt(i * 4L));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIncompressibleData() {
+    final int length = 1024;
+    Random random = new Random(0);
+    try (ArrowBuf buffer = allocator.buffer(length)) {
+      for (int i = 0; i < length; i++) {
+        buffer.setByte(i, random.nextInt());
+      }
+      buffer.writerIndex(length);
+
+      try (ArrowBuf compressed = codec.compress(allocator, buffer)) {
+        // the raw data is written out, flagged as uncompressed
+        assertEquals(CompressionUtil.NO_COMPRESSION_LENGTH, compressed.getLong(0));
+        assertEquals(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + length, compressed.writerIndex());
+
+        try (ArrowBuf decompressed = codec.decompress(allocator, compressed)) {
+          assertEquals(length, decompressed.writerIndex());
+          for (int i = 0; i < length; i++) {
+            assertEquals(buffer.getByte(i), decompressed.getByte(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyBuffer() {
+    try (ArrowBuf buffer = allocator.buffer(16)) {
+      buffer.writerIndex(0);
+      try (ArrowBuf decompressed = roundTrip(buffer)) {
+        assertEquals(0, decompressed.writerIndex());
+      }
+    }
+  }
+
+  private void populate(VectorSchemaRoot root, int rowCount) {
+    IntVector ints = (IntVector) root.getVector("ints");
+    VarCharVector strings = (VarCharVector) root.getVector("strings");
+    ints.allocateNew(rowCount);
+    strings.allocateNew(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      ints.setSafe(i, i % 17);
+      strings.setSafe(i, ("value" + (i % 5)).getBytes());
+    }
+    root.setRowCount(rowCount);
+  }
+
+  private void validate(VectorSchemaRoot root, int rowCount) {
+    IntVector ints = (IntVector) root.getVector("ints");
+    VarCharVector strings = (VarCharVector) root.getVector("strings");
+    assertEquals(rowCount, root.getRowCount());
+    for (int i = 0; i < rowCount; i++) {
+      assertEquals(i % 17, ints.get(i));
+      assertEquals("value" + (i % 5), new String(strings.get(i)));
+    }
+  }
+
+  private VectorSchemaRoot createRoot() {
+    IntVector ints = new IntVector("ints", allocator);
+    VarCharVector strings = new VarCharVector("strings", allocator);
+    List<FieldVector> vectors = new ArrayList<>();
+    vectors.add(ints);
+    vectors.add(strings);
+    return new VectorSchemaRoot(vectors);
+  }
+
+  @Test
+  public void testReadWriteStream() throws Exception {
+    final int rowCount = 5000;
+    IpcOption option = new IpcOption();
+    option.codec = codec;
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (VectorSchemaRoot root = createRoot();
+         ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out), option)) {
+      writer.start();
+      populate(root, rowCount);
+      writer.writeBatch();
+      populate(root, 0);
+      writer.writeBatch();
+      writer.end();
+    }
+
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator,
+        DefaultCompressionCodecFactory.INSTANCE)) {
+      assertTrue(reader.loadNextBatch());
+      validate(reader.getVectorSchemaRoot(), rowCount);
+      assertTrue(reader.loadNextBatch());
+      validate(reader.getVectorSchemaRoot(), 0);
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+
+  @Test
+  public void testReadWriteFile() throws Exception {
+    final int rowCount = 5000;
+    IpcOption option = new IpcOption();
+    option.codec = codec;
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long compressedSize;
+    try (VectorSchemaRoot root = createRoot();
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, Channels.newChannel(out), option)) {
+      writer.start();
+      populate(root, rowCount);
+      writer.writeBatch();
+      writer.end();
+      compressedSize = writer.bytesWritten();
+    }
+
+    ByteArrayOutputStream uncompressedOut = new ByteArrayOutputStream();
+    try (VectorSchemaRoot root = createRoot();
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, Channels.newChannel(uncompressedOut))) {
+      writer.start();
+      populate(root, rowCount);
+      writer.writeBatch();
+      writer.end();
+      assertTrue(compressedSize < writer.bytesWritten());
+    }
+
+    try (ArrowFileReader reader = new ArrowFileReader(
+        new ByteArrayReadableSeekableByteChannel(out.toByteArray()), allocator,
+        DefaultCompressionCodecFactory.INSTANCE)) {
+      assertEquals(1, reader.getRecordBlocks().size());
+      assertTrue(reader.loadNextBatch());
+      validate(reader.getVectorSchemaRoot(), rowCount);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReadWithoutCodec() throws Exception {
+    IpcOption option = new IpcOption();
+    option.codec = codec;
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (VectorSchemaRoot root = createRoot();
+         ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out), option)) {
+      populate(root, 10);
+      writer.writeBatch();
+      writer.end();
+    }
+
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+      reader.loadNextBatch();
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.XXHash32;
+import org.apache.commons.compress.utils.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.airlift.compress.lz4.Lz4Compressor;
+
+/**
+ * Test cases for the LZ4 frame format handling of {@link Lz4CompressionCodec}.
+ */
+public class TestLz4CompressionCodec {
+
+  private final Lz4CompressionCodec codec = new Lz4CompressionCodec();
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() {
+    allocator.close();
+  }
+
+  private static byte[] createData(int length) {
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) ((i / 16) % 31);
+    }
+    return data;
+  }
+
+  @Test
+  public void testFrameReadableByStreamDecoder() throws IOException {
+    // spans several blocks
+    final byte[] data = createData(9 * 1024 * 1024 + 7);
+    try (ArrowBuf buffer = allocator.buffer(data.length)) {
+      buffer.setBytes(0, data);
+      buffer.writerIndex(data.length);
+
+      try (ArrowBuf compressed = codec.compress(allocator, buffer)) {
+        assertEquals(data.length, compressed.getLong(0));
+        byte[] frame = new byte[(int) compressed.writerIndex() - 8];
+        compressed.getBytes(8, frame);
+
+        byte[] decoded = new byte[data.length];
+        try (InputStream in = new FramedLZ4CompressorInputStream(new ByteArrayInputStream(frame))) {
+          assertEquals(data.length, IOUtils.readFully(in, decoded));
+          assertEquals(-1, in.read());
+        }
+        assertArrayEquals(data, decoded);
+      }
+    }
+  }
+
+  /**
+   * Builds an LZ4 frame from the given blocks, with block checksums.
+   */
+  private static byte[] createFrame(boolean independentBlocks, byte[]... blocks) throws IOException {
+    ByteArrayOutputStream frame = new ByteArrayOutputStream();
+    ByteBuffer header = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(0x184D2204);
+    frame.write(header.array());
+
+    // version 1, block checksums, optionally independent blocks; 64KB max block size
+    byte[] descriptor = {(byte) (0x40 | 0x10 | (independentBlocks ? 0x20 : 0)), 0x40};
+    XXHash32 hash = new XXHash32();
+    hash.update(descriptor, 0, descriptor.length);
+    frame.write(descriptor);
+    frame.write((int) (hash.getValue() >> 8));
+
+    for (byte[] block : blocks) {
+      writeIntLittleEndian(frame, block.length);
+      frame.write(block);
+      hash = new XXHash32();
+      hash.update(block, 0, block.length);
+      writeIntLittleEndian(frame, (int) hash.getValue());
+    }
+    writeIntLittleEndian(frame, 0);
+    return frame.toByteArray();
+  }
+
+  private static void writeIntLittleEndian(ByteArrayOutputStream out, int value) {
+    out.write(value);
+    out.write(value >> 8);
+    out.write(value >> 16);
+    out.write(value >> 24);
+  }
+
+  private ArrowBuf decompressFrame(byte[] frame, int decompressedLength) {
+    try (ArrowBuf compressed = allocator.buffer(frame.length + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH)) {
+      compressed.setLong(0, decompressedLength);
+      compressed.setBytes(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, frame);
+      compressed.writerIndex(frame.length + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH);
+      return codec.decompress(allocator, compressed);
+    }
+  }
+
+  private static byte[] toArray(ArrowBuf buffer) {
+    byte[] bytes = new byte[(int) buffer.writerIndex()];
+    buffer.getBytes(0, bytes);
+    return bytes;
+  }
+
+  private static byte[] compressBlock(byte[] data) {
+    Lz4Compressor compressor = new Lz4Compressor();
+    byte[] block = new byte[compressor.maxCompressedLength(data.length)];
+    int length = compressor.compress(data, 0, data.length, block, 0, block.length);
+    return Arrays.copyOf(block, length);
+  }
+
+  @Test
+  public void testDecodeIndependentBlocks() throws IOException {
+    final byte[] data = createData(96 * 1024);
+    byte[] frame = createFrame(true,
+        compressBlock(Arrays.copyOfRange(data, 0, 64 * 1024)),
+        compressBlock(Arrays.copyOfRange(data, 64 * 1024, data.length)));
+    try (ArrowBuf decompressed = decompressFrame(frame, data.length)) {
+      assertArrayEquals(data, toArray(decompressed));
+    }
+  }
+
+  @Test
+  public void testDecodeLinkedBlocks() throws IOException {
+    // the match in the second block refers to the data of the first block
+    byte[] block1 = {(byte) 0x80, '0', '1', '2', '3', '4', '5', '6', '7'};
+    byte[] block2 = {(byte) 0x04, 0x08, 0x00, 0x50, 'v', 'w', 'x', 'y', 'z'};
+    byte[] frame = createFrame(false, block1, block2);
+    try (ArrowBuf decompressed = decompressFrame(frame, 21)) {
+      assertArrayEquals("0123456701234567vwxyz".getBytes(), toArray(decompressed));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncatedFrame() {
+    final byte[] data = createData(64 * 1024);
+    try (ArrowBuf buffer = allocator.buffer(data.length)) {
+      buffer.setBytes(0, data);
+      buffer.writerIndex(data.length);
+      try (ArrowBuf compressed = codec.compress(allocator, buffer)) {
+        compressed.writerIndex(compressed.writerIndex() - 10);
+        codec.decompress(allocator, compressed).close();
+      }
+    }
+  }
+}
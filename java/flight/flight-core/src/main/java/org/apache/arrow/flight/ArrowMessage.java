@@ -226,6 +226,15 @@ class ArrowMessage implements AutoCloseable {
     return Iterables.unmodifiableIterable(bufs);
   }
 
+  /** Get the size in bytes of the buffers held by this message: its body and application metadata. */
+  long getBufferSize() {
+    long size = appMetadata == null ? 0 : appMetadata.capacity();
+    for (final ArrowBuf buf : bufs) {
+      size += buf.capacity();
+    }
+    return size;
+  }
+
   private static ArrowMessage frame(BufferAllocator allocator, final InputStream stream) {
 
     try {
@@ -253,8 +262,7 @@ class ArrowMessage implements AutoCloseable {
           }
           case APP_METADATA_TAG: {
             int size = readRawVarint32(stream);
-            appMetadata = allocator.buffer(size);
-            GetReadableBuffer.readIntoBuffer(stream, appMetadata, size, FAST_PATH);
+            appMetadata = GetReadableBuffer.readBuffer(allocator, stream, size, FAST_PATH);
             break;
           }
           case BODY_TAG:
@@ -264,8 +272,7 @@ class ArrowMessage implements AutoCloseable {
               body = null;
             }
             int size = readRawVarint32(stream);
-            body = allocator.buffer(size);
-            GetReadableBuffer.readIntoBuffer(stream, body, size, FAST_PATH);
+            body = GetReadableBuffer.readBuffer(allocator, stream, size, FAST_PATH);
             break;
 
           default:
@@ -0,0 +1,653 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OwnershipTransferResult;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link FlightProducer} that caches the streams of another producer, so that repeated DoGet calls for the same
+ * ticket are served without recomputing them.
+ *
+ * <p>The data sent by the producer is captured by reference: the buffers of each batch and its metadata are retained,
+ * and their memory is accounted to the allocator of the cache, which must share a root with the allocator of the
+ * producer. Cached streams are replayed by loading the retained buffers, without copying or serializing them again.
+ * As with any data sent through Flight, the producer must not modify the buffers of a batch once it has sent it.
+ *
+ * <p>Streams are cached per ticket and peer identity. They are evicted in least recently used order once the cache
+ * exceeds its size, and optionally expire some time after they were cached. Streams that fail or are cancelled, and
+ * streams with dictionary-encoded fields, are not cached. All other calls are passed through to the producer.
+ */
+public class CachingFlightProducer implements FlightProducer, AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachingFlightProducer.class);
+
+  private final FlightProducer delegate;
+  private final BufferAllocator allocator;
+  private final long maxBytes;
+  private final long expireAfterWriteNanos;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  // guarded by this, in access order
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long cachedBytes = 0;
+  private boolean closed = false;
+
+  /**
+   * Create a cache with the default options.
+   *
+   * @param delegate The producer of the streams.
+   * @param allocator The allocator to account the cached data to.
+   */
+  public CachingFlightProducer(FlightProducer delegate, BufferAllocator allocator) {
+    this(builder(delegate, allocator));
+  }
+
+  private CachingFlightProducer(Builder builder) {
+    this.delegate = builder.delegate;
+    this.allocator = builder.allocator;
+    this.maxBytes = builder.maxBytes;
+    this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+  }
+
+  /**
+   * Create a builder for a cache.
+   *
+   * @param delegate The producer of the streams.
+   * @param allocator The allocator to account the cached data to. It must share a root with the allocator of the
+   *     producer, and should be dedicated to the cache.
+   */
+  public static Builder builder(FlightProducer delegate, BufferAllocator allocator) {
+    return new Builder(delegate, allocator);
+  }
+
+  @Override
+  public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+    final Key key = new Key(context.peerIdentity(), ticket);
+    final Entry entry = lookup(key, System.nanoTime());
+    if (entry != null) {
+      try {
+        replay(entry, listener);
+      } finally {
+        entry.release();
+      }
+      return;
+    }
+
+    final CapturingListener capturing = new CapturingListener(key, listener);
+    try {
+      delegate.getStream(context, ticket, capturing);
+    } catch (RuntimeException e) {
+      capturing.abandon();
+      throw e;
+    }
+  }
+
+  @Override
+  public void listFlights(CallContext context, Criteria criteria, StreamListener<FlightInfo> listener) {
+    delegate.listFlights(context, criteria, listener);
+  }
+
+  @Override
+  public FlightInfo getFlightInfo(CallContext context, FlightDescriptor descriptor) {
+    return delegate.getFlightInfo(context, descriptor);
+  }
+
+  @Override
+  public SchemaResult getSchema(CallContext context, FlightDescriptor descriptor) {
+    return delegate.getSchema(context, descriptor);
+  }
+
+  @Override
+  public Runnable acceptPut(CallContext context, FlightStream flightStream, StreamListener<PutResult> ackStream) {
+    return delegate.acceptPut(context, flightStream, ackStream);
+  }
+
+  @Override
+  public void doExchange(CallContext context, FlightStream reader, ServerStreamListener writer) {
+    delegate.doExchange(context, reader, writer);
+  }
+
+  @Override
+  public void doAction(CallContext context, Action action, StreamListener<Result> listener) {
+    delegate.doAction(context, action, listener);
+  }
+
+  @Override
+  public void listActions(CallContext context, StreamListener<ActionType> listener) {
+    delegate.listActions(context, listener);
+  }
+
+  /**
+   * Get the number of cached streams.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Get the size in bytes of the buffers of the cached streams.
+   */
+  public synchronized long getCachedBytes() {
+    return cachedBytes;
+  }
+
+  /**
+   * Get the number of streams served from the cache.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Get the number of streams requested from the producer.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Get the number of streams evicted from the cache, as it was full or they expired.
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Remove all the streams from the cache.
+   *
+   * <p>The memory of a stream is released once the calls replaying it finish.
+   */
+  public void invalidateAll() {
+    final List<Entry> removed;
+    synchronized (this) {
+      removed = new ArrayList<>(entries.values());
+      entries.clear();
+      cachedBytes = 0;
+    }
+    removed.forEach(Entry::release);
+  }
+
+  /**
+   * Remove all the streams from the cache, and stop caching new ones.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    invalidateAll();
+  }
+
+  /** Find a cached stream, retaining it if found. */
+  private Entry lookup(Key key, long now) {
+    Entry expired = null;
+    synchronized (this) {
+      final Entry entry = entries.get(key);
+      if (entry != null && now - entry.created < expireAfterWriteNanos) {
+        hitCount.incrementAndGet();
+        entry.retain();
+        return entry;
+      } else if (entry != null) {
+        entries.remove(key);
+        cachedBytes -= entry.bytes;
+        evictionCount.incrementAndGet();
+        expired = entry;
+      }
+      missCount.incrementAndGet();
+    }
+    if (expired != null) {
+      expired.release();
+    }
+    return null;
+  }
+
+  /** Add a stream to the cache, taking ownership of it. */
+  private void put(Key key, Entry entry) {
+    final long now = System.nanoTime();
+    final List<Entry> removed = new ArrayList<>();
+    synchronized (this) {
+      if (closed || entry.bytes > maxBytes) {
+        removed.add(entry);
+      } else {
+        final Entry previous = entries.put(key, entry);
+        if (previous != null) {
+          // a concurrent miss on the same stream
+          cachedBytes -= previous.bytes;
+          removed.add(previous);
+        }
+        cachedBytes += entry.bytes;
+
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+          final Entry eldest = iterator.next();
+          if (eldest != entry &&
+              (cachedBytes > maxBytes || now - eldest.created >= expireAfterWriteNanos)) {
+            iterator.remove();
+            cachedBytes -= eldest.bytes;
+            evictionCount.incrementAndGet();
+            removed.add(eldest);
+          }
+        }
+      }
+    }
+    removed.forEach(Entry::release);
+  }
+
+  private void replay(Entry entry, ServerStreamListener listener) {
+    VectorSchemaRoot root = null;
+    VectorLoader loader = null;
+    try {
+      for (int i = 0; i <= entry.messages.size(); i++) {
+        if (i == entry.startIndex) {
+          root = VectorSchemaRoot.create(entry.schema, allocator);
+          loader = new VectorLoader(root);
+          listener.start(root);
+        }
+        if (i == entry.messages.size()) {
+          break;
+        }
+
+        listener.waitUntilReady();
+        if (listener.isCancelled()) {
+          return;
+        }
+        final CachedMessage message = entry.messages.get(i);
+        final ArrowBuf metadata = message.metadata;
+        if (metadata != null) {
+          // Ownership of the buffer is transferred to Flight
+          metadata.getReferenceManager().retain();
+        }
+        if (message.batch == null) {
+          listener.putMetadata(metadata);
+        } else {
+          loader.load(message.batch);
+          listener.putNext(metadata);
+        }
+      }
+      listener.completed();
+    } finally {
+      if (root != null) {
+        root.close();
+      }
+    }
+  }
+
+  /**
+   * Transfer the accounting of a buffer to the allocator of the cache.
+   *
+   * @return A new reference to the buffer, or null if it did not fit in the allocator.
+   */
+  private ArrowBuf transfer(ArrowBuf buf) {
+    final OwnershipTransferResult result = buf.getReferenceManager().transferOwnership(buf, allocator);
+    if (!result.getAllocationFit()) {
+      result.getTransferredBuffer().getReferenceManager().release();
+      return null;
+    }
+    return result.getTransferredBuffer();
+  }
+
+  private static boolean hasDictionaries(List<Field> fields) {
+    for (final Field field : fields) {
+      if (field.getDictionary() != null || hasDictionaries(field.getChildren())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Passes a stream through to the client, capturing its messages.
+   */
+  private class CapturingListener implements ServerStreamListener {
+    private final Key key;
+    private final ServerStreamListener delegate;
+    private final long created = System.nanoTime();
+    // guarded by this, null once the stream is cached or abandoned
+    private List<CachedMessage> messages = new ArrayList<>();
+    private long bytes = 0;
+    private Schema schema = null;
+    private int startIndex = -1;
+    private VectorUnloader unloader = null;
+    private Runnable onCancelHandler = null;
+
+    CapturingListener(Key key, ServerStreamListener delegate) {
+      this.key = key;
+      this.delegate = delegate;
+      delegate.setOnCancelHandler(this::onCancel);
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return delegate.isCancelled();
+    }
+
+    @Override
+    public void setOnCancelHandler(Runnable handler) {
+      this.onCancelHandler = handler;
+    }
+
+    private void onCancel() {
+      abandon();
+      final Runnable handler = onCancelHandler;
+      if (handler != null) {
+        handler.run();
+      }
+    }
+
+    @Override
+    public boolean isReady() {
+      return delegate.isReady();
+    }
+
+    @Override
+    public void waitUntilReady() {
+      delegate.waitUntilReady();
+    }
+
+    @Override
+    public CompletableFuture<Void> whenReady() {
+      return delegate.whenReady();
+    }
+
+    @Override
+    public void start(VectorSchemaRoot root) {
+      start(root, new DictionaryProvider.MapDictionaryProvider());
+    }
+
+    @Override
+    public void start(VectorSchemaRoot root, DictionaryProvider dictionaries) {
+      synchronized (this) {
+        if (hasDictionaries(root.getSchema().getFields())) {
+          abandon();
+        } else if (messages != null) {
+          schema = root.getSchema();
+          startIndex = messages.size();
+          // Buffers are laid out as by the writer, see OutboundStreamListenerImpl
+          unloader = new VectorUnloader(root, /* includeNullCount */ true, /* alignBuffers */ true);
+        }
+      }
+      delegate.start(root, dictionaries);
+    }
+
+    @Override
+    public void putNext() {
+      putNext(null);
+    }
+
+    @Override
+    public void putNext(ArrowBuf metadata) {
+      synchronized (this) {
+        if (messages != null && unloader != null) {
+          capture(unloader.getRecordBatch(), retain(metadata));
+        }
+      }
+      delegate.putNext(metadata);
+    }
+
+    @Override
+    public void putMetadata(ArrowBuf metadata) {
+      synchronized (this) {
+        if (messages != null && metadata != null) {
+          capture(null, retain(metadata));
+        }
+      }
+      delegate.putMetadata(metadata);
+    }
+
+    @Override
+    public void error(Throwable ex) {
+      abandon();
+      delegate.error(ex);
+    }
+
+    @Override
+    public void completed() {
+      final Entry entry;
+      synchronized (this) {
+        if (messages != null && !delegate.isCancelled() && schema != null) {
+          entry = new Entry(schema, startIndex, messages, bytes, created);
+          messages = null;
+        } else {
+          entry = null;
+          abandon();
+        }
+      }
+      if (entry != null) {
+        put(key, entry);
+      }
+      delegate.completed();
+    }
+
+    private ArrowBuf retain(ArrowBuf metadata) {
+      if (metadata != null) {
+        metadata.getReferenceManager().retain();
+      }
+      return metadata;
+    }
+
+    /** Cache a message, taking ownership of the batch and metadata. */
+    private void capture(ArrowRecordBatch batch, ArrowBuf metadata) {
+      final List<ArrowBuf> buffers = new ArrayList<>();
+      CachedMessage message = null;
+      try {
+        if (batch != null) {
+          for (final ArrowBuf buf : batch.getBuffers()) {
+            final ArrowBuf transferred = transfer(buf);
+            if (transferred == null) {
+              abandon();
+              return;
+            }
+            buffers.add(transferred);
+          }
+        }
+        final ArrowBuf cachedMetadata = metadata == null ? null : transfer(metadata);
+        if (metadata != null && cachedMetadata == null) {
+          abandon();
+          return;
+        }
+        message = new CachedMessage(batch == null ? null : new ArrowRecordBatch(batch.getLength(),
+            batch.getNodes(), buffers, batch.getBodyCompression(), /* alignBuffers */ true), cachedMetadata);
+      } catch (RuntimeException e) {
+        // e.g. the data is not from the same root allocator as the cache
+        LOGGER.debug("Could not cache stream", e);
+        abandon();
+        return;
+      } finally {
+        // The record batch retains its own references
+        buffers.forEach(buf -> buf.getReferenceManager().release());
+        if (batch != null) {
+          batch.close();
+        }
+        if (metadata != null) {
+          metadata.getReferenceManager().release();
+        }
+      }
+
+      messages.add(message);
+      bytes += message.bytes;
+      if (bytes > maxBytes) {
+        abandon();
+      }
+    }
+
+    /** Stop capturing the stream, releasing what was captured. */
+    synchronized void abandon() {
+      if (messages != null) {
+        messages.forEach(CachedMessage::close);
+        messages = null;
+      }
+    }
+  }
+
+  /**
+   * A message of a cached stream: a batch, metadata, or both.
+   */
+  private static final class CachedMessage implements AutoCloseable {
+    private final ArrowRecordBatch batch; // nullable
+    private final ArrowBuf metadata; // nullable
+    private final long bytes;
+
+    CachedMessage(ArrowRecordBatch batch, ArrowBuf metadata) {
+      this.batch = batch;
+      this.metadata = metadata;
+      long bytes = metadata == null ? 0 : metadata.capacity();
+      if (batch != null) {
+        for (final ArrowBuf buf : batch.getBuffers()) {
+          bytes += buf.capacity();
+        }
+      }
+      this.bytes = bytes;
+    }
+
+    @Override
+    public void close() {
+      if (batch != null) {
+        batch.close();
+      }
+      if (metadata != null) {
+        metadata.getReferenceManager().release();
+      }
+    }
+  }
+
+  /**
+   * A cached stream, freed once it is evicted and no longer replayed.
+   */
+  private static final class Entry {
+    private final Schema schema;
+    private final int startIndex;
+    private final List<CachedMessage> messages;
+    private final long bytes;
+    private final long created;
+    private int references = 1; // guarded by this, including the reference of the cache
+
+    Entry(Schema schema, int startIndex, List<CachedMessage> messages, long bytes, long created) {
+      this.schema = schema;
+      this.startIndex = startIndex;
+      this.messages = messages;
+      this.bytes = bytes;
+      this.created = created;
+    }
+
+    synchronized void retain() {
+      references++;
+    }
+
+    void release() {
+      synchronized (this) {
+        if (--references > 0) {
+          return;
+        }
+      }
+      messages.forEach(CachedMessage::close);
+    }
+  }
+
+  /**
+   * Identifies a stream by ticket and peer identity.
+   */
+  private static final class Key {
+    private final String peerIdentity; // nullable
+    private final Ticket ticket;
+
+    Key(String peerIdentity, Ticket ticket) {
+      this.peerIdentity = peerIdentity;
+      this.ticket = ticket;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return Objects.equals(peerIdentity, that.peerIdentity) && ticket.equals(that.ticket);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(peerIdentity, ticket);
+    }
+  }
+
+  /**
+   * A builder for a {@link CachingFlightProducer}.
+   */
+  public static final class Builder {
+    private final FlightProducer delegate;
+    private final BufferAllocator allocator;
+    private long maxBytes = 64L * 1024 * 1024;
+    private long expireAfterWriteNanos = Long.MAX_VALUE;
+
+    private Builder(FlightProducer delegate, BufferAllocator allocator) {
+      this.delegate = Preconditions.checkNotNull(delegate);
+      this.allocator = Preconditions.checkNotNull(allocator);
+    }
+
+    /**
+     * Set the maximum size in bytes of the buffers of the cached streams. Defaults to 64 MiB.
+     *
+     * <p>The limit of the allocator of the cache also applies.
+     */
+    public Builder maxBytes(long maxBytes) {
+      Preconditions.checkArgument(maxBytes > 0, "The maximum size must be positive");
+      this.maxBytes = maxBytes;
+      return this;
+    }
+
+    /**
+     * Expire streams this long after they are cached. By default, streams only expire when evicted.
+     */
+    public Builder expireAfterWrite(long duration, TimeUnit unit) {
+      Preconditions.checkArgument(duration > 0, "The expiration must be positive");
+      this.expireAfterWriteNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    public CachingFlightProducer build() {
+      return new CachingFlightProducer(this);
+    }
+  }
+}
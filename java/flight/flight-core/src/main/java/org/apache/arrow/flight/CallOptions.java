@@ -19,6 +19,8 @@ package org.apache.arrow.flight;
 
 import java.util.concurrent.TimeUnit;
 
+import org.apache.arrow.util.Preconditions;
+
 import io.grpc.stub.AbstractStub;
 
 /**
@@ -29,6 +31,27 @@ public class CallOptions {
     return new Timeout(duration, unit);
   }
 
+  /**
+   * Bound the size in bytes of the data the server may send ahead of the client in DoGet and DoExchange calls.
+   *
+   * <p>Messages are only requested from the server while less than this many bytes are buffered, so that a slow
+   * consumer does not buffer an unbounded amount of data. By default, only the number of buffered messages is bounded.
+   */
+  public static CallOption maxBufferedBytes(long maxBufferedBytes) {
+    Preconditions.checkArgument(maxBufferedBytes > 0, "The maximum buffered size must be positive");
+    return new MaxBufferedBytes(maxBufferedBytes);
+  }
+
+  static long getMaxBufferedBytes(CallOption[] options) {
+    long maxBufferedBytes = Long.MAX_VALUE;
+    for (CallOption option : options) {
+      if (option instanceof MaxBufferedBytes) {
+        maxBufferedBytes = ((MaxBufferedBytes) option).maxBufferedBytes;
+      }
+    }
+    return maxBufferedBytes;
+  }
+
   static <T extends AbstractStub<T>> T wrapStub(T stub, CallOption[] options) {
     for (CallOption option : options) {
       if (option instanceof GrpcCallOption) {
@@ -53,6 +76,14 @@ public class CallOptions {
     }
   }
 
+  private static class MaxBufferedBytes implements CallOption {
+    final long maxBufferedBytes;
+
+    MaxBufferedBytes(long maxBufferedBytes) {
+      this.maxBufferedBytes = maxBufferedBytes;
+    }
+  }
+
   /**
    * CallOptions specific to GRPC stubs.
    */
@@ -54,8 +54,13 @@ class FlightBindingService implements BindableService {
 
   public FlightBindingService(BufferAllocator allocator, FlightProducer producer,
       ServerAuthHandler authHandler, ExecutorService executor) {
+    this(allocator, producer, authHandler, executor, Long.MAX_VALUE);
+  }
+
+  FlightBindingService(BufferAllocator allocator, FlightProducer producer,
+      ServerAuthHandler authHandler, ExecutorService executor, long maxBufferedBytes) {
     this.allocator = allocator;
-    this.delegate = new FlightService(allocator, producer, authHandler, executor);
+    this.delegate = new FlightService(allocator, producer, authHandler, executor, maxBufferedBytes);
   }
 
   public static MethodDescriptor<Flight.Ticket, ArrowMessage> getDoGetDescriptor(BufferAllocator allocator) {
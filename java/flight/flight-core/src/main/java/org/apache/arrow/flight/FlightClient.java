@@ -208,12 +208,14 @@ public class FlightClient implements AutoCloseable {
     final io.grpc.CallOptions callOptions = CallOptions.wrapStub(asyncStub, options).getCallOptions();
 
     try {
-      final SetStreamObserver resultObserver = new SetStreamObserver(allocator, metadataListener);
+      final ReadyNotifyingObserver<ArrowMessage, Flight.PutResult> resultObserver = new ReadyNotifyingObserver<>(
+          new SetStreamObserver(allocator, metadataListener), /* manualFlowControl */ false);
       ClientCallStreamObserver<ArrowMessage> observer = (ClientCallStreamObserver<ArrowMessage>)
           ClientCalls.asyncBidiStreamingCall(
               interceptedChannel.newCall(doPutDescriptor, callOptions), resultObserver);
-      final ClientStreamListener writer = new PutObserver(
+      final PutObserver writer = new PutObserver(
           descriptor, observer, metadataListener::isCancelled, metadataListener::getResult);
+      resultObserver.setOnReadyHandler(writer::onReady);
       // Send the schema to start.
       writer.start(root, provider);
       return writer;
@@ -260,7 +262,8 @@ public class FlightClient implements AutoCloseable {
         allocator,
         PENDING_REQUESTS,
         (String message, Throwable cause) -> call.cancel(message, cause),
-        (count) -> call.request(count));
+        (count) -> call.request(count),
+        CallOptions.getMaxBufferedBytes(options));
 
     final StreamObserver<ArrowMessage> delegate = stream.asObserver();
     ClientResponseObserver<Flight.Ticket, ArrowMessage> clientResponseObserver =
@@ -305,10 +308,15 @@ public class FlightClient implements AutoCloseable {
 
     try {
       final ClientCall<ArrowMessage, ArrowMessage> call = interceptedChannel.newCall(doExchangeDescriptor, callOptions);
-      final FlightStream stream = new FlightStream(allocator, PENDING_REQUESTS, call::cancel, call::request);
+      final long maxBufferedBytes = CallOptions.getMaxBufferedBytes(options);
+      final FlightStream stream = new FlightStream(allocator, PENDING_REQUESTS, call::cancel, call::request,
+          maxBufferedBytes);
+      // Only pace the messages by what is consumed if there is a budget, so the default behavior is unchanged
+      final ReadyNotifyingObserver<ArrowMessage, ArrowMessage> readerObserver = new ReadyNotifyingObserver<>(
+          stream.asObserver(), /* manualFlowControl */ maxBufferedBytes != Long.MAX_VALUE);
       final ClientCallStreamObserver<ArrowMessage> observer = (ClientCallStreamObserver<ArrowMessage>)
-              ClientCalls.asyncBidiStreamingCall(call, stream.asObserver());
-      final ClientStreamListener writer = new PutObserver(
+              ClientCalls.asyncBidiStreamingCall(call, readerObserver);
+      final PutObserver writer = new PutObserver(
           descriptor, observer, stream.completed::isDone,
           () -> {
             try {
@@ -326,6 +334,7 @@ public class FlightClient implements AutoCloseable {
                   .toRuntimeException();
             }
           });
+      readerObserver.setOnReadyHandler(writer::onReady);
       // Send the descriptor to start.
       try (final ArrowMessage message = new ArrowMessage(descriptor.toProtocol())) {
         observer.onNext(message);
@@ -396,6 +405,56 @@ public class FlightClient implements AutoCloseable {
     }
   }
 
+  /**
+   * Forwards responses to a delegate, and notifies the writer of the call when the request stream may be ready.
+   */
+  private static class ReadyNotifyingObserver<ReqT, RespT> implements ClientResponseObserver<ReqT, RespT> {
+    private final StreamObserver<RespT> delegate;
+    private final boolean manualFlowControl;
+    private volatile Runnable onReadyHandler = () -> { };
+
+    ReadyNotifyingObserver(StreamObserver<RespT> delegate, boolean manualFlowControl) {
+      this.delegate = delegate;
+      this.manualFlowControl = manualFlowControl;
+    }
+
+    void setOnReadyHandler(Runnable onReadyHandler) {
+      this.onReadyHandler = onReadyHandler;
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<ReqT> requestStream) {
+      if (manualFlowControl) {
+        requestStream.disableAutoInboundFlowControl();
+      }
+      requestStream.setOnReadyHandler(() -> onReadyHandler.run());
+    }
+
+    @Override
+    public void onNext(RespT value) {
+      delegate.onNext(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      try {
+        delegate.onError(t);
+      } finally {
+        // The stream will never become ready, wake up any waiting writer
+        onReadyHandler.run();
+      }
+    }
+
+    @Override
+    public void onCompleted() {
+      try {
+        delegate.onCompleted();
+      } finally {
+        onReadyHandler.run();
+      }
+    }
+  }
+
   /**
    * The implementation of a {@link ClientStreamListener} for writing data to a Flight server.
    */
@@ -422,13 +481,16 @@ public class FlightClient implements AutoCloseable {
       this.unloader = null;
     }
 
+    @Override
+    protected boolean isStreamCancelled() {
+      return isCancelled.getAsBoolean();
+    }
+
     @Override
     protected void waitUntilStreamReady() {
-      // Check isCancelled as well to avoid inadvertently blocking forever
+      // Checks isCancelled as well to avoid inadvertently blocking forever
       // (so long as PutListener properly implements it)
-      while (!responseObserver.isReady() && !isCancelled.getAsBoolean()) {
-        /* busy wait */
-      }
+      waitUntilReady();
     }
 
     @Override
@@ -0,0 +1,570 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of Flight clients, keyed by location and credentials, shared by all the callers connecting to them.
+ *
+ * <p>A {@link FlightClient} is thread-safe and multiplexes concurrent calls over its channel, so reusing clients
+ * avoids a TCP (and TLS) handshake per call. Up to {@link Builder#clientsPerLocation(int)} clients, each with a
+ * channel of its own, are opened per key to spread the load of concurrent callers: a caller gets an unused client
+ * if there is one, a new client while the limit is not reached, and the least used client otherwise.
+ *
+ * <p>Optionally, clients unused for some time are closed, and clients are checked periodically with
+ * {@link FlightClient#listActions}, closing those whose server can no longer be reached. Both run on a background
+ * thread. A client that fails its check while leased is closed once its leases are released.
+ */
+public class FlightClientPool implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FlightClientPool.class);
+
+  private static final long MIN_MAINTENANCE_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final Function<Location, FlightClient> clientFactory;
+  private final int clientsPerLocation;
+  private final long idleTimeoutNanos;
+  private final long healthCheckIntervalNanos;
+  private final long healthCheckTimeoutNanos;
+  private final ScheduledExecutorService maintenanceExecutor;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong healthCheckFailureCount = new AtomicLong();
+
+  // guarded by this
+  private final Map<Key, ClientGroup> groups = new HashMap<>();
+  private boolean closed = false;
+
+  /**
+   * Create a pool of clients with the default options, and no idle eviction or health checks.
+   *
+   * @param allocator The allocator of the clients.
+   */
+  public FlightClientPool(BufferAllocator allocator) {
+    this(builder(allocator));
+  }
+
+  /**
+   * Create a pool of clients, with no idle eviction or health checks.
+   *
+   * @param clientFactory Creates the client for a location, such as with a preconfigured {@link FlightClient.Builder}.
+   */
+  public FlightClientPool(Function<Location, FlightClient> clientFactory) {
+    this(builder(clientFactory));
+  }
+
+  private FlightClientPool(Builder builder) {
+    this.clientFactory = builder.clientFactory;
+    this.clientsPerLocation = builder.clientsPerLocation;
+    this.idleTimeoutNanos = builder.idleTimeoutNanos;
+    this.healthCheckIntervalNanos = builder.healthCheckIntervalNanos;
+    this.healthCheckTimeoutNanos = builder.healthCheckTimeoutNanos;
+
+    long maintenancePeriod = Long.MAX_VALUE;
+    if (idleTimeoutNanos > 0) {
+      maintenancePeriod = Math.min(maintenancePeriod, idleTimeoutNanos / 2);
+    }
+    if (healthCheckIntervalNanos > 0) {
+      maintenancePeriod = Math.min(maintenancePeriod, healthCheckIntervalNanos / 2);
+    }
+    if (maintenancePeriod == Long.MAX_VALUE) {
+      this.maintenanceExecutor = null;
+    } else {
+      maintenancePeriod = Math.max(maintenancePeriod, MIN_MAINTENANCE_PERIOD_NANOS);
+      this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "flight-client-pool-maintenance");
+        thread.setDaemon(true);
+        return thread;
+      });
+      maintenanceExecutor.scheduleWithFixedDelay(this::maintain, maintenancePeriod, maintenancePeriod,
+          TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Create a builder for a pool of clients with the default options.
+   *
+   * @param allocator The allocator of the clients.
+   */
+  public static Builder builder(BufferAllocator allocator) {
+    Preconditions.checkNotNull(allocator);
+    return new Builder(location -> FlightClient.builder(allocator, location).build());
+  }
+
+  /**
+   * Create a builder for a pool of clients.
+   *
+   * @param clientFactory Creates the client for a location, such as with a preconfigured {@link FlightClient.Builder}.
+   */
+  public static Builder builder(Function<Location, FlightClient> clientFactory) {
+    return new Builder(clientFactory);
+  }
+
+  /**
+   * Get an unauthenticated client connected to the given location, creating it if needed.
+   *
+   * @param location The location to connect to.
+   * @return A lease on the client, which must be closed once the caller is done with the client.
+   * @throws IllegalStateException if the pool is closed.
+   */
+  public PooledClient acquire(Location location) {
+    return acquire(location, null);
+  }
+
+  /**
+   * Get a client connected to the given location and authenticated with the given credentials, creating it if
+   * needed.
+   *
+   * @param location The location to connect to.
+   * @param credentials The credentials to authenticate new clients with, or null for unauthenticated clients.
+   * @return A lease on the client, which must be closed once the caller is done with the client.
+   * @throws IllegalStateException if the pool is closed.
+   * @throws FlightRuntimeException if the authentication of a new client failed.
+   */
+  public PooledClient acquire(Location location, Credentials credentials) {
+    Preconditions.checkNotNull(location);
+    final Key key = new Key(location, credentials);
+    final ClientGroup group;
+    synchronized (this) {
+      Preconditions.checkState(!closed, "The client pool is closed");
+      group = groups.computeIfAbsent(key, k -> new ClientGroup());
+      final Entry leastUsed = group.leastUsed();
+      if (leastUsed != null &&
+          (leastUsed.leases == 0 || group.entries.size() + group.pendingCount >= clientsPerLocation)) {
+        leastUsed.leases++;
+        hitCount.incrementAndGet();
+        return new PooledClient(this, leastUsed);
+      }
+      // reserve the slot, the client is connected outside of the lock
+      group.pendingCount++;
+    }
+    missCount.incrementAndGet();
+
+    FlightClient client = null;
+    boolean success = false;
+    try {
+      client = clientFactory.apply(location);
+      if (credentials != null) {
+        client.authenticateBasic(credentials.username, credentials.password);
+      }
+      success = true;
+    } finally {
+      if (!success) {
+        synchronized (this) {
+          group.pendingCount--;
+          removeIfEmpty(key, group);
+        }
+        if (client != null) {
+          closeQuietly(client);
+        }
+      }
+    }
+
+    synchronized (this) {
+      group.pendingCount--;
+      if (!closed) {
+        final Entry entry = new Entry(key, client);
+        entry.leases = 1;
+        group.entries.add(entry);
+        return new PooledClient(this, entry);
+      }
+    }
+    closeQuietly(client);
+    throw new IllegalStateException("The client pool is closed");
+  }
+
+  /**
+   * Get the number of clients in the pool.
+   */
+  public synchronized int size() {
+    int size = 0;
+    for (final ClientGroup group : groups.values()) {
+      size += group.entries.size();
+    }
+    return size;
+  }
+
+  /**
+   * Get the number of acquisitions served by an existing client.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Get the number of acquisitions that created a client.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Get the number of clients closed because they were unused for longer than the idle timeout.
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Get the number of clients closed because they failed a health check.
+   */
+  public long getHealthCheckFailureCount() {
+    return healthCheckFailureCount.get();
+  }
+
+  /**
+   * Close the clients of the pool, including those still leased.
+   */
+  @Override
+  public void close() throws Exception {
+    final List<FlightClient> toClose = new ArrayList<>();
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      for (final ClientGroup group : groups.values()) {
+        for (final Entry entry : group.entries) {
+          toClose.add(entry.client);
+        }
+      }
+      groups.clear();
+    }
+    if (maintenanceExecutor != null) {
+      maintenanceExecutor.shutdownNow();
+      maintenanceExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    AutoCloseables.close(toClose);
+  }
+
+  /**
+   * Closes the idle clients and checks the health of the others. Called periodically by the maintenance thread.
+   */
+  void maintain() {
+    try {
+      maintain(System.nanoTime());
+    } catch (RuntimeException e) {
+      // an exception escaping would cancel the periodic maintenance
+      LOGGER.warn("Maintenance of the Flight client pool failed", e);
+    }
+  }
+
+  /**
+   * Closes the clients idle at the given time, as returned by {@link System#nanoTime()}, and checks the health of
+   * the others.
+   */
+  void maintain(long now) {
+    final List<FlightClient> toClose = new ArrayList<>();
+    final List<Entry> toCheck = new ArrayList<>();
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      final Iterator<Map.Entry<Key, ClientGroup>> groupIterator = groups.entrySet().iterator();
+      while (groupIterator.hasNext()) {
+        final ClientGroup group = groupIterator.next().getValue();
+        final Iterator<Entry> entryIterator = group.entries.iterator();
+        while (entryIterator.hasNext()) {
+          final Entry entry = entryIterator.next();
+          if (idleTimeoutNanos > 0 && entry.leases == 0 && now - entry.lastReleased >= idleTimeoutNanos) {
+            entryIterator.remove();
+            toClose.add(entry.client);
+            evictionCount.incrementAndGet();
+          } else if (healthCheckIntervalNanos > 0 && now - entry.lastChecked >= healthCheckIntervalNanos) {
+            entry.lastChecked = now;
+            toCheck.add(entry);
+          }
+        }
+        if (group.entries.isEmpty() && group.pendingCount == 0) {
+          groupIterator.remove();
+        }
+      }
+    }
+
+    for (final Entry entry : toCheck) {
+      if (!isHealthy(entry)) {
+        healthCheckFailureCount.incrementAndGet();
+        synchronized (this) {
+          final ClientGroup group = groups.get(entry.key);
+          if (closed || group == null || !group.entries.remove(entry)) {
+            // closed or evicted concurrently
+            continue;
+          }
+          removeIfEmpty(entry.key, group);
+          if (entry.leases == 0) {
+            toClose.add(entry.client);
+          } else {
+            entry.retired = true;
+          }
+        }
+      }
+    }
+    toClose.forEach(FlightClientPool::closeQuietly);
+  }
+
+  private boolean isHealthy(Entry entry) {
+    try {
+      for (final ActionType ignored :
+          entry.client.listActions(CallOptions.timeout(healthCheckTimeoutNanos, TimeUnit.NANOSECONDS))) {
+        // drain the stream
+      }
+      return true;
+    } catch (FlightRuntimeException e) {
+      // the server was reached, even though it does not list its actions
+      if (e.status().code() == FlightStatusCode.UNIMPLEMENTED) {
+        return true;
+      }
+      LOGGER.debug("Health check of the Flight client for {} failed", entry.key.location, e);
+      return false;
+    } catch (RuntimeException e) {
+      // e.g. the client was closed, or a middleware failed
+      LOGGER.debug("Health check of the Flight client for {} failed", entry.key.location, e);
+      return false;
+    }
+  }
+
+  private void release(Entry entry) {
+    final boolean closeClient;
+    synchronized (this) {
+      entry.leases--;
+      entry.lastReleased = System.nanoTime();
+      closeClient = entry.retired && entry.leases == 0;
+    }
+    if (closeClient) {
+      closeQuietly(entry.client);
+    }
+  }
+
+  private void removeIfEmpty(Key key, ClientGroup group) {
+    if (group.entries.isEmpty() && group.pendingCount == 0 && groups.get(key) == group) {
+      groups.remove(key);
+    }
+  }
+
+  private static void closeQuietly(FlightClient client) {
+    try {
+      client.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to close a Flight client", e);
+    }
+  }
+
+  /**
+   * Credentials to authenticate the clients of the pool with, using {@link FlightClient#authenticateBasic}.
+   * Clients with different credentials are never shared.
+   */
+  public static final class Credentials {
+    private final String username;
+    private final String password;
+
+    private Credentials(String username, String password) {
+      this.username = Preconditions.checkNotNull(username);
+      this.password = Preconditions.checkNotNull(password);
+    }
+
+    public static Credentials basic(String username, String password) {
+      return new Credentials(username, password);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Credentials)) {
+        return false;
+      }
+      final Credentials that = (Credentials) o;
+      return username.equals(that.username) && password.equals(that.password);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(username, password);
+    }
+
+    @Override
+    public String toString() {
+      return "Credentials{username='" + username + "'}";
+    }
+  }
+
+  /**
+   * A lease on a client of the pool. Closing the lease returns the client to the pool, and does not close it.
+   */
+  public static final class PooledClient implements AutoCloseable {
+
+    private final FlightClientPool pool;
+    private final Entry entry;
+    private boolean released = false;
+
+    private PooledClient(FlightClientPool pool, Entry entry) {
+      this.pool = pool;
+      this.entry = entry;
+    }
+
+    public Location getLocation() {
+      return entry.key.location;
+    }
+
+    public FlightClient getClient() {
+      return entry.client;
+    }
+
+    @Override
+    public void close() {
+      if (!released) {
+        released = true;
+        pool.release(entry);
+      }
+    }
+  }
+
+  /**
+   * The key of the clients in the pool.
+   */
+  private static final class Key {
+    private final Location location;
+    private final Credentials credentials;
+
+    private Key(Location location, Credentials credentials) {
+      this.location = location;
+      this.credentials = credentials;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return location.equals(that.location) && Objects.equals(credentials, that.credentials);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(location, credentials);
+    }
+  }
+
+  /**
+   * A client of the pool, with the number of callers using it.
+   */
+  private static final class Entry {
+    private final Key key;
+    private final FlightClient client;
+    private int leases = 0;
+    private long lastReleased = System.nanoTime();
+    private long lastChecked = System.nanoTime();
+    private boolean retired = false;
+
+    private Entry(Key key, FlightClient client) {
+      this.key = key;
+      this.client = client;
+    }
+  }
+
+  /**
+   * The clients of a key, and the number of clients being created for it.
+   */
+  private static final class ClientGroup {
+    private final List<Entry> entries = new ArrayList<>();
+    private int pendingCount = 0;
+
+    private Entry leastUsed() {
+      Entry leastUsed = null;
+      for (final Entry entry : entries) {
+        if (leastUsed == null || entry.leases < leastUsed.leases) {
+          leastUsed = entry;
+        }
+      }
+      return leastUsed;
+    }
+  }
+
+  /**
+   * A builder for {@link FlightClientPool}.
+   */
+  public static final class Builder {
+    private final Function<Location, FlightClient> clientFactory;
+    private int clientsPerLocation = 1;
+    private long idleTimeoutNanos = 0;
+    private long healthCheckIntervalNanos = 0;
+    private long healthCheckTimeoutNanos = TimeUnit.SECONDS.toNanos(5);
+
+    private Builder(Function<Location, FlightClient> clientFactory) {
+      this.clientFactory = Preconditions.checkNotNull(clientFactory);
+    }
+
+    /** Set the maximum number of clients per location and credentials, 1 by default. */
+    public Builder clientsPerLocation(int clientsPerLocation) {
+      Preconditions.checkArgument(clientsPerLocation > 0, "The number of clients must be positive");
+      this.clientsPerLocation = clientsPerLocation;
+      return this;
+    }
+
+    /** Close the clients unused for the given duration. Disabled by default, or if zero. */
+    public Builder idleTimeout(long duration, TimeUnit unit) {
+      Preconditions.checkArgument(duration >= 0, "The idle timeout must not be negative");
+      this.idleTimeoutNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    /** Check the health of the clients at the given interval. Disabled by default, or if zero. */
+    public Builder healthCheckInterval(long duration, TimeUnit unit) {
+      Preconditions.checkArgument(duration >= 0, "The health check interval must not be negative");
+      this.healthCheckIntervalNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    /** Set the deadline of a health check, 5 seconds by default. */
+    public Builder healthCheckTimeout(long duration, TimeUnit unit) {
+      Preconditions.checkArgument(duration > 0, "The health check timeout must be positive");
+      this.healthCheckTimeoutNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    public FlightClientPool build() {
+      return new FlightClientPool(this);
+    }
+  }
+}
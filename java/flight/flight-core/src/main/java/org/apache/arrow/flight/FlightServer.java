@@ -166,6 +166,7 @@ public class FlightServer implements AutoCloseable {
     private ServerAuthHandler authHandler = ServerAuthHandler.NO_OP;
     private ExecutorService executor = null;
     private int maxInboundMessageSize = MAX_GRPC_MESSAGE_SIZE;
+    private long maxBufferedBytes = Long.MAX_VALUE;
     private InputStream certChain;
     private InputStream key;
     private final List<KeyFactory<?>> interceptors;
@@ -250,7 +251,8 @@ public class FlightServer implements AutoCloseable {
             new ThreadFactoryBuilder().setNameFormat("flight-server-default-executor-%d").build());
         grpcExecutor = exec;
       }
-      final FlightBindingService flightService = new FlightBindingService(allocator, producer, authHandler, exec);
+      final FlightBindingService flightService = new FlightBindingService(allocator, producer, authHandler, exec,
+          maxBufferedBytes);
       builder
           .executor(exec)
           .maxInboundMessageSize(maxInboundMessageSize)
@@ -293,6 +295,19 @@ public class FlightServer implements AutoCloseable {
       return this;
     }
 
+    /**
+     * Set the size in bytes of the data a client may send ahead of the service in DoPut and DoExchange calls.
+     *
+     * <p>Messages are only requested from the client while less than this many bytes are buffered, so that a slow
+     * service does not buffer an unbounded amount of data. Defaults to unlimited, in which case only the number of
+     * buffered messages is bounded.
+     */
+    public Builder maxBufferedBytes(long maxBufferedBytes) {
+      Preconditions.checkArgument(maxBufferedBytes > 0, "The maximum buffered size must be positive");
+      this.maxBufferedBytes = maxBufferedBytes;
+      return this;
+    }
+
     /**
      * Enable TLS on the server.
      * @param certChain The certificate chain to use.
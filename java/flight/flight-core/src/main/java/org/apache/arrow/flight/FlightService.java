@@ -54,9 +54,16 @@ class FlightService extends FlightServiceImplBase {
   private final FlightProducer producer;
   private final ServerAuthHandler authHandler;
   private final ExecutorService executors;
+  private final long maxBufferedBytes;
 
   FlightService(BufferAllocator allocator, FlightProducer producer, ServerAuthHandler authHandler,
       ExecutorService executors) {
+    this(allocator, producer, authHandler, executors, Long.MAX_VALUE);
+  }
+
+  FlightService(BufferAllocator allocator, FlightProducer producer, ServerAuthHandler authHandler,
+      ExecutorService executors, long maxBufferedBytes) {
+    this.maxBufferedBytes = maxBufferedBytes;
     this.allocator = allocator;
     this.producer = producer;
     this.authHandler = authHandler;
@@ -137,11 +144,14 @@ class FlightService extends FlightServiceImplBase {
       this.completed = false;
       this.responseObserver = responseObserver;
       this.responseObserver.setOnCancelHandler(this::onCancel);
+      this.responseObserver.setOnReadyHandler(this::onReady);
       this.responseObserver.disableAutoInboundFlowControl();
     }
 
     private void onCancel() {
       logger.debug("Stream cancelled by client.");
+      // Wake up writers waiting for the stream to be ready
+      onReady();
       if (onCancelHandler != null) {
         onCancelHandler.run();
       }
@@ -157,6 +167,11 @@ class FlightService extends FlightServiceImplBase {
       return responseObserver.isCancelled();
     }
 
+    @Override
+    protected boolean isStreamCancelled() {
+      return isCancelled();
+    }
+
     @Override
     protected void waitUntilStreamReady() {
       // Don't do anything - service implementations are expected to manage backpressure themselves
@@ -191,7 +206,7 @@ class FlightService extends FlightServiceImplBase {
 
     final FlightStream fs = new FlightStream(allocator, PENDING_REQUESTS, (String message, Throwable cause) -> {
       responseObserver.onError(Status.CANCELLED.withCause(cause).withDescription(message).asException());
-    }, responseObserver::request);
+    }, responseObserver::request, maxBufferedBytes);
     final StreamObserver<ArrowMessage> observer = fs.asObserver();
     executors.submit(() -> {
       final StreamPipe<PutResult, Flight.PutResult> ackStream = StreamPipe
@@ -323,7 +338,7 @@ class FlightService extends FlightServiceImplBase {
         (ServerCallStreamObserver<ArrowMessage>) responseObserverSimple;
     final FlightStream fs = new FlightStream(allocator, PENDING_REQUESTS, (String message, Throwable cause) -> {
       responseObserver.onError(Status.CANCELLED.withCause(cause).withDescription(message).asException());
-    }, responseObserver::request);
+    }, responseObserver::request, maxBufferedBytes);
     // When service completes the call, this cleans up the FlightStream
     final ExchangeListener listener = new ExchangeListener(
         responseObserver,
@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -31,6 +32,7 @@ import org.apache.arrow.flight.grpc.StatusUtils;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorLoader;
 import org.apache.arrow.vector.VectorSchemaRoot;
@@ -48,6 +50,12 @@ import io.grpc.stub.StreamObserver;
 
 /**
  * An adaptor between protobuf streams and flight data streams.
+ *
+ * <p>Messages are requested from the peer as they are consumed with {@link #next()}, so that at most a target number
+ * of messages are buffered. Optionally, the size of the buffered messages is bounded as well: once it reaches the
+ * given number of bytes, no more messages are requested until some are consumed, and the number of messages
+ * requested at a time is paced by the average size of the messages received so far. The bound may be exceeded by
+ * the size of a message, as the size of a message is only known once it is received.
  */
 public class FlightStream implements AutoCloseable {
 
@@ -63,15 +71,23 @@ public class FlightStream implements AutoCloseable {
   private final SettableFuture<VectorSchemaRoot> root = SettableFuture.create();
   private final SettableFuture<FlightDescriptor> descriptor = SettableFuture.create();
   private final int pendingTarget;
+  private final long maxBufferedBytes;
   private final Requestor requestor;
   final CompletableFuture<Void> completed;
 
+  private final Object waiterLock = new Object();
+  private CompletableFuture<Boolean> waiter = null; // guarded by waiterLock
+  private boolean loading = false; // guarded by waiterLock, set while an item taken from the queue is loaded
+  private boolean closed = false; // guarded by waiterLock
   private volatile int pending = 1;
   private volatile VectorSchemaRoot fulfilledRoot;
   private DictionaryProvider.MapDictionaryProvider dictionaries;
   private volatile VectorLoader loader;
   private volatile Throwable ex;
   private volatile ArrowBuf applicationMetadata = null;
+  // guarded by this
+  private long bufferedBytes = 0;
+  private long averageMessageBytes = 0;
 
   /**
    * Constructs a new instance.
@@ -82,8 +98,24 @@ public class FlightStream implements AutoCloseable {
    * @param requestor A callback to determine how many pending items there are.
    */
   public FlightStream(BufferAllocator allocator, int pendingTarget, Cancellable cancellable, Requestor requestor) {
+    this(allocator, pendingTarget, cancellable, requestor, Long.MAX_VALUE);
+  }
+
+  /**
+   * Constructs a new instance with a bound on the size of the buffered messages.
+   *
+   * @param allocator  The allocator to use for creating/reallocating buffers for Vectors.
+   * @param pendingTarget Target number of messages to receive.
+   * @param cancellable Only provided for streams from server to client, used to cancel mid-stream requests.
+   * @param requestor A callback to determine how many pending items there are.
+   * @param maxBufferedBytes Target size in bytes of the messages received but not consumed yet.
+   */
+  public FlightStream(BufferAllocator allocator, int pendingTarget, Cancellable cancellable, Requestor requestor,
+      long maxBufferedBytes) {
+    Preconditions.checkArgument(maxBufferedBytes > 0, "The maximum buffered size must be positive");
     this.allocator = allocator;
     this.pendingTarget = pendingTarget;
+    this.maxBufferedBytes = maxBufferedBytes;
     this.cancellable = cancellable;
     this.requestor = requestor;
     this.dictionaries = new DictionaryProvider.MapDictionaryProvider();
@@ -155,6 +187,27 @@ public class FlightStream implements AutoCloseable {
    * <p>If the stream isn't complete and is cancellable, this method will cancel the stream first.</p>
    */
   public void close() throws Exception {
+    final CompletableFuture<Boolean> abandoned;
+    synchronized (waiterLock) {
+      closed = true;
+      abandoned = waiter;
+      waiter = null;
+      // An item may be being loaded into the root on a gRPC thread: wait for it before releasing the root
+      boolean interrupted = false;
+      while (loading) {
+        try {
+          waiterLock.wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (abandoned != null) {
+      abandoned.completeExceptionally(CallStatus.CANCELLED.withDescription("Stream closed.").toRuntimeException());
+    }
     final List<AutoCloseable> closeables = new ArrayList<>();
     // cancellation can throw, but we still want to clean up resources, so make it an AutoCloseable too
     closeables.add(() -> {
@@ -179,80 +232,201 @@ public class FlightStream implements AutoCloseable {
 
   /**
    * Blocking request to load next item into list.
+   *
+   * <p>If the thread is interrupted while waiting, the request is abandoned and an exception is thrown, unless an item
+   * was already taken from the queue for it: then the item is loaded and returned, with the interrupt flag set, so
+   * that no data is skipped.
+   *
    * @return Whether or not more data was found.
    */
   public boolean next() {
+    final CompletableFuture<Boolean> result = nextAsync();
     try {
-      if (completed.isDone() && queue.isEmpty()) {
-        return false;
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      if (abandon(result)) {
+        throw CallStatus.INTERNAL.withCause(e).withDescription("Interrupted").toRuntimeException();
+      }
+      // A gRPC thread is loading an item for this request, which must not be dropped: join ignores interrupts
+      try {
+        return result.join();
+      } catch (CompletionException ce) {
+        throw unwrap(ce.getCause());
       }
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
 
-      pending--;
-      requestOutstanding();
+  /**
+   * Get the exception to rethrow for the failure of a request for the next item.
+   */
+  private static RuntimeException unwrap(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    } else if (cause instanceof Error) {
+      throw (Error) cause;
+    } else if (cause instanceof ExecutionException) {
+      return StatusUtils.fromThrowable(cause.getCause());
+    }
+    return new RuntimeException(cause);
+  }
 
-      Object data = queue.take();
-      if (DONE == data) {
-        queue.put(DONE);
-        // Other code ignores the value of this CompletableFuture, only whether it's completed (or has an exception)
-        completed.complete(null);
-        return false;
-      } else if (DONE_EX == data) {
-        queue.put(DONE_EX);
-        if (ex instanceof Exception) {
-          throw (Exception) ex;
+  /**
+   * Non-blocking request to load next item into list.
+   *
+   * <p>The returned future completes once the next item is received and loaded, so that a small number of threads
+   * can consume many streams. It may be completed on a gRPC thread: dependent actions should not block, and should
+   * instead be run on an executor with the asynchronous methods of the future. Only one request may be outstanding
+   * at a time, and the root and metadata of the stream must not be used until the request completes.
+   *
+   * @return A future of whether or not more data was found.
+   */
+  public CompletableFuture<Boolean> nextAsync() {
+    if (completed.isDone() && queue.isEmpty()) {
+      return CompletableFuture.completedFuture(false);
+    }
+    synchronized (waiterLock) {
+      if (waiter != null) {
+        throw new IllegalStateException("Only one request for the next item may be outstanding at a time.");
+      }
+    }
+
+    final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    requestNext();
+    poll(result);
+    return result;
+  }
+
+  /** Load the next item into the root, or wait for it to be received. */
+  private void poll(CompletableFuture<Boolean> result) {
+    while (true) {
+      final AutoCloseable data;
+      synchronized (waiterLock) {
+        data = closed ? null : queue.poll();
+        if (data == null) {
+          if (!closed) {
+            // Resumed by the observer once the next item is received
+            waiter = result;
+            return;
+          }
         } else {
-          throw new Exception(ex);
+          loading = true;
+        }
+      }
+      if (data == null) {
+        result.completeExceptionally(CallStatus.CANCELLED.withDescription("Stream closed.").toRuntimeException());
+        return;
+      }
+
+      Boolean more = null;
+      Throwable failure = null;
+      try {
+        more = load(data);
+      } catch (Throwable t) {
+        failure = t;
+      } finally {
+        synchronized (waiterLock) {
+          loading = false;
+          waiterLock.notifyAll();
         }
+      }
+      // Complete the request only once the load is over, as dependent actions may close the stream
+      if (failure != null) {
+        result.completeExceptionally(failure);
+        return;
+      }
+      if (more != null) {
+        result.complete(more);
+        return;
+      }
+      requestNext();
+    }
+  }
+
+  /**
+   * Load an item taken from the queue into the root.
+   *
+   * @return Whether or not more data was found, or null if the item was not data and the next one should be loaded.
+   */
+  private Boolean load(AutoCloseable data) throws Exception {
+    if (DONE == data) {
+      queue.add(DONE);
+      // Other code ignores the value of this CompletableFuture, only whether it's completed (or has an exception)
+      completed.complete(null);
+      return false;
+    } else if (DONE_EX == data) {
+      queue.add(DONE_EX);
+      if (ex instanceof Exception) {
+        throw (Exception) ex;
       } else {
-        try (ArrowMessage msg = ((ArrowMessage) data)) {
-          if (msg.getMessageType() == HeaderType.NONE) {
-            updateMetadata(msg);
-            // We received a message without data, so erase any leftover data
-            if (fulfilledRoot != null) {
-              fulfilledRoot.clear();
-            }
-          } else if (msg.getMessageType() == HeaderType.RECORD_BATCH) {
-            // Ensure we have the root
-            root.get().clear();
-            try (ArrowRecordBatch arb = msg.asRecordBatch()) {
-              loader.load(arb);
+        throw new Exception(ex);
+      }
+    } else {
+      try (ArrowMessage msg = ((ArrowMessage) data)) {
+        onDequeued(msg);
+        if (msg.getMessageType() == HeaderType.NONE) {
+          updateMetadata(msg);
+          // We received a message without data, so erase any leftover data
+          if (fulfilledRoot != null) {
+            fulfilledRoot.clear();
+          }
+        } else if (msg.getMessageType() == HeaderType.RECORD_BATCH) {
+          // Ensure we have the root
+          root.get().clear();
+          try (ArrowRecordBatch arb = msg.asRecordBatch()) {
+            loader.load(arb);
+          }
+          updateMetadata(msg);
+        } else if (msg.getMessageType() == HeaderType.DICTIONARY_BATCH) {
+          // Ensure we have the root
+          root.get().clear();
+          try (ArrowDictionaryBatch arb = msg.asDictionaryBatch()) {
+            final long id = arb.getDictionaryId();
+            if (dictionaries == null) {
+              throw new IllegalStateException("Dictionary ownership was claimed by the application.");
             }
-            updateMetadata(msg);
-          } else if (msg.getMessageType() == HeaderType.DICTIONARY_BATCH) {
-            // Ensure we have the root
-            root.get().clear();
-            try (ArrowDictionaryBatch arb = msg.asDictionaryBatch()) {
-              final long id = arb.getDictionaryId();
-              if (dictionaries == null) {
-                throw new IllegalStateException("Dictionary ownership was claimed by the application.");
-              }
-              final Dictionary dictionary = dictionaries.lookup(id);
-              if (dictionary == null) {
-                throw new IllegalArgumentException("Dictionary not defined in schema: ID " + id);
-              }
-
-              final FieldVector vector = dictionary.getVector();
-              final VectorSchemaRoot dictionaryRoot = new VectorSchemaRoot(Collections.singletonList(vector.getField()),
-                  Collections.singletonList(vector), 0);
-              final VectorLoader dictionaryLoader = new VectorLoader(dictionaryRoot);
-              dictionaryLoader.load(arb.getDictionary());
+            final Dictionary dictionary = dictionaries.lookup(id);
+            if (dictionary == null) {
+              throw new IllegalArgumentException("Dictionary not defined in schema: ID " + id);
             }
-            return next();
-          } else {
-            throw new UnsupportedOperationException("Message type is unsupported: " + msg.getMessageType());
+
+            final FieldVector vector = dictionary.getVector();
+            final VectorSchemaRoot dictionaryRoot = new VectorSchemaRoot(Collections.singletonList(vector.getField()),
+                Collections.singletonList(vector), 0);
+            final VectorLoader dictionaryLoader = new VectorLoader(dictionaryRoot);
+            dictionaryLoader.load(arb.getDictionary());
           }
-          return true;
+          // Dictionary batches are not returned to the application
+          return null;
+        } else {
+          throw new UnsupportedOperationException("Message type is unsupported: " + msg.getMessageType());
         }
+        return true;
       }
-    } catch (RuntimeException e) {
-      throw e;
-    } catch (ExecutionException e) {
-      throw StatusUtils.fromThrowable(e.getCause());
-    } catch (Exception e) {
-      throw new RuntimeException(e);
     }
   }
 
+  /**
+   * Stop waiting for an item on behalf of a request.
+   *
+   * @return false if an item was already taken from the queue for the request, which will complete once it is loaded.
+   */
+  private boolean abandon(CompletableFuture<Boolean> result) {
+    synchronized (waiterLock) {
+      if (waiter != result) {
+        return false;
+      }
+      waiter = null;
+    }
+    // The request counted an item as consumed and asked for one more: give the count back, as none was consumed
+    synchronized (this) {
+      pending++;
+    }
+    return true;
+  }
+
   /** Update our metdata reference with a new one from this message. */
   private void updateMetadata(ArrowMessage msg) {
     if (this.applicationMetadata != null) {
@@ -285,7 +459,7 @@ public class FlightStream implements AutoCloseable {
   /**
    * Check if there is a root (i.e. whether the other end has started sending data).
    *
-   * Updated by calls to {@link #next()}.
+   * Updated by calls to {@link #next()} and {@link #nextAsync()}.
    *
    * @return true if and only if the other end has started sending data.
    */
@@ -304,10 +478,73 @@ public class FlightStream implements AutoCloseable {
     return applicationMetadata;
   }
 
+  /**
+   * Get the size in bytes of the messages received but not consumed yet.
+   */
+  public synchronized long getBufferedBytes() {
+    return bufferedBytes;
+  }
+
   private synchronized void requestOutstanding() {
-    if (pending < pendingTarget) {
-      requestor.request(pendingTarget - pending);
-      pending = pendingTarget;
+    int target = pendingTarget;
+    if (maxBufferedBytes != Long.MAX_VALUE) {
+      // request as many messages as fit in the remaining budget, judging by the size of the previous messages
+      final long availableBytes = maxBufferedBytes - bufferedBytes;
+      final long messages;
+      if (availableBytes <= 0) {
+        messages = 0;
+      } else if (averageMessageBytes == 0) {
+        messages = 1;
+      } else {
+        messages = Math.max(1, availableBytes / averageMessageBytes);
+      }
+      target = (int) Math.min(pendingTarget, queue.size() + messages);
+    }
+    if (pending < target) {
+      requestor.request(target - pending);
+      pending = target;
+    }
+  }
+
+  private synchronized void onQueued(ArrowMessage msg) {
+    final long size = msg.getBufferSize();
+    bufferedBytes += size;
+    // exponential moving average, weighing the last message by 1/4
+    averageMessageBytes = averageMessageBytes == 0 ? size : (3 * averageMessageBytes + size) / 4;
+  }
+
+  private void onDequeued(ArrowMessage msg) {
+    synchronized (this) {
+      bufferedBytes -= msg.getBufferSize();
+    }
+    requestOutstanding();
+  }
+
+  private synchronized void requestNext() {
+    pending--;
+    requestOutstanding();
+  }
+
+  private void enqueue(ArrowMessage msg) {
+    onQueued(msg);
+    offer(msg);
+  }
+
+  /** Queue an item, and load it if a request is waiting for one. */
+  private void offer(AutoCloseable item) {
+    final CompletableFuture<Boolean> resumed;
+    synchronized (waiterLock) {
+      if (closed) {
+        // Nothing will consume the item: release it here, as close() has already released the queue
+        AutoCloseables.closeNoChecked(item);
+        return;
+      }
+      queue.add(item);
+      resumed = waiter;
+      waiter = null;
+    }
+    if (resumed != null) {
+      poll(resumed);
     }
   }
 
@@ -327,7 +564,7 @@ public class FlightStream implements AutoCloseable {
             descriptor.set(new FlightDescriptor(msg.getDescriptor()));
           }
           if (msg.getApplicationMetadata() != null) {
-            queue.add(msg);
+            enqueue(msg);
           }
           break;
         }
@@ -353,29 +590,29 @@ public class FlightStream implements AutoCloseable {
           break;
         }
         case RECORD_BATCH:
-          queue.add(msg);
+          enqueue(msg);
           break;
         case DICTIONARY_BATCH:
-          queue.add(msg);
+          enqueue(msg);
           break;
         case TENSOR:
         default:
-          queue.add(DONE_EX);
           ex = new UnsupportedOperationException("Unable to handle message of type: " + msg.getMessageType());
+          offer(DONE_EX);
       }
     }
 
     @Override
     public void onError(Throwable t) {
       ex = StatusUtils.fromThrowable(t);
-      queue.add(DONE_EX);
+      offer(DONE_EX);
       root.setException(ex);
     }
 
     @Override
     public void onCompleted() {
       // Depends on gRPC calling onNext and onCompleted non-concurrently
-      queue.add(DONE);
+      offer(DONE);
     }
   }
 
@@ -0,0 +1,450 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.arrow.flight.grpc.StatusUtils;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Reads the streams of all the endpoints of a {@link FlightInfo} concurrently, as a single stream of batches.
+ *
+ * <p>The endpoints are fetched by a bounded number of threads, with clients of a {@link FlightClientPool}, so that
+ * endpoints at the same location share a connection. Batches are delivered either in endpoint order, where all
+ * the batches of an endpoint are delivered before those of the next one, or in arrival order.
+ *
+ * <p>Fetched batches wait in memory until they are read with {@link #next()}. Once the waiting batches reach the
+ * memory budget, the threads stop reading their streams, which lets gRPC flow control slow down the servers. To
+ * guarantee progress, a thread may still add a batch when none of its batches are waiting, so the memory held
+ * may exceed the budget by up to one batch per thread, in addition to the messages buffered by each
+ * {@link FlightStream}.
+ *
+ * <p>Dictionary-encoded streams are not supported.
+ */
+public class MultiEndpointStream implements AutoCloseable {
+
+  /**
+   * The order in which the batches of the endpoints are delivered.
+   */
+  public enum Order {
+    /** All the batches of an endpoint are delivered before those of the next endpoint. */
+    ENDPOINT,
+    /** Batches are delivered as soon as they are received, regardless of their endpoint. */
+    ARRIVAL
+  }
+
+  private static final AtomicInteger STREAM_IDS = new AtomicInteger();
+
+  private final FlightClientPool clientPool;
+  private final List<FlightEndpoint> endpoints;
+  private final List<Location> locations;
+  private final Order order;
+  private final long memoryBudget;
+  private final CallOption[] options;
+  private final ExecutorService executor;
+  private final VectorSchemaRoot root;
+  private final VectorLoader loader;
+
+  // guarded by this
+  private final List<ArrayDeque<Batch>> queues;
+  private final ArrayDeque<Batch> arrivals = new ArrayDeque<>();
+  private final Set<FlightStream> activeStreams = new HashSet<>();
+  private final boolean[] finished;
+  private int finishedCount = 0;
+  private int nextEndpoint = 0;
+  private long bufferedBytes = 0;
+  private Throwable error = null;
+  private boolean closed = false;
+
+  private int currentEndpoint = -1;
+
+  private MultiEndpointStream(Builder builder) {
+    this.clientPool = builder.clientPool;
+    this.endpoints = builder.info.getEndpoints();
+    this.order = builder.order;
+    this.memoryBudget = builder.memoryBudget;
+    this.options = builder.options;
+
+    this.locations = new ArrayList<>(endpoints.size());
+    this.queues = new ArrayList<>(endpoints.size());
+    for (final FlightEndpoint endpoint : endpoints) {
+      if (endpoint.getLocations().isEmpty()) {
+        Preconditions.checkArgument(builder.defaultLocation != null,
+            "An endpoint has no location, and no default location was given");
+        locations.add(builder.defaultLocation);
+      } else {
+        locations.add(endpoint.getLocations().get(0));
+      }
+      queues.add(new ArrayDeque<>());
+    }
+    this.finished = new boolean[endpoints.size()];
+
+    this.root = VectorSchemaRoot.create(builder.info.getSchema(), builder.allocator);
+    this.loader = new VectorLoader(root);
+
+    final int threads = Math.max(1, Math.min(builder.maxConcurrency, endpoints.size()));
+    final String threadPrefix = "flight-multi-endpoint-" + STREAM_IDS.incrementAndGet() + "-";
+    final AtomicInteger threadIds = new AtomicInteger();
+    final ThreadFactory threadFactory = runnable -> {
+      final Thread thread = new Thread(runnable, threadPrefix + threadIds.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+    // endpoints are started in order, so the endpoint read first in endpoint order is always being fetched
+    for (int i = 0; i < endpoints.size(); i++) {
+      final int index = i;
+      executor.execute(() -> fetch(index));
+    }
+    executor.shutdown();
+  }
+
+  /**
+   * Create a builder to read the endpoints of a flight.
+   *
+   * @param clientPool The pool of clients to connect to the endpoints.
+   * @param allocator The allocator of the root the batches are loaded into.
+   * @param info The flight to read.
+   */
+  public static Builder builder(FlightClientPool clientPool, BufferAllocator allocator, FlightInfo info) {
+    return new Builder(clientPool, allocator, info);
+  }
+
+  /**
+   * Get the schema of the batches, from the {@link FlightInfo}.
+   */
+  public Schema getSchema() {
+    return root.getSchema();
+  }
+
+  /**
+   * Get the root the current batch is loaded into. The data in the root changes with each call to {@link #next()}.
+   */
+  public VectorSchemaRoot getRoot() {
+    return root;
+  }
+
+  /**
+   * Get the index in {@link FlightInfo#getEndpoints()} of the endpoint the current batch was read from.
+   */
+  public int getEndpointIndex() {
+    return currentEndpoint;
+  }
+
+  /**
+   * Blocking request to load the next batch into the root.
+   *
+   * @return Whether or not more data was found.
+   * @throws FlightRuntimeException if reading any of the endpoints failed.
+   */
+  public boolean next() {
+    final Batch batch;
+    try {
+      batch = take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw CallStatus.INTERNAL.withCause(e).withDescription("Interrupted").toRuntimeException();
+    }
+    if (batch == null) {
+      root.clear();
+      return false;
+    }
+
+    try (ArrowRecordBatch arb = batch.recordBatch) {
+      root.clear();
+      loader.load(arb);
+    }
+    currentEndpoint = batch.endpointIndex;
+    return true;
+  }
+
+  /**
+   * Cancels the endpoint streams that are still being read, and frees the batches not read yet.
+   */
+  @Override
+  public void close() throws Exception {
+    final List<FlightStream> toCancel;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      toCancel = new ArrayList<>(activeStreams);
+      notifyAll();
+    }
+    for (final FlightStream stream : toCancel) {
+      try {
+        stream.cancel("Multi-endpoint stream closed", null);
+      } catch (RuntimeException e) {
+        // the stream may have completed concurrently, it is closed by its thread anyway
+      }
+    }
+    // the threads must be done with the batches and the clients before they are freed
+    while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+      // keep waiting
+    }
+
+    final List<AutoCloseable> closeables = new ArrayList<>();
+    synchronized (this) {
+      for (final ArrayDeque<Batch> queue : queues) {
+        for (final Batch batch : queue) {
+          closeables.add(batch.recordBatch);
+        }
+        queue.clear();
+      }
+      arrivals.clear();
+      bufferedBytes = 0;
+    }
+    closeables.add(root);
+    AutoCloseables.close(closeables);
+  }
+
+  private void fetch(int index) {
+    final FlightEndpoint endpoint = endpoints.get(index);
+    try (FlightClientPool.PooledClient client = clientPool.acquire(locations.get(index));
+         FlightStream stream = client.getClient().getStream(endpoint.getTicket(), options)) {
+      if (!register(stream)) {
+        return;
+      }
+      try {
+        final VectorSchemaRoot streamRoot = stream.getRoot();
+        if (!streamRoot.getSchema().getFields().equals(root.getSchema().getFields())) {
+          throw CallStatus.INVALID_ARGUMENT.withDescription("The schema of endpoint " + index + " " +
+              streamRoot.getSchema() + " differs from the schema of the flight " + root.getSchema())
+              .toRuntimeException();
+        }
+        final VectorUnloader unloader = new VectorUnloader(streamRoot);
+        while (stream.next()) {
+          if (!offer(index, unloader.getRecordBatch())) {
+            return;
+          }
+        }
+      } finally {
+        unregister(stream);
+      }
+      finish(index, null);
+    } catch (Throwable t) {
+      finish(index, t);
+    }
+  }
+
+  private synchronized boolean register(FlightStream stream) {
+    if (closed) {
+      return false;
+    }
+    activeStreams.add(stream);
+    return true;
+  }
+
+  private synchronized void unregister(FlightStream stream) {
+    activeStreams.remove(stream);
+  }
+
+  /**
+   * Adds a batch of an endpoint, waiting for the budget to allow it.
+   *
+   * @return false if the batch was freed rather than added, because the stream failed or was closed.
+   */
+  private synchronized boolean offer(int index, ArrowRecordBatch recordBatch) throws InterruptedException {
+    final Batch batch = new Batch(index, recordBatch);
+    final ArrayDeque<Batch> queue = queues.get(index);
+    try {
+      while (!closed && error == null && !queue.isEmpty() && bufferedBytes + batch.size > memoryBudget) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      recordBatch.close();
+      throw e;
+    }
+    if (closed || error != null) {
+      recordBatch.close();
+      return false;
+    }
+    queue.add(batch);
+    if (order == Order.ARRIVAL) {
+      arrivals.add(batch);
+    }
+    bufferedBytes += batch.size;
+    notifyAll();
+    return true;
+  }
+
+  private synchronized void finish(int index, Throwable t) {
+    if (finished[index]) {
+      return;
+    }
+    finished[index] = true;
+    finishedCount++;
+    if (t != null && error == null && !closed) {
+      error = t;
+    }
+    notifyAll();
+  }
+
+  /**
+   * Takes the next batch to deliver, waiting for it to be fetched.
+   *
+   * @return the batch, or null once all the batches were delivered.
+   */
+  private synchronized Batch take() throws InterruptedException {
+    while (true) {
+      Preconditions.checkState(!closed, "The stream is closed");
+      if (error != null) {
+        throw StatusUtils.fromThrowable(error);
+      }
+
+      final Batch batch;
+      if (order == Order.ARRIVAL) {
+        batch = arrivals.poll();
+        if (batch != null) {
+          queues.get(batch.endpointIndex).poll();
+        } else if (finishedCount == endpoints.size()) {
+          return null;
+        }
+      } else {
+        if (nextEndpoint == endpoints.size()) {
+          return null;
+        }
+        batch = queues.get(nextEndpoint).poll();
+        if (batch == null && finished[nextEndpoint]) {
+          nextEndpoint++;
+          continue;
+        }
+      }
+
+      if (batch != null) {
+        bufferedBytes -= batch.size;
+        notifyAll();
+        return batch;
+      }
+      wait();
+    }
+  }
+
+  /**
+   * A batch fetched from an endpoint.
+   */
+  private static final class Batch {
+    private final int endpointIndex;
+    private final ArrowRecordBatch recordBatch;
+    private final long size;
+
+    private Batch(int endpointIndex, ArrowRecordBatch recordBatch) {
+      this.endpointIndex = endpointIndex;
+      this.recordBatch = recordBatch;
+      this.size = recordBatch.computeBodyLength();
+    }
+  }
+
+  /**
+   * A builder for {@link MultiEndpointStream}.
+   */
+  public static final class Builder {
+    private final FlightClientPool clientPool;
+    private final BufferAllocator allocator;
+    private final FlightInfo info;
+    private Order order = Order.ENDPOINT;
+    private int maxConcurrency = 4;
+    private long memoryBudget = 64L * 1024 * 1024;
+    private Location defaultLocation = null;
+    private CallOption[] options = new CallOption[0];
+
+    private Builder(FlightClientPool clientPool, BufferAllocator allocator, FlightInfo info) {
+      this.clientPool = Preconditions.checkNotNull(clientPool);
+      this.allocator = Preconditions.checkNotNull(allocator);
+      this.info = Preconditions.checkNotNull(info);
+    }
+
+    /** Set the order in which batches are delivered, {@link Order#ENDPOINT} by default. */
+    public Builder order(Order order) {
+      this.order = Preconditions.checkNotNull(order);
+      return this;
+    }
+
+    /** Set the maximum number of endpoints fetched concurrently, 4 by default. */
+    public Builder maxConcurrency(int maxConcurrency) {
+      Preconditions.checkArgument(maxConcurrency > 0, "The concurrency must be positive");
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /** Set the size in bytes of the batches fetched ahead of the reader, 64MB by default. */
+    public Builder memoryBudget(long memoryBudget) {
+      Preconditions.checkArgument(memoryBudget > 0, "The memory budget must be positive");
+      this.memoryBudget = memoryBudget;
+      return this;
+    }
+
+    /** Set the location of the endpoints without locations, usually the service the flight was obtained from. */
+    public Builder defaultLocation(Location defaultLocation) {
+      this.defaultLocation = Preconditions.checkNotNull(defaultLocation);
+      return this;
+    }
+
+    /** Set the RPC-layer hints for the DoGet calls. */
+    public Builder callOptions(CallOption... options) {
+      this.options = Preconditions.checkNotNull(options);
+      return this;
+    }
+
+    /**
+     * Start fetching the endpoints.
+     *
+     * @throws UnsupportedOperationException if the schema of the flight has dictionary-encoded fields.
+     * @throws IllegalArgumentException if an endpoint has no location and no default location was given.
+     */
+    public MultiEndpointStream build() {
+      for (final Field field : info.getSchema().getFields()) {
+        if (isDictionaryEncoded(field)) {
+          throw new UnsupportedOperationException("Dictionary-encoded field is not supported: " + field);
+        }
+      }
+      return new MultiEndpointStream(this);
+    }
+
+    private static boolean isDictionaryEncoded(Field field) {
+      if (field.getDictionary() != null) {
+        return true;
+      }
+      for (final Field child : field.getChildren()) {
+        if (isDictionaryEncoded(child)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
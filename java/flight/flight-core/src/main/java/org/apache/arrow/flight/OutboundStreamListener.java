@@ -17,6 +17,10 @@
 
 package org.apache.arrow.flight;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.dictionary.DictionaryProvider;
@@ -35,6 +39,40 @@ public interface OutboundStreamListener {
    */
   boolean isReady();
 
+  /**
+   * Block until the peer is ready to receive data without excessive buffering, or the call is cancelled.
+   *
+   * <p>This is an alternative to polling {@link #isReady()}, for writers that can afford to block a thread. If the
+   * waiting thread is interrupted, this method returns early without throwing, leaving the interrupt flag set; callers
+   * that need to tell the cases apart should check {@link Thread#isInterrupted()}. Implementations must follow the
+   * same contract. The default implementation polls {@link #isReady()}.
+   */
+  default void waitUntilReady() {
+    while (!isReady() && !Thread.currentThread().isInterrupted()) {
+      if (this instanceof FlightProducer.ServerStreamListener &&
+          ((FlightProducer.ServerStreamListener) this).isCancelled()) {
+        return;
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+  }
+
+  /**
+   * Get a future that completes when the peer is ready to receive data without excessive buffering, or the call is
+   * cancelled.
+   *
+   * <p>This is an alternative to polling {@link #isReady()}, for asynchronous writers. The future may be completed
+   * on a gRPC thread, so dependent actions should not block. The default implementation polls {@link #isReady()}
+   * on a thread of the common pool.
+   */
+  default CompletableFuture<Void> whenReady() {
+    if (isReady()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.runAsync(this::waitUntilReady);
+  }
+
+
   /**
    * Start sending data, using the schema of the given {@link VectorSchemaRoot}.
    *
@@ -17,6 +17,10 @@
 
 package org.apache.arrow.flight;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.arrow.flight.grpc.StatusUtils;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.util.Preconditions;
@@ -30,9 +34,15 @@ import io.grpc.stub.CallStreamObserver;
  * A base class for writing Arrow data to a Flight stream.
  */
 abstract class OutboundStreamListenerImpl implements OutboundStreamListener {
+  // Bounds the wait for readiness, in case a notification is missed (e.g. the call ends without a cancellation)
+  private static final long READY_WAIT_MILLIS = 100;
+
   private final FlightDescriptor descriptor; // nullable
+  private final Object readyLock = new Object();
+  private final List<CompletableFuture<Void>> readyFutures = new ArrayList<>(); // guarded by readyLock
   protected final CallStreamObserver<ArrowMessage> responseObserver;
   protected volatile VectorUnloader unloader; // null until stream started
+  private volatile boolean finished; // set once completed() or error() was called
 
   OutboundStreamListenerImpl(FlightDescriptor descriptor, CallStreamObserver<ArrowMessage> responseObserver) {
     Preconditions.checkNotNull(responseObserver, "responseObserver must be provided");
@@ -46,6 +56,63 @@ abstract class OutboundStreamListenerImpl implements OutboundStreamListener {
     return responseObserver.isReady();
   }
 
+  @Override
+  public void waitUntilReady() {
+    synchronized (readyLock) {
+      while (!isReadyOrCancelled()) {
+        try {
+          readyLock.wait(READY_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+          // as documented by OutboundStreamListener, return early and leave the interrupt flag set
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> whenReady() {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    synchronized (readyLock) {
+      if (!isReadyOrCancelled()) {
+        readyFutures.add(future);
+        return future;
+      }
+    }
+    future.complete(null);
+    return future;
+  }
+
+  /**
+   * Notify writers waiting for the stream that it may be ready. Must be called when gRPC reports the stream is ready,
+   * and when the call is cancelled or ends.
+   */
+  void onReady() {
+    final List<CompletableFuture<Void>> ready;
+    synchronized (readyLock) {
+      readyLock.notifyAll();
+      if (readyFutures.isEmpty() || !isReadyOrCancelled()) {
+        return;
+      }
+      ready = new ArrayList<>(readyFutures);
+      readyFutures.clear();
+    }
+    // Complete outside the lock, as dependent actions run synchronously
+    for (final CompletableFuture<Void> future : ready) {
+      future.complete(null);
+    }
+  }
+
+  private boolean isReadyOrCancelled() {
+    return finished || responseObserver.isReady() || isStreamCancelled();
+  }
+
+  /**
+   * Check whether the call was cancelled, in which case the stream will never become ready.
+   */
+  protected abstract boolean isStreamCancelled();
+
   @Override
   public void start(VectorSchemaRoot root) {
     start(root, new DictionaryProvider.MapDictionaryProvider());
@@ -109,11 +176,22 @@ abstract class OutboundStreamListenerImpl implements OutboundStreamListener {
 
   @Override
   public void error(Throwable ex) {
-    responseObserver.onError(StatusUtils.toGrpcException(ex));
+    finished = true;
+    try {
+      responseObserver.onError(StatusUtils.toGrpcException(ex));
+    } finally {
+      // The stream will not become ready again, so release writers still waiting for it
+      onReady();
+    }
   }
 
   @Override
   public void completed() {
-    responseObserver.onCompleted();
+    finished = true;
+    try {
+      responseObserver.onCompleted();
+    } finally {
+      onReady();
+    }
   }
 }
@@ -20,24 +20,39 @@ package org.apache.arrow.flight.grpc;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.util.Queue;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.ByteBufAllocationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Throwables;
 import com.google.common.io.ByteStreams;
 
 import io.grpc.internal.ReadableBuffer;
+import io.netty.buffer.ByteBuf;
 
 /**
  * Enable access to ReadableBuffer directly to copy data from a BufferInputStream into a target
  * ByteBuffer/ByteBuf.
  *
  * <p>This could be solved by BufferInputStream exposing Drainable.
+ *
+ * <p>When gRPC runs over Netty, the ReadableBuffer is made of retained slices of the received Netty
+ * buffers, which may be handed over to Arrow without a copy, see {@link #readBuffer}.
  */
 public class GetReadableBuffer {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(GetReadableBuffer.class);
+
   private static final Field READABLE_BUFFER;
   private static final Class<?> BUFFER_INPUT_STREAM;
+  private static final Field COMPOSITE_BUFFERS;
+  private static final Class<?> COMPOSITE_READABLE_BUFFER;
+  private static final Field NETTY_BYTE_BUF;
+  private static final Class<?> NETTY_READABLE_BUFFER;
 
   static {
     Field tmpField = null;
@@ -51,10 +66,34 @@ public class GetReadableBuffer {
       tmpField = f;
       tmpClazz = clazz;
     } catch (Exception e) {
-      e.printStackTrace();
+      LOGGER.warn("Unable to access the gRPC message buffers, messages will be copied through the heap", e);
     }
     READABLE_BUFFER = tmpField;
     BUFFER_INPUT_STREAM = tmpClazz;
+
+    tmpField = null;
+    tmpClazz = null;
+    Field tmpByteBufField = null;
+    Class<?> tmpByteBufClazz = null;
+    try {
+      Class<?> compositeClazz = Class.forName("io.grpc.internal.CompositeReadableBuffer");
+      Field compositeField = compositeClazz.getDeclaredField("buffers");
+      compositeField.setAccessible(true);
+      Class<?> nettyClazz = Class.forName("io.grpc.netty.NettyReadableBuffer");
+      Field nettyField = nettyClazz.getDeclaredField("buffer");
+      nettyField.setAccessible(true);
+      // don't set until we've gotten past all exception cases.
+      tmpField = compositeField;
+      tmpClazz = compositeClazz;
+      tmpByteBufField = nettyField;
+      tmpByteBufClazz = nettyClazz;
+    } catch (Exception e) {
+      LOGGER.warn("Unable to access the Netty buffers of gRPC messages, message bodies will be copied", e);
+    }
+    COMPOSITE_BUFFERS = tmpField;
+    COMPOSITE_READABLE_BUFFER = tmpClazz;
+    NETTY_BYTE_BUF = tmpByteBufField;
+    NETTY_READABLE_BUFFER = tmpByteBufClazz;
   }
 
   /**
@@ -96,4 +135,89 @@ public class GetReadableBuffer {
     }
     buf.writerIndex(size);
   }
+
+  /**
+   * Helper method to read a gRPC-provided InputStream into a new ArrowBuf, without copying if possible.
+   *
+   * <p>If the bytes are held by a single direct Netty buffer, the returned buffer takes a reference to
+   * it rather than copying it. Otherwise, as when the bytes span several HTTP/2 frames, they are copied
+   * into a buffer allocated from the given allocator.
+   *
+   * @param allocator The allocator to account the returned buffer to.
+   * @param stream The stream to read from. Should be an instance of {@link #BUFFER_INPUT_STREAM}.
+   * @param size The number of bytes to read.
+   * @param fastPath Whether to enable the fast path (i.e. detect whether the stream is a {@link #BUFFER_INPUT_STREAM}).
+   * @return a buffer with the bytes read, and a reference count of one.
+   * @throws IOException if there is an error reading form the stream
+   */
+  public static ArrowBuf readBuffer(final BufferAllocator allocator, final InputStream stream, final int size,
+      final boolean fastPath) throws IOException {
+    ReadableBuffer readableBuffer = fastPath && size > 0 ? getReadableBuffer(stream) : null;
+    if (readableBuffer == null) {
+      return readIntoNewBuffer(allocator, stream, size, fastPath);
+    }
+
+    // the slice holds retained references to the underlying buffers, released on close
+    try (ReadableBuffer slice = readableBuffer.readBytes(size)) {
+      ByteBuf byteBuf = getByteBuf(slice);
+      if (byteBuf != null && ByteBufAllocationManager.canWrap(byteBuf)) {
+        return ByteBufAllocationManager.wrap(allocator, byteBuf.retain());
+      }
+
+      ArrowBuf buf = allocator.buffer(size);
+      boolean success = false;
+      try {
+        slice.readBytes(buf.nioBuffer(0, size));
+        buf.writerIndex(size);
+        success = true;
+        return buf;
+      } finally {
+        if (!success) {
+          buf.getReferenceManager().release();
+        }
+      }
+    }
+  }
+
+  private static ArrowBuf readIntoNewBuffer(final BufferAllocator allocator, final InputStream stream,
+      final int size, final boolean fastPath) throws IOException {
+    ArrowBuf buf = allocator.buffer(size);
+    boolean success = false;
+    try {
+      readIntoBuffer(stream, buf, size, fastPath);
+      success = true;
+      return buf;
+    } finally {
+      if (!success) {
+        buf.getReferenceManager().release();
+      }
+    }
+  }
+
+  /**
+   * Extracts the Netty buffer holding all the bytes of the given ReadableBuffer, or null if they are not
+   * held by a single Netty buffer.
+   */
+  private static ByteBuf getByteBuf(ReadableBuffer readableBuffer) {
+    if (NETTY_READABLE_BUFFER == null) {
+      return null;
+    }
+
+    try {
+      ReadableBuffer current = readableBuffer;
+      while (current.getClass().equals(COMPOSITE_READABLE_BUFFER)) {
+        Queue<?> buffers = (Queue<?>) COMPOSITE_BUFFERS.get(current);
+        if (buffers.size() != 1) {
+          return null;
+        }
+        current = (ReadableBuffer) buffers.peek();
+      }
+      if (!current.getClass().equals(NETTY_READABLE_BUFFER)) {
+        return null;
+      }
+      return (ByteBuf) NETTY_BYTE_BUF.get(current);
+    } catch (Exception ex) {
+      throw Throwables.propagate(ex);
+    }
+  }
 }
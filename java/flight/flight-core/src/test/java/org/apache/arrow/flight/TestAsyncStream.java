@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Tests for {@link FlightStream#nextAsync()}.
+ */
+public class TestAsyncStream {
+
+  private static final Schema SCHEMA = new Schema(
+      Collections.singletonList(Field.nullable("a", MinorType.BIGINT.getType())));
+  private static final int BATCHES = 10;
+  private static final int ROWS = 100;
+  private static final long SUM = sum(BATCHES * ROWS);
+
+  private final CountDownLatch unblock = new CountDownLatch(1);
+  private BufferAllocator allocator;
+  private FlightServer server;
+  private FlightClient client;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws Exception {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    server = FlightTestUtil.getStartedServer(
+        (location) -> FlightServer.builder(allocator, location, new Producer(allocator, unblock)).build());
+    client = FlightClient.builder(allocator, server.getLocation()).build();
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    unblock.countDown();
+    executor.shutdown();
+    AutoCloseables.close(client, server, allocator);
+  }
+
+  /**
+   * Make sure many streams can be consumed concurrently by a couple of threads.
+   */
+  @Test
+  public void consumeManyStreams() throws Exception {
+    final List<FlightStream> streams = new ArrayList<>();
+    try {
+      final List<CompletableFuture<Long>> sums = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        final FlightStream stream = client.getStream(new Ticket("data".getBytes()));
+        streams.add(stream);
+        sums.add(sum(stream, executor, 0));
+      }
+      for (final CompletableFuture<Long> sum : sums) {
+        Assert.assertEquals(SUM, (long) sum.get(30, TimeUnit.SECONDS));
+      }
+    } finally {
+      AutoCloseables.close(streams);
+    }
+  }
+
+  /**
+   * Make sure the blocking and non-blocking APIs can be mixed.
+   */
+  @Test
+  public void mixBlockingAndAsync() throws Exception {
+    try (final FlightStream stream = client.getStream(new Ticket("data".getBytes()))) {
+      long sum = 0;
+      for (int batch = 0; ; batch++) {
+        final boolean more = batch % 2 == 0 ? stream.next() : stream.nextAsync().get(10, TimeUnit.SECONDS);
+        if (!more) {
+          break;
+        }
+        sum += sum((BigIntVector) stream.getRoot().getVector("a"));
+      }
+      Assert.assertEquals(SUM, sum);
+      // Reading past the end keeps returning false
+      Assert.assertFalse(stream.nextAsync().get(10, TimeUnit.SECONDS));
+      Assert.assertFalse(stream.next());
+    }
+  }
+
+  @Test
+  public void propagateErrors() throws Exception {
+    try (final FlightStream stream = client.getStream(new Ticket("error".getBytes()))) {
+      final ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+          () -> stream.nextAsync().get(10, TimeUnit.SECONDS));
+      Assert.assertTrue(e.getCause() instanceof FlightRuntimeException);
+      Assert.assertEquals(FlightStatusCode.INVALID_ARGUMENT,
+          ((FlightRuntimeException) e.getCause()).status().code());
+      // The blocking API reports the same error
+      FlightTestUtil.assertCode(FlightStatusCode.INVALID_ARGUMENT, stream::next);
+    }
+  }
+
+  /**
+   * Make sure a request waiting for data is completed when the stream is closed.
+   */
+  @Test
+  public void closeWhileWaiting() throws Exception {
+    final CompletableFuture<Boolean> result;
+    try (final FlightStream stream = client.getStream(new Ticket("block".getBytes()))) {
+      result = stream.nextAsync();
+      Assertions.assertThrows(IllegalStateException.class, stream::nextAsync);
+      Assert.assertFalse(result.isDone());
+    }
+    final ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+        () -> result.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals(FlightStatusCode.CANCELLED, ((FlightRuntimeException) e.getCause()).status().code());
+  }
+
+  /**
+   * Make sure closing a stream while a batch may be loading for a pending request neither fails nor leaks: the
+   * allocator is checked for leaks when the test ends.
+   */
+  @Test
+  public void closeWhileLoading() throws Exception {
+    for (int i = 0; i < 50; i++) {
+      final FlightStream stream = client.getStream(new Ticket("data".getBytes()));
+      final CompletableFuture<Boolean> result = stream.nextAsync();
+      // Give the batches time to arrive on some iterations, so that close() races with loading them
+      Thread.sleep(i % 5);
+      stream.close();
+      try {
+        result.get(10, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        Assert.assertEquals(FlightStatusCode.CANCELLED, ((FlightRuntimeException) e.getCause()).status().code());
+      }
+      Assert.assertTrue(result.isDone());
+    }
+  }
+
+  /**
+   * Make sure an interrupted blocking request is abandoned, so that the stream can still be read.
+   */
+  @Test
+  public void interruptWhileWaiting() throws Exception {
+    try (final FlightStream stream = client.getStream(new Ticket("block".getBytes()))) {
+      final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+      final Thread reader = new Thread(() -> {
+        try {
+          stream.next();
+          failure.complete(null);
+        } catch (Throwable t) {
+          failure.complete(Thread.currentThread().isInterrupted() ? t : null);
+        }
+      });
+      reader.start();
+      Thread.sleep(100);
+      reader.interrupt();
+      final Throwable t = failure.get(10, TimeUnit.SECONDS);
+      Assert.assertTrue(t instanceof FlightRuntimeException);
+      Assert.assertEquals(FlightStatusCode.INTERNAL, ((FlightRuntimeException) t).status().code());
+
+      unblock.countDown();
+      Assert.assertFalse(stream.nextAsync().get(10, TimeUnit.SECONDS));
+    }
+  }
+
+  /** Sum the values of a stream, loading each batch on the given executor. */
+  private static CompletableFuture<Long> sum(FlightStream stream, Executor executor, long total) {
+    return stream.nextAsync().thenComposeAsync(more -> {
+      if (!more) {
+        return CompletableFuture.completedFuture(total);
+      }
+      return sum(stream, executor, total + sum((BigIntVector) stream.getRoot().getVector("a")));
+    }, executor);
+  }
+
+  private static long sum(BigIntVector vector) {
+    long sum = 0;
+    for (int i = 0; i < vector.getValueCount(); i++) {
+      sum += vector.get(i);
+    }
+    return sum;
+  }
+
+  private static long sum(int values) {
+    return (long) values * (values - 1) / 2;
+  }
+
+  /**
+   * Streams consecutive numbers, fails, or blocks until the end of the test, depending on the ticket.
+   */
+  private static class Producer extends NoOpFlightProducer {
+    private final BufferAllocator allocator;
+    private final CountDownLatch unblock;
+
+    Producer(BufferAllocator allocator, CountDownLatch unblock) {
+      this.allocator = allocator;
+      this.unblock = unblock;
+    }
+
+    @Override
+    public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+      final String command = new String(ticket.getBytes());
+      if (command.equals("error")) {
+        listener.error(CallStatus.INVALID_ARGUMENT.withDescription("Bad ticket").toRuntimeException());
+        return;
+      }
+      try (final VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator)) {
+        listener.start(root);
+        if (command.equals("block")) {
+          unblock.await();
+          listener.completed();
+          return;
+        }
+        final BigIntVector vector = (BigIntVector) root.getVector("a");
+        for (int batch = 0; batch < BATCHES; batch++) {
+          vector.allocateNew(ROWS);
+          for (int i = 0; i < ROWS; i++) {
+            vector.set(i, batch * ROWS + i);
+          }
+          root.setRowCount(ROWS);
+          listener.putNext();
+        }
+        listener.completed();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        listener.error(e);
+      }
+    }
+  }
+}
@@ -17,13 +17,21 @@
 
 package org.apache.arrow.flight;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.arrow.flight.perf.PerformanceTestServer;
 import org.apache.arrow.flight.perf.TestPerf;
+import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
 import org.apache.arrow.vector.types.Types.MinorType;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -33,10 +41,20 @@ import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
 
+import io.grpc.stub.CallStreamObserver;
+
 public class TestBackPressure {
 
   private static final int BATCH_SIZE = 4095;
 
+  private static final int BUDGET_ROWS = 32 * 1024;
+  private static final int BUDGET_BATCHES = 32;
+  // An upper bound on the size of a batch: 8 bytes of data and at most a byte of validity per row
+  private static final long BUDGET_BATCH_BYTES = BUDGET_ROWS * 9L;
+  private static final long BUDGET = 512 * 1024;
+  private static final Schema BUDGET_SCHEMA = new Schema(
+      ImmutableList.of(Field.nullable("a", MinorType.BIGINT.getType())));
+
   /**
    * Make sure that failing to consume one stream doesn't block other streams.
    */
@@ -144,6 +162,329 @@ public class TestBackPressure {
     }
   }
 
+  /**
+   * Make sure that a client with a byte budget does not buffer more than the budget under a slow consumer.
+   */
+  @Test
+  public void boundBufferedBytesOnClient() throws Exception {
+    try (final BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+         final FlightServer server = FlightTestUtil.getStartedServer(
+             (location) -> FlightServer.builder(allocator, location, new BudgetProducer(allocator, false)).build());
+         final FlightClient client = FlightClient.builder(allocator, server.getLocation()).build();
+         final FlightStream stream = client.getStream(new Ticket(new byte[0]), CallOptions.maxBufferedBytes(BUDGET))) {
+      long maxBufferedBytes = 0;
+      int batches = 0;
+      while (stream.next()) {
+        checkBatch(stream.getRoot(), batches++);
+        Thread.sleep(10);
+        maxBufferedBytes = Math.max(maxBufferedBytes, stream.getBufferedBytes());
+      }
+      Assert.assertEquals(BUDGET_BATCHES, batches);
+      Assert.assertTrue(maxBufferedBytes > 0);
+      Assert.assertTrue("Buffered " + maxBufferedBytes + " bytes", maxBufferedBytes <= BUDGET + BUDGET_BATCH_BYTES);
+    }
+  }
+
+  /**
+   * Make sure that a server with a byte budget does not buffer more than the budget under a slow consumer.
+   */
+  @Test
+  public void boundBufferedBytesOnServer() throws Exception {
+    final AtomicLong maxBufferedBytes = new AtomicLong(0);
+    final FlightProducer producer = new NoOpFlightProducer() {
+      @Override
+      public Runnable acceptPut(CallContext context, FlightStream flightStream, StreamListener<PutResult> ackStream) {
+        return () -> {
+          try {
+            int batches = 0;
+            while (flightStream.next()) {
+              checkBatch(flightStream.getRoot(), batches++);
+              Thread.sleep(10);
+              maxBufferedBytes.accumulateAndGet(flightStream.getBufferedBytes(), Math::max);
+            }
+            Assert.assertEquals(BUDGET_BATCHES, batches);
+            ackStream.onCompleted();
+          } catch (Exception | AssertionError e) {
+            ackStream.onError(e);
+          }
+        };
+      }
+    };
+    try (final BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+         final FlightServer server = FlightTestUtil.getStartedServer(
+             (location) -> FlightServer.builder(allocator, location, producer).maxBufferedBytes(BUDGET).build());
+         final FlightClient client = FlightClient.builder(allocator, server.getLocation()).build();
+         final VectorSchemaRoot root = VectorSchemaRoot.create(BUDGET_SCHEMA, allocator)) {
+      final FlightClient.ClientStreamListener listener = client.startPut(
+          FlightDescriptor.path("budget"), root, new SyncPutListener());
+      for (int i = 0; i < BUDGET_BATCHES; i++) {
+        fillBatch(root, i);
+        listener.putNext();
+      }
+      listener.completed();
+      listener.getResult();
+      Assert.assertTrue(maxBufferedBytes.get() > 0);
+      Assert.assertTrue("Buffered " + maxBufferedBytes.get() + " bytes",
+          maxBufferedBytes.get() <= BUDGET + BUDGET_BATCH_BYTES);
+    }
+  }
+
+  /**
+   * Make sure that a server can block or wait asynchronously until the client is ready.
+   */
+  @Test
+  public void waitUntilReady() throws Exception {
+    for (final boolean async : new boolean[] {false, true}) {
+      try (final BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+           final FlightServer server = FlightTestUtil.getStartedServer(
+               (location) -> FlightServer.builder(allocator, location, new BudgetProducer(allocator, async)).build());
+           final FlightClient client = FlightClient.builder(allocator, server.getLocation()).build();
+           final FlightStream stream = client.getStream(new Ticket(new byte[0]))) {
+        int batches = 0;
+        while (stream.next()) {
+          checkBatch(stream.getRoot(), batches++);
+        }
+        Assert.assertEquals(BUDGET_BATCHES, batches);
+      }
+    }
+  }
+
+  /**
+   * Make sure that a server waiting until the client is ready is woken up when the client cancels the call.
+   */
+  @Test
+  public void waitUntilReadyCancelled() throws Exception {
+    final CountDownLatch finished = new CountDownLatch(1);
+    final AtomicBoolean cancelled = new AtomicBoolean(false);
+    try (final BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+      final FlightProducer producer = new NoOpFlightProducer() {
+        @Override
+        public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+          try (final VectorSchemaRoot root = VectorSchemaRoot.create(BUDGET_SCHEMA, allocator)) {
+            listener.start(root);
+            // Send until the client stops reading, and then some: this blocks until the call is cancelled
+            for (int i = 0; i < 10_000 && !listener.isCancelled(); i++) {
+              listener.waitUntilReady();
+              fillBatch(root, i);
+              listener.putNext();
+            }
+            cancelled.set(listener.isCancelled());
+          } finally {
+            finished.countDown();
+          }
+        }
+      };
+      try (final FlightServer server = FlightTestUtil.getStartedServer(
+               (location) -> FlightServer.builder(allocator, location, producer).build());
+           final FlightClient client = FlightClient.builder(allocator, server.getLocation()).build();
+           final FlightStream stream = client.getStream(new Ticket(new byte[0]))) {
+        Assert.assertTrue(stream.next());
+        stream.cancel("Stop reading", null);
+        Assert.assertTrue(finished.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(cancelled.get());
+      }
+    }
+  }
+
+  /**
+   * Make sure the default implementations of waitUntilReady and whenReady work for listeners that only implement
+   * isReady.
+   */
+  @Test
+  public void defaultWaitUntilReady() throws Exception {
+    final AtomicBoolean ready = new AtomicBoolean(false);
+    final OutboundStreamListener listener = new ReadinessListener(ready);
+    final CompletableFuture<Void> whenReady = listener.whenReady();
+    Assert.assertFalse(whenReady.isDone());
+
+    final Thread waiter = new Thread(listener::waitUntilReady);
+    waiter.start();
+    Thread.sleep(50);
+    Assert.assertTrue(waiter.isAlive());
+
+    ready.set(true);
+    waiter.join(TimeUnit.SECONDS.toMillis(10));
+    Assert.assertFalse(waiter.isAlive());
+    whenReady.get(10, TimeUnit.SECONDS);
+    Assert.assertTrue(listener.whenReady().isDone());
+  }
+
+  /**
+   * Make sure that both the default and the Flight implementations of waitUntilReady return when the waiting thread is
+   * interrupted, leaving the interrupt flag set.
+   */
+  @Test
+  public void waitUntilReadyInterrupted() throws Exception {
+    checkReturnsOnInterrupt(new ReadinessListener(new AtomicBoolean(false)));
+
+    final CallStreamObserver<ArrowMessage> notReady = new CallStreamObserver<ArrowMessage>() {
+      @Override
+      public boolean isReady() {
+        return false;
+      }
+
+      @Override
+      public void setOnReadyHandler(Runnable onReadyHandler) {
+      }
+
+      @Override
+      public void disableAutoInboundFlowControl() {
+      }
+
+      @Override
+      public void request(int count) {
+      }
+
+      @Override
+      public void setMessageCompression(boolean enable) {
+      }
+
+      @Override
+      public void onNext(ArrowMessage value) {
+      }
+
+      @Override
+      public void onError(Throwable t) {
+      }
+
+      @Override
+      public void onCompleted() {
+      }
+    };
+    checkReturnsOnInterrupt(new OutboundStreamListenerImpl(null, notReady) {
+      @Override
+      protected boolean isStreamCancelled() {
+        return false;
+      }
+
+      @Override
+      protected void waitUntilStreamReady() {
+        waitUntilReady();
+      }
+    });
+  }
+
+  private static void checkReturnsOnInterrupt(OutboundStreamListener listener) throws Exception {
+    final AtomicBoolean interrupted = new AtomicBoolean(false);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread waiter = new Thread(() -> {
+      try {
+        listener.waitUntilReady();
+        interrupted.set(Thread.currentThread().isInterrupted());
+      } catch (Throwable t) {
+        failure.set(t);
+      }
+    });
+    waiter.start();
+    Thread.sleep(50);
+    Assert.assertTrue(waiter.isAlive());
+
+    waiter.interrupt();
+    waiter.join(TimeUnit.SECONDS.toMillis(10));
+    Assert.assertFalse(waiter.isAlive());
+    Assert.assertNull(failure.get());
+    Assert.assertTrue(interrupted.get());
+  }
+
+  private static void fillBatch(VectorSchemaRoot root, int batch) {
+    final BigIntVector vector = (BigIntVector) root.getVector("a");
+    vector.allocateNew(BUDGET_ROWS);
+    for (int i = 0; i < BUDGET_ROWS; i++) {
+      vector.set(i, batch + i);
+    }
+    root.setRowCount(BUDGET_ROWS);
+  }
+
+  private static void checkBatch(VectorSchemaRoot root, int batch) {
+    final BigIntVector vector = (BigIntVector) root.getVector("a");
+    Assert.assertEquals(BUDGET_ROWS, root.getRowCount());
+    Assert.assertEquals(batch, vector.get(0));
+    Assert.assertEquals(batch + BUDGET_ROWS - 1, vector.get(BUDGET_ROWS - 1));
+  }
+
+  /**
+   * A listener that only reports readiness, relying on the default ways to wait for it.
+   */
+  private static class ReadinessListener implements OutboundStreamListener {
+    private final AtomicBoolean ready;
+
+    ReadinessListener(AtomicBoolean ready) {
+      this.ready = ready;
+    }
+
+    @Override
+    public boolean isReady() {
+      return ready.get();
+    }
+
+    @Override
+    public void start(VectorSchemaRoot root) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void start(VectorSchemaRoot root, DictionaryProvider dictionaries) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putNext() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putNext(ArrowBuf metadata) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putMetadata(ArrowBuf metadata) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void error(Throwable ex) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void completed() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * Sends {@link #BUDGET_BATCHES} batches, waiting for the client to be ready before each one.
+   */
+  private static class BudgetProducer extends NoOpFlightProducer {
+    private final BufferAllocator allocator;
+    private final boolean async;
+
+    BudgetProducer(BufferAllocator allocator, boolean async) {
+      this.allocator = allocator;
+      this.async = async;
+    }
+
+    @Override
+    public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+      try (final VectorSchemaRoot root = VectorSchemaRoot.create(BUDGET_SCHEMA, allocator)) {
+        listener.start(root);
+        for (int i = 0; i < BUDGET_BATCHES; i++) {
+          if (async) {
+            listener.whenReady().get(10, TimeUnit.SECONDS);
+          } else {
+            listener.waitUntilReady();
+          }
+          fillBatch(root, i);
+          listener.putNext();
+        }
+        listener.completed();
+      } catch (Exception e) {
+        listener.error(e);
+      }
+    }
+  }
+
   private static void consume(FlightStream stream) {
     VectorSchemaRoot root = stream.getRoot();
     while (stream.next()) {
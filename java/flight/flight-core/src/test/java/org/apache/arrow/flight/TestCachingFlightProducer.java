@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CachingFlightProducer}.
+ */
+public class TestCachingFlightProducer {
+
+  private static final Schema SCHEMA = new Schema(
+      Collections.singletonList(Field.nullable("a", MinorType.BIGINT.getType())));
+  private static final int BATCHES = 4;
+  private static final int ROWS = 1024;
+
+  private BufferAllocator allocator;
+  private BufferAllocator cacheAllocator;
+  private Producer producer;
+  private CachingFlightProducer cache;
+  private FlightServer server;
+  private FlightClient client;
+
+  @Before
+  public void setUp() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    cacheAllocator = allocator.newChildAllocator("cache", 0, Long.MAX_VALUE);
+    producer = new Producer(allocator);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    AutoCloseables.close(client, server, cache, cacheAllocator, allocator);
+  }
+
+  private void start(Function<CachingFlightProducer.Builder, CachingFlightProducer.Builder> options) throws Exception {
+    cache = options.apply(CachingFlightProducer.builder(producer, cacheAllocator)).build();
+    server = FlightTestUtil.getStartedServer(
+        (location) -> FlightServer.builder(allocator, location, cache).build());
+    client = FlightClient.builder(allocator, server.getLocation()).build();
+  }
+
+  @Test
+  public void replayCachedStream() throws Exception {
+    start(Function.identity());
+    read("one");
+    Assert.assertEquals(1, cache.size());
+    Assert.assertTrue(cache.getCachedBytes() >= BATCHES * ROWS * 8);
+    Assert.assertTrue(cacheAllocator.getAllocatedMemory() > 0);
+
+    read("one");
+    read("one");
+    Assert.assertEquals(1, producer.calls.get());
+    Assert.assertEquals(2, cache.getHitCount());
+    Assert.assertEquals(1, cache.getMissCount());
+
+    read("two");
+    Assert.assertEquals(2, producer.calls.get());
+    Assert.assertEquals(2, cache.size());
+
+    cache.invalidateAll();
+    Assert.assertEquals(0, cache.size());
+    Assert.assertEquals(0, cache.getCachedBytes());
+    read("one");
+    Assert.assertEquals(3, producer.calls.get());
+  }
+
+  @Test
+  public void evictLeastRecentlyUsed() throws Exception {
+    // Measure the size of a cached stream, including the unused capacity of its buffers
+    start(Function.identity());
+    read("one");
+    final long streamBytes = cache.getCachedBytes();
+    AutoCloseables.close(client, server, cache);
+    producer.calls.set(0);
+
+    // Room for two streams, but not three
+    start(builder -> builder.maxBytes(streamBytes * 5 / 2));
+    read("one");
+    read("two");
+    read("one");
+    read("three");
+    Assert.assertEquals(2, cache.size());
+    Assert.assertEquals(1, cache.getEvictionCount());
+
+    read("one");
+    Assert.assertEquals(3, producer.calls.get());
+    read("two");
+    Assert.assertEquals(4, producer.calls.get());
+  }
+
+  @Test
+  public void expireStreams() throws Exception {
+    start(builder -> builder.expireAfterWrite(1, TimeUnit.NANOSECONDS));
+    read("one");
+    read("one");
+    Assert.assertEquals(2, producer.calls.get());
+    Assert.assertEquals(0, cache.getHitCount());
+    Assert.assertEquals(1, cache.getEvictionCount());
+  }
+
+  @Test
+  public void doNotCacheErrors() throws Exception {
+    start(Function.identity());
+    for (int i = 0; i < 2; i++) {
+      try (final FlightStream stream = client.getStream(new Ticket("error".getBytes(StandardCharsets.UTF_8)))) {
+        FlightTestUtil.assertCode(FlightStatusCode.INTERNAL, () -> {
+          while (stream.next()) {
+            // Drain the stream
+          }
+        });
+      }
+    }
+    Assert.assertEquals(2, producer.calls.get());
+    Assert.assertEquals(0, cache.size());
+    Assert.assertEquals(0, cacheAllocator.getAllocatedMemory());
+  }
+
+  private void read(String ticket) throws Exception {
+    try (final FlightStream stream = client.getStream(new Ticket(ticket.getBytes(StandardCharsets.UTF_8)))) {
+      final VectorSchemaRoot root = stream.getRoot();
+      int batches = 0;
+      while (stream.next()) {
+        final BigIntVector vector = (BigIntVector) root.getVector("a");
+        Assert.assertEquals(ROWS, root.getRowCount());
+        for (int i = 0; i < ROWS; i++) {
+          Assert.assertEquals(batches * ROWS + i, vector.get(i));
+        }
+        Assert.assertEquals(batches, stream.getLatestMetadata().getInt(0));
+        batches++;
+      }
+      Assert.assertEquals(BATCHES, batches);
+    }
+  }
+
+  /**
+   * Streams consecutive numbers with the batch index as metadata, failing halfway for the ticket "error".
+   */
+  private static class Producer extends NoOpFlightProducer {
+    private final BufferAllocator allocator;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    Producer(BufferAllocator allocator) {
+      this.allocator = allocator;
+    }
+
+    @Override
+    public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+      calls.incrementAndGet();
+      final boolean error = new String(ticket.getBytes(), StandardCharsets.UTF_8).equals("error");
+      try (final VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator)) {
+        listener.start(root);
+        final BigIntVector vector = (BigIntVector) root.getVector("a");
+        for (int batch = 0; batch < BATCHES; batch++) {
+          if (error && batch == BATCHES / 2) {
+            listener.error(CallStatus.INTERNAL.withDescription("Failed").toRuntimeException());
+            return;
+          }
+          vector.allocateNew(ROWS);
+          for (int i = 0; i < ROWS; i++) {
+            vector.set(i, batch * ROWS + i);
+          }
+          root.setRowCount(ROWS);
+          final ArrowBuf metadata = allocator.buffer(4);
+          metadata.setInt(0, batch);
+          listener.putNext(metadata);
+        }
+        listener.completed();
+      }
+    }
+  }
+}
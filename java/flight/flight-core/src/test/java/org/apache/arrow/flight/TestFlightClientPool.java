@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link FlightClientPool}.
+ */
+public class TestFlightClientPool {
+
+  private BufferAllocator allocator;
+  private FlightServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    server = FlightTestUtil.getStartedServer(
+        (location) -> FlightServer.builder(allocator, location, new NoOpFlightProducer()).build());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.close();
+    allocator.close();
+  }
+
+  @Test
+  public void reuseClient() throws Exception {
+    try (final FlightClientPool pool = new FlightClientPool(allocator)) {
+      final FlightClient first;
+      try (final FlightClientPool.PooledClient client = pool.acquire(server.getLocation())) {
+        first = client.getClient();
+      }
+      try (final FlightClientPool.PooledClient client = pool.acquire(server.getLocation())) {
+        Assert.assertSame(first, client.getClient());
+      }
+      Assert.assertEquals(1, pool.size());
+      Assert.assertEquals(1, pool.getHitCount());
+      Assert.assertEquals(1, pool.getMissCount());
+    }
+  }
+
+  @Test
+  public void spreadOverClients() throws Exception {
+    try (final FlightClientPool pool = FlightClientPool.builder(allocator).clientsPerLocation(2).build();
+         final FlightClientPool.PooledClient client1 = pool.acquire(server.getLocation());
+         final FlightClientPool.PooledClient client2 = pool.acquire(server.getLocation())) {
+      // concurrent callers get a client each, up to the limit
+      Assert.assertNotSame(client1.getClient(), client2.getClient());
+      try (final FlightClientPool.PooledClient client3 = pool.acquire(server.getLocation())) {
+        Assert.assertTrue(client3.getClient() == client1.getClient() || client3.getClient() == client2.getClient());
+      }
+      Assert.assertEquals(2, pool.size());
+      Assert.assertEquals(1, pool.getHitCount());
+      Assert.assertEquals(2, pool.getMissCount());
+    }
+  }
+
+  @Test
+  public void separateCredentials() throws Exception {
+    try (final FlightClientPool pool = new FlightClientPool(allocator);
+         final FlightClientPool.PooledClient anonymous = pool.acquire(server.getLocation());
+         final FlightClientPool.PooledClient user1 =
+             pool.acquire(server.getLocation(), FlightClientPool.Credentials.basic("user1", "password"));
+         final FlightClientPool.PooledClient user2 =
+             pool.acquire(server.getLocation(), FlightClientPool.Credentials.basic("user2", "password"));
+         final FlightClientPool.PooledClient user1Again =
+             pool.acquire(server.getLocation(), FlightClientPool.Credentials.basic("user1", "password"))) {
+      Assert.assertNotSame(anonymous.getClient(), user1.getClient());
+      Assert.assertNotSame(user1.getClient(), user2.getClient());
+      Assert.assertSame(user1.getClient(), user1Again.getClient());
+      Assert.assertEquals(3, pool.size());
+    }
+  }
+
+  @Test
+  public void evictIdleClients() throws Exception {
+    try (final FlightClientPool pool = FlightClientPool.builder(allocator)
+        .idleTimeout(1, TimeUnit.HOURS)
+        .build()) {
+      final FlightClientPool.PooledClient leased = pool.acquire(server.getLocation());
+      pool.maintain(System.nanoTime() + TimeUnit.HOURS.toNanos(2));
+      // leased clients are never evicted
+      Assert.assertEquals(1, pool.size());
+
+      leased.close();
+      pool.maintain(System.nanoTime());
+      // not idle for long enough
+      Assert.assertEquals(1, pool.size());
+      Assert.assertEquals(0, pool.getEvictionCount());
+
+      pool.maintain(System.nanoTime() + TimeUnit.HOURS.toNanos(2));
+      Assert.assertEquals(0, pool.size());
+      Assert.assertEquals(1, pool.getEvictionCount());
+
+      try (final FlightClientPool.PooledClient client = pool.acquire(server.getLocation())) {
+        Assert.assertNotNull(client.getClient());
+      }
+      Assert.assertEquals(2, pool.getMissCount());
+    }
+  }
+
+  @Test
+  public void healthCheck() throws Exception {
+    try (final FlightClientPool pool = FlightClientPool.builder(allocator)
+        .healthCheckInterval(1, TimeUnit.HOURS)
+        .healthCheckTimeout(5, TimeUnit.SECONDS)
+        .build()) {
+      final FlightClientPool.PooledClient leased = pool.acquire(server.getLocation());
+      // the server does not implement ListActions, but is reachable
+      pool.maintain(System.nanoTime() + TimeUnit.HOURS.toNanos(2));
+      Assert.assertEquals(1, pool.size());
+      Assert.assertEquals(0, pool.getHealthCheckFailureCount());
+
+      server.close();
+      pool.maintain(System.nanoTime() + TimeUnit.HOURS.toNanos(4));
+      Assert.assertEquals(0, pool.size());
+      Assert.assertEquals(1, pool.getHealthCheckFailureCount());
+      // the leased client is closed once released
+      leased.close();
+    }
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MultiEndpointStream}.
+ */
+public class TestMultiEndpointStream {
+
+  private static final Schema SCHEMA = new Schema(Collections.singletonList(
+      new Field("ints", FieldType.nullable(new ArrowType.Int(32, true)), null)));
+
+  private static final int ENDPOINTS = 6;
+  private static final int BATCHES = 5;
+  private static final int ROWS = 100;
+
+  private BufferAllocator allocator;
+  private FlightServer server1;
+  private FlightServer server2;
+  private FlightClientPool clientPool;
+
+  @Before
+  public void setUp() throws Exception {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    server1 = FlightTestUtil.getStartedServer(
+        (location) -> FlightServer.builder(allocator, location, new Producer(allocator)).build());
+    server2 = FlightTestUtil.getStartedServer(
+        (location) -> FlightServer.builder(allocator, location, new Producer(allocator)).build());
+    clientPool = new FlightClientPool(allocator);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    clientPool.close();
+    server1.close();
+    server2.close();
+    allocator.close();
+  }
+
+  @Test
+  public void endpointOrder() throws Exception {
+    final FlightInfo info = createInfo(ENDPOINTS, -1);
+    final List<Integer> values = new ArrayList<>();
+    // a tiny budget only lets each endpoint fetch one batch ahead
+    try (final MultiEndpointStream stream = MultiEndpointStream.builder(clientPool, allocator, info)
+        .order(MultiEndpointStream.Order.ENDPOINT)
+        .maxConcurrency(3)
+        .memoryBudget(1)
+        .build()) {
+      while (stream.next()) {
+        values.addAll(readBatch(stream));
+      }
+    }
+    final List<Integer> expected = new ArrayList<>();
+    for (int endpoint = 0; endpoint < ENDPOINTS; endpoint++) {
+      for (int batch = 0; batch < BATCHES; batch++) {
+        expected.add(endpoint * 1000 + batch);
+      }
+    }
+    Assert.assertEquals(expected, values);
+    // the endpoints at the same location shared a client
+    Assert.assertEquals(2, clientPool.size());
+  }
+
+  @Test
+  public void arrivalOrder() throws Exception {
+    final FlightInfo info = createInfo(ENDPOINTS, -1);
+    final List<List<Integer>> valuesByEndpoint = new ArrayList<>();
+    for (int endpoint = 0; endpoint < ENDPOINTS; endpoint++) {
+      valuesByEndpoint.add(new ArrayList<>());
+    }
+    try (final MultiEndpointStream stream = MultiEndpointStream.builder(clientPool, allocator, info)
+        .order(MultiEndpointStream.Order.ARRIVAL)
+        .maxConcurrency(ENDPOINTS)
+        .build()) {
+      while (stream.next()) {
+        valuesByEndpoint.get(stream.getEndpointIndex()).addAll(readBatch(stream));
+      }
+    }
+    // batches are interleaved across endpoints, but ordered within an endpoint
+    for (int endpoint = 0; endpoint < ENDPOINTS; endpoint++) {
+      final List<Integer> expected = new ArrayList<>();
+      for (int batch = 0; batch < BATCHES; batch++) {
+        expected.add(endpoint * 1000 + batch);
+      }
+      Assert.assertEquals(expected, valuesByEndpoint.get(endpoint));
+    }
+  }
+
+  @Test
+  public void endpointError() throws Exception {
+    final FlightInfo info = createInfo(ENDPOINTS, 3);
+    try (final MultiEndpointStream stream = MultiEndpointStream.builder(clientPool, allocator, info).build()) {
+      FlightTestUtil.assertCode(FlightStatusCode.NOT_FOUND, () -> {
+        while (stream.next()) {
+          readBatch(stream);
+        }
+      });
+    }
+  }
+
+  @Test
+  public void closeEarly() throws Exception {
+    final FlightInfo info = createInfo(ENDPOINTS, -1);
+    try (final MultiEndpointStream stream = MultiEndpointStream.builder(clientPool, allocator, info)
+        .order(MultiEndpointStream.Order.ARRIVAL)
+        .build()) {
+      Assert.assertTrue(stream.next());
+    }
+    // the pending batches and the root were freed, which the allocator checks when closed
+  }
+
+  @Test
+  public void defaultLocation() throws Exception {
+    final FlightInfo info = new FlightInfo(SCHEMA, FlightDescriptor.path("test"),
+        Collections.singletonList(new FlightEndpoint(ticket(0, false))), -1, -1);
+    try (final MultiEndpointStream stream = MultiEndpointStream.builder(clientPool, allocator, info)
+        .defaultLocation(server1.getLocation())
+        .build()) {
+      int batches = 0;
+      while (stream.next()) {
+        Assert.assertEquals(0, stream.getEndpointIndex());
+        batches++;
+      }
+      Assert.assertEquals(BATCHES, batches);
+    }
+  }
+
+  /**
+   * Reads the batch number of a batch, checking that its rows are consistent.
+   */
+  private static List<Integer> readBatch(MultiEndpointStream stream) {
+    final VectorSchemaRoot root = stream.getRoot();
+    Assert.assertEquals(ROWS, root.getRowCount());
+    final IntVector iv = (IntVector) root.getVector("ints");
+    for (int i = 1; i < ROWS; i++) {
+      Assert.assertEquals(iv.get(0) + i * 1000 * 1000, iv.get(i));
+    }
+    return Collections.singletonList(iv.get(0));
+  }
+
+  private FlightInfo createInfo(int endpoints, int failingEndpoint) {
+    final List<FlightEndpoint> flightEndpoints = new ArrayList<>();
+    for (int endpoint = 0; endpoint < endpoints; endpoint++) {
+      final Location location = endpoint % 2 == 0 ? server1.getLocation() : server2.getLocation();
+      flightEndpoints.add(new FlightEndpoint(ticket(endpoint, endpoint == failingEndpoint), location));
+    }
+    return new FlightInfo(SCHEMA, FlightDescriptor.path("test"), flightEndpoints, -1, -1);
+  }
+
+  private static Ticket ticket(int endpoint, boolean fail) {
+    return new Ticket((fail ? "fail" : Integer.toString(endpoint)).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Streams {@link #BATCHES} batches for the endpoint in the ticket.
+   */
+  private static class Producer extends NoOpFlightProducer {
+    private final BufferAllocator allocator;
+
+    Producer(BufferAllocator allocator) {
+      this.allocator = allocator;
+    }
+
+    @Override
+    public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+      final String endpoint = new String(ticket.getBytes(), StandardCharsets.UTF_8);
+      if (endpoint.equals("fail")) {
+        listener.error(CallStatus.NOT_FOUND.withDescription("Unknown endpoint").toRuntimeException());
+        return;
+      }
+      try (VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator)) {
+        listener.start(root);
+        final IntVector iv = (IntVector) root.getVector("ints");
+        for (int batch = 0; batch < BATCHES; batch++) {
+          iv.allocateNew(ROWS);
+          for (int i = 0; i < ROWS; i++) {
+            iv.set(i, Integer.parseInt(endpoint) * 1000 + batch + i * 1000 * 1000);
+          }
+          root.setRowCount(ROWS);
+          listener.putNext();
+        }
+        listener.completed();
+      }
+    }
+  }
+}
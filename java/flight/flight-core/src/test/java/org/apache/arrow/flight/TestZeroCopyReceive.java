@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.util.Collections;
+
+import org.apache.arrow.memory.AllocationManager;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.BufferLedger;
+import org.apache.arrow.memory.ByteBufAllocationManager;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that record batch bodies received by a client reference the buffers received by gRPC when possible.
+ */
+public class TestZeroCopyReceive {
+
+  private static final Schema SCHEMA = new Schema(Collections.singletonList(
+      new Field("ints", FieldType.nullable(new ArrowType.Int(32, true)), null)));
+
+  // small batches fit in a single HTTP/2 frame, large batches span several frames and are copied
+  private static final int[] BATCH_SIZES = {10, 1000, 64 * 1024, 10};
+
+  @Test
+  public void receiveBatches() throws Exception {
+    try (final BufferAllocator a = new RootAllocator(Long.MAX_VALUE);
+         final BufferAllocator serverAllocator = a.newChildAllocator("server", 0, Long.MAX_VALUE);
+         final FlightServer s =
+             FlightTestUtil.getStartedServer(
+                 (location) -> FlightServer.builder(serverAllocator, location, new Producer(serverAllocator)).build());
+         final BufferAllocator clientAllocator = a.newChildAllocator("client", 0, Long.MAX_VALUE);
+         final FlightClient client = FlightClient.builder(clientAllocator, s.getLocation()).build();
+         final FlightStream stream = client.getStream(new Ticket(new byte[0]))) {
+      final VectorSchemaRoot root = stream.getRoot();
+      int batches = 0;
+      int zeroCopyBatches = 0;
+      while (stream.next()) {
+        Assert.assertEquals(BATCH_SIZES[batches], root.getRowCount());
+        final IntVector iv = (IntVector) root.getVector("ints");
+        for (int i = 0; i < root.getRowCount(); i++) {
+          Assert.assertEquals(batches + i, iv.get(i));
+        }
+        final AllocationManager allocationManager =
+            ((BufferLedger) iv.getDataBuffer().getReferenceManager()).getAllocationManager();
+        if (allocationManager instanceof ByteBufAllocationManager) {
+          zeroCopyBatches++;
+        }
+        batches++;
+      }
+      Assert.assertEquals(BATCH_SIZES.length, batches);
+      Assert.assertTrue("Expected the small batches to be received without a copy", zeroCopyBatches > 0);
+    }
+  }
+
+  private static class Producer extends NoOpFlightProducer {
+    private final BufferAllocator allocator;
+
+    Producer(BufferAllocator allocator) {
+      this.allocator = allocator;
+    }
+
+    @Override
+    public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+      try (VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator)) {
+        listener.start(root);
+        final IntVector iv = (IntVector) root.getVector("ints");
+        for (int batch = 0; batch < BATCH_SIZES.length; batch++) {
+          iv.allocateNew(BATCH_SIZES[batch]);
+          for (int i = 0; i < BATCH_SIZES[batch]; i++) {
+            iv.set(i, batch + i);
+          }
+          root.setRowCount(BATCH_SIZES[batch]);
+          listener.putNext();
+        }
+        listener.completed();
+      }
+    }
+  }
+}
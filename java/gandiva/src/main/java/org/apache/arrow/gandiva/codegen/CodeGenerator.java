@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.codegen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.ipc.GandivaTypes;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Generates the classes evaluating expressions in a single loop over the buffers of a batch, and caches them.
+ *
+ * <p>The sources are generated by {@link ExpressionCodeGenerator}, and compiled in memory with the compiler
+ * of the running JDK. A compilation takes hundreds of milliseconds or more, especially while the compiler
+ * itself is not warmed up yet, far longer than the evaluation of a batch, so the generated classes are cached
+ * by schema and expression, as the native modules are cached by schema, expressions and
+ * {@link org.apache.arrow.gandiva.evaluator.ConfigurationBuilder} configuration. The cache is bounded, and
+ * evicts the least recently used classes first.
+ *
+ * <p>Without a compiler, as on a JRE, or for an expression that the generator does not support or that fails
+ * to compile, a {@link GandivaException} is thrown, and the caller is expected to fall back to the
+ * interpreter. Such failures are cached like the generated classes, so that the fallback does not cost
+ * another generation and compilation each time.
+ */
+public final class CodeGenerator {
+
+  /**
+   * The default number of cached classes, the same as for the native module cache.
+   */
+  public static final int DEFAULT_CACHE_CAPACITY = 500;
+
+  private static final CodeGenerator DEFAULT = new CodeGenerator(DEFAULT_CACHE_CAPACITY);
+
+  private static final AtomicLong CLASS_IDS = new AtomicLong();
+
+  private final JavaSourceCompiler compiler = new JavaSourceCompiler();
+
+  private final Map<Key, Object> cache;
+
+  private final AtomicLong compiledClassCount = new AtomicLong();
+
+  /**
+   * Constructs a generator with a cache of its own.
+   * @param cacheCapacity the maximum number of cached classes.
+   */
+  public CodeGenerator(int cacheCapacity) {
+    Preconditions.checkArgument(cacheCapacity > 0, "The cache capacity must be positive");
+    this.cache = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+        return size() > cacheCapacity;
+      }
+    };
+  }
+
+  /**
+   * Gets the generator shared by the evaluators, with a cache of {@link #DEFAULT_CACHE_CAPACITY} classes.
+   */
+  public static CodeGenerator getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Checks if a Java compiler is available to compile the generated classes.
+   */
+  public boolean isAvailable() {
+    return compiler.isAvailable();
+  }
+
+  /**
+   * Gets the evaluator of a projection, generating it unless it is cached.
+   * @param schema the schema of the batches.
+   * @param expression the expression, with the type of its result.
+   * @return a stateless evaluator, which may be shared with other callers.
+   * @throws GandivaException if the code cannot be generated for the expression.
+   */
+  public GeneratedProjection generate(Schema schema, GandivaTypes.ExpressionRoot expression)
+      throws GandivaException {
+    return get(new Key(GeneratedProjection.class, schema, expression.toByteString()), GeneratedProjection.class,
+        className -> new ExpressionCodeGenerator(schema).generateProjection(className, expression));
+  }
+
+  /**
+   * Gets the evaluator of a filter condition, generating it unless it is cached.
+   * @param schema the schema of the batches.
+   * @param condition the condition.
+   * @return a stateless evaluator, which may be shared with other callers.
+   * @throws GandivaException if the code cannot be generated for the condition.
+   */
+  public GeneratedFilter generate(Schema schema, GandivaTypes.Condition condition) throws GandivaException {
+    return get(new Key(GeneratedFilter.class, schema, condition.toByteString()), GeneratedFilter.class,
+        className -> new ExpressionCodeGenerator(schema).generateFilter(className, condition));
+  }
+
+  /**
+   * Gets the number of entries in the cache, including the expressions for which generation failed.
+   */
+  public int getCacheSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Gets the number of classes compiled by this generator, including those evicted from the cache since.
+   */
+  public long getCompiledClassCount() {
+    return compiledClassCount.get();
+  }
+
+  private <T> T get(Key key, Class<T> kind, SourceGenerator sourceGenerator) throws GandivaException {
+    synchronized (cache) {
+      final Object cached = cache.get(key);
+      if (cached instanceof Failure) {
+        throw new GandivaException(((Failure) cached).message);
+      }
+      if (cached != null) {
+        return kind.cast(cached);
+      }
+    }
+    if (!compiler.isAvailable()) {
+      throw new GandivaException("No Java compiler is available to compile generated code");
+    }
+
+    // compiled outside of the lock, a concurrent compilation of the same expression is discarded
+    final String className = kind.getSimpleName() + CLASS_IDS.incrementAndGet();
+    final T generated;
+    try {
+      generated = compile(className, kind, sourceGenerator);
+    } catch (GandivaException e) {
+      // the failure only depends on the key, remember it to fall back to the interpreter directly next time
+      synchronized (cache) {
+        cache.putIfAbsent(key, new Failure(e.getMessage()));
+      }
+      throw e;
+    }
+    synchronized (cache) {
+      final Object previous = cache.putIfAbsent(key, generated);
+      return previous == null || previous instanceof Failure ? generated : kind.cast(previous);
+    }
+  }
+
+  private <T> T compile(String className, Class<T> kind, SourceGenerator sourceGenerator) throws GandivaException {
+    final T generated;
+    try {
+      generated = compiler.compile(className, sourceGenerator.generate(className), kind)
+          .getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new GandivaException("Failed to instantiate the generated class " + className, e);
+    }
+    compiledClassCount.incrementAndGet();
+    return generated;
+  }
+
+  /**
+   * Generates the source of a class, given its name.
+   */
+  private interface SourceGenerator {
+    String generate(String className) throws GandivaException;
+  }
+
+  /**
+   * A cached failure to generate the class for a key.
+   */
+  private static final class Failure {
+    private final String message;
+
+    private Failure(String message) {
+      this.message = message;
+    }
+  }
+
+  /**
+   * The key of a generated class: its kind, the schema and the serialized expression.
+   */
+  private static final class Key {
+    private final Class<?> kind;
+    private final Schema schema;
+    private final ByteString expression;
+
+    private Key(Class<?> kind, Schema schema, ByteString expression) {
+      this.kind = kind;
+      this.schema = schema;
+      this.expression = expression;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return kind == that.kind && schema.equals(that.schema) && expression.equals(that.expression);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(kind, schema, expression);
+    }
+  }
+}
@@ -0,0 +1,553 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.codegen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.exceptions.UnsupportedTypeException;
+import org.apache.arrow.gandiva.interpreter.ExpressionCompiler;
+import org.apache.arrow.gandiva.ipc.GandivaTypes;
+import org.apache.arrow.vector.TypeLayout;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Generates the Java source of a {@link GeneratedProjection} or a {@link GeneratedFilter} for an expression.
+ *
+ * <p>Each node of the expression becomes a pair of local variables, with the validity and the value of the
+ * node for the current row, computed by straight-line code in the body of the loop over the rows. The
+ * branches of if, and and or nodes are only evaluated for the rows that reach them, so a division by zero
+ * in a branch that is not taken does not fail, as with the native evaluator.
+ *
+ * <p>Only the types mapping to Java primitives are supported: boolean, int32, int64 and float64, with the
+ * arithmetic, comparison, isnull, isnotnull, not and cast functions of {@link ExpressionCompiler} on these
+ * types, and in expressions on int32 and int64. Anything else is rejected with a {@link GandivaException},
+ * so that the caller can fall back to the interpreter. A generator is used for a single expression.
+ */
+final class ExpressionCodeGenerator {
+
+  /**
+   * The Java types of the values of the supported arrow types.
+   */
+  enum JavaType {
+    BOOLEAN("boolean", "false"),
+    INT("int", "0"),
+    LONG("long", "0L"),
+    DOUBLE("double", "0.0");
+
+    private final String keyword;
+    private final String zero;
+
+    JavaType(String keyword, String zero) {
+      this.keyword = keyword;
+      this.zero = zero;
+    }
+
+    static JavaType of(ArrowType type) throws UnsupportedTypeException {
+      if (type instanceof ArrowType.Bool) {
+        return BOOLEAN;
+      }
+      if (type instanceof ArrowType.Int && ((ArrowType.Int) type).getIsSigned()) {
+        switch (((ArrowType.Int) type).getBitWidth()) {
+          case 32:
+            return INT;
+          case 64:
+            return LONG;
+          default:
+            break;
+        }
+      }
+      if (type instanceof ArrowType.FloatingPoint &&
+          ((ArrowType.FloatingPoint) type).getPrecision() == FloatingPointPrecision.DOUBLE) {
+        return DOUBLE;
+      }
+      throw new UnsupportedTypeException("Type " + type + " is not supported by the code generator");
+    }
+  }
+
+  /**
+   * The local variables holding the validity and the value of a node, for the current row.
+   */
+  private static final class Value {
+    private final JavaType type;
+    private final int id;
+
+    private Value(JavaType type, int id) {
+      this.type = type;
+      this.id = id;
+    }
+
+    private String valid() {
+      return "v" + id;
+    }
+
+    private String value() {
+      return "x" + id;
+    }
+  }
+
+  private static final Map<String, String> ARITHMETIC = new HashMap<>();
+
+  private static final Map<String, String> COMPARISONS = new HashMap<>();
+
+  static {
+    ARITHMETIC.put("add", "+");
+    ARITHMETIC.put("subtract", "-");
+    ARITHMETIC.put("multiply", "*");
+
+    COMPARISONS.put("equal", "==");
+    COMPARISONS.put("not_equal", "!=");
+    COMPARISONS.put("less_than", "<");
+    COMPARISONS.put("less_than_or_equal_to", "<=");
+    COMPARISONS.put("greater_than", ">");
+    COMPARISONS.put("greater_than_or_equal_to", ">=");
+  }
+
+  private final Schema schema;
+
+  private final Map<String, Integer> columnIndices = new HashMap<>();
+
+  /**
+   * The index of the validity buffer of each column in the buffers of a batch.
+   */
+  private final int[] firstBuffers;
+
+  private final boolean[] loadedColumns;
+
+  private final StringBuilder constants = new StringBuilder();
+
+  private final StringBuilder prologue = new StringBuilder();
+
+  private final StringBuilder body = new StringBuilder();
+
+  private int indent;
+
+  private int valueCount;
+
+  private int constantCount;
+
+  /**
+   * Constructs a generator for an expression over a schema.
+   * @param schema the schema of the batches, with flat fields only.
+   * @throws UnsupportedTypeException if a field of the schema is nested.
+   */
+  ExpressionCodeGenerator(Schema schema) throws GandivaException {
+    this.schema = schema;
+    final List<Field> fields = schema.getFields();
+    this.firstBuffers = new int[fields.size()];
+    this.loadedColumns = new boolean[fields.size()];
+    int bufferIndex = 0;
+    for (int i = 0; i < fields.size(); i++) {
+      if (!fields.get(i).getChildren().isEmpty()) {
+        throw new UnsupportedTypeException("Unsupported nested field " + fields.get(i));
+      }
+      columnIndices.put(fields.get(i).getName(), i);
+      firstBuffers[i] = bufferIndex;
+      bufferIndex += TypeLayout.getTypeBufferCount(fields.get(i).getType());
+    }
+
+    prologue.append("    if (buffers.length < ").append(bufferIndex).append(") {\n");
+    prologue.append("      throw new IllegalArgumentException(\"Expected at least ").append(bufferIndex)
+        .append(" buffers, got \" + buffers.length);\n");
+    prologue.append("    }\n");
+    prologue.append("    final long validitySize = ((long) numRows + 7) / 8;\n");
+  }
+
+  /**
+   * Generates a subclass of {@link GeneratedProjection} evaluating an expression.
+   * @param className the simple name of the class, in the package of this class.
+   * @param expression the expression, with the type of its result.
+   * @return the source of the class.
+   */
+  String generateProjection(String className, GandivaTypes.ExpressionRoot expression) throws GandivaException {
+    indent = 3;
+    final Value root = generate(expression.getRoot());
+    final JavaType resultType = JavaType.of(ExpressionCompiler.toArrowType(expression.getResultType().getType()));
+    if (root.type != resultType) {
+      throw new GandivaException("Expression of type " + root.type + " does not match the result type " +
+          resultType);
+    }
+
+    // the bits of the output bitmaps are accumulated, and written a byte at a time
+    line("validityBits |= (" + root.valid() + " ? 1 : 0) << (j & 7);");
+    switch (root.type) {
+      case BOOLEAN:
+        line("dataBits |= (" + root.value() + " ? 1 : 0) << (j & 7);");
+        break;
+      case INT:
+        line("outData.setInt((long) j * 4, " + root.value() + ");");
+        break;
+      case LONG:
+        line("outData.setLong((long) j * 8, " + root.value() + ");");
+        break;
+      default:
+        line("outData.setDouble((long) j * 8, " + root.value() + ");");
+        break;
+    }
+    line("if ((j & 7) == 7 || j == rowCount - 1) {");
+    line("  outValidity.setByte(j >>> 3, validityBits);");
+    line("  validityBits = 0;");
+    if (root.type == JavaType.BOOLEAN) {
+      line("  outData.setByte(j >>> 3, dataBits);");
+      line("  dataBits = 0;");
+    }
+    line("}");
+
+    final StringBuilder source = header(className, GeneratedProjection.class);
+    source.append("  @Override\n");
+    source.append("  public void evaluate(ArrowBuf[] buffers, int numRows, ArrowBuf selection, int recordSize,\n");
+    source.append("      int rowCount, ArrowBuf outValidity, ArrowBuf outData) throws GandivaException {\n");
+    source.append(prologue);
+    source.append("    int validityBits = 0;\n");
+    source.append("    int dataBits = 0;\n");
+    source.append("    for (int j = 0; j < rowCount; j++) {\n");
+    source.append("      final int i = recordSize == 0 ? j : recordSize == 2 ?\n");
+    source.append("          (selection.getShort((long) j * 2) & 0xFFFF) : selection.getInt((long) j * 4);\n");
+    source.append(body);
+    source.append("    }\n");
+    source.append("  }\n");
+    source.append("}\n");
+    return source.toString();
+  }
+
+  /**
+   * Generates a subclass of {@link GeneratedFilter} evaluating a condition.
+   * @param className the simple name of the class, in the package of this class.
+   * @param condition the condition.
+   * @return the source of the class.
+   */
+  String generateFilter(String className, GandivaTypes.Condition condition) throws GandivaException {
+    indent = 3;
+    final Value root = generate(condition.getRoot());
+    if (root.type != JavaType.BOOLEAN) {
+      throw new GandivaException("Condition of type " + root.type + " is not a boolean");
+    }
+    line("if (" + root.valid() + " && " + root.value() + ") {");
+    line("  if (recordSize == 2) {");
+    line("    selection.setShort((long) count * 2, i);");
+    line("  } else {");
+    line("    selection.setInt((long) count * 4, i);");
+    line("  }");
+    line("  count++;");
+    line("}");
+
+    final StringBuilder source = header(className, GeneratedFilter.class);
+    source.append("  @Override\n");
+    source.append("  public int evaluate(ArrowBuf[] buffers, int numRows, ArrowBuf selection, int recordSize)\n");
+    source.append("      throws GandivaException {\n");
+    source.append(prologue);
+    source.append("    int count = 0;\n");
+    source.append("    for (int i = 0; i < numRows; i++) {\n");
+    source.append(body);
+    source.append("    }\n");
+    source.append("    return count;\n");
+    source.append("  }\n");
+    source.append("}\n");
+    return source.toString();
+  }
+
+  private StringBuilder header(String className, Class<?> superclass) {
+    final StringBuilder source = new StringBuilder();
+    source.append("package ").append(getClass().getPackage().getName()).append(";\n\n");
+    source.append("import java.util.Arrays;\n\n");
+    source.append("import org.apache.arrow.gandiva.exceptions.GandivaException;\n");
+    source.append("import org.apache.arrow.memory.ArrowBuf;\n\n");
+    source.append("public final class ").append(className).append(" extends ")
+        .append(superclass.getSimpleName()).append(" {\n\n");
+    if (constants.length() > 0) {
+      source.append(constants).append('\n');
+    }
+    return source;
+  }
+
+  private void line(String text) {
+    for (int i = 0; i < indent; i++) {
+      body.append("  ");
+    }
+    body.append(text).append('\n');
+  }
+
+  private Value declare(JavaType type, String valid, String value) {
+    final Value result = new Value(type, valueCount++);
+    line("final boolean " + result.valid() + " = " + valid + ";");
+    line("final " + type.keyword + " " + result.value() + " = " + value + ";");
+    return result;
+  }
+
+  private Value generate(GandivaTypes.TreeNode node) throws GandivaException {
+    if (node.hasFieldNode()) {
+      return generateField(node.getFieldNode().getField().getName());
+    }
+    if (node.hasFnNode()) {
+      return generateFunction(node.getFnNode());
+    }
+    if (node.hasIfNode()) {
+      return generateIf(node.getIfNode());
+    }
+    if (node.hasAndNode()) {
+      return generateLogical(true, node.getAndNode().getArgsList());
+    }
+    if (node.hasOrNode()) {
+      return generateLogical(false, node.getOrNode().getArgsList());
+    }
+    if (node.hasInNode()) {
+      return generateIn(node.getInNode());
+    }
+    return generateLiteral(node);
+  }
+
+  private Value generateField(String name) throws GandivaException {
+    final Integer index = columnIndices.get(name);
+    if (index == null) {
+      throw new GandivaException("Field " + name + " not in the schema");
+    }
+    final JavaType type = JavaType.of(schema.getFields().get(index).getType());
+    if (!loadedColumns[index]) {
+      // a validity buffer too small for the rows means that all the values are valid
+      loadedColumns[index] = true;
+      prologue.append("    final ArrowBuf validity").append(index).append(" = buffers[")
+          .append(firstBuffers[index]).append("];\n");
+      prologue.append("    final ArrowBuf data").append(index).append(" = buffers[")
+          .append(firstBuffers[index] + 1).append("];\n");
+      prologue.append("    final boolean allValid").append(index).append(" = validity").append(index)
+          .append(".capacity() < validitySize;\n");
+    }
+
+    final String valid = "allValid" + index + " || " + bit("validity" + index);
+    switch (type) {
+      case BOOLEAN:
+        return declare(type, valid, bit("data" + index));
+      case INT:
+        return declare(type, valid, "data" + index + ".getInt((long) i * 4)");
+      case LONG:
+        return declare(type, valid, "data" + index + ".getLong((long) i * 8)");
+      default:
+        return declare(type, valid, "data" + index + ".getDouble((long) i * 8)");
+    }
+  }
+
+  private static String bit(String buffer) {
+    return "(" + buffer + ".getByte(i >>> 3) & (1 << (i & 7))) != 0";
+  }
+
+  private Value generateLiteral(GandivaTypes.TreeNode node) throws GandivaException {
+    if (node.hasNullNode()) {
+      final JavaType type = JavaType.of(ExpressionCompiler.toArrowType(node.getNullNode().getType()));
+      return declare(type, "false", type.zero);
+    }
+    if (node.hasBooleanNode()) {
+      return declare(JavaType.BOOLEAN, "true", Boolean.toString(node.getBooleanNode().getValue()));
+    }
+    if (node.hasIntNode()) {
+      return declare(JavaType.INT, "true", Integer.toString(node.getIntNode().getValue()));
+    }
+    if (node.hasLongNode()) {
+      return declare(JavaType.LONG, "true", node.getLongNode().getValue() + "L");
+    }
+    if (node.hasDoubleNode()) {
+      final double value = node.getDoubleNode().getValue();
+      final String literal;
+      if (Double.isNaN(value)) {
+        literal = "Double.NaN";
+      } else if (Double.isInfinite(value)) {
+        literal = value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+      } else {
+        literal = Double.toString(value);
+      }
+      return declare(JavaType.DOUBLE, "true", literal);
+    }
+    throw new UnsupportedTypeException("Unsupported literal for the code generator");
+  }
+
+  private Value generateIf(GandivaTypes.IfNode ifNode) throws GandivaException {
+    final JavaType type = JavaType.of(ExpressionCompiler.toArrowType(ifNode.getReturnType()));
+    final Value result = new Value(type, valueCount++);
+    line("boolean " + result.valid() + ";");
+    line(type.keyword + " " + result.value() + ";");
+    final Value condition = generate(ifNode.getCond());
+    if (condition.type != JavaType.BOOLEAN) {
+      throw new GandivaException("Mismatched types in if expression");
+    }
+    // a null condition selects the else branch
+    line("if (" + condition.valid() + " && " + condition.value() + ") {");
+    indent++;
+    assign(result, generate(ifNode.getThenNode()));
+    indent--;
+    line("} else {");
+    indent++;
+    assign(result, generate(ifNode.getElseNode()));
+    indent--;
+    line("}");
+    return result;
+  }
+
+  private void assign(Value target, Value source) throws GandivaException {
+    if (source.type != target.type) {
+      throw new GandivaException("Mismatched types in if expression");
+    }
+    line(target.valid() + " = " + source.valid() + ";");
+    line(target.value() + " = " + source.value() + ";");
+  }
+
+  private Value generateLogical(boolean conjunction, List<GandivaTypes.TreeNode> operands)
+      throws GandivaException {
+    // three-valued logic: the result is decided by the first false operand of an and, or the first true
+    // operand of an or, and is null otherwise if any operand is null. The operands after the deciding one
+    // are not evaluated.
+    final Value result = new Value(JavaType.BOOLEAN, valueCount++);
+    final String sawNull = "n" + result.id;
+    line("boolean " + result.valid() + " = true;");
+    line("boolean " + result.value() + " = " + conjunction + ";");
+    line("boolean " + sawNull + " = false;");
+    for (GandivaTypes.TreeNode node : operands) {
+      final Value operand = generate(node);
+      if (operand.type != JavaType.BOOLEAN) {
+        throw new GandivaException("Operand of type " + operand.type + " is not a boolean");
+      }
+      line("if (" + operand.valid() + " && " + (conjunction ? "!" : "") + operand.value() + ") {");
+      line("  " + result.value() + " = " + !conjunction + ";");
+      line("} else {");
+      indent++;
+      line(sawNull + " |= !" + operand.valid() + ";");
+    }
+    line(result.valid() + " = !" + sawNull + ";");
+    for (int i = 0; i < operands.size(); i++) {
+      indent--;
+      line("}");
+    }
+    return result;
+  }
+
+  private Value generateIn(GandivaTypes.InNode inNode) throws GandivaException {
+    final Value input = generate(inNode.getNode());
+    final String constant = "C" + constantCount++;
+    final StringBuilder values = new StringBuilder();
+    if (inNode.hasIntValues() && input.type == JavaType.INT) {
+      final List<GandivaTypes.IntNode> nodes = inNode.getIntValues().getIntValuesList();
+      final int[] sorted = new int[nodes.size()];
+      for (int i = 0; i < sorted.length; i++) {
+        sorted[i] = nodes.get(i).getValue();
+      }
+      Arrays.sort(sorted);
+      for (int value : sorted) {
+        values.append(values.length() == 0 ? "" : ", ").append(value);
+      }
+      constants.append("  private static final int[] ").append(constant).append(" = {").append(values).append("};\n");
+    } else if (inNode.hasLongValues() && input.type == JavaType.LONG) {
+      final List<GandivaTypes.LongNode> nodes = inNode.getLongValues().getLongValuesList();
+      final long[] sorted = new long[nodes.size()];
+      for (int i = 0; i < sorted.length; i++) {
+        sorted[i] = nodes.get(i).getValue();
+      }
+      Arrays.sort(sorted);
+      for (long value : sorted) {
+        values.append(values.length() == 0 ? "" : ", ").append(value).append('L');
+      }
+      constants.append("  private static final long[] ").append(constant).append(" = {").append(values).append("};\n");
+    } else {
+      throw new UnsupportedTypeException("Unsupported in expression on " + input.type + " for the code generator");
+    }
+    // a null input is not in the list, rather than null, as with the native evaluator
+    return declare(JavaType.BOOLEAN, "true",
+        input.valid() + " && Arrays.binarySearch(" + constant + ", " + input.value() + ") >= 0");
+  }
+
+  private Value generateFunction(GandivaTypes.FunctionNode functionNode) throws GandivaException {
+    final String name = functionNode.getFunctionName();
+    final List<Value> arguments = new ArrayList<>(functionNode.getInArgsCount());
+    for (GandivaTypes.TreeNode argument : functionNode.getInArgsList()) {
+      arguments.add(generate(argument));
+    }
+    final JavaType returnType = JavaType.of(ExpressionCompiler.toArrowType(functionNode.getReturnType()));
+
+    final Value result = generateFunction(name, arguments);
+    if (result == null || result.type != returnType) {
+      final List<JavaType> argumentTypes = new ArrayList<>(arguments.size());
+      for (Value argument : arguments) {
+        argumentTypes.add(argument.type);
+      }
+      throw new UnsupportedTypeException("Function " + name + argumentTypes + " returning " + returnType +
+          " is not supported by the code generator");
+    }
+    return result;
+  }
+
+  private Value generateFunction(String name, List<Value> arguments) {
+    if (arguments.size() == 1) {
+      final Value input = arguments.get(0);
+      switch (name) {
+        case "isnull":
+          return declare(JavaType.BOOLEAN, "true", "!" + input.valid());
+        case "isnotnull":
+          return declare(JavaType.BOOLEAN, "true", input.valid());
+        case "not":
+          return input.type == JavaType.BOOLEAN ?
+              declare(JavaType.BOOLEAN, input.valid(), "!" + input.value()) : null;
+        case "castBIGINT":
+          return input.type == JavaType.INT ?
+              declare(JavaType.LONG, input.valid(), "(long) " + input.value()) : null;
+        case "castFLOAT8":
+          return input.type == JavaType.INT || input.type == JavaType.LONG ?
+              declare(JavaType.DOUBLE, input.valid(), "(double) " + input.value()) : null;
+        default:
+          return null;
+      }
+    }
+    if (arguments.size() != 2 || arguments.get(0).type != arguments.get(1).type ||
+        arguments.get(0).type == JavaType.BOOLEAN) {
+      return null;
+    }
+    final Value left = arguments.get(0);
+    final Value right = arguments.get(1);
+    final String valid = left.valid() + " && " + right.valid();
+    final String comparison = COMPARISONS.get(name);
+    if (comparison != null) {
+      return declare(JavaType.BOOLEAN, valid, left.value() + " " + comparison + " " + right.value());
+    }
+    final String arithmetic = ARITHMETIC.get(name);
+    if (arithmetic != null) {
+      return declare(left.type, valid, left.value() + " " + arithmetic + " " + right.value());
+    }
+    if (name.equals("divide") && left.type == JavaType.DOUBLE) {
+      return declare(left.type, valid, left.value() + " / " + right.value());
+    }
+    if ((name.equals("divide") || name.equals("mod")) && left.type != JavaType.DOUBLE) {
+      // the divisor is only checked for the rows with valid operands
+      final Value result = new Value(left.type, valueCount++);
+      line("final boolean " + result.valid() + " = " + valid + ";");
+      line(left.type.keyword + " " + result.value() + " = " + left.type.zero + ";");
+      line("if (" + result.valid() + ") {");
+      line("  if (" + right.value() + " == 0) {");
+      line("    throw new GandivaException(\"divide by zero error\");");
+      line("  }");
+      line("  " + result.value() + " = " + left.value() + (name.equals("divide") ? " / " : " % ") +
+          right.value() + ";");
+      line("}");
+      return result;
+    }
+    return null;
+  }
+}
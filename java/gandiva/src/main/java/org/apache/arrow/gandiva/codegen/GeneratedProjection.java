@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.codegen;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.memory.ArrowBuf;
+
+/**
+ * The base class of the classes generated by {@link CodeGenerator} for a projection. The expression is
+ * evaluated in a single loop over the rows, which reads the input buffers and writes the output buffers
+ * directly. Instances are stateless, and can be shared by threads.
+ */
+public abstract class GeneratedProjection {
+
+  /**
+   * Evaluates the expression on the rows of a batch.
+   * @param buffers the buffers of the batch, laid out as in
+   *     {@link org.apache.arrow.vector.ipc.message.ArrowRecordBatch}.
+   * @param numRows the number of rows of the batch.
+   * @param selection the indices of the rows to evaluate, or null to evaluate all the rows.
+   * @param recordSize the size of an index of the selection: 2 or 4 bytes, or 0 without a selection.
+   * @param rowCount the number of rows to evaluate: the number of indices of the selection, or numRows.
+   * @param outValidity the validity buffer of the output, with room for rowCount bits.
+   * @param outData the data buffer of the output, with room for rowCount values.
+   * @throws GandivaException if the evaluation fails on a row, such as a division by zero.
+   */
+  public abstract void evaluate(ArrowBuf[] buffers, int numRows, ArrowBuf selection, int recordSize,
+      int rowCount, ArrowBuf outValidity, ArrowBuf outData) throws GandivaException;
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.memory.ArrowBuf;
+
+/**
+ * Compiles generated sources in memory, with the compiler of the running JDK. Each class is defined by a
+ * class loader of its own, so that it can be unloaded once it is no longer used.
+ */
+final class JavaSourceCompiler {
+
+  private final JavaCompiler compiler;
+
+  private final List<String> options;
+
+  JavaSourceCompiler() {
+    this.compiler = ToolProvider.getSystemJavaCompiler();
+    this.options = Arrays.asList("-classpath", getClassPath(), "-proc:none");
+  }
+
+  /**
+   * Checks if a compiler is available, which is not the case on a JRE.
+   */
+  boolean isAvailable() {
+    return compiler != null;
+  }
+
+  /**
+   * Compiles a class, and loads it.
+   * @param className the simple name of the class, in the package of this class.
+   * @param source the source of the class.
+   * @param superclass the superclass of the class.
+   * @return the loaded class.
+   * @throws GandivaException if the compiler is not available, or the source does not compile.
+   */
+  <T> Class<? extends T> compile(String className, String source, Class<T> superclass) throws GandivaException {
+    if (compiler == null) {
+      throw new GandivaException("No Java compiler is available to compile generated code");
+    }
+    final String qualifiedName = getClass().getPackage().getName() + "." + className;
+    final JavaFileObject sourceFile = new SimpleJavaFileObject(
+        URI.create("string:///" + qualifiedName.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+        JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return source;
+      }
+    };
+
+    final Map<String, ByteArrayOutputStream> classFiles = new HashMap<>();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager standardFileManager =
+             compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+         JavaFileManager fileManager = new ClassFileManager(standardFileManager, classFiles)) {
+      final boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+          Collections.singletonList(sourceFile)).call();
+      if (!success) {
+        throw new GandivaException("Failed to compile the generated class " + className + ": " +
+            diagnostics.getDiagnostics());
+      }
+    } catch (IOException e) {
+      throw new GandivaException("Failed to compile the generated class " + className, e);
+    }
+
+    try {
+      return new GeneratedClassLoader(superclass.getClassLoader(), classFiles).loadClass(qualifiedName)
+          .asSubclass(superclass);
+    } catch (ClassNotFoundException e) {
+      throw new GandivaException("Failed to load the generated class " + className, e);
+    }
+  }
+
+  /**
+   * Gets the class path of the generated classes: the locations of the classes they refer to, which may be
+   * loaded by an application class loader with its own class path, and the class path of the JVM.
+   */
+  private static String getClassPath() {
+    final Set<String> entries = new LinkedHashSet<>();
+    for (Class<?> referenced : Arrays.asList(GeneratedProjection.class, ArrowBuf.class)) {
+      final CodeSource codeSource = referenced.getProtectionDomain().getCodeSource();
+      if (codeSource != null && codeSource.getLocation() != null) {
+        try {
+          entries.add(Paths.get(codeSource.getLocation().toURI()).toString());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+          // not a file, the class path of the JVM may still have it
+        }
+      }
+    }
+    entries.add(System.getProperty("java.class.path"));
+    return String.join(File.pathSeparator, entries);
+  }
+
+  /**
+   * Keeps the compiled classes in memory.
+   */
+  private static final class ClassFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+    private final Map<String, ByteArrayOutputStream> classFiles;
+
+    private ClassFileManager(StandardJavaFileManager fileManager, Map<String, ByteArrayOutputStream> classFiles) {
+      super(fileManager);
+      this.classFiles = classFiles;
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+        FileObject sibling) {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      classFiles.put(className, output);
+      return new SimpleJavaFileObject(URI.create("memory:///" + className.replace('.', '/') + kind.extension),
+          kind) {
+        @Override
+        public OutputStream openOutputStream() {
+          return output;
+        }
+      };
+    }
+  }
+
+  /**
+   * Defines the compiled classes, and delegates the others to the class loader of the superclass.
+   */
+  private static final class GeneratedClassLoader extends ClassLoader {
+
+    private final Map<String, ByteArrayOutputStream> classFiles;
+
+    private GeneratedClassLoader(ClassLoader parent, Map<String, ByteArrayOutputStream> classFiles) {
+      super(parent);
+      this.classFiles = classFiles;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      final ByteArrayOutputStream classFile = classFiles.get(name);
+      if (classFile == null) {
+        throw new ClassNotFoundException(name);
+      }
+      final byte[] bytes = classFile.toByteArray();
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
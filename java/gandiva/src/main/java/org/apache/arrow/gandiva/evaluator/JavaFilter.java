@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.gandiva.evaluator;
+
+
+import java.util.List;
+
+import org.apache.arrow.gandiva.codegen.CodeGenerator;
+import org.apache.arrow.gandiva.codegen.GeneratedFilter;
+import org.apache.arrow.gandiva.exceptions.EvaluatorClosedException;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.expression.Condition;
+import org.apache.arrow.gandiva.interpreter.EvaluationContext;
+import org.apache.arrow.gandiva.interpreter.ExpressionCompiler;
+import org.apache.arrow.gandiva.interpreter.Operator;
+import org.apache.arrow.gandiva.ipc.GandivaTypes;
+import org.apache.arrow.gandiva.ipc.GandivaTypes.SelectionVectorType;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pure Java counterpart of {@link Filter}, for hosts where the native Gandiva library is not
+ * available. It has the same API, so callers can switch between the two.
+ *
+ * <p>A condition on primitive types is evaluated by a class generated by a {@link CodeGenerator}, in a single
+ * loop over the rows writing the selection vector as it goes. Other conditions are compiled by
+ * {@link ExpressionCompiler} into a tree of operators evaluated a batch at a time, and only a subset of the
+ * Gandiva functions is supported. The selected records are those for which the condition is true, and not
+ * null.
+ */
+public class JavaFilter {
+  private static final Logger logger = LoggerFactory.getLogger(JavaFilter.class);
+
+  private final Schema schema;
+  private final GeneratedFilter generated;
+  private final Operator condition;
+  private boolean closed;
+
+  private JavaFilter(Schema schema, GeneratedFilter generated, Operator condition) {
+    this.schema = schema;
+    this.generated = generated;
+    this.condition = condition;
+    this.closed = false;
+  }
+
+  /**
+   * Compiles a condition, to evaluate it against record batches.
+   *
+   * @param schema Table schema. The field names in the schema should match the fields used to
+   *               create the TreeNodes
+   * @param condition condition to be evaluated against data
+   * @return A filter object that can be used to invoke on a RecordBatch
+   * @throws GandivaException if the condition is not supported by the Java evaluator
+   */
+  public static JavaFilter make(Schema schema, Condition condition) throws GandivaException {
+    return make(schema, condition, CodeGenerator.getDefault());
+  }
+
+  /**
+   * Compiles a condition, to evaluate it against record batches.
+   *
+   * @param schema Table schema. The field names in the schema should match the fields used to
+   *               create the TreeNodes
+   * @param condition condition to be evaluated against data
+   * @param codeGenerator the generator of the class evaluating the condition, or null to interpret it
+   * @return A filter object that can be used to invoke on a RecordBatch
+   * @throws GandivaException if the condition is not supported by the Java evaluator
+   */
+  public static JavaFilter make(Schema schema, Condition condition, CodeGenerator codeGenerator)
+      throws GandivaException {
+    GandivaTypes.Condition root = condition.toProtobuf();
+    if (codeGenerator != null && codeGenerator.isAvailable()) {
+      try {
+        return new JavaFilter(schema, codeGenerator.generate(schema, root), null);
+      } catch (GandivaException e) {
+        logger.debug("Interpreting a condition not supported by the code generator: {}", e.getMessage());
+      }
+    }
+    ExpressionCompiler compiler = new ExpressionCompiler(schema);
+    return new JavaFilter(schema, null, compiler.compile(root));
+  }
+
+  /**
+   * Invoke this function to evaluate a filter against a recordBatch.
+   *
+   * @param recordBatch Record batch including the data
+   * @param selectionVector Result of applying the filter on the data
+   */
+  public void evaluate(ArrowRecordBatch recordBatch, SelectionVector selectionVector) throws GandivaException {
+    evaluate(recordBatch.getLength(), recordBatch.getBuffers(), selectionVector);
+  }
+
+  /**
+   * Invoke this function to evaluate filter against a set of arrow buffers.
+   *
+   * @param numRows number of rows.
+   * @param buffers List of input arrow buffers
+   * @param selectionVector Result of applying the filter on the data
+   */
+  public void evaluate(int numRows, List<ArrowBuf> buffers, SelectionVector selectionVector)
+      throws GandivaException {
+    if (this.closed) {
+      throw new EvaluatorClosedException();
+    }
+    if (selectionVector.getMaxRecords() < numRows) {
+      throw new GandivaException("SelectionVector too small");
+    }
+
+    ArrowBuf output = selectionVector.getBuffer();
+    if (generated != null) {
+      selectionVector.setRecordCount(generated.evaluate(buffers.toArray(new ArrowBuf[0]), numRows, output,
+          selectionVector.getRecordSize()));
+      return;
+    }
+
+    BufferAllocator allocator = output.getReferenceManager().getAllocator();
+    boolean int16 = selectionVector.getType() == SelectionVectorType.SV_INT16;
+    try (EvaluationContext context = new EvaluationContext(allocator, schema, numRows, buffers)) {
+      FieldVector mask = condition.evaluate(context);
+      ArrowBuf selected = context.newBitmap();
+      BitVectorHelper.and(mask.getValidityBuffer(), mask.getDataBuffer(), selected, numRows);
+
+      // scan the selected rows a word at a time, the bits beyond the last row are cleared
+      int recordCount = 0;
+      for (int offset = 0; offset < selected.capacity(); offset += Long.BYTES) {
+        long word = selected.getLong(offset);
+        while (word != 0) {
+          int index = offset * Byte.SIZE + Long.numberOfTrailingZeros(word);
+          if (int16) {
+            output.setShort((long) recordCount * selectionVector.getRecordSize(), index);
+          } else {
+            output.setInt((long) recordCount * selectionVector.getRecordSize(), index);
+          }
+          recordCount++;
+          word &= word - 1;
+        }
+      }
+      selectionVector.setRecordCount(recordCount);
+    }
+  }
+
+  /**
+   * Releases the resources of this filter.
+   */
+  public void close() throws GandivaException {
+    this.closed = true;
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.gandiva.evaluator;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.gandiva.codegen.CodeGenerator;
+import org.apache.arrow.gandiva.codegen.GeneratedProjection;
+import org.apache.arrow.gandiva.exceptions.EvaluatorClosedException;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.expression.ExpressionTree;
+import org.apache.arrow.gandiva.interpreter.EvaluationContext;
+import org.apache.arrow.gandiva.interpreter.ExpressionCompiler;
+import org.apache.arrow.gandiva.interpreter.Operator;
+import org.apache.arrow.gandiva.ipc.GandivaTypes;
+import org.apache.arrow.gandiva.ipc.GandivaTypes.SelectionVectorType;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pure Java counterpart of {@link Projector}, for hosts where the native Gandiva library is not
+ * available. It has the same API, so callers can switch between the two.
+ *
+ * <p>The expressions on primitive types are evaluated by classes generated by a {@link CodeGenerator}, in a
+ * single loop over the rows writing directly into the output vectors. The other expressions are compiled by
+ * {@link ExpressionCompiler} into trees of operators evaluated a batch at a time, and only a subset of the
+ * Gandiva functions is supported. The output vectors get the buffers of the results, and must have the types
+ * of the expressions.
+ */
+public class JavaProjector {
+  private static final Logger logger = LoggerFactory.getLogger(JavaProjector.class);
+
+  private final Schema schema;
+  private final List<ArrowType> types;
+  /** The generated evaluator of each expression, or null if the expression is interpreted. */
+  private final List<GeneratedProjection> generated;
+  /** The root operator of each interpreted expression, or null if the expression is generated. */
+  private final List<Operator> roots;
+  private final SelectionVectorType selectionVectorType;
+  private boolean closed;
+
+  private JavaProjector(Schema schema, List<ArrowType> types, List<GeneratedProjection> generated,
+      List<Operator> roots, SelectionVectorType selectionVectorType) {
+    this.schema = schema;
+    this.types = types;
+    this.generated = generated;
+    this.roots = roots;
+    this.selectionVectorType = selectionVectorType;
+    this.closed = false;
+  }
+
+  /**
+   * Compiles a set of expressions, to evaluate them against record batches.
+   *
+   * @param schema Table schema. The field names in the schema should match the fields used to
+   *               create the TreeNodes
+   * @param exprs  List of expressions to be evaluated against data
+   * @return A projector object that can be used to invoke these projections on a RecordBatch
+   * @throws GandivaException if an expression is not supported by the Java evaluator
+   */
+  public static JavaProjector make(Schema schema, List<ExpressionTree> exprs) throws GandivaException {
+    return make(schema, exprs, SelectionVectorType.SV_NONE);
+  }
+
+  /**
+   * Compiles a set of expressions, to evaluate them against record batches.
+   *
+   * @param schema Table schema. The field names in the schema should match the fields used to
+   *               create the TreeNodes
+   * @param exprs  List of expressions to be evaluated against data
+   * @param selectionVectorType type of selection vector
+   * @return A projector object that can be used to invoke these projections on a RecordBatch
+   * @throws GandivaException if an expression is not supported by the Java evaluator
+   */
+  public static JavaProjector make(Schema schema, List<ExpressionTree> exprs,
+      SelectionVectorType selectionVectorType) throws GandivaException {
+    return make(schema, exprs, selectionVectorType, CodeGenerator.getDefault());
+  }
+
+  /**
+   * Compiles a set of expressions, to evaluate them against record batches.
+   *
+   * @param schema Table schema. The field names in the schema should match the fields used to
+   *               create the TreeNodes
+   * @param exprs  List of expressions to be evaluated against data
+   * @param selectionVectorType type of selection vector
+   * @param codeGenerator the generator of the classes evaluating the expressions, or null to interpret all
+   *                      the expressions
+   * @return A projector object that can be used to invoke these projections on a RecordBatch
+   * @throws GandivaException if an expression is not supported by the Java evaluator
+   */
+  public static JavaProjector make(Schema schema, List<ExpressionTree> exprs,
+      SelectionVectorType selectionVectorType, CodeGenerator codeGenerator) throws GandivaException {
+    ExpressionCompiler compiler = new ExpressionCompiler(schema);
+    List<ArrowType> types = new ArrayList<>(exprs.size());
+    List<GeneratedProjection> generated = new ArrayList<>(exprs.size());
+    List<Operator> roots = new ArrayList<>(exprs.size());
+    for (ExpressionTree expr : exprs) {
+      GandivaTypes.ExpressionRoot root = expr.toProtobuf();
+      GeneratedProjection projection = null;
+      if (codeGenerator != null && codeGenerator.isAvailable()) {
+        try {
+          projection = codeGenerator.generate(schema, root);
+        } catch (GandivaException e) {
+          logger.debug("Interpreting an expression not supported by the code generator: {}", e.getMessage());
+        }
+      }
+      types.add(ExpressionCompiler.toArrowType(root.getResultType().getType()));
+      generated.add(projection);
+      roots.add(projection == null ? compiler.compile(root) : null);
+    }
+    return new JavaProjector(schema, types, generated, roots, selectionVectorType);
+  }
+
+  /**
+   * Invoke this function to evaluate a set of expressions against a recordBatch.
+   *
+   * @param recordBatch Record batch including the data
+   * @param outColumns  Result of applying the project on the data
+   */
+  public void evaluate(ArrowRecordBatch recordBatch, List<ValueVector> outColumns) throws GandivaException {
+    evaluate(recordBatch.getLength(), recordBatch.getBuffers(), null, outColumns);
+  }
+
+  /**
+   * Invoke this function to evaluate a set of expressions against a set of arrow buffers.
+   *
+   * @param numRows number of rows.
+   * @param buffers List of input arrow buffers
+   * @param outColumns Result of applying the project on the data
+   */
+  public void evaluate(int numRows, List<ArrowBuf> buffers, List<ValueVector> outColumns) throws GandivaException {
+    evaluate(numRows, buffers, null, outColumns);
+  }
+
+  /**
+   * Invoke this function to evaluate a set of expressions against a {@link ArrowRecordBatch}, for the
+   * records of a selection vector only.
+   *
+   * @param recordBatch The data to evaluate against.
+   * @param selectionVector Index of selected rows.
+   * @param outColumns Result of applying the project on the data, with a row for each selected record
+   */
+  public void evaluate(ArrowRecordBatch recordBatch, SelectionVector selectionVector,
+      List<ValueVector> outColumns) throws GandivaException {
+    evaluate(recordBatch.getLength(), recordBatch.getBuffers(), selectionVector, outColumns);
+  }
+
+  /**
+   * Invoke this function to evaluate a set of expressions against a set of arrow buffers, for the
+   * records of a selection vector only.
+   *
+   * @param numRows number of rows.
+   * @param buffers List of input arrow buffers
+   * @param selectionVector Index of selected rows, or null to evaluate all the rows.
+   * @param outColumns Result of applying the project on the data, with a row for each selected record
+   */
+  public void evaluate(int numRows, List<ArrowBuf> buffers, SelectionVector selectionVector,
+      List<ValueVector> outColumns) throws GandivaException {
+    if (this.closed) {
+      throw new EvaluatorClosedException();
+    }
+    if (roots.size() != outColumns.size()) {
+      throw new GandivaException("Incorrect number of columns for the output vector");
+    }
+    if (selectionVector != null && selectionVector.getType() != selectionVectorType) {
+      throw new GandivaException("Selection vector of type " + selectionVector.getType() +
+          " does not match the type " + selectionVectorType + " of the projector");
+    }
+    boolean interpreted = false;
+    for (int i = 0; i < roots.size(); i++) {
+      if (Types.getMinorTypeForArrowType(types.get(i)) != outColumns.get(i).getMinorType()) {
+        throw new GandivaException("Output vector " + i + " of type " + outColumns.get(i).getMinorType() +
+            " does not match the expression type " + types.get(i));
+      }
+      interpreted |= roots.get(i) != null;
+    }
+
+    ArrowBuf[] inputs = buffers.toArray(new ArrowBuf[0]);
+    for (int i = 0; i < generated.size(); i++) {
+      if (generated.get(i) != null) {
+        evaluate(generated.get(i), numRows, inputs, selectionVector, (BaseFixedWidthVector) outColumns.get(i));
+      }
+    }
+    if (!interpreted) {
+      return;
+    }
+
+    BufferAllocator allocator = outColumns.get(0).getAllocator();
+    try (EvaluationContext input = new EvaluationContext(allocator, schema, numRows, buffers)) {
+      if (selectionVector == null) {
+        evaluate(input, outColumns);
+      } else {
+        try (IntVector indices = new IntVector("indices", allocator);
+             EvaluationContext selected = input.select(toIndices(selectionVector, indices))) {
+          evaluate(selected, outColumns);
+        }
+      }
+    }
+  }
+
+  private static IntVector toIndices(SelectionVector selectionVector, IntVector indices) {
+    int recordCount = selectionVector.getRecordCount();
+    indices.allocateNew(recordCount);
+    for (int i = 0; i < recordCount; i++) {
+      indices.set(i, selectionVector.getIndex(i));
+    }
+    indices.setValueCount(recordCount);
+    return indices;
+  }
+
+  private static void evaluate(GeneratedProjection projection, int numRows, ArrowBuf[] inputs,
+      SelectionVector selectionVector, BaseFixedWidthVector outColumn) throws GandivaException {
+    int rowCount = selectionVector == null ? numRows : selectionVector.getRecordCount();
+    outColumn.clear();
+    outColumn.allocateNew(rowCount);
+    projection.evaluate(inputs, numRows, selectionVector == null ? null : selectionVector.getBuffer(),
+        selectionVector == null ? 0 : selectionVector.getRecordSize(), rowCount, outColumn.getValidityBuffer(),
+        outColumn.getDataBuffer());
+    outColumn.setValueCount(rowCount);
+  }
+
+  private void evaluate(EvaluationContext context, List<ValueVector> outColumns) throws GandivaException {
+    for (int i = 0; i < roots.size(); i++) {
+      if (roots.get(i) == null) {
+        continue;
+      }
+      FieldVector result = roots.get(i).evaluate(context);
+      ValueVector outColumn = outColumns.get(i);
+      if (context.isIntermediate(result)) {
+        TransferPair transferPair = result.makeTransferPair(outColumn);
+        transferPair.transfer();
+      } else {
+        // an input column, which is still used by the other expressions
+        int rowCount = result.getValueCount();
+        outColumn.clear();
+        outColumn.setInitialCapacity(rowCount);
+        outColumn.allocateNew();
+        for (int row = 0; row < rowCount; row++) {
+          outColumn.copyFromSafe(row, row, result);
+        }
+        outColumn.setValueCount(rowCount);
+      }
+    }
+  }
+
+  /**
+   * Releases the resources of this projector.
+   */
+  public void close() throws GandivaException {
+    this.closed = true;
+  }
+}
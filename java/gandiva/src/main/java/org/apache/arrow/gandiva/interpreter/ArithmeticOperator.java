@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import org.apache.arrow.algorithm.kernel.ArithmeticKernels;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Evaluates the arithmetic functions add, subtract, multiply, divide and mod, on operands of the same type,
+ * with the {@link ArithmeticKernels}.
+ *
+ * <p>Division by zero fails only for the active rows of the context, so it can be guarded by a
+ * conditional expression.
+ */
+class ArithmeticOperator extends Operator {
+
+  /**
+   * The arithmetic functions.
+   */
+  enum Function {
+    ADD, SUBTRACT, MULTIPLY, DIVIDE, MOD
+  }
+
+  private final Function function;
+
+  private final Operator left;
+
+  private final Operator right;
+
+  private final MinorType minorType;
+
+  private ArithmeticOperator(Function function, Operator left, Operator right, ArrowType returnType,
+      MinorType minorType) {
+    super(returnType);
+    this.function = function;
+    this.left = left;
+    this.right = right;
+    this.minorType = minorType;
+  }
+
+  /**
+   * Creates an arithmetic operator, if the types of the operands and the result are supported.
+   * @return the operator, or null if the types are not supported.
+   */
+  static ArithmeticOperator create(Function function, Operator left, Operator right, ArrowType returnType) {
+    final MinorType minorType = ExpressionCompiler.getMinorType(returnType);
+    if (minorType == MinorType.DECIMAL) {
+      // the precision of the result may be larger than that of the operands, but not the scale
+      final int scale = ((ArrowType.Decimal) returnType).getScale();
+      final boolean supported = (function == Function.ADD || function == Function.SUBTRACT) &&
+          left.getType() instanceof ArrowType.Decimal && ((ArrowType.Decimal) left.getType()).getScale() == scale &&
+          right.getType() instanceof ArrowType.Decimal && ((ArrowType.Decimal) right.getType()).getScale() == scale;
+      return supported ? new ArithmeticOperator(function, left, right, returnType, minorType) : null;
+    }
+    if (!left.getType().equals(returnType) || !right.getType().equals(returnType)) {
+      return null;
+    }
+    switch (minorType) {
+      case INT:
+      case BIGINT:
+        return new ArithmeticOperator(function, left, right, returnType, minorType);
+      case FLOAT8:
+        return function == Function.MOD ? null : new ArithmeticOperator(function, left, right, returnType, minorType);
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) throws GandivaException {
+    final FieldVector leftValues = left.evaluate(context);
+    final FieldVector rightValues = right.evaluate(context);
+    final FieldVector result = context.newVector(getType());
+    switch (minorType) {
+      case INT:
+        evaluate(context, (IntVector) leftValues, (IntVector) rightValues, (IntVector) result);
+        break;
+      case BIGINT:
+        evaluate(context, (BigIntVector) leftValues, (BigIntVector) rightValues, (BigIntVector) result);
+        break;
+      case FLOAT8:
+        evaluate((Float8Vector) leftValues, (Float8Vector) rightValues, (Float8Vector) result);
+        break;
+      case DECIMAL:
+        evaluate((DecimalVector) leftValues, (DecimalVector) rightValues, (DecimalVector) result);
+        break;
+      default:
+        throw new UnsupportedOperationException("Unsupported type " + minorType);
+    }
+    return result;
+  }
+
+  private void evaluate(EvaluationContext context, IntVector leftValues, IntVector rightValues, IntVector result)
+      throws GandivaException {
+    switch (function) {
+      case ADD:
+        ArithmeticKernels.add(leftValues, rightValues, result);
+        break;
+      case SUBTRACT:
+        ArithmeticKernels.subtract(leftValues, rightValues, result);
+        break;
+      case MULTIPLY:
+        ArithmeticKernels.multiply(leftValues, rightValues, result);
+        break;
+      default:
+        final int rowCount = prepareDivision(leftValues, rightValues, result);
+        final ArrowBuf dividends = leftValues.getDataBuffer();
+        final ArrowBuf divisors = rightValues.getDataBuffer();
+        final ArrowBuf quotients = result.getDataBuffer();
+        for (int i = 0; i < rowCount; i++) {
+          final long offset = (long) i * IntVector.TYPE_WIDTH;
+          final int divisor = divisors.getInt(offset);
+          if (divisor == 0) {
+            checkZeroDivisor(context, result, i);
+          } else {
+            final int dividend = dividends.getInt(offset);
+            quotients.setInt(offset, function == Function.MOD ? dividend % divisor : dividend / divisor);
+          }
+        }
+        result.setValueCount(rowCount);
+        break;
+    }
+  }
+
+  private void evaluate(EvaluationContext context, BigIntVector leftValues, BigIntVector rightValues,
+      BigIntVector result) throws GandivaException {
+    switch (function) {
+      case ADD:
+        ArithmeticKernels.add(leftValues, rightValues, result);
+        break;
+      case SUBTRACT:
+        ArithmeticKernels.subtract(leftValues, rightValues, result);
+        break;
+      case MULTIPLY:
+        ArithmeticKernels.multiply(leftValues, rightValues, result);
+        break;
+      default:
+        final int rowCount = prepareDivision(leftValues, rightValues, result);
+        final ArrowBuf dividends = leftValues.getDataBuffer();
+        final ArrowBuf divisors = rightValues.getDataBuffer();
+        final ArrowBuf quotients = result.getDataBuffer();
+        for (int i = 0; i < rowCount; i++) {
+          final long offset = (long) i * BigIntVector.TYPE_WIDTH;
+          final long divisor = divisors.getLong(offset);
+          if (divisor == 0) {
+            checkZeroDivisor(context, result, i);
+          } else {
+            final long dividend = dividends.getLong(offset);
+            quotients.setLong(offset, function == Function.MOD ? dividend % divisor : dividend / divisor);
+          }
+        }
+        result.setValueCount(rowCount);
+        break;
+    }
+  }
+
+  private void evaluate(Float8Vector leftValues, Float8Vector rightValues, Float8Vector result) {
+    switch (function) {
+      case ADD:
+        ArithmeticKernels.add(leftValues, rightValues, result);
+        break;
+      case SUBTRACT:
+        ArithmeticKernels.subtract(leftValues, rightValues, result);
+        break;
+      case MULTIPLY:
+        ArithmeticKernels.multiply(leftValues, rightValues, result);
+        break;
+      default:
+        ArithmeticKernels.divide(leftValues, rightValues, result);
+        break;
+    }
+  }
+
+  private void evaluate(DecimalVector leftValues, DecimalVector rightValues, DecimalVector result)
+      throws GandivaException {
+    try {
+      if (function == Function.ADD) {
+        ArithmeticKernels.add(leftValues, rightValues, result);
+      } else {
+        ArithmeticKernels.subtract(leftValues, rightValues, result);
+      }
+    } catch (ArithmeticException e) {
+      throw new GandivaException(e.getMessage(), e);
+    }
+  }
+
+  private static int prepareDivision(FieldVector leftValues, FieldVector rightValues, FieldVector result) {
+    final int rowCount = leftValues.getValueCount();
+    result.setInitialCapacity(rowCount);
+    result.allocateNew();
+    BitVectorHelper.and(leftValues.getValidityBuffer(), rightValues.getValidityBuffer(),
+        result.getValidityBuffer(), rowCount);
+    return rowCount;
+  }
+
+  private static void checkZeroDivisor(EvaluationContext context, FieldVector result, int row)
+      throws GandivaException {
+    if (!result.isNull(row) && context.isActive(row)) {
+      throw new GandivaException("divide by zero error");
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import java.util.function.LongBinaryOperator;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BitVectorHelper;
+
+/**
+ * Word-at-a-time operations on bitmaps, such as validity buffers and the data buffers of boolean vectors.
+ * The bits of the last byte beyond the number of rows are cleared in the output.
+ */
+final class Bitmaps {
+
+  private static final LongBinaryOperator AND = (x, y) -> x & y;
+
+  private static final LongBinaryOperator AND_NOT = (x, y) -> x & ~y;
+
+  private static final LongBinaryOperator OR = (x, y) -> x | y;
+
+  private static final LongBinaryOperator NOT = (x, y) -> ~x;
+
+  private Bitmaps() {
+  }
+
+  private static void apply(ArrowBuf input1, ArrowBuf input2, ArrowBuf output, int rowCount,
+      LongBinaryOperator operator) {
+    final int byteCount = BitVectorHelper.getValidityBufferSize(rowCount);
+    int index = 0;
+    while (index + Long.BYTES <= byteCount) {
+      output.setLong(index, operator.applyAsLong(input1.getLong(index), input2.getLong(index)));
+      index += Long.BYTES;
+    }
+    while (index < byteCount) {
+      output.setByte(index, (byte) operator.applyAsLong(input1.getByte(index), input2.getByte(index)));
+      index += 1;
+    }
+    clearTail(output, rowCount);
+  }
+
+  private static void clearTail(ArrowBuf output, int rowCount) {
+    final int remainder = BitVectorHelper.bitIndex(rowCount);
+    if (remainder != 0) {
+      final int last = BitVectorHelper.byteIndex(rowCount);
+      output.setByte(last, output.getByte(last) & ((1 << remainder) - 1));
+    }
+  }
+
+  /**
+   * Sets the bits of all the rows.
+   */
+  static void fill(ArrowBuf output, int rowCount) {
+    final int byteCount = BitVectorHelper.getValidityBufferSize(rowCount);
+    output.setOne(0, byteCount);
+    clearTail(output, rowCount);
+  }
+
+  /**
+   * Computes input1 AND input2.
+   */
+  static void and(ArrowBuf input1, ArrowBuf input2, ArrowBuf output, int rowCount) {
+    BitVectorHelper.and(input1, input2, output, rowCount);
+  }
+
+  /**
+   * Computes input1 AND NOT input2.
+   */
+  static void andNot(ArrowBuf input1, ArrowBuf input2, ArrowBuf output, int rowCount) {
+    apply(input1, input2, output, rowCount, AND_NOT);
+  }
+
+  /**
+   * Computes input1 OR input2.
+   */
+  static void or(ArrowBuf input1, ArrowBuf input2, ArrowBuf output, int rowCount) {
+    apply(input1, input2, output, rowCount, OR);
+  }
+
+  /**
+   * Computes NOT input.
+   */
+  static void not(ArrowBuf input, ArrowBuf output, int rowCount) {
+    apply(input, input, output, rowCount, NOT);
+  }
+
+  /**
+   * Copies the bits of the rows.
+   */
+  static void copy(ArrowBuf input, ArrowBuf output, int rowCount) {
+    apply(input, input, output, rowCount, AND);
+  }
+
+  /**
+   * Restricts a bitmap to the active rows of a context, in place.
+   */
+  static void retainActive(EvaluationContext context, ArrowBuf bitmap) {
+    if (context.getActiveRows() != null) {
+      and(bitmap, context.getActiveRows(), bitmap, context.getRowCount());
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Evaluates the widening numeric casts castBIGINT(int32), castFLOAT8(int32) and castFLOAT8(int64).
+ */
+class CastOperator extends Operator {
+
+  private final Operator input;
+
+  private final MinorType inputType;
+
+  private final MinorType outputType;
+
+  private CastOperator(Operator input, ArrowType returnType, MinorType inputType, MinorType outputType) {
+    super(returnType);
+    this.input = input;
+    this.inputType = inputType;
+    this.outputType = outputType;
+  }
+
+  /**
+   * Creates a cast operator, if the cast is supported.
+   * @return the operator, or null if the cast is not supported.
+   */
+  static CastOperator create(Operator input, ArrowType returnType) {
+    final MinorType inputType = ExpressionCompiler.getMinorType(input.getType());
+    final MinorType outputType = ExpressionCompiler.getMinorType(returnType);
+    final boolean supported = (outputType == MinorType.BIGINT && inputType == MinorType.INT) ||
+        (outputType == MinorType.FLOAT8 && (inputType == MinorType.INT || inputType == MinorType.BIGINT));
+    return supported ? new CastOperator(input, returnType, inputType, outputType) : null;
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) throws GandivaException {
+    final FieldVector values = input.evaluate(context);
+    final int rowCount = values.getValueCount();
+    final FieldVector result = context.newVector(getType());
+    result.setInitialCapacity(rowCount);
+    result.allocateNew();
+    Bitmaps.copy(values.getValidityBuffer(), result.getValidityBuffer(), rowCount);
+
+    final ArrowBuf source = values.getDataBuffer();
+    final ArrowBuf target = result.getDataBuffer();
+    if (outputType == MinorType.BIGINT) {
+      for (int i = 0; i < rowCount; i++) {
+        target.setLong((long) i * BigIntVector.TYPE_WIDTH, source.getInt((long) i * IntVector.TYPE_WIDTH));
+      }
+    } else if (inputType == MinorType.INT) {
+      for (int i = 0; i < rowCount; i++) {
+        target.setDouble((long) i * Float8Vector.TYPE_WIDTH, source.getInt((long) i * IntVector.TYPE_WIDTH));
+      }
+    } else {
+      for (int i = 0; i < rowCount; i++) {
+        target.setDouble((long) i * Float8Vector.TYPE_WIDTH, source.getLong((long) i * BigIntVector.TYPE_WIDTH));
+      }
+    }
+    result.setValueCount(rowCount);
+    return result;
+  }
+}
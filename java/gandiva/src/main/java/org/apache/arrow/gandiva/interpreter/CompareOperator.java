@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import java.math.BigDecimal;
+
+import org.apache.arrow.algorithm.kernel.ComparisonKernels;
+import org.apache.arrow.algorithm.kernel.ComparisonOperator;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Evaluates a comparison of two operands of the same type, with the {@link ComparisonKernels} for numbers,
+ * and byte-wise for strings. When the right operand is a constant, it is not materialized as a vector.
+ */
+class CompareOperator extends Operator {
+
+  private final ComparisonOperator comparison;
+
+  private final Operator left;
+
+  private final Operator right;
+
+  private final MinorType minorType;
+
+  private CompareOperator(ComparisonOperator comparison, Operator left, Operator right, MinorType minorType) {
+    super(ArrowType.Bool.INSTANCE);
+    this.comparison = comparison;
+    this.left = left;
+    this.right = right;
+    this.minorType = minorType;
+  }
+
+  /**
+   * Creates a comparison operator, if the types of the operands are supported.
+   * @return the operator, or null if the types are not supported.
+   */
+  static CompareOperator create(ComparisonOperator comparison, Operator left, Operator right) {
+    if (!left.getType().equals(right.getType())) {
+      return null;
+    }
+    final MinorType minorType = ExpressionCompiler.getMinorType(left.getType());
+    switch (minorType) {
+      case INT:
+      case BIGINT:
+      case FLOAT8:
+      case DECIMAL:
+      case VARCHAR:
+      case VARBINARY:
+        return new CompareOperator(comparison, left, right, minorType);
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) throws GandivaException {
+    final FieldVector leftValues = left.evaluate(context);
+    final BitVector result = (BitVector) context.newVector(getType());
+    if (right instanceof LiteralOperator && ((LiteralOperator) right).getValue() != null) {
+      final Object constant = ((LiteralOperator) right).getValue();
+      switch (minorType) {
+        case INT:
+          ComparisonKernels.compare((IntVector) leftValues, (Integer) constant, comparison, result);
+          return result;
+        case BIGINT:
+          ComparisonKernels.compare((BigIntVector) leftValues, (Long) constant, comparison, result);
+          return result;
+        case FLOAT8:
+          ComparisonKernels.compare((Float8Vector) leftValues, (Double) constant, comparison, result);
+          return result;
+        case DECIMAL:
+          ComparisonKernels.compare((DecimalVector) leftValues, (BigDecimal) constant, comparison, result);
+          return result;
+        default:
+          break;
+      }
+    }
+
+    final FieldVector rightValues = right.evaluate(context);
+    switch (minorType) {
+      case INT:
+        ComparisonKernels.compare((IntVector) leftValues, (IntVector) rightValues, comparison, result);
+        break;
+      case BIGINT:
+        ComparisonKernels.compare((BigIntVector) leftValues, (BigIntVector) rightValues, comparison, result);
+        break;
+      case FLOAT8:
+        ComparisonKernels.compare((Float8Vector) leftValues, (Float8Vector) rightValues, comparison, result);
+        break;
+      case DECIMAL:
+        ComparisonKernels.compare((DecimalVector) leftValues, (DecimalVector) rightValues, comparison, result);
+        break;
+      default:
+        compareBytes((BaseVariableWidthVector) leftValues, (BaseVariableWidthVector) rightValues, result);
+        break;
+    }
+    return result;
+  }
+
+  private void compareBytes(BaseVariableWidthVector leftValues, BaseVariableWidthVector rightValues,
+      BitVector result) {
+    final int rowCount = leftValues.getValueCount();
+    result.allocateNew(rowCount);
+    BitVectorHelper.and(leftValues.getValidityBuffer(), rightValues.getValidityBuffer(),
+        result.getValidityBuffer(), rowCount);
+
+    final ArrowBuf leftOffsets = leftValues.getOffsetBuffer();
+    final ArrowBuf leftData = leftValues.getDataBuffer();
+    final ArrowBuf rightOffsets = rightValues.getOffsetBuffer();
+    final ArrowBuf rightData = rightValues.getDataBuffer();
+    final ArrowBuf mask = result.getDataBuffer();
+    final int offsetWidth = BaseVariableWidthVector.OFFSET_WIDTH;
+    for (int i = 0; i < rowCount; i++) {
+      final int leftStart = leftOffsets.getInt((long) i * offsetWidth);
+      final int leftEnd = leftOffsets.getInt((long) (i + 1) * offsetWidth);
+      final int rightStart = rightOffsets.getInt((long) i * offsetWidth);
+      final int rightEnd = rightOffsets.getInt((long) (i + 1) * offsetWidth);
+      if (test(compareBytes(leftData, leftStart, leftEnd, rightData, rightStart, rightEnd))) {
+        BitVectorHelper.setBit(mask, i);
+      }
+    }
+    result.setValueCount(rowCount);
+  }
+
+  /**
+   * Compares two byte ranges lexicographically, as unsigned bytes.
+   */
+  private static int compareBytes(ArrowBuf leftData, int leftStart, int leftEnd,
+      ArrowBuf rightData, int rightStart, int rightEnd) {
+    final int length = Math.min(leftEnd - leftStart, rightEnd - rightStart);
+    for (int i = 0; i < length; i++) {
+      final int difference = Byte.toUnsignedInt(leftData.getByte(leftStart + i)) -
+          Byte.toUnsignedInt(rightData.getByte(rightStart + i));
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return (leftEnd - leftStart) - (rightEnd - rightStart);
+  }
+
+  private boolean test(int order) {
+    switch (comparison) {
+      case EQUAL:
+        return order == 0;
+      case NOT_EQUAL:
+        return order != 0;
+      case LESS_THAN:
+        return order < 0;
+      case LESS_THAN_OR_EQUAL:
+        return order <= 0;
+      case GREATER_THAN:
+        return order > 0;
+      default:
+        return order >= 0;
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TypeLayout;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.VectorSelector;
+
+/**
+ * The state of the evaluation of expressions on a batch: the input columns, the intermediate vectors
+ * produced by the {@link Operator}s, and the rows that are being evaluated.
+ *
+ * <p>All the vectors and buffers are released when the context is closed.
+ */
+public class EvaluationContext implements AutoCloseable {
+
+  private final BufferAllocator allocator;
+
+  private final int rowCount;
+
+  private final List<FieldVector> columns;
+
+  private final List<FieldVector> intermediates = new ArrayList<>();
+
+  private final List<ArrowBuf> bitmaps = new ArrayList<>();
+
+  /**
+   * A bit for each row, set if the row is being evaluated, or null if all the rows are.
+   */
+  private ArrowBuf activeRows;
+
+  /**
+   * Constructs a context over the buffers of a record batch. The buffers are retained by the
+   * context, and are laid out as in {@link org.apache.arrow.vector.ipc.message.ArrowRecordBatch}.
+   * @param allocator the allocator of the intermediate vectors.
+   * @param schema the schema of the batch, with flat fields only.
+   * @param rowCount the number of rows of the batch.
+   * @param buffers the buffers of the batch.
+   */
+  public EvaluationContext(BufferAllocator allocator, Schema schema, int rowCount, List<ArrowBuf> buffers) {
+    this.allocator = allocator;
+    this.rowCount = rowCount;
+    this.columns = new ArrayList<>(schema.getFields().size());
+
+    final int validitySize = BitVectorHelper.getValidityBufferSize(rowCount);
+    int bufferIndex = 0;
+    try {
+      for (Field field : schema.getFields()) {
+        Preconditions.checkArgument(field.getChildren().isEmpty(), "Nested field %s is not supported", field);
+        final int bufferCount = TypeLayout.getTypeBufferCount(field.getType());
+        Preconditions.checkArgument(bufferIndex + bufferCount <= buffers.size(),
+            "Expected at least %s buffers, got %s", bufferIndex + bufferCount, buffers.size());
+        final List<ArrowBuf> fieldBuffers = buffers.subList(bufferIndex, bufferIndex + bufferCount);
+        bufferIndex += bufferCount;
+
+        // a validity buffer too small for the rows means that all the values are valid
+        final ArrowBuf validity = fieldBuffers.get(0);
+        final int nullCount = validity.capacity() < validitySize ? 0 :
+            BitVectorHelper.getNullCount(validity, rowCount);
+
+        final FieldVector column = field.createVector(allocator);
+        columns.add(column);
+        column.loadFieldBuffers(new ArrowFieldNode(rowCount, nullCount), fieldBuffers);
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  private EvaluationContext(BufferAllocator allocator, int rowCount, List<FieldVector> columns) {
+    this.allocator = allocator;
+    this.rowCount = rowCount;
+    this.columns = columns;
+  }
+
+  /**
+   * Creates a context over the rows of this context at the given indices. The columns are copied, so
+   * the two contexts are independent, and must both be closed.
+   */
+  public EvaluationContext select(IntVector indices) {
+    final List<FieldVector> selected = new ArrayList<>(columns.size());
+    try {
+      for (FieldVector column : columns) {
+        final FieldVector target = column.getField().createVector(allocator);
+        selected.add(target);
+        VectorSelector.take(column, indices, target);
+      }
+    } catch (RuntimeException e) {
+      AutoCloseables.closeNoChecked(AutoCloseables.all(selected));
+      throw e;
+    }
+    return new EvaluationContext(allocator, indices.getValueCount(), selected);
+  }
+
+  public BufferAllocator getAllocator() {
+    return allocator;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets an input column, by its index in the schema.
+   */
+  public FieldVector getColumn(int index) {
+    return columns.get(index);
+  }
+
+  /**
+   * Creates an empty intermediate vector, closed with the context.
+   */
+  public FieldVector newVector(ArrowType type) {
+    final FieldVector vector = new Field("", FieldType.nullable(type), null).createVector(allocator);
+    intermediates.add(vector);
+    return vector;
+  }
+
+  /**
+   * Checks if a vector is an intermediate vector of this context, rather than an input column.
+   * The buffers of an intermediate vector can be transferred to another vector.
+   */
+  public boolean isIntermediate(FieldVector vector) {
+    for (FieldVector intermediate : intermediates) {
+      if (intermediate == vector) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Allocates a bitmap with a bit for each row, all cleared, released with the context.
+   * Its capacity is a multiple of 8 bytes.
+   */
+  public ArrowBuf newBitmap() {
+    final int size = ((BitVectorHelper.getValidityBufferSize(rowCount) + 7) / 8) * 8;
+    final ArrowBuf bitmap = allocator.buffer(size);
+    bitmaps.add(bitmap);
+    bitmap.setZero(0, bitmap.capacity());
+    return bitmap;
+  }
+
+  /**
+   * Gets the bitmap of the rows being evaluated, or null if all the rows are.
+   * Operators evaluate all the rows regardless, but report errors for the active rows only, so
+   * that the branches of a conditional expression fail only on the rows they are selected for.
+   */
+  public ArrowBuf getActiveRows() {
+    return activeRows;
+  }
+
+  /**
+   * Sets the bitmap of the rows being evaluated.
+   * @param activeRows a bitmap of this context, or null if all the rows are evaluated.
+   */
+  public void setActiveRows(ArrowBuf activeRows) {
+    this.activeRows = activeRows;
+  }
+
+  /**
+   * Checks if a row is being evaluated.
+   */
+  public boolean isActive(int row) {
+    return activeRows == null || BitVectorHelper.get(activeRows, row) == 1;
+  }
+
+  @Override
+  public void close() {
+    activeRows = null;
+    final List<AutoCloseable> resources = new ArrayList<>(columns.size() + intermediates.size() + bitmaps.size());
+    resources.addAll(columns);
+    resources.addAll(intermediates);
+    resources.addAll(bitmaps);
+    columns.clear();
+    intermediates.clear();
+    bitmaps.clear();
+    AutoCloseables.closeNoChecked(AutoCloseables.all(resources));
+  }
+}
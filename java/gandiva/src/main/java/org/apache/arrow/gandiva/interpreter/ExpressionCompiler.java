@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.algorithm.kernel.ComparisonOperator;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.exceptions.UnsupportedTypeException;
+import org.apache.arrow.gandiva.ipc.GandivaTypes;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Compiles the protobuf representation of expressions, as built by
+ * {@link org.apache.arrow.gandiva.expression.TreeBuilder}, into trees of {@link Operator}s.
+ *
+ * <p>The compiler supports field, literal, null, if, and, or and in nodes, and these functions:
+ * <ul>
+ *   <li>add, subtract, multiply, divide and mod on int32, int64 and float64, except mod on float64, and
+ *       add and subtract on decimals with the same scale.</li>
+ *   <li>equal, not_equal, less_than, less_than_or_equal_to, greater_than and greater_than_or_equal_to
+ *       on int32, int64, float64, decimal, utf8 and binary.</li>
+ *   <li>isnull and isnotnull on any type, and not on boolean.</li>
+ *   <li>castBIGINT on int32, and castFLOAT8 on int32 and int64.</li>
+ *   <li>upper, lower, char_length, like, starts_with, ends_with and substr on utf8, with constant
+ *       arguments.</li>
+ * </ul>
+ * Anything else is rejected with a {@link GandivaException} at compile time.
+ */
+public class ExpressionCompiler {
+
+  private static final Map<String, ComparisonOperator> COMPARISONS = new HashMap<>();
+
+  static {
+    COMPARISONS.put("equal", ComparisonOperator.EQUAL);
+    COMPARISONS.put("not_equal", ComparisonOperator.NOT_EQUAL);
+    COMPARISONS.put("less_than", ComparisonOperator.LESS_THAN);
+    COMPARISONS.put("less_than_or_equal_to", ComparisonOperator.LESS_THAN_OR_EQUAL);
+    COMPARISONS.put("greater_than", ComparisonOperator.GREATER_THAN);
+    COMPARISONS.put("greater_than_or_equal_to", ComparisonOperator.GREATER_THAN_OR_EQUAL);
+  }
+
+  private final Schema schema;
+
+  private final Map<String, Integer> columnIndices = new HashMap<>();
+
+  /**
+   * Constructs a compiler for expressions over a schema.
+   * @param schema the schema of the batches, with flat fields only.
+   * @throws UnsupportedTypeException if a field of the schema is nested.
+   */
+  public ExpressionCompiler(Schema schema) throws GandivaException {
+    this.schema = schema;
+    final List<Field> fields = schema.getFields();
+    for (int i = 0; i < fields.size(); i++) {
+      if (!fields.get(i).getChildren().isEmpty()) {
+        throw new UnsupportedTypeException("Unsupported nested field " + fields.get(i));
+      }
+      columnIndices.put(fields.get(i).getName(), i);
+    }
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Compiles a projection.
+   * @param expression the expression, with the type of its result.
+   * @return the root of the compiled expression.
+   */
+  public Operator compile(GandivaTypes.ExpressionRoot expression) throws GandivaException {
+    final Operator root = compile(expression.getRoot());
+    final ArrowType resultType = toArrowType(expression.getResultType().getType());
+    if (!root.getType().equals(resultType)) {
+      throw new GandivaException("Expression of type " + root.getType() + " does not match the result type " +
+          resultType);
+    }
+    return root;
+  }
+
+  /**
+   * Compiles a filter condition.
+   * @param condition the condition.
+   * @return the root of the compiled condition.
+   */
+  public Operator compile(GandivaTypes.Condition condition) throws GandivaException {
+    final Operator root = compile(condition.getRoot());
+    if (!(root.getType() instanceof ArrowType.Bool)) {
+      throw new GandivaException("Condition of type " + root.getType() + " is not a boolean");
+    }
+    return root;
+  }
+
+  /**
+   * Compiles a node of an expression, and its children.
+   */
+  public Operator compile(GandivaTypes.TreeNode node) throws GandivaException {
+    if (node.hasFieldNode()) {
+      final String name = node.getFieldNode().getField().getName();
+      final Integer index = columnIndices.get(name);
+      if (index == null) {
+        throw new GandivaException("Field " + name + " not in the schema");
+      }
+      return new FieldOperator(index, schema.getFields().get(index).getType());
+    }
+    if (node.hasFnNode()) {
+      return compileFunction(node.getFnNode());
+    }
+    if (node.hasIfNode()) {
+      final GandivaTypes.IfNode ifNode = node.getIfNode();
+      final Operator condition = compile(ifNode.getCond());
+      final Operator thenOperator = compile(ifNode.getThenNode());
+      final Operator elseOperator = compile(ifNode.getElseNode());
+      final ArrowType type = toArrowType(ifNode.getReturnType());
+      if (!(condition.getType() instanceof ArrowType.Bool) || !thenOperator.getType().equals(type) ||
+          !elseOperator.getType().equals(type)) {
+        throw new GandivaException("Mismatched types in if expression");
+      }
+      return new IfOperator(condition, thenOperator, elseOperator, type);
+    }
+    if (node.hasAndNode()) {
+      return new LogicalOperator(true, compileBooleans(node.getAndNode().getArgsList()));
+    }
+    if (node.hasOrNode()) {
+      return new LogicalOperator(false, compileBooleans(node.getOrNode().getArgsList()));
+    }
+    if (node.hasInNode()) {
+      return compileIn(node.getInNode());
+    }
+    return compileLiteral(node);
+  }
+
+  private List<Operator> compileBooleans(List<GandivaTypes.TreeNode> nodes) throws GandivaException {
+    final List<Operator> operators = new ArrayList<>(nodes.size());
+    for (GandivaTypes.TreeNode node : nodes) {
+      final Operator operator = compile(node);
+      if (!(operator.getType() instanceof ArrowType.Bool)) {
+        throw new GandivaException("Operand of type " + operator.getType() + " is not a boolean");
+      }
+      operators.add(operator);
+    }
+    return operators;
+  }
+
+  private Operator compileLiteral(GandivaTypes.TreeNode node) throws GandivaException {
+    if (node.hasNullNode()) {
+      return new LiteralOperator(toArrowType(node.getNullNode().getType()), null);
+    }
+    if (node.hasBooleanNode()) {
+      return new LiteralOperator(ArrowType.Bool.INSTANCE, node.getBooleanNode().getValue());
+    }
+    if (node.hasIntNode()) {
+      return new LiteralOperator(new ArrowType.Int(32, true), node.getIntNode().getValue());
+    }
+    if (node.hasLongNode()) {
+      return new LiteralOperator(new ArrowType.Int(64, true), node.getLongNode().getValue());
+    }
+    if (node.hasFloatNode()) {
+      return new LiteralOperator(new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE),
+          node.getFloatNode().getValue());
+    }
+    if (node.hasDoubleNode()) {
+      return new LiteralOperator(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE),
+          node.getDoubleNode().getValue());
+    }
+    if (node.hasStringNode()) {
+      return new LiteralOperator(new ArrowType.Utf8(), node.getStringNode().getValue().toByteArray());
+    }
+    if (node.hasBinaryNode()) {
+      return new LiteralOperator(new ArrowType.Binary(), node.getBinaryNode().getValue().toByteArray());
+    }
+    if (node.hasDecimalNode()) {
+      final GandivaTypes.DecimalNode decimalNode = node.getDecimalNode();
+      final BigDecimal value = new BigDecimal(decimalNode.getValue()).setScale(decimalNode.getScale());
+      return new LiteralOperator(new ArrowType.Decimal(decimalNode.getPrecision(), decimalNode.getScale()), value);
+    }
+    throw new GandivaException("Unsupported expression node " + node);
+  }
+
+  private Operator compileIn(GandivaTypes.InNode inNode) throws GandivaException {
+    final Operator input = compile(inNode.getNode());
+    final MinorType minorType = getMinorType(input.getType());
+    if (inNode.hasIntValues() && minorType == MinorType.INT) {
+      final List<GandivaTypes.IntNode> nodes = inNode.getIntValues().getIntValuesList();
+      final int[] values = new int[nodes.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = nodes.get(i).getValue();
+      }
+      return InOperator.ofInts(input, values);
+    }
+    if (inNode.hasLongValues() && minorType == MinorType.BIGINT) {
+      final List<GandivaTypes.LongNode> nodes = inNode.getLongValues().getLongValuesList();
+      final long[] values = new long[nodes.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = nodes.get(i).getValue();
+      }
+      return InOperator.ofLongs(input, values);
+    }
+    if (inNode.hasStringValues() && minorType == MinorType.VARCHAR) {
+      final List<byte[]> values = new ArrayList<>();
+      for (GandivaTypes.StringNode value : inNode.getStringValues().getStringValuesList()) {
+        values.add(value.getValue().toByteArray());
+      }
+      return InOperator.ofBytes(input, values);
+    }
+    if (inNode.hasBinaryValues() && minorType == MinorType.VARBINARY) {
+      final List<byte[]> values = new ArrayList<>();
+      for (GandivaTypes.BinaryNode value : inNode.getBinaryValues().getBinaryValuesList()) {
+        values.add(value.getValue().toByteArray());
+      }
+      return InOperator.ofBytes(input, values);
+    }
+    throw new GandivaException("Unsupported in expression on " + input.getType());
+  }
+
+  private Operator compileFunction(GandivaTypes.FunctionNode functionNode) throws GandivaException {
+    final String name = functionNode.getFunctionName();
+    final List<Operator> arguments = new ArrayList<>(functionNode.getInArgsCount());
+    for (GandivaTypes.TreeNode argument : functionNode.getInArgsList()) {
+      arguments.add(compile(argument));
+    }
+    final ArrowType returnType = toArrowType(functionNode.getReturnType());
+
+    final Operator operator = createFunction(name, arguments, returnType);
+    if (operator == null || !operator.getType().equals(returnType)) {
+      final List<ArrowType> argumentTypes = new ArrayList<>(arguments.size());
+      for (Operator argument : arguments) {
+        argumentTypes.add(argument.getType());
+      }
+      throw new GandivaException("Function " + name + argumentTypes + " returning " + returnType +
+          " is not supported by the Java evaluator");
+    }
+    return operator;
+  }
+
+  private static Operator createFunction(String name, List<Operator> arguments, ArrowType returnType) {
+    final int count = arguments.size();
+    final Operator first = count > 0 ? arguments.get(0) : null;
+    final Operator[] others = count > 0 ?
+        arguments.subList(1, count).toArray(new Operator[0]) : new Operator[0];
+    final ComparisonOperator comparison = COMPARISONS.get(name);
+    if (comparison != null) {
+      return count == 2 ? CompareOperator.create(comparison, first, others[0]) : null;
+    }
+    switch (name) {
+      case "add":
+        return count == 2 ? ArithmeticOperator.create(ArithmeticOperator.Function.ADD, first, others[0],
+            returnType) : null;
+      case "subtract":
+        return count == 2 ? ArithmeticOperator.create(ArithmeticOperator.Function.SUBTRACT, first, others[0],
+            returnType) : null;
+      case "multiply":
+        return count == 2 ? ArithmeticOperator.create(ArithmeticOperator.Function.MULTIPLY, first, others[0],
+            returnType) : null;
+      case "divide":
+        return count == 2 ? ArithmeticOperator.create(ArithmeticOperator.Function.DIVIDE, first, others[0],
+            returnType) : null;
+      case "mod":
+        return count == 2 ? ArithmeticOperator.create(ArithmeticOperator.Function.MOD, first, others[0],
+            returnType) : null;
+      case "isnull":
+        return count == 1 ? PredicateOperator.create(PredicateOperator.Function.IS_NULL, first) : null;
+      case "isnotnull":
+        return count == 1 ? PredicateOperator.create(PredicateOperator.Function.IS_NOT_NULL, first) : null;
+      case "not":
+        return count == 1 ? PredicateOperator.create(PredicateOperator.Function.NOT, first) : null;
+      case "castBIGINT":
+      case "castFLOAT8":
+        return count == 1 ? CastOperator.create(first, returnType) : null;
+      case "upper":
+        return count == 1 ? StringOperator.create(StringOperator.Function.UPPER, first) : null;
+      case "lower":
+        return count == 1 ? StringOperator.create(StringOperator.Function.LOWER, first) : null;
+      case "char_length":
+        return count == 1 ? StringOperator.create(StringOperator.Function.CHAR_LENGTH, first) : null;
+      case "like":
+        return count > 0 ? StringOperator.create(StringOperator.Function.LIKE, first, others) : null;
+      case "starts_with":
+        return count > 0 ? StringOperator.create(StringOperator.Function.STARTS_WITH, first, others) : null;
+      case "ends_with":
+        return count > 0 ? StringOperator.create(StringOperator.Function.ENDS_WITH, first, others) : null;
+      case "substr":
+        return count > 0 ? StringOperator.create(StringOperator.Function.SUBSTR, first, others) : null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Gets the minor type of the vectors of an arrow type.
+   */
+  static MinorType getMinorType(ArrowType type) {
+    return Types.getMinorTypeForArrowType(type);
+  }
+
+  /**
+   * Converts the protobuf representation of a type into an arrow type.
+   * @throws UnsupportedTypeException if the type is not supported by the Java evaluator.
+   */
+  public static ArrowType toArrowType(GandivaTypes.ExtGandivaType type) throws GandivaException {
+    switch (type.getType()) {
+      case BOOL:
+        return ArrowType.Bool.INSTANCE;
+      case UINT8:
+        return new ArrowType.Int(8, false);
+      case INT8:
+        return new ArrowType.Int(8, true);
+      case UINT16:
+        return new ArrowType.Int(16, false);
+      case INT16:
+        return new ArrowType.Int(16, true);
+      case UINT32:
+        return new ArrowType.Int(32, false);
+      case INT32:
+        return new ArrowType.Int(32, true);
+      case UINT64:
+        return new ArrowType.Int(64, false);
+      case INT64:
+        return new ArrowType.Int(64, true);
+      case FLOAT:
+        return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+      case DOUBLE:
+        return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+      case UTF8:
+        return new ArrowType.Utf8();
+      case BINARY:
+        return new ArrowType.Binary();
+      case DATE32:
+        return new ArrowType.Date(DateUnit.DAY);
+      case DATE64:
+        return new ArrowType.Date(DateUnit.MILLISECOND);
+      case DECIMAL:
+        return new ArrowType.Decimal(type.getPrecision(), type.getScale());
+      default:
+        throw new UnsupportedTypeException("Unsupported type " + type.getType() + " in the Java evaluator");
+    }
+  }
+}
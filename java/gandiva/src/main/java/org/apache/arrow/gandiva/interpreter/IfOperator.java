@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Evaluates a conditional expression. Each branch is evaluated with the rows it is selected for as the
+ * active rows, and the values of the result are copied from the selected branch. A null condition
+ * selects the else branch.
+ */
+class IfOperator extends Operator {
+
+  private final Operator condition;
+
+  private final Operator thenOperator;
+
+  private final Operator elseOperator;
+
+  IfOperator(Operator condition, Operator thenOperator, Operator elseOperator, ArrowType type) {
+    super(type);
+    this.condition = condition;
+    this.thenOperator = thenOperator;
+    this.elseOperator = elseOperator;
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) throws GandivaException {
+    final int rowCount = context.getRowCount();
+    final FieldVector conditionValues = condition.evaluate(context);
+
+    // the rows where the condition is true, and the others
+    final ArrowBuf thenRows = context.newBitmap();
+    Bitmaps.and(conditionValues.getValidityBuffer(), conditionValues.getDataBuffer(), thenRows, rowCount);
+    final ArrowBuf elseRows = context.newBitmap();
+    Bitmaps.not(thenRows, elseRows, rowCount);
+
+    final ArrowBuf activeRows = context.getActiveRows();
+    final FieldVector thenValues;
+    final FieldVector elseValues;
+    try {
+      Bitmaps.retainActive(context, elseRows);
+      context.setActiveRows(elseRows);
+      elseValues = elseOperator.evaluate(context);
+
+      context.setActiveRows(activeRows);
+      Bitmaps.retainActive(context, thenRows);
+      context.setActiveRows(thenRows);
+      thenValues = thenOperator.evaluate(context);
+    } finally {
+      context.setActiveRows(activeRows);
+    }
+
+    final FieldVector result = context.newVector(getType());
+    result.setInitialCapacity(rowCount);
+    result.allocateNew();
+    for (int i = 0; i < rowCount; i++) {
+      result.copyFromSafe(i, i, BitVectorHelper.get(thenRows, i) == 1 ? thenValues : elseValues);
+    }
+    result.setValueCount(rowCount);
+    return result;
+  }
+}
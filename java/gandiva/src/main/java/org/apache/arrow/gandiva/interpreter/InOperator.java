@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Tests if the values of an operand are in a set of constants. The outcome for a null value is false,
+ * as with the native evaluator.
+ *
+ * <p>Integer constants are sorted, and looked up by binary search. String and binary constants are grouped
+ * by length, and compared with the bytes of the values in place.
+ */
+class InOperator extends Operator {
+
+  private final Operator input;
+
+  private final int[] intValues;
+
+  private final long[] longValues;
+
+  private final Map<Integer, byte[][]> bytesValues;
+
+  private InOperator(Operator input, int[] intValues, long[] longValues, Map<Integer, byte[][]> bytesValues) {
+    super(ArrowType.Bool.INSTANCE);
+    this.input = input;
+    this.intValues = intValues;
+    this.longValues = longValues;
+    this.bytesValues = bytesValues;
+  }
+
+  static InOperator ofInts(Operator input, int[] values) {
+    final int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return new InOperator(input, sorted, null, null);
+  }
+
+  static InOperator ofLongs(Operator input, long[] values) {
+    final long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return new InOperator(input, null, sorted, null);
+  }
+
+  static InOperator ofBytes(Operator input, List<byte[]> values) {
+    final Map<Integer, byte[][]> byLength = new HashMap<>();
+    for (byte[] value : values) {
+      final byte[][] sameLength = byLength.getOrDefault(value.length, new byte[0][]);
+      final byte[][] extended = Arrays.copyOf(sameLength, sameLength.length + 1);
+      extended[sameLength.length] = value;
+      byLength.put(value.length, extended);
+    }
+    return new InOperator(input, null, null, byLength);
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) throws GandivaException {
+    final FieldVector values = input.evaluate(context);
+    final int rowCount = values.getValueCount();
+    final BitVector result = (BitVector) context.newVector(getType());
+    result.allocateNew(rowCount);
+    Bitmaps.fill(result.getValidityBuffer(), rowCount);
+
+    final ArrowBuf data = values.getDataBuffer();
+    final ArrowBuf mask = result.getDataBuffer();
+    if (intValues != null) {
+      for (int i = 0; i < rowCount; i++) {
+        if (Arrays.binarySearch(intValues, data.getInt((long) i * IntVector.TYPE_WIDTH)) >= 0) {
+          BitVectorHelper.setBit(mask, i);
+        }
+      }
+    } else if (longValues != null) {
+      for (int i = 0; i < rowCount; i++) {
+        if (Arrays.binarySearch(longValues, data.getLong((long) i * BigIntVector.TYPE_WIDTH)) >= 0) {
+          BitVectorHelper.setBit(mask, i);
+        }
+      }
+    } else {
+      final ArrowBuf offsets = values.getOffsetBuffer();
+      for (int i = 0; i < rowCount; i++) {
+        final int start = offsets.getInt((long) i * BaseVariableWidthVector.OFFSET_WIDTH);
+        final int end = offsets.getInt((long) (i + 1) * BaseVariableWidthVector.OFFSET_WIDTH);
+        final byte[][] candidates = bytesValues.get(end - start);
+        if (candidates != null && containsBytes(candidates, data, start)) {
+          BitVectorHelper.setBit(mask, i);
+        }
+      }
+    }
+    Bitmaps.and(mask, values.getValidityBuffer(), mask, rowCount);
+    result.setValueCount(rowCount);
+    return result;
+  }
+
+  private static boolean containsBytes(byte[][] candidates, ArrowBuf data, int start) {
+    for (byte[] candidate : candidates) {
+      int i = 0;
+      while (i < candidate.length && candidate[i] == data.getByte(start + i)) {
+        i++;
+      }
+      if (i == candidate.length) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
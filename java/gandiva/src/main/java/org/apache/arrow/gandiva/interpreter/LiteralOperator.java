@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import java.math.BigDecimal;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Produces a constant, or null, for all the rows.
+ */
+class LiteralOperator extends Operator {
+
+  /**
+   * The constant, as a Boolean, Integer, Long, Float, Double, BigDecimal or byte array, or null.
+   */
+  private final Object value;
+
+  LiteralOperator(ArrowType type, Object value) {
+    super(type);
+    this.value = value;
+  }
+
+  Object getValue() {
+    return value;
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) {
+    final int rowCount = context.getRowCount();
+    final FieldVector vector = context.newVector(getType());
+    vector.setInitialCapacity(rowCount);
+    vector.allocateNew();
+    if (value != null && rowCount > 0) {
+      if (vector instanceof BaseVariableWidthVector) {
+        final byte[] bytes = (byte[]) value;
+        final BaseVariableWidthVector variableWidthVector = (BaseVariableWidthVector) vector;
+        for (int i = 0; i < rowCount; i++) {
+          variableWidthVector.setSafe(i, bytes, 0, bytes.length);
+        }
+      } else if (vector instanceof BitVector) {
+        if ((Boolean) value) {
+          Bitmaps.fill(vector.getDataBuffer(), rowCount);
+        }
+        Bitmaps.fill(vector.getValidityBuffer(), rowCount);
+      } else {
+        setFirst((BaseFixedWidthVector) vector);
+        replicateFirst((BaseFixedWidthVector) vector, rowCount);
+        Bitmaps.fill(vector.getValidityBuffer(), rowCount);
+      }
+    }
+    vector.setValueCount(rowCount);
+    return vector;
+  }
+
+  private void setFirst(BaseFixedWidthVector vector) {
+    if (vector instanceof IntVector) {
+      ((IntVector) vector).set(0, (Integer) value);
+    } else if (vector instanceof BigIntVector) {
+      ((BigIntVector) vector).set(0, (Long) value);
+    } else if (vector instanceof Float4Vector) {
+      ((Float4Vector) vector).set(0, (Float) value);
+    } else if (vector instanceof Float8Vector) {
+      ((Float8Vector) vector).set(0, (Double) value);
+    } else if (vector instanceof DecimalVector) {
+      ((DecimalVector) vector).set(0, (BigDecimal) value);
+    } else {
+      throw new UnsupportedOperationException("Unsupported literal type " + getType());
+    }
+  }
+
+  /**
+   * Copies the first value to the other rows, doubling the number of copied values at each step.
+   */
+  private static void replicateFirst(BaseFixedWidthVector vector, int rowCount) {
+    final long width = vector.getTypeWidth();
+    final ArrowBuf data = vector.getDataBuffer();
+    int copied = 1;
+    while (copied < rowCount) {
+      final int count = Math.min(copied, rowCount - copied);
+      data.setBytes(copied * width, data, 0, count * width);
+      copied += count;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import java.util.List;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Evaluates a conjunction or a disjunction of boolean operands, with the three-valued logic of SQL.
+ *
+ * <p>The operands are evaluated in order, a word of bits at a time. The rows decided by an operand,
+ * false for a conjunction and true for a disjunction, are not active for the following operands,
+ * as if the operands were evaluated with short-circuits.
+ */
+class LogicalOperator extends Operator {
+
+  private final boolean conjunction;
+
+  private final List<Operator> operands;
+
+  LogicalOperator(boolean conjunction, List<Operator> operands) {
+    super(ArrowType.Bool.INSTANCE);
+    this.conjunction = conjunction;
+    this.operands = operands;
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) throws GandivaException {
+    final int rowCount = context.getRowCount();
+    // the rows where an operand is false for a conjunction, or true for a disjunction
+    final ArrowBuf decided = context.newBitmap();
+    // the rows where all the operands are true for a conjunction, or false for a disjunction
+    final ArrowBuf undecided = context.newBitmap();
+    Bitmaps.fill(undecided, rowCount);
+    final ArrowBuf scratch = context.newBitmap();
+
+    final ArrowBuf activeRows = context.getActiveRows();
+    try {
+      for (Operator operand : operands) {
+        final ArrowBuf operandRows = context.newBitmap();
+        Bitmaps.not(decided, operandRows, rowCount);
+        Bitmaps.retainActive(context, operandRows);
+        context.setActiveRows(operandRows);
+        final FieldVector values = operand.evaluate(context);
+        context.setActiveRows(activeRows);
+
+        final ArrowBuf validity = values.getValidityBuffer();
+        final ArrowBuf data = values.getDataBuffer();
+        if (conjunction) {
+          Bitmaps.andNot(validity, data, scratch, rowCount);
+          Bitmaps.and(undecided, data, undecided, rowCount);
+        } else {
+          Bitmaps.and(validity, data, scratch, rowCount);
+          Bitmaps.andNot(undecided, data, undecided, rowCount);
+        }
+        Bitmaps.or(decided, scratch, decided, rowCount);
+        Bitmaps.and(undecided, validity, undecided, rowCount);
+      }
+    } finally {
+      context.setActiveRows(activeRows);
+    }
+
+    final BitVector result = (BitVector) context.newVector(getType());
+    result.allocateNew(rowCount);
+    Bitmaps.or(decided, undecided, result.getValidityBuffer(), rowCount);
+    Bitmaps.copy(conjunction ? undecided : decided, result.getDataBuffer(), rowCount);
+    result.setValueCount(rowCount);
+    return result;
+  }
+}
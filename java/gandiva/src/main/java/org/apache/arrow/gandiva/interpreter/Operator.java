@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * A node of a compiled expression, evaluated a batch at a time.
+ * Operators are created by {@link ExpressionCompiler}, and are stateless, so they can be evaluated
+ * concurrently on different {@link EvaluationContext}s.
+ */
+public abstract class Operator {
+
+  private final ArrowType type;
+
+  protected Operator(ArrowType type) {
+    this.type = type;
+  }
+
+  /**
+   * Gets the type of the values produced by this operator.
+   */
+  public ArrowType getType() {
+    return type;
+  }
+
+  /**
+   * Evaluates this operator on all the rows of a batch.
+   * @param context the batch to evaluate.
+   * @return a vector with a value for each row of the batch. It is owned by the context, and must not be
+   *     closed by the caller.
+   */
+  public abstract FieldVector evaluate(EvaluationContext context) throws GandivaException;
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Evaluates the functions isnull and isnotnull on any operand, and not on a boolean operand,
+ * a word of bits at a time.
+ */
+class PredicateOperator extends Operator {
+
+  /**
+   * The predicate functions.
+   */
+  enum Function {
+    IS_NULL, IS_NOT_NULL, NOT
+  }
+
+  private final Function function;
+
+  private final Operator input;
+
+  private PredicateOperator(Function function, Operator input) {
+    super(ArrowType.Bool.INSTANCE);
+    this.function = function;
+    this.input = input;
+  }
+
+  /**
+   * Creates a predicate operator, if the type of the operand is supported.
+   * @return the operator, or null if the type is not supported.
+   */
+  static PredicateOperator create(Function function, Operator input) {
+    if (function == Function.NOT && !(input.getType() instanceof ArrowType.Bool)) {
+      return null;
+    }
+    return new PredicateOperator(function, input);
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) throws GandivaException {
+    final FieldVector values = input.evaluate(context);
+    final int rowCount = values.getValueCount();
+    final BitVector result = (BitVector) context.newVector(getType());
+    result.allocateNew(rowCount);
+    switch (function) {
+      case IS_NULL:
+        Bitmaps.fill(result.getValidityBuffer(), rowCount);
+        Bitmaps.not(values.getValidityBuffer(), result.getDataBuffer(), rowCount);
+        break;
+      case IS_NOT_NULL:
+        Bitmaps.fill(result.getValidityBuffer(), rowCount);
+        Bitmaps.copy(values.getValidityBuffer(), result.getDataBuffer(), rowCount);
+        break;
+      default:
+        Bitmaps.copy(values.getValidityBuffer(), result.getValidityBuffer(), rowCount);
+        Bitmaps.not(values.getDataBuffer(), result.getDataBuffer(), rowCount);
+        break;
+    }
+    result.setValueCount(rowCount);
+    return result;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.interpreter;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.algorithm.kernel.StringKernels;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+/**
+ * Evaluates the string functions upper, lower, char_length, like, starts_with, ends_with and substr
+ * on a utf8 operand, with the {@link StringKernels}. The other arguments must be constants.
+ */
+class StringOperator extends Operator {
+
+  /**
+   * The string functions.
+   */
+  enum Function {
+    UPPER, LOWER, CHAR_LENGTH, LIKE, STARTS_WITH, ENDS_WITH, SUBSTR
+  }
+
+  private final Function function;
+
+  private final Operator input;
+
+  /**
+   * The pattern, prefix or suffix, for the functions with a string argument.
+   */
+  private final String argument;
+
+  /**
+   * The start of the substring, from 0.
+   */
+  private final long start;
+
+  /**
+   * The maximum length of the substring.
+   */
+  private final long length;
+
+  private StringOperator(Function function, Operator input, ArrowType returnType, String argument,
+      long start, long length) {
+    super(returnType);
+    this.function = function;
+    this.input = input;
+    this.argument = argument;
+    this.start = start;
+    this.length = length;
+  }
+
+  /**
+   * Creates a string operator, if the types of the arguments are supported.
+   * @param function the function.
+   * @param input the string operand.
+   * @param arguments the other arguments.
+   * @return the operator, or null if the arguments are not supported.
+   */
+  static StringOperator create(Function function, Operator input, Operator... arguments) {
+    if (!(input.getType() instanceof ArrowType.Utf8)) {
+      return null;
+    }
+    switch (function) {
+      case UPPER:
+      case LOWER:
+        return arguments.length == 0 ?
+            new StringOperator(function, input, input.getType(), null, 0, 0) : null;
+      case CHAR_LENGTH:
+        return arguments.length == 0 ?
+            new StringOperator(function, input, new ArrowType.Int(32, true), null, 0, 0) : null;
+      case LIKE:
+      case STARTS_WITH:
+      case ENDS_WITH:
+        if (arguments.length != 1 || !(arguments[0].getType() instanceof ArrowType.Utf8)) {
+          return null;
+        }
+        final Object pattern = getConstant(arguments[0]);
+        return pattern == null ? null : new StringOperator(function, input, ArrowType.Bool.INSTANCE,
+            new String((byte[]) pattern, StandardCharsets.UTF_8), 0, 0);
+      default:
+        return createSubstring(input, arguments);
+    }
+  }
+
+  /**
+   * Creates the substr function, with a position from 1 and an optional length.
+   * Positions from the end of the string, which are negative, are not supported.
+   */
+  private static StringOperator createSubstring(Operator input, Operator... arguments) {
+    if (arguments.length < 1 || arguments.length > 2) {
+      return null;
+    }
+    final Object position = getConstant(arguments[0]);
+    final Object length = arguments.length == 2 ? getConstant(arguments[1]) : Long.valueOf(Integer.MAX_VALUE);
+    if (!(position instanceof Long) || !(length instanceof Long) || (Long) position < 0) {
+      return null;
+    }
+    final long start = Math.max((Long) position - 1, 0);
+    return new StringOperator(Function.SUBSTR, input, input.getType(), null, start, Math.max((Long) length, 0));
+  }
+
+  private static Object getConstant(Operator operator) {
+    return operator instanceof LiteralOperator ? ((LiteralOperator) operator).getValue() : null;
+  }
+
+  @Override
+  public FieldVector evaluate(EvaluationContext context) throws GandivaException {
+    final VarCharVector values = (VarCharVector) input.evaluate(context);
+    final FieldVector result = context.newVector(getType());
+    switch (function) {
+      case UPPER:
+        StringKernels.upper(values, (VarCharVector) result);
+        break;
+      case LOWER:
+        StringKernels.lower(values, (VarCharVector) result);
+        break;
+      case CHAR_LENGTH:
+        StringKernels.length(values, (IntVector) result);
+        break;
+      case LIKE:
+        StringKernels.like(values, argument, (BitVector) result);
+        break;
+      case STARTS_WITH:
+        StringKernels.startsWith(values, argument, (BitVector) result);
+        break;
+      case ENDS_WITH:
+        StringKernels.endsWith(values, argument, (BitVector) result);
+        break;
+      default:
+        StringKernels.substring(values, start, length, (VarCharVector) result);
+        break;
+    }
+    return result;
+  }
+}
@@ -24,9 +24,11 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.arrow.gandiva.codegen.CodeGenerator;
 import org.apache.arrow.gandiva.exceptions.GandivaException;
 import org.apache.arrow.gandiva.expression.Condition;
 import org.apache.arrow.gandiva.expression.ExpressionTree;
+import org.apache.arrow.gandiva.ipc.GandivaTypes.SelectionVectorType;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
@@ -51,16 +53,32 @@ class BaseEvaluatorTest {
     long getElapsedMillis();
   }
 
+  /**
+   * The evaluate method of {@link Projector} or {@link JavaProjector}.
+   */
+  interface ProjectFunction {
+
+    void evaluate(ArrowRecordBatch recordBatch, List<ValueVector> outColumns) throws GandivaException;
+  }
+
+  /**
+   * The evaluate method of {@link Filter} or {@link JavaFilter}.
+   */
+  interface FilterFunction {
+
+    void evaluate(ArrowRecordBatch recordBatch, SelectionVector selectionVector) throws GandivaException;
+  }
+
   class ProjectEvaluator implements BaseEvaluator {
 
-    private Projector projector;
+    private ProjectFunction projector;
     private DataAndVectorGenerator generator;
     private int numExprs;
     private int maxRowsInBatch;
     private long elapsedTime = 0;
     private List<ValueVector> outputVectors = new ArrayList<>();
 
-    public ProjectEvaluator(Projector projector,
+    public ProjectEvaluator(ProjectFunction projector,
                             DataAndVectorGenerator generator,
                             int numExprs,
                             int maxRowsInBatch) {
@@ -101,10 +119,10 @@ class BaseEvaluatorTest {
 
   class FilterEvaluator implements BaseEvaluator {
 
-    private Filter filter;
+    private FilterFunction filter;
     private long elapsedTime = 0;
 
-    public FilterEvaluator(Filter filter) {
+    public FilterEvaluator(FilterFunction filter) {
       this.filter = filter;
     }
 
@@ -365,7 +383,7 @@ class BaseEvaluatorTest {
     Projector projector = Projector.make(schema, exprs);
     try {
       ProjectEvaluator evaluator =
-          new ProjectEvaluator(projector, generator, exprs.size(), maxRowsInBatch);
+          new ProjectEvaluator(projector::evaluate, generator, exprs.size(), maxRowsInBatch);
       generateDataAndEvaluate(generator, evaluator,
           schema.getFields().size(), numRows, maxRowsInBatch, inputFieldSize);
       return evaluator.getElapsedMillis();
@@ -382,7 +400,58 @@ class BaseEvaluatorTest {
 
     Filter filter = Filter.make(schema, condition);
     try {
-      FilterEvaluator evaluator = new FilterEvaluator(filter);
+      FilterEvaluator evaluator = new FilterEvaluator(filter::evaluate);
+      generateDataAndEvaluate(generator, evaluator,
+          schema.getFields().size(), numRows, maxRowsInBatch, inputFieldSize);
+      return evaluator.getElapsedMillis();
+    } finally {
+      filter.close();
+    }
+  }
+
+  long timedJavaProject(DataAndVectorGenerator generator,
+      Schema schema, List<ExpressionTree> exprs,
+      int numRows, int maxRowsInBatch,
+      int inputFieldSize)
+      throws GandivaException, Exception {
+    return timedJavaProject(generator, schema, exprs, numRows, maxRowsInBatch, inputFieldSize,
+        CodeGenerator.getDefault());
+  }
+
+  long timedJavaProject(DataAndVectorGenerator generator,
+      Schema schema, List<ExpressionTree> exprs,
+      int numRows, int maxRowsInBatch,
+      int inputFieldSize, CodeGenerator codeGenerator)
+      throws GandivaException, Exception {
+    JavaProjector projector = JavaProjector.make(schema, exprs, SelectionVectorType.SV_NONE, codeGenerator);
+    try {
+      ProjectEvaluator evaluator =
+          new ProjectEvaluator(projector::evaluate, generator, exprs.size(), maxRowsInBatch);
+      generateDataAndEvaluate(generator, evaluator,
+          schema.getFields().size(), numRows, maxRowsInBatch, inputFieldSize);
+      return evaluator.getElapsedMillis();
+    } finally {
+      projector.close();
+    }
+  }
+
+  long timedJavaFilter(DataAndVectorGenerator generator,
+      Schema schema, Condition condition,
+      int numRows, int maxRowsInBatch,
+      int inputFieldSize)
+      throws GandivaException, Exception {
+    return timedJavaFilter(generator, schema, condition, numRows, maxRowsInBatch, inputFieldSize,
+        CodeGenerator.getDefault());
+  }
+
+  long timedJavaFilter(DataAndVectorGenerator generator,
+      Schema schema, Condition condition,
+      int numRows, int maxRowsInBatch,
+      int inputFieldSize, CodeGenerator codeGenerator)
+      throws GandivaException, Exception {
+    JavaFilter filter = JavaFilter.make(schema, condition, codeGenerator);
+    try {
+      FilterEvaluator evaluator = new FilterEvaluator(filter::evaluate);
       generateDataAndEvaluate(generator, evaluator,
           schema.getFields().size(), numRows, maxRowsInBatch, inputFieldSize);
       return evaluator.getElapsedMillis();
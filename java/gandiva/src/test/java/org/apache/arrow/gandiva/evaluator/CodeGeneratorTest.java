@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.gandiva.evaluator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.gandiva.codegen.CodeGenerator;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.expression.Condition;
+import org.apache.arrow.gandiva.expression.ExpressionTree;
+import org.apache.arrow.gandiva.expression.TreeBuilder;
+import org.apache.arrow.gandiva.expression.TreeNode;
+import org.apache.arrow.gandiva.ipc.GandivaTypes.SelectionVectorType;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Test cases for {@link CodeGenerator}, comparing the results of the generated evaluators with those of
+ * the interpreter.
+ */
+public class CodeGeneratorTest extends BaseEvaluatorTest {
+
+  private static final int NUM_ROWS = 20;
+
+  private final Field a = Field.nullable("a", new ArrowType.Int(32, true));
+  private final Field b = Field.nullable("b", new ArrowType.Int(64, true));
+  private final Field c = Field.nullable("c", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE));
+  private final Field flag = Field.nullable("flag", ArrowType.Bool.INSTANCE);
+  private final Schema schema = new Schema(Lists.newArrayList(a, b, c, flag));
+
+  @Before
+  public void checkCompiler() {
+    Assume.assumeTrue(CodeGenerator.getDefault().isAvailable());
+  }
+
+  private byte[] validity(int... nullRows) {
+    byte[] bitmap = new byte[(NUM_ROWS + 7) / 8];
+    for (int i = 0; i < NUM_ROWS; i++) {
+      bitmap[i / 8] |= 1 << (i % 8);
+    }
+    for (int row : nullRows) {
+      bitmap[row / 8] &= ~(1 << (row % 8));
+    }
+    return bitmap;
+  }
+
+  private ArrowRecordBatch makeBatch() {
+    int[] aValues = new int[NUM_ROWS];
+    long[] bValues = new long[NUM_ROWS];
+    double[] cValues = new double[NUM_ROWS];
+    byte[] flagValues = new byte[(NUM_ROWS + 7) / 8];
+    for (int i = 0; i < NUM_ROWS; i++) {
+      aValues[i] = i - 10;
+      bValues[i] = i * 3L - 20;
+      cValues[i] = i * 0.1;
+      if (i % 3 == 0) {
+        flagValues[i / 8] |= 1 << (i % 8);
+      }
+    }
+    List<ArrowFieldNode> fieldNodes = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      fieldNodes.add(new ArrowFieldNode(NUM_ROWS, 0));
+    }
+    return new ArrowRecordBatch(NUM_ROWS, fieldNodes, Lists.newArrayList(
+        buf(validity(3, 17)), intBuf(aValues),
+        buf(validity(5)), longBuf(bValues),
+        buf(validity(8)), doubleBuf(cValues),
+        buf(validity(12)), buf(flagValues)));
+  }
+
+  private List<ValueVector> project(CodeGenerator generator, List<TreeNode> nodes, List<Field> resultFields,
+      int... selection) throws GandivaException {
+    List<ExpressionTree> exprs = new ArrayList<>();
+    List<ValueVector> output = new ArrayList<>();
+    for (int i = 0; i < nodes.size(); i++) {
+      exprs.add(TreeBuilder.makeExpression(nodes.get(i), resultFields.get(i)));
+      output.add(resultFields.get(i).createVector(allocator));
+    }
+    JavaProjector projector = JavaProjector.make(schema, exprs,
+        selection.length == 0 ? SelectionVectorType.SV_NONE : SelectionVectorType.SV_INT16, generator);
+    ArrowRecordBatch batch = makeBatch();
+    ArrowBuf selectionBuffer = buf(NUM_ROWS * 2);
+    boolean success = false;
+    try {
+      if (selection.length == 0) {
+        projector.evaluate(batch, output);
+      } else {
+        for (int i = 0; i < selection.length; i++) {
+          selectionBuffer.setShort(i * 2, selection[i]);
+        }
+        SelectionVectorInt16 selectionVector = new SelectionVectorInt16(selectionBuffer);
+        selectionVector.setRecordCount(selection.length);
+        projector.evaluate(batch, selectionVector, output);
+      }
+      success = true;
+      return output;
+    } finally {
+      if (!success) {
+        releaseValueVectors(output);
+      }
+      selectionBuffer.close();
+      releaseRecordBatch(batch);
+      projector.close();
+    }
+  }
+
+  private int[] filter(CodeGenerator generator, Condition condition, boolean int32Selection)
+      throws GandivaException {
+    JavaFilter filter = JavaFilter.make(schema, condition, generator);
+    ArrowRecordBatch batch = makeBatch();
+    ArrowBuf selectionBuffer = buf(NUM_ROWS * 4);
+    SelectionVector selectionVector = int32Selection ?
+        new SelectionVectorInt32(selectionBuffer) : new SelectionVectorInt16(selectionBuffer);
+    try {
+      filter.evaluate(batch, selectionVector);
+      int[] selected = new int[selectionVector.getRecordCount()];
+      for (int i = 0; i < selected.length; i++) {
+        selected[i] = selectionVector.getIndex(i);
+      }
+      return selected;
+    } finally {
+      selectionBuffer.close();
+      releaseRecordBatch(batch);
+      filter.close();
+    }
+  }
+
+  private void assertSameResults(List<TreeNode> nodes, List<Field> resultFields, int... selection)
+      throws GandivaException {
+    CodeGenerator generator = new CodeGenerator(CodeGenerator.DEFAULT_CACHE_CAPACITY);
+    List<ValueVector> generated = project(generator, nodes, resultFields, selection);
+    List<ValueVector> interpreted = project(null, nodes, resultFields, selection);
+    try {
+      assertEquals(nodes.size(), generator.getCompiledClassCount());
+      for (int i = 0; i < nodes.size(); i++) {
+        ValueVector expected = interpreted.get(i);
+        ValueVector actual = generated.get(i);
+        assertEquals(expected.getValueCount(), actual.getValueCount());
+        for (int row = 0; row < expected.getValueCount(); row++) {
+          assertEquals("expression " + i + " row " + row, expected.getObject(row), actual.getObject(row));
+        }
+      }
+    } finally {
+      releaseValueVectors(generated);
+      releaseValueVectors(interpreted);
+    }
+  }
+
+  private List<TreeNode> expressions() {
+    TreeNode aNode = TreeBuilder.makeField(a);
+    TreeNode bNode = TreeBuilder.makeField(b);
+    TreeNode cNode = TreeBuilder.makeField(c);
+    TreeNode flagNode = TreeBuilder.makeField(flag);
+    TreeNode aAsLong = TreeBuilder.makeFunction("castBIGINT", Lists.newArrayList(aNode), int64);
+
+    // if (a < 5) then a * b else b / a, where a is zero in the then branch only
+    TreeNode ifNode = TreeBuilder.makeIf(
+        TreeBuilder.makeFunction("less_than", Lists.newArrayList(aNode, TreeBuilder.makeLiteral(5)), boolType),
+        TreeBuilder.makeFunction("multiply", Lists.newArrayList(aAsLong, bNode), int64),
+        TreeBuilder.makeFunction("divide", Lists.newArrayList(bNode, aAsLong), int64),
+        int64);
+    // (flag and c > 0.5) or isnull(a)
+    TreeNode orNode = TreeBuilder.makeOr(Lists.newArrayList(
+        TreeBuilder.makeAnd(Lists.newArrayList(flagNode,
+            TreeBuilder.makeFunction("greater_than", Lists.newArrayList(cNode, TreeBuilder.makeLiteral(0.5)),
+                boolType))),
+        TreeBuilder.makeFunction("isnull", Lists.newArrayList(aNode), boolType)));
+    // a in (3, 1, -4, 2)
+    TreeNode inNode = TreeBuilder.makeInExpressionInt32(aNode, Sets.newHashSet(3, 1, -4, 2));
+    // castFLOAT8(b) + c
+    TreeNode addNode = TreeBuilder.makeFunction("add", Lists.newArrayList(
+        TreeBuilder.makeFunction("castFLOAT8", Lists.newArrayList(bNode), float64), cNode), float64);
+    // a % 3
+    TreeNode modNode = TreeBuilder.makeFunction("mod", Lists.newArrayList(aNode, TreeBuilder.makeLiteral(3)),
+        int32);
+    return Lists.newArrayList(ifNode, orNode, inNode, addNode, modNode);
+  }
+
+  private List<Field> resultFields() {
+    return Lists.newArrayList(
+        Field.nullable("if", int64),
+        Field.nullable("or", boolType),
+        Field.nullable("in", boolType),
+        Field.nullable("add", float64),
+        Field.nullable("mod", int32));
+  }
+
+  @Test
+  public void testProjectionMatchesInterpreter() throws GandivaException {
+    assertSameResults(expressions(), resultFields());
+  }
+
+  @Test
+  public void testProjectionWithSelectionVector() throws GandivaException {
+    assertSameResults(expressions(), resultFields(), 0, 3, 8, 10, 12, 19);
+  }
+
+  @Test
+  public void testFilterMatchesInterpreter() throws GandivaException {
+    // b > -5 and not(flag)
+    TreeNode condition = TreeBuilder.makeAnd(Lists.newArrayList(
+        TreeBuilder.makeFunction("greater_than", Lists.newArrayList(TreeBuilder.makeField(b),
+            TreeBuilder.makeLiteral(-5L)), boolType),
+        TreeBuilder.makeFunction("not", Lists.newArrayList(TreeBuilder.makeField(flag)), boolType)));
+
+    CodeGenerator generator = new CodeGenerator(CodeGenerator.DEFAULT_CACHE_CAPACITY);
+    int[] expected = filter(null, TreeBuilder.makeCondition(condition), false);
+    assertArrayEquals(new int[] {7, 8, 10, 11, 13, 14, 16, 17, 19}, expected);
+    assertArrayEquals(expected, filter(generator, TreeBuilder.makeCondition(condition), false));
+    assertArrayEquals(expected, filter(generator, TreeBuilder.makeCondition(condition), true));
+    assertEquals(1, generator.getCompiledClassCount());
+  }
+
+  @Test
+  public void testDivideByZero() throws GandivaException {
+    TreeNode divide = TreeBuilder.makeFunction("divide", Lists.newArrayList(
+        TreeBuilder.makeField(b), TreeBuilder.makeFunction("castBIGINT",
+            Lists.newArrayList(TreeBuilder.makeField(a)), int64)), int64);
+    CodeGenerator generator = new CodeGenerator(CodeGenerator.DEFAULT_CACHE_CAPACITY);
+    try {
+      project(generator, Lists.newArrayList(divide), Lists.newArrayList(Field.nullable("divide", int64)));
+      fail("Expected a division by zero");
+    } catch (GandivaException e) {
+      assertEquals("divide by zero error", e.getMessage());
+    }
+    assertEquals(1, generator.getCompiledClassCount());
+  }
+
+  @Test
+  public void testCacheReusesClasses() throws GandivaException {
+    CodeGenerator generator = new CodeGenerator(2);
+    List<TreeNode> nodes = expressions();
+    List<Field> resultFields = resultFields();
+
+    releaseValueVectors(project(generator, nodes.subList(0, 1), resultFields.subList(0, 1)));
+    releaseValueVectors(project(generator, nodes.subList(0, 1), resultFields.subList(0, 1)));
+    assertEquals(1, generator.getCompiledClassCount());
+    assertEquals(1, generator.getCacheSize());
+
+    // the same expression with other selection vectors, and an equal schema
+    releaseValueVectors(project(generator, expressions().subList(0, 1), resultFields().subList(0, 1), 1, 2));
+    assertEquals(1, generator.getCompiledClassCount());
+
+    // the least recently used class is evicted
+    releaseValueVectors(project(generator, nodes.subList(1, 3), resultFields.subList(1, 3)));
+    assertEquals(3, generator.getCompiledClassCount());
+    assertEquals(2, generator.getCacheSize());
+    releaseValueVectors(project(generator, nodes.subList(0, 1), resultFields.subList(0, 1)));
+    assertEquals(4, generator.getCompiledClassCount());
+  }
+
+  @Test
+  public void testUnsupportedExpressionIsInterpreted() throws GandivaException {
+    Field s = Field.nullable("s", new ArrowType.Utf8());
+    Schema stringSchema = new Schema(Lists.newArrayList(s));
+    TreeNode isNull = TreeBuilder.makeFunction("isnull", Lists.newArrayList(TreeBuilder.makeField(s)), boolType);
+
+    CodeGenerator generator = new CodeGenerator(CodeGenerator.DEFAULT_CACHE_CAPACITY);
+    JavaProjector projector = JavaProjector.make(stringSchema,
+        Lists.newArrayList(TreeBuilder.makeExpression(isNull, Field.nullable("isnull", boolType))),
+        SelectionVectorType.SV_NONE, generator);
+    assertEquals(0, generator.getCompiledClassCount());
+
+    ArrowBuf offsets = intBuf(new int[] {0, 1, 1});
+    ArrowBuf data = buf("a".getBytes(StandardCharsets.UTF_8));
+    ArrowRecordBatch batch = new ArrowRecordBatch(2, Lists.newArrayList(new ArrowFieldNode(2, 1)),
+        Lists.newArrayList(buf(new byte[] {1}), offsets, data));
+    BitVector bitVector = new BitVector(EMPTY_SCHEMA_PATH, allocator);
+    List<ValueVector> output = Lists.newArrayList(bitVector);
+    projector.evaluate(batch, output);
+
+    assertFalse(bitVector.getObject(0));
+    assertTrue(bitVector.getObject(1));
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    projector.close();
+  }
+
+  @Test
+  public void testFailureIsCached() throws GandivaException {
+    Field s = Field.nullable("s", new ArrowType.Utf8());
+    Schema stringSchema = new Schema(Lists.newArrayList(s));
+    TreeNode isNull = TreeBuilder.makeFunction("isnull", Lists.newArrayList(TreeBuilder.makeField(s)), boolType);
+    ExpressionTree expression = TreeBuilder.makeExpression(isNull, Field.nullable("isnull", boolType));
+
+    CodeGenerator generator = new CodeGenerator(CodeGenerator.DEFAULT_CACHE_CAPACITY);
+    GandivaException failure = null;
+    for (int i = 0; i < 2; i++) {
+      try {
+        generator.generate(stringSchema, expression.toProtobuf());
+        fail("expected the generation to fail");
+      } catch (GandivaException e) {
+        if (failure != null) {
+          assertEquals(failure.getMessage(), e.getMessage());
+        }
+        failure = e;
+      }
+      // the failure is cached with the expression
+      assertEquals(1, generator.getCacheSize());
+    }
+
+    // and the projector still falls back to the interpreter
+    JavaProjector projector = JavaProjector.make(stringSchema, Lists.newArrayList(expression),
+        SelectionVectorType.SV_NONE, generator);
+    assertEquals(1, generator.getCacheSize());
+    assertEquals(0, generator.getCompiledClassCount());
+    projector.close();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.evaluator;
+
+import java.util.List;
+
+import org.apache.arrow.gandiva.codegen.CodeGenerator;
+import org.apache.arrow.gandiva.expression.Condition;
+import org.apache.arrow.gandiva.expression.ExpressionTree;
+import org.apache.arrow.gandiva.expression.TreeBuilder;
+import org.apache.arrow.gandiva.expression.TreeNode;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Compares the time taken by the native evaluators, {@link Projector} and {@link Filter}, with that of the
+ * Java evaluators, {@link JavaProjector} and {@link JavaFilter}, on the expressions of {@link MicroBenchmarkTest}.
+ * The Java evaluators are timed both with the interpreter, and with the classes generated by a
+ * {@link CodeGenerator}.
+ */
+@Ignore
+public class JavaEvaluatorBenchmarkTest extends BaseEvaluatorTest {
+
+  private static final int NUM_ROWS = 1 * MILLION;
+
+  private static final int MAX_ROWS_IN_BATCH = 16 * THOUSAND;
+
+  private void report(String name, long nativeMillis, long interpretedMillis, long generatedMillis) {
+    System.out.println("Time taken for " + name + " of 1m records is " + nativeMillis + "ms with the native " +
+        "evaluator, " + interpretedMillis + "ms with the Java interpreter, and " + generatedMillis +
+        "ms with the generated Java code");
+  }
+
+  @Test
+  public void testAdd3() throws Exception {
+    Field x = Field.nullable("x", int32);
+    Field n2x = Field.nullable("n2x", int32);
+    Field n3x = Field.nullable("n3x", int32);
+
+    // x + n2x + n3x
+    TreeNode add1 = TreeBuilder.makeFunction(
+        "add", Lists.newArrayList(TreeBuilder.makeField(x), TreeBuilder.makeField(n2x)), int32);
+    TreeNode add = TreeBuilder.makeFunction("add", Lists.newArrayList(add1, TreeBuilder.makeField(n3x)), int32);
+    List<ExpressionTree> exprs = Lists.newArrayList(TreeBuilder.makeExpression(add, x));
+    Schema schema = new Schema(Lists.newArrayList(x, n2x, n3x));
+
+    long nativeMillis = timedProject(new Int32DataAndVectorGenerator(allocator), schema, exprs,
+        NUM_ROWS, MAX_ROWS_IN_BATCH, 4);
+    long interpretedMillis = timedJavaProject(new Int32DataAndVectorGenerator(allocator), schema, exprs,
+        NUM_ROWS, MAX_ROWS_IN_BATCH, 4, null);
+    long generatedMillis = timedJavaProject(new Int32DataAndVectorGenerator(allocator), schema, exprs,
+        NUM_ROWS, MAX_ROWS_IN_BATCH, 4, CodeGenerator.getDefault());
+    report("projecting add3", nativeMillis, interpretedMillis, generatedMillis);
+  }
+
+  @Test
+  public void testIf() throws Exception {
+    Field x = Field.nullable("x", int32);
+    TreeNode xNode = TreeBuilder.makeField(x);
+
+    // when x < 10 then 0 when x < 20 then 1 ... when x < 200 then 19 else 20
+    int returnValue = 20;
+    TreeNode topNode = TreeBuilder.makeLiteral(returnValue);
+    int compareWith = 200;
+    while (compareWith >= 10) {
+      TreeNode condNode = TreeBuilder.makeFunction("less_than",
+          Lists.newArrayList(xNode, TreeBuilder.makeLiteral(compareWith)), boolType);
+      topNode = TreeBuilder.makeIf(condNode, TreeBuilder.makeLiteral(returnValue), topNode, int32);
+      compareWith -= 10;
+      returnValue--;
+    }
+    List<ExpressionTree> exprs = Lists.newArrayList(TreeBuilder.makeExpression(topNode, x));
+    Schema schema = new Schema(Lists.newArrayList(x));
+
+    long nativeMillis = timedProject(new BoundedInt32DataAndVectorGenerator(allocator, 250), schema, exprs,
+        NUM_ROWS, MAX_ROWS_IN_BATCH, 4);
+    long interpretedMillis = timedJavaProject(new BoundedInt32DataAndVectorGenerator(allocator, 250), schema,
+        exprs, NUM_ROWS, MAX_ROWS_IN_BATCH, 4, null);
+    long generatedMillis = timedJavaProject(new BoundedInt32DataAndVectorGenerator(allocator, 250), schema,
+        exprs, NUM_ROWS, MAX_ROWS_IN_BATCH, 4, CodeGenerator.getDefault());
+    report("projecting nestedIf", nativeMillis, interpretedMillis, generatedMillis);
+  }
+
+  @Test
+  public void testFilterAdd2() throws Exception {
+    Field x = Field.nullable("x", int32);
+    Field n2x = Field.nullable("n2x", int32);
+    Field n3x = Field.nullable("n3x", int32);
+
+    // x + n2x < n3x
+    TreeNode add = TreeBuilder.makeFunction("add",
+        Lists.newArrayList(TreeBuilder.makeField(x), TreeBuilder.makeField(n2x)), int32);
+    TreeNode lessThan = TreeBuilder.makeFunction("less_than",
+        Lists.newArrayList(add, TreeBuilder.makeField(n3x)), boolType);
+    Condition condition = TreeBuilder.makeCondition(lessThan);
+    Schema schema = new Schema(Lists.newArrayList(x, n2x, n3x));
+
+    long nativeMillis = timedFilter(new Int32DataAndVectorGenerator(allocator), schema, condition,
+        NUM_ROWS, MAX_ROWS_IN_BATCH, 4);
+    long interpretedMillis = timedJavaFilter(new Int32DataAndVectorGenerator(allocator), schema, condition,
+        NUM_ROWS, MAX_ROWS_IN_BATCH, 4, null);
+    long generatedMillis = timedJavaFilter(new Int32DataAndVectorGenerator(allocator), schema, condition,
+        NUM_ROWS, MAX_ROWS_IN_BATCH, 4, CodeGenerator.getDefault());
+    report("filtering a+b<c", nativeMillis, interpretedMillis, generatedMillis);
+  }
+}
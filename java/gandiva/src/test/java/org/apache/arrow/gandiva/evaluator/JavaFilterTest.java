@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.evaluator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.expression.Condition;
+import org.apache.arrow.gandiva.expression.TreeBuilder;
+import org.apache.arrow.gandiva.expression.TreeNode;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Test cases for {@link JavaFilter}.
+ */
+public class JavaFilterTest extends BaseEvaluatorTest {
+
+  private int[] selectionVectorToArray(SelectionVector vector) {
+    int[] actual = new int[vector.getRecordCount()];
+    for (int i = 0; i < vector.getRecordCount(); ++i) {
+      actual[i] = vector.getIndex(i);
+    }
+    return actual;
+  }
+
+  private int[] filter(Condition condition, Schema schema, int numRows, boolean int32Selection,
+      ArrowBuf... buffers) throws GandivaException {
+    JavaFilter filter = JavaFilter.make(schema, condition);
+    ArrowFieldNode fieldNode = new ArrowFieldNode(numRows, 0);
+    ArrowRecordBatch batch = new ArrowRecordBatch(numRows, Lists.newArrayList(fieldNode, fieldNode),
+        Lists.newArrayList(buffers));
+    ArrowBuf selectionBuffer = buf(numRows * (int32Selection ? 4 : 2));
+    SelectionVector selectionVector = int32Selection ?
+        new SelectionVectorInt32(selectionBuffer) : new SelectionVectorInt16(selectionBuffer);
+    try {
+      filter.evaluate(batch, selectionVector);
+      return selectionVectorToArray(selectionVector);
+    } finally {
+      releaseRecordBatch(batch);
+      selectionBuffer.close();
+      filter.close();
+    }
+  }
+
+  @Test
+  public void testSimpleLessThan() throws GandivaException {
+    Field c1 = Field.nullable("c1", int32);
+    Field c2 = Field.nullable("c2", int32);
+    TreeNode lessThan = TreeBuilder.makeFunction("less_than",
+        Lists.newArrayList(TreeBuilder.makeField(c1), TreeBuilder.makeField(c2)), boolType);
+    Condition condition = TreeBuilder.makeCondition(lessThan);
+    Schema schema = new Schema(Lists.newArrayList(c1, c2));
+
+    int numRows = 16;
+    byte[] validity = new byte[] {(byte) 255, 0};
+    int[] values1 = new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+    int[] values2 = new int[] {11, 2, 13, 4, 15, 6, 17, 8, 19, 10, 21, 12, 23, 14, 25, 16};
+
+    int[] actual = filter(condition, schema, numRows, false,
+        buf(validity), intBuf(values1), buf(validity), intBuf(values2));
+    assertArrayEquals(new int[] {0, 2, 4, 6}, actual);
+  }
+
+  @Test
+  public void testAndAcrossWords() throws GandivaException {
+    Field x = Field.nullable("x", int32);
+    TreeNode xNode = TreeBuilder.makeField(x);
+    TreeNode greaterThan = TreeBuilder.makeFunction("greater_than",
+        Lists.newArrayList(xNode, TreeBuilder.makeLiteral(2)), boolType);
+    TreeNode lessThan = TreeBuilder.makeFunction("less_than",
+        Lists.newArrayList(xNode, TreeBuilder.makeLiteral(70)), boolType);
+    Condition condition = TreeBuilder.makeCondition(TreeBuilder.makeAnd(Lists.newArrayList(greaterThan, lessThan)));
+    Schema schema = new Schema(Lists.newArrayList(x));
+
+    int numRows = 100;
+    int[] values = IntStream.range(0, numRows).toArray();
+    int[] actual = filter(condition, schema, numRows, true, arrowBufWithAllValid(numRows), intBuf(values));
+    assertArrayEquals(IntStream.range(3, 70).toArray(), actual);
+  }
+
+  @Test
+  public void testInString() throws GandivaException {
+    Field c1 = Field.nullable("c1", new ArrowType.Utf8());
+    TreeNode substr = TreeBuilder.makeFunction("substr",
+        Lists.newArrayList(TreeBuilder.makeField(c1), TreeBuilder.makeLiteral(1L), TreeBuilder.makeLiteral(3L)),
+        new ArrowType.Utf8());
+    TreeNode inExpr = TreeBuilder.makeInExpressionString(substr, Sets.newHashSet("one", "two", "thr", "fou"));
+    Condition condition = TreeBuilder.makeCondition(inExpr);
+    Schema schema = new Schema(Lists.newArrayList(c1));
+
+    String[] values = new String[] {"one", "two", "three", "four", "five", "six", "seven", "eight"};
+    ArrowBuf offsets = buf((values.length + 1) * 4);
+    ArrowBuf data = buf(64);
+    int offset = 0;
+    for (int i = 0; i < values.length; i++) {
+      byte[] bytes = values[i].getBytes(StandardCharsets.UTF_8);
+      offsets.setInt(i * 4, offset);
+      data.setBytes(offset, bytes);
+      offset += bytes.length;
+    }
+    offsets.setInt(values.length * 4, offset);
+
+    int[] actual = filter(condition, schema, values.length, false,
+        buf(new byte[] {(byte) 0xF7}), offsets, data);
+    assertArrayEquals(new int[] {0, 1, 2}, actual);
+  }
+
+  @Test
+  public void testSelectionVectorTooSmall() throws GandivaException {
+    Field x = Field.nullable("x", int32);
+    TreeNode isNull = TreeBuilder.makeFunction("isnull", Lists.newArrayList(TreeBuilder.makeField(x)), boolType);
+    JavaFilter filter = JavaFilter.make(new Schema(Lists.newArrayList(x)), TreeBuilder.makeCondition(isNull));
+
+    int numRows = 8;
+    List<ArrowBuf> buffers = Lists.newArrayList(arrowBufWithAllValid(numRows), buf(numRows * 4));
+    ArrowBuf selectionBuffer = buf(numRows);
+    boolean caughtException = false;
+    try {
+      filter.evaluate(numRows, buffers, new SelectionVectorInt16(selectionBuffer));
+    } catch (GandivaException e) {
+      caughtException = true;
+    }
+    assertTrue(caughtException);
+    for (ArrowBuf buffer : buffers) {
+      buffer.close();
+    }
+    selectionBuffer.close();
+    filter.close();
+  }
+}
@@ -0,0 +1,451 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.gandiva.evaluator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.gandiva.exceptions.EvaluatorClosedException;
+import org.apache.arrow.gandiva.exceptions.GandivaException;
+import org.apache.arrow.gandiva.expression.ExpressionTree;
+import org.apache.arrow.gandiva.expression.TreeBuilder;
+import org.apache.arrow.gandiva.expression.TreeNode;
+import org.apache.arrow.gandiva.ipc.GandivaTypes.SelectionVectorType;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Test cases for {@link JavaProjector}.
+ */
+public class JavaProjectorTest extends BaseEvaluatorTest {
+
+  private ArrowRecordBatch makeBatch(int numRows, int numFields, ArrowBuf... buffers) {
+    List<ArrowFieldNode> fieldNodes = new ArrayList<>();
+    for (int i = 0; i < numFields; i++) {
+      fieldNodes.add(new ArrowFieldNode(numRows, 0));
+    }
+    return new ArrowRecordBatch(numRows, fieldNodes, Arrays.asList(buffers));
+  }
+
+  private ArrowBuf[] stringBufs(String[] strings) {
+    ArrowBuf offsetsBuffer = allocator.buffer((strings.length + 1) * 4);
+    byte[][] values = new byte[strings.length][];
+    int totalLength = 0;
+    for (int i = 0; i < strings.length; i++) {
+      values[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+      totalLength += values[i].length;
+    }
+    ArrowBuf dataBuffer = allocator.buffer(Math.max(totalLength, 1));
+
+    int startOffset = 0;
+    for (byte[] value : values) {
+      offsetsBuffer.writeInt(startOffset);
+      dataBuffer.setBytes(startOffset, value, 0, value.length);
+      startOffset += value.length;
+    }
+    offsetsBuffer.writeInt(startOffset);
+    return new ArrowBuf[] {offsetsBuffer, dataBuffer};
+  }
+
+  private TreeNode ifLongLessThanElse(TreeNode arg, long value, long thenValue, TreeNode elseNode) {
+    return TreeBuilder.makeIf(
+        TreeBuilder.makeFunction("less_than", Lists.newArrayList(arg, TreeBuilder.makeLiteral(value)), boolType),
+        TreeBuilder.makeLiteral(thenValue),
+        elseNode,
+        int64);
+  }
+
+  @Test
+  public void testAdd3() throws GandivaException {
+    Field x = Field.nullable("x", int32);
+    Field n2x = Field.nullable("n2x", int32);
+    Field n3x = Field.nullable("n3x", int32);
+
+    // x + n2x + n3x
+    TreeNode add1 = TreeBuilder.makeFunction(
+        "add", Lists.newArrayList(TreeBuilder.makeField(x), TreeBuilder.makeField(n2x)), int32);
+    TreeNode add = TreeBuilder.makeFunction("add", Lists.newArrayList(add1, TreeBuilder.makeField(n3x)), int32);
+    ExpressionTree expr = TreeBuilder.makeExpression(add, x);
+    Schema schema = new Schema(Lists.newArrayList(x, n2x, n3x));
+    JavaProjector eval = JavaProjector.make(schema, Lists.newArrayList(expr));
+
+    int numRows = 16;
+    byte[] validity = new byte[] {(byte) 255, 0};
+    int[] xValues = new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+    int[] n2xValues = new int[] {16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1};
+    int[] n3xValues = new int[] {1, 2, 3, 4, 4, 3, 2, 1, 5, 6, 7, 8, 8, 7, 6, 5};
+    int[] expected = new int[] {18, 19, 20, 21, 21, 20, 19, 18};
+
+    ArrowRecordBatch batch = makeBatch(numRows, 3,
+        buf(validity), intBuf(xValues), buf(validity), intBuf(n2xValues), buf(validity), intBuf(n3xValues));
+
+    IntVector intVector = new IntVector(EMPTY_SCHEMA_PATH, allocator);
+    intVector.allocateNew(numRows);
+    List<ValueVector> output = Lists.newArrayList(intVector);
+    eval.evaluate(batch, output);
+
+    assertEquals(numRows, intVector.getValueCount());
+    for (int i = 0; i < 8; i++) {
+      assertFalse(intVector.isNull(i));
+      assertEquals(expected[i], intVector.get(i));
+    }
+    for (int i = 8; i < 16; i++) {
+      assertTrue(intVector.isNull(i));
+    }
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    eval.close();
+  }
+
+  @Test
+  public void testCastAndMultiply() throws GandivaException {
+    Field x = Field.nullable("x", int32);
+
+    // castFLOAT8(x) * 2.5
+    TreeNode cast = TreeBuilder.makeFunction("castFLOAT8", Lists.newArrayList(TreeBuilder.makeField(x)), float64);
+    TreeNode multiply = TreeBuilder.makeFunction("multiply",
+        Lists.newArrayList(cast, TreeBuilder.makeLiteral(2.5)), float64);
+    ExpressionTree expr = TreeBuilder.makeExpression(multiply, Field.nullable("result", float64));
+    Schema schema = new Schema(Lists.newArrayList(x));
+    JavaProjector eval = JavaProjector.make(schema, Lists.newArrayList(expr));
+
+    int numRows = 4;
+    ArrowRecordBatch batch = makeBatch(numRows, 1, buf(new byte[] {(byte) 0x0B}), intBuf(new int[] {1, 2, 3, 4}));
+
+    Float8Vector float8Vector = new Float8Vector(EMPTY_SCHEMA_PATH, allocator);
+    float8Vector.allocateNew(numRows);
+    List<ValueVector> output = Lists.newArrayList(float8Vector);
+    eval.evaluate(batch, output);
+
+    assertEquals(2.5, float8Vector.get(0), 0);
+    assertEquals(5.0, float8Vector.get(1), 0);
+    assertTrue(float8Vector.isNull(2));
+    assertEquals(10.0, float8Vector.get(3), 0);
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    eval.close();
+  }
+
+  @Test
+  public void testDivideByZero() throws GandivaException {
+    Field x = Field.nullable("x", int64);
+    Field y = Field.nullable("y", int64);
+    TreeNode xNode = TreeBuilder.makeField(x);
+    TreeNode yNode = TreeBuilder.makeField(y);
+
+    // x / y, and if (y != 0) then x / y else 0
+    TreeNode divide = TreeBuilder.makeFunction("divide", Lists.newArrayList(xNode, yNode), int64);
+    TreeNode nonZero = TreeBuilder.makeFunction("not_equal",
+        Lists.newArrayList(yNode, TreeBuilder.makeLiteral(0L)), boolType);
+    TreeNode guarded = TreeBuilder.makeIf(nonZero, divide, TreeBuilder.makeLiteral(0L), int64);
+    Schema schema = new Schema(Lists.newArrayList(x, y));
+    JavaProjector unguardedEval = JavaProjector.make(schema,
+        Lists.newArrayList(TreeBuilder.makeExpression(divide, Field.nullable("result", int64))));
+    JavaProjector guardedEval = JavaProjector.make(schema,
+        Lists.newArrayList(TreeBuilder.makeExpression(guarded, Field.nullable("result", int64))));
+
+    int numRows = 4;
+    byte[] validity = new byte[] {(byte) 0x0F};
+    ArrowRecordBatch batch = makeBatch(numRows, 2,
+        buf(validity), longBuf(new long[] {10, 20, 30, 40}), buf(validity), longBuf(new long[] {2, 0, 3, -4}));
+
+    BigIntVector unguarded = new BigIntVector(EMPTY_SCHEMA_PATH, allocator);
+    BigIntVector bigIntVector = new BigIntVector(EMPTY_SCHEMA_PATH, allocator);
+    List<ValueVector> output = Lists.newArrayList(unguarded, bigIntVector);
+    boolean caughtException = false;
+    try {
+      unguardedEval.evaluate(batch, Lists.newArrayList(unguarded));
+    } catch (GandivaException e) {
+      caughtException = true;
+      assertTrue(e.getMessage().contains("divide by zero"));
+    }
+    assertTrue(caughtException);
+
+    guardedEval.evaluate(batch, Lists.newArrayList(bigIntVector));
+    long[] expected = new long[] {5, 0, 10, -10};
+    for (int i = 0; i < numRows; i++) {
+      assertFalse(bigIntVector.isNull(i));
+      assertEquals(expected[i], bigIntVector.get(i));
+    }
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    unguardedEval.close();
+    guardedEval.close();
+  }
+
+  @Test
+  public void testNestedIf() throws GandivaException {
+    Field x = Field.nullable("x", int64);
+    TreeNode xNode = TreeBuilder.makeField(x);
+
+    // when x < 10 then 0 when x < 20 then 1 ... when x < 100 then 9 else 10
+    TreeNode node = TreeBuilder.makeLiteral(10L);
+    for (long i = 9; i >= 0; i--) {
+      node = ifLongLessThanElse(xNode, (i + 1) * 10, i, node);
+    }
+    ExpressionTree expr = TreeBuilder.makeExpression(node, x);
+    Schema schema = new Schema(Lists.newArrayList(x));
+    JavaProjector eval = JavaProjector.make(schema, Lists.newArrayList(expr));
+
+    int numRows = 16;
+    long[] xValues = new long[] {9, 15, 21, 32, 43, 54, 65, 76, 87, 98, 109, 200, -10, 60, 77, 80};
+    long[] expected = new long[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 0, 6, 7, 8};
+    ArrowRecordBatch batch = makeBatch(numRows, 1, buf(new byte[] {(byte) 255, (byte) 255}), longBuf(xValues));
+
+    BigIntVector bigIntVector = new BigIntVector(EMPTY_SCHEMA_PATH, allocator);
+    bigIntVector.allocateNew(numRows);
+    List<ValueVector> output = Lists.newArrayList(bigIntVector);
+    eval.evaluate(batch, output);
+
+    for (int i = 0; i < numRows; i++) {
+      assertFalse(bigIntVector.isNull(i));
+      assertEquals(expected[i], bigIntVector.get(i));
+    }
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    eval.close();
+  }
+
+  @Test
+  public void testAndOrWithNulls() throws GandivaException {
+    Field a = Field.nullable("a", boolType);
+    Field b = Field.nullable("b", boolType);
+    List<TreeNode> args = Lists.newArrayList(TreeBuilder.makeField(a), TreeBuilder.makeField(b));
+    Field res = Field.nullable("res", boolType);
+    Schema schema = new Schema(Lists.newArrayList(a, b));
+    JavaProjector eval = JavaProjector.make(schema, Lists.newArrayList(
+        TreeBuilder.makeExpression(TreeBuilder.makeAnd(args), res),
+        TreeBuilder.makeExpression(TreeBuilder.makeOr(args), res)));
+
+    // a: true, true, true, false, null, false, null, null
+    // b: true, false, null, null, null, false, true, false
+    int numRows = 8;
+    ArrowRecordBatch batch = makeBatch(numRows, 2,
+        buf(new byte[] {(byte) 0x2F}), buf(new byte[] {(byte) 0x07}),
+        buf(new byte[] {(byte) 0xE3}), buf(new byte[] {(byte) 0x41}));
+    Boolean[] expectedAnd = new Boolean[] {true, false, null, false, null, false, null, false};
+    Boolean[] expectedOr = new Boolean[] {true, true, true, null, null, false, true, null};
+
+    BitVector andVector = new BitVector(EMPTY_SCHEMA_PATH, allocator);
+    BitVector orVector = new BitVector(EMPTY_SCHEMA_PATH, allocator);
+    List<ValueVector> output = Lists.newArrayList(andVector, orVector);
+    eval.evaluate(batch, output);
+
+    for (int i = 0; i < numRows; i++) {
+      assertEquals(expectedAnd[i], andVector.getObject(i));
+      assertEquals(expectedOr[i], orVector.getObject(i));
+    }
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    eval.close();
+  }
+
+  @Test
+  public void testStringFunctions() throws GandivaException {
+    ArrowType utf8 = new ArrowType.Utf8();
+    Field c = Field.nullable("c", utf8);
+    TreeNode cNode = TreeBuilder.makeField(c);
+    Schema schema = new Schema(Lists.newArrayList(c));
+    JavaProjector eval = JavaProjector.make(schema, Lists.newArrayList(
+        TreeBuilder.makeExpression(TreeBuilder.makeFunction("upper", Lists.newArrayList(cNode), utf8),
+            Field.nullable("upper", utf8)),
+        TreeBuilder.makeExpression(TreeBuilder.makeFunction("char_length", Lists.newArrayList(cNode), int32),
+            Field.nullable("length", int32)),
+        TreeBuilder.makeExpression(TreeBuilder.makeFunction("substr",
+            Lists.newArrayList(cNode, TreeBuilder.makeLiteral(2L), TreeBuilder.makeLiteral(3L)), utf8),
+            Field.nullable("substr", utf8)),
+        TreeBuilder.makeExpression(TreeBuilder.makeFunction("like",
+            Lists.newArrayList(cNode, TreeBuilder.makeStringLiteral("%an%")), boolType),
+            Field.nullable("like", boolType))));
+
+    int numRows = 5;
+    ArrowBuf[] strings = stringBufs(new String[] {"banana", "kiwi", "", "mango", "x"});
+    ArrowRecordBatch batch = makeBatch(numRows, 1, buf(new byte[] {(byte) 0x0F}), strings[0], strings[1]);
+
+    VarCharVector upper = new VarCharVector(EMPTY_SCHEMA_PATH, allocator);
+    IntVector length = new IntVector(EMPTY_SCHEMA_PATH, allocator);
+    VarCharVector substr = new VarCharVector(EMPTY_SCHEMA_PATH, allocator);
+    BitVector like = new BitVector(EMPTY_SCHEMA_PATH, allocator);
+    List<ValueVector> output = Lists.newArrayList(upper, length, substr, like);
+    eval.evaluate(batch, output);
+
+    String[] expectedUpper = new String[] {"BANANA", "KIWI", "", "MANGO"};
+    int[] expectedLength = new int[] {6, 4, 0, 5};
+    String[] expectedSubstr = new String[] {"ana", "iwi", "", "ang"};
+    boolean[] expectedLike = new boolean[] {true, false, false, true};
+    for (int i = 0; i < 4; i++) {
+      assertEquals(expectedUpper[i], new String(upper.get(i), StandardCharsets.UTF_8));
+      assertEquals(expectedLength[i], length.get(i));
+      assertEquals(expectedSubstr[i], new String(substr.get(i), StandardCharsets.UTF_8));
+      assertEquals(expectedLike[i], like.getObject(i));
+    }
+    assertTrue(upper.isNull(4));
+    assertTrue(length.isNull(4));
+    assertTrue(substr.isNull(4));
+    assertTrue(like.isNull(4));
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    eval.close();
+  }
+
+  @Test
+  public void testInAndIsNull() throws GandivaException {
+    Field x = Field.nullable("x", int32);
+    TreeNode xNode = TreeBuilder.makeField(x);
+    Field res = Field.nullable("res", boolType);
+    Schema schema = new Schema(Lists.newArrayList(x));
+    JavaProjector eval = JavaProjector.make(schema, Lists.newArrayList(
+        TreeBuilder.makeExpression(TreeBuilder.makeInExpressionInt32(xNode, Sets.newHashSet(1, 5)), res),
+        TreeBuilder.makeExpression(TreeBuilder.makeFunction("isnull", Lists.newArrayList(xNode), boolType), res)));
+
+    int numRows = 4;
+    ArrowRecordBatch batch = makeBatch(numRows, 1, buf(new byte[] {(byte) 0x07}), intBuf(new int[] {1, 2, 5, 1}));
+
+    BitVector in = new BitVector(EMPTY_SCHEMA_PATH, allocator);
+    BitVector isNull = new BitVector(EMPTY_SCHEMA_PATH, allocator);
+    List<ValueVector> output = Lists.newArrayList(in, isNull);
+    eval.evaluate(batch, output);
+
+    // a null value is not in the set
+    boolean[] expectedIn = new boolean[] {true, false, true, false};
+    boolean[] expectedIsNull = new boolean[] {false, false, false, true};
+    for (int i = 0; i < numRows; i++) {
+      assertEquals(expectedIn[i], in.getObject(i));
+      assertEquals(expectedIsNull[i], isNull.getObject(i));
+    }
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    eval.close();
+  }
+
+  @Test
+  public void testSelectionVector() throws GandivaException {
+    Field x = Field.nullable("x", int32);
+    TreeNode xNode = TreeBuilder.makeField(x);
+    TreeNode add = TreeBuilder.makeFunction("add", Lists.newArrayList(xNode, xNode), int32);
+    Schema schema = new Schema(Lists.newArrayList(x));
+    JavaProjector eval = JavaProjector.make(schema,
+        Lists.newArrayList(TreeBuilder.makeExpression(add, x)), SelectionVectorType.SV_INT16);
+
+    int numRows = 8;
+    ArrowRecordBatch batch = makeBatch(numRows, 1,
+        buf(new byte[] {(byte) 0x7F}), intBuf(new int[] {0, 1, 2, 3, 4, 5, 6, 7}));
+
+    ArrowBuf selectionBuffer = buf(numRows * 2);
+    selectionBuffer.setShort(0, 1);
+    selectionBuffer.setShort(2, 6);
+    selectionBuffer.setShort(4, 7);
+    SelectionVectorInt16 selectionVector = new SelectionVectorInt16(selectionBuffer);
+    selectionVector.setRecordCount(3);
+
+    IntVector intVector = new IntVector(EMPTY_SCHEMA_PATH, allocator);
+    List<ValueVector> output = Lists.newArrayList(intVector);
+    eval.evaluate(batch, selectionVector, output);
+
+    assertEquals(3, intVector.getValueCount());
+    assertEquals(2, intVector.get(0));
+    assertEquals(12, intVector.get(1));
+    assertTrue(intVector.isNull(2));
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    selectionBuffer.close();
+    eval.close();
+  }
+
+  @Test
+  public void testFieldProjection() throws GandivaException {
+    Field x = Field.nullable("x", int32);
+    Schema schema = new Schema(Lists.newArrayList(x));
+    JavaProjector eval = JavaProjector.make(schema,
+        Lists.newArrayList(TreeBuilder.makeExpression(TreeBuilder.makeField(x), x)));
+
+    int numRows = 3;
+    ArrowRecordBatch batch = makeBatch(numRows, 1, buf(new byte[] {(byte) 0x05}), intBuf(new int[] {7, 8, 9}));
+
+    IntVector intVector = new IntVector(EMPTY_SCHEMA_PATH, allocator);
+    List<ValueVector> output = Lists.newArrayList(intVector);
+    eval.evaluate(batch, output);
+
+    assertEquals(7, intVector.get(0));
+    assertTrue(intVector.isNull(1));
+    assertEquals(9, intVector.get(2));
+
+    releaseRecordBatch(batch);
+    releaseValueVectors(output);
+    eval.close();
+  }
+
+  @Test
+  public void testUnsupportedFunction() {
+    Field c1 = Field.nullable("c1", int8);
+    Field c2 = Field.nullable("c2", int8);
+    Schema schema = new Schema(Lists.newArrayList(c1, c2));
+    List<TreeNode> args = Lists.newArrayList(TreeBuilder.makeField(c1), TreeBuilder.makeField(c2));
+
+    for (String function : new String[] {"xxx_yyy", "add"}) {
+      TreeNode node = TreeBuilder.makeFunction(function, args, int8);
+      ExpressionTree expr = TreeBuilder.makeExpression(node, Field.nullable("result", int8));
+      boolean caughtException = false;
+      try {
+        JavaProjector.make(schema, Lists.newArrayList(expr));
+      } catch (GandivaException ge) {
+        caughtException = true;
+      }
+      assertTrue(caughtException);
+    }
+  }
+
+  @Test(expected = EvaluatorClosedException.class)
+  public void testEvaluateAfterClose() throws GandivaException {
+    Field x = Field.nullable("x", int32);
+    Schema schema = new Schema(Lists.newArrayList(x));
+    JavaProjector eval = JavaProjector.make(schema,
+        Lists.newArrayList(TreeBuilder.makeExpression(TreeBuilder.makeField(x), x)));
+    eval.close();
+    eval.evaluate(0, new ArrayList<>(), new ArrayList<>());
+  }
+}
@@ -45,6 +45,20 @@ class Accountant implements AutoCloseable {
    */
   protected final long reservation;
 
+  /**
+   * The granularity in which memory beyond the reservation is borrowed from the parent. When
+   * zero, every allocation beyond the reservation is forwarded to the parent as it happens.
+   * Otherwise memory is borrowed in chunks of this size, and allocations that fit into the
+   * borrowed credit don't touch the parent at all.
+   */
+  private final long creditSize;
+
+  /**
+   * Memory beyond the reservation that is charged to the parent on behalf of this Accountant but
+   * not necessarily allocated yet. Only used when {@link #creditSize} is non-zero.
+   */
+  private final AtomicLong borrowedCredit = new AtomicLong();
+
   private final AtomicLong peakAllocation = new AtomicLong();
 
   /**
@@ -60,8 +74,23 @@ class Accountant implements AutoCloseable {
   private final AtomicLong locallyHeldMemory = new AtomicLong();
 
   public Accountant(Accountant parent, String name, long reservation, long maxAllocation) {
+    this(parent, name, reservation, maxAllocation, 0);
+  }
+
+  /**
+   * Create an Accountant that borrows memory beyond its reservation from the parent in chunks of
+   * creditSize bytes.
+   *
+   * @param parent        the parent accountant, or null for a root.
+   * @param name          name of the accountant.
+   * @param reservation   initial reservation in bytes.
+   * @param maxAllocation maximum allocation in bytes.
+   * @param creditSize    the chunk size for borrowing from the parent, zero to disable credits.
+   */
+  public Accountant(Accountant parent, String name, long reservation, long maxAllocation, long creditSize) {
     Preconditions.checkNotNull(name, "name must not be null");
     Preconditions.checkArgument(reservation >= 0, "The initial reservation size must be non-negative.");
+    Preconditions.checkArgument(creditSize >= 0, "The credit size must be non-negative.");
     Preconditions.checkArgument(maxAllocation >= 0, "The maximum allocation limit must be non-negative.");
     Preconditions.checkArgument(reservation <= maxAllocation,
         "The initial reservation size must be <= the maximum allocation.");
@@ -70,6 +99,7 @@ class Accountant implements AutoCloseable {
     this.parent = parent;
     this.name = name;
     this.reservation = reservation;
+    this.creditSize = parent == null ? 0 : creditSize;
     this.allocationLimit.set(maxAllocation);
 
     if (reservation != 0) {
@@ -169,6 +199,10 @@ class Accountant implements AutoCloseable {
    */
   private AllocationOutcome.Status allocate(final long size, final boolean incomingUpdatePeak,
       final boolean forceAllocation, AllocationOutcomeDetails details) {
+    if (creditSize > 0) {
+      return allocateFromCredit(size, incomingUpdatePeak, forceAllocation, details);
+    }
+
     final long newLocal = locallyHeldMemory.addAndGet(size);
     final long beyondReservation = newLocal - reservation;
     final boolean beyondLimit = newLocal > allocationLimit.get();
@@ -207,12 +241,110 @@ class Accountant implements AutoCloseable {
     return finalOutcome;
   }
 
+  /**
+   * Allocation path used when borrowing credit from the parent. Allocations that fit into the
+   * reservation plus the borrowed credit only touch this Accountant's counters.
+   */
+  private AllocationOutcome.Status allocateFromCredit(final long size, final boolean incomingUpdatePeak,
+      final boolean forceAllocation, AllocationOutcomeDetails details) {
+    final long newLocal = locallyHeldMemory.addAndGet(size);
+    final long shortfall = newLocal - reservation - borrowedCredit.get();
+    final boolean beyondLimit = newLocal > allocationLimit.get();
+    final boolean updatePeak = forceAllocation || (incomingUpdatePeak && !beyondLimit);
+
+    if (details != null) {
+      // Add details if required (used in exceptions and debugging).
+      final long allocatedLocal = beyondLimit ? 0 : size - Math.min(Math.max(shortfall, 0), size);
+      details.pushEntry(this, newLocal - size, size, allocatedLocal, beyondLimit);
+    }
+
+    AllocationOutcome.Status parentOutcome = AllocationOutcome.Status.SUCCESS;
+    if (shortfall > 0 && (forceAllocation || !beyondLimit)) {
+      parentOutcome = borrowCredit(updatePeak, forceAllocation, details);
+    }
+
+    final AllocationOutcome.Status finalOutcome;
+    if (beyondLimit) {
+      finalOutcome = AllocationOutcome.Status.FAILED_LOCAL;
+    } else {
+      finalOutcome = parentOutcome.isOk() ? AllocationOutcome.Status.SUCCESS
+          : AllocationOutcome.Status.FAILED_PARENT;
+    }
+
+    if (updatePeak) {
+      updatePeak();
+    }
+
+    return finalOutcome;
+  }
+
+  /**
+   * Borrow enough credit from the parent to cover the memory currently held. We try to borrow a
+   * whole number of credit chunks, and fall back to the exact shortfall if the parent can't
+   * provide that. Unlike the non-credit path, a failed borrow is unwound here, since releases
+   * below this Accountant are not forwarded to the parent.
+   */
+  private synchronized AllocationOutcome.Status borrowCredit(final boolean updatePeak,
+      final boolean forceAllocation, AllocationOutcomeDetails details) {
+    // another thread may have borrowed enough in the meantime.
+    final long shortfall = locallyHeldMemory.get() - reservation - borrowedCredit.get();
+    if (shortfall <= 0) {
+      return AllocationOutcome.Status.SUCCESS;
+    }
+
+    final long request = (shortfall + creditSize - 1) / creditSize * creditSize;
+    if (!forceAllocation && request != shortfall) {
+      if (parent.allocate(request, updatePeak, false, null).isOk()) {
+        borrowedCredit.addAndGet(request);
+        return AllocationOutcome.Status.SUCCESS;
+      }
+      parent.releaseBytes(request);
+    }
+
+    final AllocationOutcome.Status outcome = parent.allocate(shortfall, updatePeak, forceAllocation, details);
+    if (outcome.isOk() || forceAllocation) {
+      borrowedCredit.addAndGet(shortfall);
+    } else {
+      parent.releaseBytes(shortfall);
+    }
+    return outcome;
+  }
+
+  /**
+   * Give spare credit back to the parent, keeping one credit chunk for future allocations.
+   */
+  private synchronized void returnCredit() {
+    final long spare = reservation + borrowedCredit.get() - locallyHeldMemory.get();
+    final long toReturn = Math.min(spare - creditSize, borrowedCredit.get());
+    if (toReturn <= 0) {
+      return;
+    }
+    borrowedCredit.addAndGet(-toReturn);
+
+    // an allocation that raced with us may have already relied on the credit we just gave up
+    // without borrowing, so keep whatever is needed to cover the memory currently held.
+    final long shortfall = locallyHeldMemory.get() - reservation - borrowedCredit.get();
+    final long keep = Math.max(0, Math.min(shortfall, toReturn));
+    borrowedCredit.addAndGet(keep);
+    if (toReturn - keep > 0) {
+      parent.releaseBytes(toReturn - keep);
+    }
+  }
+
   public void releaseBytes(long size) {
     // reduce local memory. all memory released above reservation should be released up the tree.
     final long newSize = locallyHeldMemory.addAndGet(-size);
 
     Preconditions.checkArgument(newSize >= 0, "Accounted size went negative.");
 
+    if (creditSize > 0) {
+      // keep the released memory as credit, unless we are holding too much of it.
+      if (reservation + borrowedCredit.get() - newSize > 2 * creditSize) {
+        returnCredit();
+      }
+      return;
+    }
+
     final long originalSize = newSize + size;
     if (originalSize > reservation && parent != null) {
       // we deallocated memory that we should release to our parent.
@@ -234,7 +366,7 @@ class Accountant implements AutoCloseable {
   public void close() {
     // return memory reservation to parent allocator.
     if (parent != null) {
-      parent.releaseBytes(reservation);
+      parent.releaseBytes(reservation + borrowedCredit.getAndSet(0));
     }
   }
 
@@ -265,6 +397,25 @@ class Accountant implements AutoCloseable {
     return reservation;
   }
 
+  /**
+   * Return the amount of memory charged to the parent on behalf of this Accountant, beyond what
+   * has actually been allocated. This is the initial reservation plus any borrowed credit.
+   *
+   * @return held memory in bytes.
+   */
+  long getHeldFromParent() {
+    return reservation + borrowedCredit.get();
+  }
+
+  /**
+   * Return the chunk size in which memory is borrowed from the parent.
+   *
+   * @return credit size in bytes, zero when credits are disabled.
+   */
+  public long getCreditSize() {
+    return creditSize;
+  }
+
   /**
    * Set the maximum amount of memory that can be allocated in the this Accountant before failing
    * an allocation.
@@ -302,7 +453,7 @@ class Accountant implements AutoCloseable {
     }
 
     // Amount of reserved memory left on top of what parent has
-    long reservedHeadroom = Math.max(0, reservation - locallyHeldMemory.get());
+    long reservedHeadroom = Math.max(0, getHeldFromParent() - locallyHeldMemory.get());
     return Math.min(localHeadroom, parent.getHeadroom() + reservedHeadroom);
   }
 
@@ -18,11 +18,11 @@
 package org.apache.arrow.memory;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.arrow.memory.rounding.DefaultRoundingPolicy;
 import org.apache.arrow.memory.rounding.RoundingPolicy;
@@ -72,6 +72,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
   private final HistoricalLog historicalLog;
   private final RoundingPolicy roundingPolicy;
   private final AllocationManager.Factory allocationManagerFactory;
+  private final long creditSize;
 
   private volatile boolean isClosed = false; // the allocator has been closed
 
@@ -88,10 +89,11 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
       final BaseAllocator parentAllocator,
       final String name,
       final Config config) throws OutOfMemoryException {
-    super(parentAllocator, name, config.getInitReservation(), config.getMaxAllocation());
+    super(parentAllocator, name, config.getInitReservation(), config.getMaxAllocation(), config.getCreditSize());
 
     this.listener = config.getListener();
     this.allocationManagerFactory = config.getAllocationManagerFactory();
+    this.creditSize = config.getCreditSize();
 
     if (parentAllocator != null) {
       this.root = parentAllocator.root;
@@ -108,7 +110,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     this.name = name;
 
     this.thisAsByteBufAllocator = new ArrowByteBufAllocator(this);
-    this.childAllocators = Collections.synchronizedMap(new IdentityHashMap<>());
+    this.childAllocators = new ConcurrentHashMap<>();
 
     if (DEBUG) {
       reservations = new IdentityHashMap<>();
@@ -134,9 +136,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
 
   @Override
   public Collection<BufferAllocator> getChildAllocators() {
-    synchronized (childAllocators) {
-      return new HashSet<>(childAllocators.keySet());
-    }
+    return new HashSet<>(childAllocators.keySet());
   }
 
   private static String createErrorMsg(final BufferAllocator allocator, final long rounded, final long requested) {
@@ -255,6 +255,24 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     // round the request size according to the rounding policy
     final long actualRequestSize = roundingPolicy.getRoundedSize(initialRequestSize);
 
+    return buffer(initialRequestSize, actualRequestSize, manager, allocationManagerFactory);
+  }
+
+  /**
+   * Create a buffer of exactly the requested size, whose memory is provided by the given factory
+   * instead of this allocator's own allocation manager factory. This is used to wrap memory that
+   * does not come from the regular allocation path, like a region of a memory-mapped file, while
+   * still accounting for it and tracking its lifetime through a {@link BufferLedger}.
+   */
+  ArrowBuf wrapAllocation(final long size, final AllocationManager.Factory factory) {
+    assertOpen();
+
+    Preconditions.checkArgument(size > 0, "the requested size must be positive");
+    return buffer(size, size, null, factory);
+  }
+
+  private ArrowBuf buffer(final long initialRequestSize, final long actualRequestSize,
+      BufferManager manager, AllocationManager.Factory factory) {
     listener.onPreAllocation(actualRequestSize);
 
     AllocationOutcome outcome = this.allocateBytes(actualRequestSize);
@@ -271,7 +289,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
 
     boolean success = false;
     try {
-      ArrowBuf buffer = bufferWithoutReservation(actualRequestSize, manager);
+      ArrowBuf buffer = bufferWithoutReservation(actualRequestSize, manager, factory);
       success = true;
       listener.onAllocation(actualRequestSize);
       return buffer;
@@ -291,9 +309,16 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
   private ArrowBuf bufferWithoutReservation(
       final long size,
       BufferManager bufferManager) throws OutOfMemoryException {
+    return bufferWithoutReservation(size, bufferManager, allocationManagerFactory);
+  }
+
+  private ArrowBuf bufferWithoutReservation(
+      final long size,
+      BufferManager bufferManager,
+      AllocationManager.Factory factory) throws OutOfMemoryException {
     assertOpen();
 
-    final AllocationManager manager = newAllocationManager(size);
+    final AllocationManager manager = factory.create(this, size);
     final BufferLedger ledger = manager.associate(this); // +1 ref cnt (required)
     final ArrowBuf buffer = ledger.newArrowBuf(size, bufferManager);
 
@@ -304,15 +329,6 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     return buffer;
   }
 
-  private AllocationManager newAllocationManager(long size) {
-    return newAllocationManager(this, size);
-  }
-
-
-  private AllocationManager newAllocationManager(BaseAllocator accountingAllocator, long size) {
-    return allocationManagerFactory.create(accountingAllocator, size);
-  }
-
   @Override
   public ArrowByteBufAllocator getAsByteBufAllocator() {
     return thisAsByteBufAllocator;
@@ -341,6 +357,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
             .maxAllocation(maxAllocation)
             .roundingPolicy(roundingPolicy)
             .allocationManagerFactory(allocationManagerFactory)
+            .creditSize(creditSize)
             .build());
 
     if (DEBUG) {
@@ -415,10 +432,8 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     } else {
       if (!childAllocators.isEmpty()) {
         outstandingChildAllocators.append("Outstanding child allocators : \n");
-        synchronized (childAllocators) {
-          for (final BaseAllocator childAllocator : childAllocators.keySet()) {
-            outstandingChildAllocators.append(String.format("  %s", childAllocator.toString()));
-          }
+        for (final BaseAllocator childAllocator : childAllocators.keySet()) {
+          outstandingChildAllocators.append(String.format("  %s", childAllocator.toString()));
         }
       }
     }
@@ -426,8 +441,8 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     // Is there unaccounted-for outstanding allocation?
     final long allocated = getAllocatedMemory();
     if (allocated > 0) {
-      if (parent != null && reservation > allocated) {
-        parent.releaseBytes(reservation - allocated);
+      if (parent != null && getHeldFromParent() > allocated) {
+        parent.releaseBytes(getHeldFromParent() - allocated);
       }
       String msg = String.format("Memory was leaked by query. Memory leaked: (%d)\n%s%s", allocated,
           outstandingChildAllocators.toString(), toString());
@@ -522,7 +537,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
        */
       long childTotal = 0;
       for (final BaseAllocator childAllocator : childSet) {
-        childTotal += Math.max(childAllocator.getAllocatedMemory(), childAllocator.reservation);
+        childTotal += Math.max(childAllocator.getAllocatedMemory(), childAllocator.getHeldFromParent());
       }
       if (childTotal > getAllocatedMemory()) {
         historicalLog.logHistory(logger);
@@ -758,6 +773,22 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     RoundingPolicy getRoundingPolicy() {
       return DefaultRoundingPolicy.INSTANCE;
     }
+
+    /**
+     * The chunk size (in bytes) in which allocators borrow memory from their parent. The setting is
+     * inherited by child allocators, and has no effect on a root allocator itself.
+     *
+     * <p>With the default of zero, every allocation is charged to all ancestors as it happens, which
+     * makes the ancestors' counters a point of contention when many threads allocate from
+     * different children. With a positive credit size, a child charges its parent in whole chunks
+     * and serves allocations from the borrowed credit without touching the parent. Spare credit
+     * is returned once it exceeds two chunks, and in full when the child is closed. The parent's
+     * allocated memory then includes its children's unused credit.
+     */
+    @Value.Default
+    long getCreditSize() {
+      return 0;
+    }
   }
 
   /**
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import org.apache.arrow.util.Preconditions;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Allocation manager for the readable bytes of a direct Netty {@link ByteBuf} allocated outside of
+ * Arrow, such as a buffer received by a network transport. The manager owns one reference to the
+ * Netty buffer, which is released when the last Arrow buffer referencing it is released, so the
+ * bytes are handed over to Arrow without being copied.
+ *
+ * <p>The memory is accounted to the allocator like any other allocation of the same size, so
+ * allocator limits behave the same as when the bytes are copied into a regular buffer. A slice of
+ * a pooled Netty buffer may keep a larger chunk of the Netty pool alive, which is not accounted.
+ */
+public final class ByteBufAllocationManager extends AllocationManager {
+
+  private final ByteBuf byteBuf;
+
+  private final long allocatedSize;
+
+  private final long allocatedAddress;
+
+  private ByteBufAllocationManager(BaseAllocator accountingAllocator, ByteBuf byteBuf) {
+    super(accountingAllocator);
+    this.byteBuf = byteBuf;
+    this.allocatedSize = byteBuf.readableBytes();
+    this.allocatedAddress = byteBuf.memoryAddress() + byteBuf.readerIndex();
+  }
+
+  /**
+   * Checks whether the readable bytes of a Netty buffer can be wrapped without a copy.
+   *
+   * @param byteBuf the Netty buffer.
+   * @return true if the buffer is direct, exposes its memory address and has readable bytes.
+   */
+  public static boolean canWrap(ByteBuf byteBuf) {
+    return byteBuf.hasMemoryAddress() && byteBuf.isReadable();
+  }
+
+  /**
+   * Wrap the readable bytes of a direct Netty buffer in an {@link ArrowBuf} owned by the given
+   * allocator.
+   *
+   * <p>Ownership of one reference to the Netty buffer is transferred to the returned buffer, even
+   * if this method fails, in which case the reference is released. The caller must not modify the
+   * reader and writer indices of the Netty buffer afterwards.
+   *
+   * @param allocator the allocator to account the wrapped bytes to.
+   * @param byteBuf   the Netty buffer, see {@link #canWrap(ByteBuf)}.
+   * @return a buffer over the readable bytes with a reference count of one.
+   */
+  public static ArrowBuf wrap(BufferAllocator allocator, ByteBuf byteBuf) {
+    boolean success = false;
+    try {
+      Preconditions.checkArgument(allocator instanceof BaseAllocator,
+          "The allocator must be a RootAllocator or one of its descendants");
+      Preconditions.checkArgument(canWrap(byteBuf),
+          "The Netty buffer must be direct, expose its memory address and have readable bytes");
+
+      ArrowBuf buffer = ((BaseAllocator) allocator).wrapAllocation(byteBuf.readableBytes(),
+          (accountingAllocator, requestedSize) -> new ByteBufAllocationManager(accountingAllocator, byteBuf));
+      success = true;
+      return buffer;
+    } finally {
+      if (!success) {
+        byteBuf.release();
+      }
+    }
+  }
+
+  @Override
+  public long getSize() {
+    return allocatedSize;
+  }
+
+  @Override
+  protected long memoryAddress() {
+    return allocatedAddress;
+  }
+
+  @Override
+  protected void release0() {
+    byteBuf.release();
+  }
+}
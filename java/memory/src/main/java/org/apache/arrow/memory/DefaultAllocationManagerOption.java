@@ -56,6 +56,11 @@ public class DefaultAllocationManagerOption {
      */
     Unsafe,
 
+    /**
+     * Unsafe based allocation manager that recycles released memory chunks.
+     */
+    Pooled,
+
     /**
      * Unknown type.
      */
@@ -90,6 +95,8 @@ public class DefaultAllocationManagerOption {
         return getNettyFactory();
       case Unsafe:
         return getUnsafeFactory();
+      case Pooled:
+        return getPooledFactory();
       case Unknown:
         LOGGER.info("allocation manager type not specified, using netty as the default type");
         return getFactory(CheckAllocator.check());
@@ -112,6 +119,10 @@ public class DefaultAllocationManagerOption {
     return getFactory("org.apache.arrow.memory.UnsafeAllocationManager");
   }
 
+  private static AllocationManager.Factory getPooledFactory() {
+    return getFactory("org.apache.arrow.memory.PooledAllocationManager");
+  }
+
   private static AllocationManager.Factory getNettyFactory() {
     return getFactory("org.apache.arrow.memory.NettyAllocationManager");
   }
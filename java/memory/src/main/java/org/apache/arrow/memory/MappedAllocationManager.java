@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Allocation manager for a memory-mapped region of a file. The region is unmapped when the last
+ * buffer referencing it is released, so buffers sliced from it stay valid until then.
+ *
+ * <p>The memory is accounted to the allocator like any other allocation of the same size, so
+ * allocator limits behave the same as when the region is read into a regular buffer.
+ */
+public final class MappedAllocationManager extends AllocationManager {
+
+  private final MappedByteBuffer mappedBuffer;
+
+  private final long allocatedSize;
+
+  private final long allocatedAddress;
+
+  private MappedAllocationManager(BaseAllocator accountingAllocator, MappedByteBuffer mappedBuffer) {
+    super(accountingAllocator);
+    this.mappedBuffer = mappedBuffer;
+    this.allocatedSize = mappedBuffer.capacity();
+    this.allocatedAddress = MemoryUtil.getByteBufferAddress(mappedBuffer);
+  }
+
+  /**
+   * Map a region of a file into memory and wrap it in an {@link ArrowBuf} owned by the given
+   * allocator.
+   *
+   * @param allocator the allocator to account the mapped region to.
+   * @param channel   the file to map.
+   * @param mode      the mapping mode, see {@link FileChannel#map}. With
+   *                  {@link FileChannel.MapMode#READ_ONLY} the buffer must not be written to.
+   * @param position  the offset of the region within the file.
+   * @param size      the size of the region, in bytes.
+   * @return a buffer over the mapped region with a reference count of one.
+   * @throws IOException if the region can't be mapped.
+   */
+  public static ArrowBuf map(BufferAllocator allocator, FileChannel channel, FileChannel.MapMode mode,
+      long position, long size) throws IOException {
+    Preconditions.checkArgument(allocator instanceof BaseAllocator,
+        "The allocator must be a RootAllocator or one of its descendants");
+    Preconditions.checkArgument(size > 0 && size <= Integer.MAX_VALUE,
+        "The mapped size must be positive and at most %s bytes", Integer.MAX_VALUE);
+
+    final MappedByteBuffer mappedBuffer = channel.map(mode, position, size);
+    boolean success = false;
+    try {
+      ArrowBuf buffer = ((BaseAllocator) allocator).wrapAllocation(size,
+          (accountingAllocator, requestedSize) -> new MappedAllocationManager(accountingAllocator, mappedBuffer));
+      success = true;
+      return buffer;
+    } finally {
+      if (!success) {
+        PlatformDependent.freeDirectBuffer(mappedBuffer);
+      }
+    }
+  }
+
+  @Override
+  public long getSize() {
+    return allocatedSize;
+  }
+
+  @Override
+  protected long memoryAddress() {
+    return allocatedAddress;
+  }
+
+  @Override
+  protected void release0() {
+    PlatformDependent.freeDirectBuffer(mappedBuffer);
+  }
+}
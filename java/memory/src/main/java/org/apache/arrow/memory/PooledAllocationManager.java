@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+/**
+ * Allocation manager that takes its memory chunks from a {@link PooledAllocationManagerFactory}
+ * and hands them back to the pool, rather than to the operating system, when released.
+ *
+ * <p>The size reported by {@link #getSize()} is always the requested size, so that accounting
+ * through the owning allocator is identical to the unpooled allocation managers. The chunk
+ * backing the allocation may be larger (the next power of two).
+ */
+public final class PooledAllocationManager extends AllocationManager {
+
+  /**
+   * Factory backed by a process-wide pool with default settings.
+   */
+  public static final AllocationManager.Factory FACTORY = new PooledAllocationManagerFactory();
+
+  private final PooledAllocationManagerFactory pool;
+
+  private final long allocatedSize;
+
+  private final long allocatedAddress;
+
+  private final int sizeClass;
+
+  PooledAllocationManager(BaseAllocator accountingAllocator, long requestedSize,
+      PooledAllocationManagerFactory pool) {
+    super(accountingAllocator);
+    this.pool = pool;
+    this.sizeClass = pool.sizeClassOf(requestedSize);
+    this.allocatedAddress = pool.allocate(sizeClass, requestedSize);
+    this.allocatedSize = requestedSize;
+  }
+
+  @Override
+  public long getSize() {
+    return allocatedSize;
+  }
+
+  @Override
+  protected long memoryAddress() {
+    return allocatedAddress;
+  }
+
+  @Override
+  protected void release0() {
+    pool.free(sizeClass, allocatedAddress);
+  }
+}
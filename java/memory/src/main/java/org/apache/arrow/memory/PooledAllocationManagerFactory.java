@@ -0,0 +1,420 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * A factory for {@link PooledAllocationManager}s that recycles released memory chunks instead of
+ * returning them to the operating system.
+ *
+ * <p>Chunks are grouped in power-of-two size classes, which lines up with the sizes produced by
+ * the {@link org.apache.arrow.memory.rounding.DefaultRoundingPolicy}. Each thread keeps a small
+ * cache per size class so that the common allocate/release cycle does not touch any shared state.
+ * Chunks that overflow a thread cache go to a global free-list per size class, which other threads
+ * refill from.
+ *
+ * <p>Memory held by the pool is not accounted to any allocator: an allocator is charged when a
+ * buffer is allocated and credited when it is released, exactly as with the unpooled allocation
+ * managers, and {@link AllocationListener}s see the same events.
+ *
+ * <p>When an idle timeout is configured, a daemon thread periodically frees chunks of size classes
+ * that have not been used for that long, as well as chunks cached by threads that have died.
+ */
+public class PooledAllocationManagerFactory implements AllocationManager.Factory, AutoCloseable {
+
+  /**
+   * The default largest pooled chunk size. This matches the default chunk size of the Netty
+   * allocator, below which the default rounding policy rounds requests to a power of two.
+   */
+  public static final long DEFAULT_MAX_POOLED_SIZE = 16L * 1024 * 1024;
+
+  /**
+   * The default upper bound for the number of bytes held by the global free-lists.
+   */
+  public static final long DEFAULT_MAX_GLOBAL_POOLED_BYTES = 256L * 1024 * 1024;
+
+  /**
+   * The default upper bound for the number of bytes cached per size class in each thread.
+   */
+  public static final long DEFAULT_THREAD_CACHE_BYTES_PER_CLASS = 1024 * 1024;
+
+  /**
+   * The default time after which unused chunks are freed.
+   */
+  public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60_000;
+
+  /**
+   * The smallest size class is 2^MIN_SIZE_CLASS_SHIFT bytes.
+   */
+  static final int MIN_SIZE_CLASS_SHIFT = 6;
+
+  /**
+   * The maximum number of chunks a thread caches per size class, regardless of their size.
+   */
+  private static final int MAX_THREAD_CACHE_ENTRIES = 64;
+
+  private final long maxPooledSize;
+  private final long maxGlobalPooledBytes;
+  private final long threadCacheBytesPerClass;
+  private final long idleTimeoutNanos;
+  private final int numSizeClasses;
+
+  private final FreeList[] globalLists;
+  private final ConcurrentLinkedQueue<ThreadCache> threadCaches = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::newThreadCache);
+
+  private final AtomicLong globalPooledBytes = new AtomicLong();
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  private final ScheduledExecutorService trimmer;
+
+  /**
+   * A coarse clock, refreshed by the trimmer, used to tag when a free-list was last touched. This
+   * avoids reading the system clock on every allocation.
+   */
+  private volatile long clock = System.nanoTime();
+  private volatile boolean closed = false;
+
+  /**
+   * Creates a factory with the default settings.
+   */
+  public PooledAllocationManagerFactory() {
+    this(DEFAULT_MAX_POOLED_SIZE, DEFAULT_MAX_GLOBAL_POOLED_BYTES, DEFAULT_THREAD_CACHE_BYTES_PER_CLASS,
+        DEFAULT_IDLE_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * Creates a factory.
+   *
+   * @param maxPooledSize the largest request size that is served from the pool, larger requests
+   *                      are allocated and freed directly.
+   * @param maxGlobalPooledBytes the maximum number of bytes held by the global free-lists.
+   * @param threadCacheBytesPerClass the maximum number of bytes cached per size class per thread.
+   * @param idleTimeoutMillis chunks unused for this long are freed; a non-positive value disables
+   *                          the background trimming.
+   */
+  public PooledAllocationManagerFactory(long maxPooledSize, long maxGlobalPooledBytes,
+      long threadCacheBytesPerClass, long idleTimeoutMillis) {
+    Preconditions.checkArgument(maxPooledSize > 0, "The maximum pooled size must be positive.");
+    Preconditions.checkArgument(maxGlobalPooledBytes >= 0, "The global pool limit must be non-negative.");
+    Preconditions.checkArgument(threadCacheBytesPerClass >= 0, "The thread cache limit must be non-negative.");
+
+    this.maxPooledSize = maxPooledSize;
+    this.maxGlobalPooledBytes = maxGlobalPooledBytes;
+    this.threadCacheBytesPerClass = threadCacheBytesPerClass;
+    this.numSizeClasses = Math.max(0, log2Ceil(maxPooledSize) - MIN_SIZE_CLASS_SHIFT) + 1;
+
+    this.globalLists = new FreeList[numSizeClasses];
+    for (int i = 0; i < numSizeClasses; i++) {
+      globalLists[i] = new FreeList(16);
+    }
+
+    if (idleTimeoutMillis > 0) {
+      this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+      this.trimmer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "arrow-pooled-allocation-trimmer");
+        t.setDaemon(true);
+        return t;
+      });
+      long period = Math.max(1, idleTimeoutMillis / 2);
+      trimmer.scheduleWithFixedDelay(this::trimIdle, period, period, TimeUnit.MILLISECONDS);
+    } else {
+      this.idleTimeoutNanos = Long.MAX_VALUE;
+      this.trimmer = null;
+    }
+  }
+
+  @Override
+  public AllocationManager create(BaseAllocator accountingAllocator, long size) {
+    return new PooledAllocationManager(accountingAllocator, size, this);
+  }
+
+  /**
+   * Returns the size class for the given request size, or -1 if requests of this size are not
+   * pooled.
+   */
+  int sizeClassOf(long size) {
+    if (size > maxPooledSize) {
+      return -1;
+    }
+    return Math.max(0, log2Ceil(size) - MIN_SIZE_CLASS_SHIFT);
+  }
+
+  private static int log2Ceil(long value) {
+    return value <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(value - 1);
+  }
+
+  private static long classSize(int sizeClass) {
+    return 1L << (sizeClass + MIN_SIZE_CLASS_SHIFT);
+  }
+
+  /**
+   * Obtains a memory chunk, either recycled from the pool or freshly allocated.
+   */
+  long allocate(int sizeClass, long requestedSize) {
+    if (sizeClass < 0) {
+      return MemoryUtil.UNSAFE.allocateMemory(requestedSize);
+    }
+
+    long address = threadCache.get().pop(sizeClass);
+    if (address == 0) {
+      address = refillFromGlobal(sizeClass);
+    }
+    if (address != 0) {
+      pooledBytes.addAndGet(-classSize(sizeClass));
+      hits.incrementAndGet();
+      return address;
+    }
+
+    misses.incrementAndGet();
+    return MemoryUtil.UNSAFE.allocateMemory(classSize(sizeClass));
+  }
+
+  /**
+   * Returns a memory chunk to the pool, or frees it if the pool is full.
+   */
+  void free(int sizeClass, long address) {
+    if (sizeClass < 0) {
+      MemoryUtil.UNSAFE.freeMemory(address);
+      return;
+    }
+
+    final long size = classSize(sizeClass);
+    pooledBytes.addAndGet(size);
+    if (threadCache.get().push(sizeClass, address)) {
+      return;
+    }
+    if (pushToGlobal(sizeClass, address)) {
+      return;
+    }
+    pooledBytes.addAndGet(-size);
+    MemoryUtil.UNSAFE.freeMemory(address);
+  }
+
+  private long refillFromGlobal(int sizeClass) {
+    final FreeList list = globalLists[sizeClass];
+    final long address;
+    synchronized (list) {
+      address = list.pop();
+      list.lastUsed = clock;
+    }
+    if (address != 0) {
+      globalPooledBytes.addAndGet(-classSize(sizeClass));
+    }
+    return address;
+  }
+
+  private boolean pushToGlobal(int sizeClass, long address) {
+    final long size = classSize(sizeClass);
+    if (globalPooledBytes.addAndGet(size) > maxGlobalPooledBytes) {
+      globalPooledBytes.addAndGet(-size);
+      return false;
+    }
+    final FreeList list = globalLists[sizeClass];
+    synchronized (list) {
+      if (closed) {
+        globalPooledBytes.addAndGet(-size);
+        return false;
+      }
+      list.push(address);
+      list.lastUsed = clock;
+    }
+    return true;
+  }
+
+  private ThreadCache newThreadCache() {
+    ThreadCache cache = new ThreadCache(Thread.currentThread());
+    threadCaches.add(cache);
+    return cache;
+  }
+
+  /**
+   * Frees all chunks held by the pool. Chunks that are currently in use are not affected and will
+   * be pooled again when released.
+   */
+  public void trim() {
+    trim(true);
+  }
+
+  private void trimIdle() {
+    clock = System.nanoTime();
+    trim(false);
+  }
+
+  private void trim(boolean all) {
+    final long now = clock;
+    for (int i = 0; i < numSizeClasses; i++) {
+      final FreeList list = globalLists[i];
+      synchronized (list) {
+        if (all || now - list.lastUsed >= idleTimeoutNanos) {
+          final long freed = list.freeAll() * classSize(i);
+          globalPooledBytes.addAndGet(-freed);
+          pooledBytes.addAndGet(-freed);
+        }
+      }
+    }
+
+    for (Iterator<ThreadCache> it = threadCaches.iterator(); it.hasNext(); ) {
+      final ThreadCache cache = it.next();
+      final boolean ownerDead = cache.owner.get() == null || !cache.owner.get().isAlive();
+      synchronized (cache) {
+        for (int i = 0; i < numSizeClasses; i++) {
+          final FreeList list = cache.lists[i];
+          if (list != null && (all || ownerDead || now - list.lastUsed >= idleTimeoutNanos)) {
+            pooledBytes.addAndGet(-list.freeAll() * classSize(i));
+          }
+        }
+      }
+      if (ownerDead) {
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Stops the background trimming and frees all pooled chunks. Chunks released after this point
+   * are freed directly.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    if (trimmer != null) {
+      trimmer.shutdownNow();
+    }
+    trim(true);
+  }
+
+  /**
+   * Returns the number of bytes currently held by the pool and not handed out to any allocator.
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  /**
+   * Returns the number of allocations served from the pool.
+   */
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of pooled-size allocations that had to allocate new memory.
+   */
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * A growable stack of chunk addresses. Not thread-safe, callers synchronize on the list or on
+   * its owning {@link ThreadCache}.
+   */
+  private static final class FreeList {
+    private long[] addresses;
+    private int count;
+    private long lastUsed;
+
+    FreeList(int initialCapacity) {
+      this.addresses = new long[initialCapacity];
+    }
+
+    int size() {
+      return count;
+    }
+
+    void push(long address) {
+      if (count == addresses.length) {
+        long[] newAddresses = new long[addresses.length * 2];
+        System.arraycopy(addresses, 0, newAddresses, 0, count);
+        addresses = newAddresses;
+      }
+      addresses[count++] = address;
+    }
+
+    long pop() {
+      return count == 0 ? 0 : addresses[--count];
+    }
+
+    int freeAll() {
+      final int freed = count;
+      while (count > 0) {
+        MemoryUtil.UNSAFE.freeMemory(addresses[--count]);
+      }
+      return freed;
+    }
+  }
+
+  /**
+   * Per-thread chunk cache. Only the owning thread pushes and pops, the lock is merely there so
+   * the trimmer can drain it, and is therefore almost always uncontended.
+   */
+  private final class ThreadCache {
+    private final WeakReference<Thread> owner;
+    private final FreeList[] lists = new FreeList[numSizeClasses];
+
+    ThreadCache(Thread owner) {
+      this.owner = new WeakReference<>(owner);
+    }
+
+    private int capacity(int sizeClass) {
+      return (int) Math.min(MAX_THREAD_CACHE_ENTRIES, threadCacheBytesPerClass / classSize(sizeClass));
+    }
+
+    synchronized long pop(int sizeClass) {
+      final FreeList list = lists[sizeClass];
+      if (list == null) {
+        return 0;
+      }
+      list.lastUsed = clock;
+      return list.pop();
+    }
+
+    synchronized boolean push(int sizeClass, long address) {
+      if (closed) {
+        return false;
+      }
+      FreeList list = lists[sizeClass];
+      if (list == null) {
+        final int capacity = capacity(sizeClass);
+        if (capacity == 0) {
+          return false;
+        }
+        list = new FreeList(capacity);
+        lists[sizeClass] = list;
+      }
+      list.lastUsed = clock;
+      if (list.size() < capacity(sizeClass)) {
+        list.push(address);
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.memory.util.hash;
+
+import java.util.Arrays;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * An open-addressing hash table from hash codes to int indices, for data whose keys are stored
+ * elsewhere, e.g. the values of a dictionary vector. The table keeps no keys: the caller supplies
+ * a {@link IndexMatcher} that checks whether the key at a stored index equals the probed key.
+ *
+ * <p>The slots are stored in an {@link ArrowBuf}, or in a long array for a table constructed without
+ * an allocator, each holding the hash code next to the index, and are probed linearly. The cached
+ * hash codes avoid most calls to the matcher on collisions, and make resizing independent of the keys.
+ * There is no per-entry object, so a table holding millions of entries puts no pressure on the
+ * garbage collector.
+ *
+ * <p>A table with an allocator must be closed to release its buffer. It is not thread-safe.
+ */
+public final class IndexHashTable implements AutoCloseable {
+
+  /**
+   * Checks whether the key at an index stored in the table equals the key being looked up.
+   */
+  @FunctionalInterface
+  public interface IndexMatcher {
+
+    /**
+     * Returns true if the key at the given index equals the key being looked up.
+     */
+    boolean matches(int index);
+  }
+
+  /**
+   * The index returned when no entry is found.
+   */
+  public static final int NOT_FOUND = -1;
+
+  /**
+   * The default initial number of slots.
+   */
+  public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+  /**
+   * The maximum number of slots.
+   */
+  static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private static final int SLOT_SIZE = 8;
+
+  private final BufferAllocator allocator;
+
+  /**
+   * The buffer of the slots, or null if they are stored on heap.
+   */
+  private ArrowBuf slots;
+
+  /**
+   * The array of the slots when they are stored on heap, null otherwise.
+   */
+  private long[] heapSlots;
+
+  /**
+   * The address of the slots, or their offset in the array when they are stored on heap.
+   */
+  private long address;
+
+  private int mask;
+
+  private int size;
+
+  /**
+   * The number of entries at which the table is resized, half the number of slots.
+   */
+  private int threshold;
+
+  /**
+   * Constructs an empty table with room for the given number of entries, whose slots are stored on heap.
+   * The table need not be closed.
+   *
+   * @param expectedSize the number of entries expected, the table grows beyond it as needed.
+   */
+  public IndexHashTable(int expectedSize) {
+    this(null, expectedSize);
+  }
+
+  /**
+   * Constructs an empty table with the default initial capacity.
+   *
+   * @param allocator the allocator for the slots.
+   */
+  public IndexHashTable(BufferAllocator allocator) {
+    this(allocator, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty table with room for the given number of entries.
+   *
+   * @param allocator the allocator for the slots, or null to store them on heap.
+   * @param expectedSize the number of entries expected, the table grows beyond it as needed.
+   */
+  public IndexHashTable(BufferAllocator allocator, int expectedSize) {
+    Preconditions.checkArgument(expectedSize >= 0, "Illegal expected size: %s", expectedSize);
+    this.allocator = allocator;
+    allocateSlots(capacityFor(expectedSize));
+  }
+
+  private static int capacityFor(int expectedSize) {
+    // the next power of two of twice the expected size, to stay under the load factor of one half
+    long capacity = Long.highestOneBit(Math.max(1L, 2L * expectedSize) * 2 - 1);
+    return (int) Math.min(Math.max(capacity, DEFAULT_INITIAL_CAPACITY), MAXIMUM_CAPACITY);
+  }
+
+  private void allocateSlots(int capacity) {
+    if (allocator == null) {
+      heapSlots = new long[capacity];
+      address = MemoryUtil.UNSAFE.arrayBaseOffset(long[].class);
+    } else {
+      long bytes = (long) capacity * SLOT_SIZE;
+      ArrowBuf newSlots = allocator.buffer(bytes);
+      newSlots.setZero(0, bytes);
+      slots = newSlots;
+      address = newSlots.memoryAddress();
+    }
+    mask = capacity - 1;
+    threshold = capacity == MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY - 1 : capacity >>> 1;
+  }
+
+  /**
+   * Spreads the bits of the hash code, as the hashers used for vectors may leave the low bits
+   * poorly distributed.
+   */
+  private static int spread(int hashCode) {
+    int h = hashCode * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private long slotAddress(int slot) {
+    return address + (long) slot * SLOT_SIZE;
+  }
+
+  private long getSlot(long slotAddress) {
+    return MemoryUtil.UNSAFE.getLong(heapSlots, slotAddress);
+  }
+
+  private void setSlot(long slotAddress, long entry) {
+    MemoryUtil.UNSAFE.putLong(heapSlots, slotAddress, entry);
+  }
+
+  /**
+   * Returns the index of the entry with the given hash code accepted by the matcher.
+   *
+   * @param hashCode the hash code of the key.
+   * @param matcher checks if the key at a stored index equals the key.
+   * @return the index, or {@link #NOT_FOUND} if there is no such entry.
+   */
+  public int get(int hashCode, IndexMatcher matcher) {
+    int slot = spread(hashCode) & mask;
+    while (true) {
+      long entry = getSlot(slotAddress(slot));
+      int storedIndex = (int) entry;
+      if (storedIndex == 0) {
+        return NOT_FOUND;
+      }
+      if ((int) (entry >>> 32) == hashCode && matcher.matches(storedIndex - 1)) {
+        return storedIndex - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Adds an entry unless there is already one with the given hash code accepted by the matcher.
+   *
+   * @param hashCode the hash code of the key.
+   * @param index the index to add, non-negative.
+   * @param matcher checks if the key at a stored index equals the key.
+   * @return the index of the existing entry, or {@link #NOT_FOUND} if the entry was added.
+   */
+  public int putIfAbsent(int hashCode, int index, IndexMatcher matcher) {
+    Preconditions.checkArgument(index >= 0 && index < Integer.MAX_VALUE, "Illegal index: %s", index);
+    int slot = spread(hashCode) & mask;
+    while (true) {
+      long slotAddress = slotAddress(slot);
+      long entry = getSlot(slotAddress);
+      int storedIndex = (int) entry;
+      if (storedIndex == 0) {
+        setSlot(slotAddress, pack(hashCode, index));
+        if (++size > threshold) {
+          resize();
+        }
+        return NOT_FOUND;
+      }
+      if ((int) (entry >>> 32) == hashCode && matcher.matches(storedIndex - 1)) {
+        return storedIndex - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Adds an entry, without checking whether there is an equal key in the table already.
+   *
+   * @param hashCode the hash code of the key.
+   * @param index the index to add, non-negative.
+   */
+  public void put(int hashCode, int index) {
+    Preconditions.checkArgument(index >= 0 && index < Integer.MAX_VALUE, "Illegal index: %s", index);
+    insert(pack(hashCode, index));
+    if (++size > threshold) {
+      resize();
+    }
+  }
+
+  private static long pack(int hashCode, int index) {
+    // indices are stored off by one, so that zeroed slots are empty
+    return ((long) hashCode << 32) | (index + 1);
+  }
+
+  private void insert(long entry) {
+    int slot = spread((int) (entry >>> 32)) & mask;
+    while (getSlot(slotAddress(slot)) != 0) {
+      slot = (slot + 1) & mask;
+    }
+    setSlot(slotAddress(slot), entry);
+  }
+
+  private void resize() {
+    int oldCapacity = mask + 1;
+    if (oldCapacity == MAXIMUM_CAPACITY) {
+      Preconditions.checkState(size < MAXIMUM_CAPACITY, "Hash table is full");
+      return;
+    }
+    ArrowBuf oldSlots = slots;
+    long[] oldHeapSlots = heapSlots;
+    long oldAddress = address;
+    allocateSlots(oldCapacity * 2);
+    for (int i = 0; i < oldCapacity; i++) {
+      long entry = MemoryUtil.UNSAFE.getLong(oldHeapSlots, oldAddress + (long) i * SLOT_SIZE);
+      if (entry != 0) {
+        insert(entry);
+      }
+    }
+    if (oldSlots != null) {
+      oldSlots.close();
+    }
+  }
+
+  /**
+   * Returns the number of entries in the table.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of slots in the table.
+   */
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Removes all entries, keeping the slots allocated.
+   */
+  public void clear() {
+    if (slots != null) {
+      slots.setZero(0, (long) capacity() * SLOT_SIZE);
+    } else {
+      Arrays.fill(heapSlots, 0L);
+    }
+    size = 0;
+  }
+
+  /**
+   * Releases the buffer of the slots, if any. The table must not be used afterwards.
+   */
+  @Override
+  public void close() {
+    if (slots != null) {
+      slots.close();
+    }
+  }
+}
@@ -73,6 +73,82 @@ public class TestAccountant {
     assertEquals(parent.getLimit() - parent.getAllocatedMemory(), parent.getHeadroom());
   }
 
+  @Test
+  public void creditBorrowing() {
+    final Accountant parent = new Accountant(null, "test", 0, 100);
+    final Accountant child = new Accountant(parent, "test", 0, Long.MAX_VALUE, 16);
+
+    // the first allocation borrows a whole credit chunk
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(1).getStatus());
+    assertEquals(1, child.getAllocatedMemory());
+    assertEquals(16, parent.getAllocatedMemory());
+
+    // allocations within the credit don't touch the parent
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(10).getStatus());
+    assertEquals(11, child.getAllocatedMemory());
+    assertEquals(16, parent.getAllocatedMemory());
+
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(10).getStatus());
+    assertEquals(21, child.getAllocatedMemory());
+    assertEquals(32, parent.getAllocatedMemory());
+
+    // up to two chunks of spare credit are kept
+    child.releaseBytes(21);
+    assertEquals(0, child.getAllocatedMemory());
+    assertEquals(32, parent.getAllocatedMemory());
+    assertEquals(100, child.getHeadroom());
+
+    // beyond that, spare credit is returned down to a single chunk
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(40).getStatus());
+    assertEquals(48, parent.getAllocatedMemory());
+    child.releaseBytes(40);
+    assertEquals(16, parent.getAllocatedMemory());
+
+    // near the limit, the exact shortfall is borrowed instead of whole chunks
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(99).getStatus());
+    assertEquals(99, parent.getAllocatedMemory());
+
+    // a failed allocation leaves the accounting unchanged
+    assertEquals(AllocationOutcome.Status.FAILED_PARENT, child.allocateBytes(5).getStatus());
+    assertEquals(99, child.getAllocatedMemory());
+    assertEquals(99, parent.getAllocatedMemory());
+
+    child.releaseBytes(99);
+    child.close();
+    assertEquals(0, parent.getAllocatedMemory());
+    parent.close();
+  }
+
+  @Test
+  public void creditMultiThread() throws InterruptedException {
+    final Accountant parent = new Accountant(null, "test", 0, Long.MAX_VALUE);
+    final Accountant child = new Accountant(parent, "test", 0, Long.MAX_VALUE, 1024);
+
+    final int numberOfThreads = 16;
+    final int loops = 10000;
+    Thread[] threads = new Thread[numberOfThreads];
+
+    for (int i = 0; i < numberOfThreads; i++) {
+      final int size = 1 + i * 100;
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < loops; j++) {
+          assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(size).getStatus());
+          child.releaseBytes(size);
+        }
+      });
+      threads[i].start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(0, child.getAllocatedMemory());
+    assertEquals(child.getHeldFromParent(), parent.getAllocatedMemory());
+    child.close();
+    assertEquals(0, parent.getAllocatedMemory());
+  }
+
   private void ensureAccurateReservations(Accountant outsideParent) {
     final Accountant parent = new Accountant(outsideParent, "test", 0, 10);
     assertEquals(0, parent.getAllocatedMemory());
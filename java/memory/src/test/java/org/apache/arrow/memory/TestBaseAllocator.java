@@ -159,6 +159,44 @@ public class TestBaseAllocator {
     }
   }
 
+  @Test
+  public void testAllocator_creditSize() throws Exception {
+    final long creditSize = 4 * 1024;
+    try (final RootAllocator rootAllocator = new RootAllocator(BaseAllocator.configBuilder()
+        .maxAllocation(MAX_ALLOCATION)
+        .creditSize(creditSize)
+        .build())) {
+      final BufferAllocator childAllocator1 = rootAllocator.newChildAllocator("credit1", 0, MAX_ALLOCATION);
+      final BufferAllocator childAllocator2 = rootAllocator.newChildAllocator("credit2", 0, MAX_ALLOCATION);
+      assertEquals(creditSize, ((BaseAllocator) childAllocator1).getCreditSize());
+
+      final ArrowBuf arrowBuf1 = childAllocator1.buffer(1024);
+      assertEquals(1024, childAllocator1.getAllocatedMemory());
+      assertEquals(creditSize, rootAllocator.getAllocatedMemory());
+      rootAllocator.verify();
+
+      // the second buffer is served from the credit already borrowed
+      final ArrowBuf arrowBuf2 = childAllocator1.buffer(1024);
+      assertEquals(creditSize, rootAllocator.getAllocatedMemory());
+
+      // transfers between credit-based allocators keep the accounting consistent
+      final OwnershipTransferResult transferOwnership =
+          arrowBuf2.getReferenceManager().transferOwnership(arrowBuf2, childAllocator2);
+      assertTrue(transferOwnership.getAllocationFit());
+      arrowBuf2.getReferenceManager().release();
+      assertEquals(1024, childAllocator2.getAllocatedMemory());
+      rootAllocator.verify();
+
+      arrowBuf1.getReferenceManager().release();
+      transferOwnership.getTransferredBuffer().getReferenceManager().release();
+      rootAllocator.verify();
+
+      childAllocator1.close();
+      childAllocator2.close();
+      assertEquals(0, rootAllocator.getAllocatedMemory());
+    }
+  }
+
   static <T> boolean equalsIgnoreOrder(Collection<T> c1, Collection<T> c2) {
     return (c1.size() == c2.size() && c1.containsAll(c2));
   }
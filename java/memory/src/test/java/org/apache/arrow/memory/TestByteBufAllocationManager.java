@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Test cases for {@link ByteBufAllocationManager}.
+ */
+public class TestByteBufAllocationManager {
+
+  private static ByteBuf createByteBuf(int size) {
+    ByteBuf byteBuf = PooledByteBufAllocator.DEFAULT.directBuffer(size);
+    for (int i = 0; i < size; i++) {
+      byteBuf.writeByte(i);
+    }
+    return byteBuf;
+  }
+
+  @Test
+  public void testWrapReadableBytes() {
+    ByteBuf byteBuf = createByteBuf(256);
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+      // only the readable bytes of a retained slice are wrapped, as received from a transport
+      ByteBuf slice = byteBuf.skipBytes(16).readRetainedSlice(128);
+      assertEquals(2, byteBuf.refCnt());
+
+      ArrowBuf buffer = ByteBufAllocationManager.wrap(allocator, slice);
+      AllocationManager allocMgr = ((BufferLedger) buffer.getReferenceManager()).getAllocationManager();
+      assertTrue(allocMgr instanceof ByteBufAllocationManager);
+      assertEquals(128, buffer.capacity());
+      assertEquals(128, allocator.getAllocatedMemory());
+      for (int i = 0; i < 128; i++) {
+        assertEquals((byte) (i + 16), buffer.getByte(i));
+      }
+
+      // the bytes are shared, not copied
+      byteBuf.setByte(16, 42);
+      assertEquals(42, buffer.getByte(0));
+
+      // a retained slice keeps the Netty buffer alive
+      ArrowBuf arrowSlice = buffer.slice(100, 8);
+      arrowSlice.getReferenceManager().retain();
+      buffer.getReferenceManager().release();
+      assertEquals(2, byteBuf.refCnt());
+      assertEquals(128, allocator.getAllocatedMemory());
+      assertEquals((byte) 116, arrowSlice.getByte(0));
+
+      arrowSlice.getReferenceManager().release();
+      assertEquals(0, allocator.getAllocatedMemory());
+      assertEquals(1, byteBuf.refCnt());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Test
+  public void testTransferBetweenAllocators() {
+    ByteBuf byteBuf = createByteBuf(64);
+    try (BufferAllocator root = new RootAllocator(Long.MAX_VALUE);
+         BufferAllocator source = root.newChildAllocator("source", 0, Long.MAX_VALUE);
+         BufferAllocator target = root.newChildAllocator("target", 0, Long.MAX_VALUE)) {
+      ArrowBuf buffer = ByteBufAllocationManager.wrap(source, byteBuf);
+      ArrowBuf transferred = buffer.getReferenceManager().transferOwnership(buffer, target).getTransferredBuffer();
+      buffer.getReferenceManager().release();
+      assertEquals(0, source.getAllocatedMemory());
+      assertEquals(64, target.getAllocatedMemory());
+      assertEquals(1, byteBuf.refCnt());
+
+      transferred.getReferenceManager().release();
+      assertEquals(0, byteBuf.refCnt());
+    }
+  }
+
+  @Test
+  public void testWrapBeyondLimitReleases() {
+    ByteBuf byteBuf = createByteBuf(2048);
+    try (BufferAllocator allocator = new RootAllocator(1024)) {
+      ByteBufAllocationManager.wrap(allocator, byteBuf);
+      fail("Expected an OutOfMemoryException");
+    } catch (OutOfMemoryException e) {
+      // expected, the ownership of the Netty buffer was transferred nonetheless
+      assertEquals(0, byteBuf.refCnt());
+    }
+  }
+
+  @Test
+  public void testCanWrap() {
+    ByteBuf heap = Unpooled.buffer(16).writeZero(16);
+    ByteBuf empty = PooledByteBufAllocator.DEFAULT.directBuffer(16);
+    try {
+      assertFalse(ByteBufAllocationManager.canWrap(heap));
+      assertFalse(ByteBufAllocationManager.canWrap(empty));
+    } finally {
+      heap.release();
+      empty.release();
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link MappedAllocationManager}.
+ */
+public class TestMappedAllocationManager {
+
+  private File createFile(int size) throws IOException {
+    File file = File.createTempFile("arrow-mapped", ".bin");
+    file.deleteOnExit();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(size);
+      for (int i = 0; i < size; i++) {
+        buffer.put((byte) i);
+      }
+      buffer.flip();
+      channel.write(buffer);
+    }
+    return file;
+  }
+
+  @Test
+  public void testMapRegion() throws IOException {
+    File file = createFile(4096);
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+         FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ArrowBuf buffer = MappedAllocationManager.map(allocator, channel, FileChannel.MapMode.READ_ONLY, 1000, 1024);
+      AllocationManager allocMgr = ((BufferLedger) buffer.getReferenceManager()).getAllocationManager();
+      assertTrue(allocMgr instanceof MappedAllocationManager);
+      assertEquals(1024, buffer.capacity());
+      assertEquals(1024, allocator.getAllocatedMemory());
+      for (int i = 0; i < 1024; i++) {
+        assertEquals((byte) (i + 1000), buffer.getByte(i));
+      }
+
+      // a retained slice keeps the mapping alive
+      ArrowBuf slice = buffer.slice(100, 8);
+      slice.getReferenceManager().retain();
+      buffer.getReferenceManager().release();
+      assertEquals(1024, allocator.getAllocatedMemory());
+      assertEquals((byte) 1100, slice.getByte(0));
+
+      slice.getReferenceManager().release();
+      assertEquals(0, allocator.getAllocatedMemory());
+    }
+  }
+
+  @Test(expected = OutOfMemoryException.class)
+  public void testMapBeyondLimit() throws IOException {
+    File file = createFile(4096);
+    try (BufferAllocator allocator = new RootAllocator(1024);
+         FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedAllocationManager.map(allocator, channel, FileChannel.MapMode.READ_ONLY, 0, 2048);
+    }
+  }
+}
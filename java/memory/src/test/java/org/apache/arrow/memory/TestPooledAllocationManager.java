@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link PooledAllocationManager}.
+ */
+public class TestPooledAllocationManager {
+
+  private PooledAllocationManagerFactory factory;
+
+  @Before
+  public void init() {
+    factory = new PooledAllocationManagerFactory(1024 * 1024, 16 * 1024 * 1024, 64 * 1024, 0);
+  }
+
+  @After
+  public void terminate() {
+    factory.close();
+  }
+
+  private BaseAllocator createPooledAllocator(AllocationListener listener) {
+    return new RootAllocator(BaseAllocator.configBuilder()
+        .allocationManagerFactory(factory)
+        .listener(listener)
+        .build());
+  }
+
+  private void readWriteArrowBuf(ArrowBuf buffer) {
+    // write buffer
+    for (long i = 0; i < buffer.capacity() / 8; i++) {
+      buffer.setLong(i * 8, i);
+    }
+
+    // read buffer
+    for (long i = 0; i < buffer.capacity() / 8; i++) {
+      long val = buffer.getLong(i * 8);
+      assertEquals(i, val);
+    }
+  }
+
+  @Test
+  public void testBufferAllocation() {
+    final long bufSize = 4096L;
+    try (BaseAllocator allocator = createPooledAllocator(AllocationListener.NOOP);
+         ArrowBuf buffer = allocator.buffer(bufSize)) {
+      AllocationManager allocMgr = ((BufferLedger) buffer.getReferenceManager()).getAllocationManager();
+      assertTrue(allocMgr instanceof PooledAllocationManager);
+      assertEquals(bufSize, allocMgr.getSize());
+      readWriteArrowBuf(buffer);
+    }
+  }
+
+  @Test
+  public void testChunkRecycling() {
+    try (BaseAllocator allocator = createPooledAllocator(AllocationListener.NOOP)) {
+      final long address;
+      try (ArrowBuf buffer = allocator.buffer(1000)) {
+        address = buffer.memoryAddress();
+      }
+      assertEquals(1024, factory.getPooledBytes());
+
+      // a request in the same size class gets the same chunk back
+      try (ArrowBuf buffer = allocator.buffer(1024)) {
+        assertEquals(address, buffer.memoryAddress());
+        assertEquals(0, factory.getPooledBytes());
+        readWriteArrowBuf(buffer);
+      }
+      assertEquals(1, factory.getHitCount());
+      assertEquals(1, factory.getMissCount());
+    }
+  }
+
+  @Test
+  public void testLargeBuffersAreNotPooled() {
+    try (BaseAllocator allocator = createPooledAllocator(AllocationListener.NOOP)) {
+      try (ArrowBuf buffer = allocator.buffer(4 * 1024 * 1024)) {
+        readWriteArrowBuf(buffer);
+      }
+      assertEquals(0, factory.getPooledBytes());
+      assertEquals(0, factory.getMissCount());
+    }
+  }
+
+  @Test
+  public void testAccountingAndListener() {
+    final AtomicLong outstanding = new AtomicLong();
+    final AllocationListener listener = new AllocationListener() {
+      @Override
+      public void onAllocation(long size) {
+        outstanding.addAndGet(size);
+      }
+
+      @Override
+      public void onRelease(long size) {
+        outstanding.addAndGet(-size);
+      }
+    };
+
+    try (BaseAllocator allocator = createPooledAllocator(listener)) {
+      for (int round = 0; round < 3; round++) {
+        List<ArrowBuf> buffers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+          buffers.add(allocator.buffer(512));
+        }
+        assertEquals(10 * 512, allocator.getAllocatedMemory());
+        assertEquals(10 * 512, outstanding.get());
+
+        buffers.forEach(ArrowBuf::close);
+        assertEquals(0, allocator.getAllocatedMemory());
+        assertEquals(0, outstanding.get());
+      }
+    }
+  }
+
+  @Test
+  public void testTrim() {
+    try (BaseAllocator allocator = createPooledAllocator(AllocationListener.NOOP)) {
+      allocator.buffer(256).close();
+      allocator.buffer(8192).close();
+      assertEquals(256 + 8192, factory.getPooledBytes());
+
+      factory.trim();
+      assertEquals(0, factory.getPooledBytes());
+    }
+  }
+
+  @Test
+  public void testIdleTimeout() throws Exception {
+    try (PooledAllocationManagerFactory idleFactory =
+             new PooledAllocationManagerFactory(1024 * 1024, 1024 * 1024, 64 * 1024, 10);
+         BaseAllocator allocator = new RootAllocator(BaseAllocator.configBuilder()
+             .allocationManagerFactory(idleFactory).build())) {
+      allocator.buffer(2048).close();
+      assertEquals(2048, idleFactory.getPooledBytes());
+
+      for (int i = 0; i < 100 && idleFactory.getPooledBytes() != 0; i++) {
+        Thread.sleep(10);
+      }
+      assertEquals(0, idleFactory.getPooledBytes());
+    }
+  }
+
+  @Test
+  public void testCrossThreadRelease() throws Exception {
+    try (BaseAllocator allocator = createPooledAllocator(AllocationListener.NOOP)) {
+      final int numThreads = 4;
+      final int numBuffers = 200;
+      final List<ArrowBuf> buffers = new ArrayList<>();
+      for (int i = 0; i < numThreads * numBuffers; i++) {
+        buffers.add(allocator.buffer(64 + (i % 7) * 100));
+      }
+
+      // release the buffers from other threads, which pushes the chunks through
+      // the other threads' caches and the global free-lists.
+      Thread[] threads = new Thread[numThreads];
+      for (int t = 0; t < numThreads; t++) {
+        final List<ArrowBuf> slice = buffers.subList(t * numBuffers, (t + 1) * numBuffers);
+        threads[t] = new Thread(() -> slice.forEach(ArrowBuf::close));
+        threads[t].start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      assertEquals(0, allocator.getAllocatedMemory());
+
+      // caches of dead threads are reclaimed on trim
+      factory.trim();
+      assertEquals(0, factory.getPooledBytes());
+    }
+  }
+}
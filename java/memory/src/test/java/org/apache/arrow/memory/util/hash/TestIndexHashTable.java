@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.memory.util.hash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link IndexHashTable}.
+ */
+public class TestIndexHashTable {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testPutIfAbsent() {
+    final int count = 100_000;
+    final long[] keys = new long[count];
+    Random random = new Random(0);
+    for (int i = 0; i < count; i++) {
+      keys[i] = random.nextInt(count / 2);
+    }
+
+    // deduplicate the keys, as a dictionary builder would
+    final long[] distinct = new long[count];
+    int distinctCount = 0;
+    try (IndexHashTable table = new IndexHashTable(allocator)) {
+      for (int i = 0; i < count; i++) {
+        final long key = keys[i];
+        int existing = table.putIfAbsent(Long.hashCode(key), distinctCount, index -> distinct[index] == key);
+        if (existing == IndexHashTable.NOT_FOUND) {
+          distinct[distinctCount++] = key;
+        } else {
+          assertEquals(key, distinct[existing]);
+        }
+      }
+      assertEquals(distinctCount, table.size());
+      assertTrue(table.capacity() >= 2 * table.size());
+
+      for (int i = 0; i < distinctCount; i++) {
+        final long key = distinct[i];
+        assertEquals(i, table.get(Long.hashCode(key), index -> distinct[index] == key));
+      }
+      assertEquals(IndexHashTable.NOT_FOUND, table.get(Long.hashCode(-1L), index -> distinct[index] == -1L));
+    }
+  }
+
+  @Test
+  public void testCollidingHashCodes() {
+    final int count = 1000;
+    try (IndexHashTable table = new IndexHashTable(allocator, count)) {
+      for (int i = 0; i < count; i++) {
+        table.put(42, i);
+      }
+      assertEquals(count, table.size());
+      for (int i = 0; i < count; i++) {
+        final int key = i;
+        assertEquals(key, table.get(42, index -> index == key));
+      }
+      assertEquals(IndexHashTable.NOT_FOUND, table.get(42, index -> false));
+      assertEquals(IndexHashTable.NOT_FOUND, table.get(43, index -> true));
+    }
+  }
+
+  @Test
+  public void testClear() {
+    try (IndexHashTable table = new IndexHashTable(allocator)) {
+      for (int i = 0; i < 100; i++) {
+        table.put(i, i);
+      }
+      int capacity = table.capacity();
+      table.clear();
+      assertEquals(0, table.size());
+      assertEquals(capacity, table.capacity());
+      assertEquals(IndexHashTable.NOT_FOUND, table.get(7, index -> true));
+
+      table.put(7, 3);
+      assertEquals(3, table.get(7, index -> true));
+    }
+  }
+
+  @Test
+  public void testOnHeap() {
+    final int count = 10_000;
+    IndexHashTable table = new IndexHashTable(0);
+    for (int i = 0; i < count; i++) {
+      final int key = i;
+      assertEquals(IndexHashTable.NOT_FOUND, table.putIfAbsent(key % 7, i, index -> index == key));
+    }
+    assertEquals(count, table.size());
+    for (int i = 0; i < count; i++) {
+      final int key = i;
+      assertEquals(key, table.get(key % 7, index -> index == key));
+    }
+    table.clear();
+    assertEquals(IndexHashTable.NOT_FOUND, table.get(0, index -> true));
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testMemoryAccounting() {
+    try (IndexHashTable table = new IndexHashTable(allocator, 1000)) {
+      assertEquals(2048, table.capacity());
+      assertEquals(2048 * 8, allocator.getAllocatedMemory());
+      for (int i = 0; i < 1025; i++) {
+        table.put(i, i);
+      }
+      assertEquals(4096, table.capacity());
+      assertEquals(4096 * 8, allocator.getAllocatedMemory());
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.aggregate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link HashAggregator}, compared with aggregating boxed values in a {@link HashMap}.
+ */
+@State(Scope.Benchmark)
+public class HashAggregatorBenchmarks {
+
+  private static final int BATCH_SIZE = 64 * 1024;
+
+  private static final int BATCH_COUNT = 16;
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", Types.MinorType.INT.getType()),
+      Field.nullable("value", Types.MinorType.INT.getType())));
+
+  private static final List<Aggregation> AGGREGATIONS = Arrays.asList(
+      Aggregation.countAll(), Aggregation.sum("value"), Aggregation.max("value"));
+
+  @Param({"1000", "1000000"})
+  public int distinctKeys;
+
+  private BufferAllocator allocator;
+
+  private VectorSchemaRoot[] batches;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+    batches = new VectorSchemaRoot[BATCH_COUNT];
+    Random random = new Random(0);
+    for (int i = 0; i < BATCH_COUNT; i++) {
+      batches[i] = VectorSchemaRoot.create(SCHEMA, allocator);
+      IntVector keys = (IntVector) batches[i].getVector("key");
+      IntVector values = (IntVector) batches[i].getVector("value");
+      keys.allocateNew(BATCH_SIZE);
+      values.allocateNew(BATCH_SIZE);
+      for (int j = 0; j < BATCH_SIZE; j++) {
+        keys.set(j, random.nextInt(distinctKeys));
+        values.set(j, random.nextInt(1000));
+      }
+      batches[i].setRowCount(BATCH_SIZE);
+    }
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() {
+    for (VectorSchemaRoot batch : batches) {
+      batch.close();
+    }
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int hashAggregator() {
+    try (HashAggregator aggregator =
+             new HashAggregator(SCHEMA, Collections.singletonList("key"), AGGREGATIONS, allocator)) {
+      for (VectorSchemaRoot batch : batches) {
+        aggregator.consume(batch);
+      }
+      return aggregator.getGroupCount();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int hashMap() {
+    // count, sum and max for each key
+    Map<Integer, long[]> groups = new HashMap<>();
+    for (VectorSchemaRoot batch : batches) {
+      IntVector keys = (IntVector) batch.getVector("key");
+      IntVector values = (IntVector) batch.getVector("value");
+      for (int i = 0; i < batch.getRowCount(); i++) {
+        Integer key = keys.getObject(i);
+        Integer value = values.getObject(i);
+        long[] state = groups.computeIfAbsent(key, k -> new long[] {0, 0, Long.MIN_VALUE});
+        state[0] += 1;
+        if (value != null) {
+          state[1] += value;
+          state[2] = Math.max(state[2], value);
+        }
+      }
+    }
+    return groups.size();
+  }
+
+  public static void main(String [] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(HashAggregatorBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
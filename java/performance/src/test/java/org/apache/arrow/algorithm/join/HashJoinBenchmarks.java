@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.join;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link HashJoin}, compared with joining boxed rows through a {@link HashMap}.
+ */
+@State(Scope.Benchmark)
+public class HashJoinBenchmarks {
+
+  private static final int BUILD_SIZE = 1024 * 1024;
+
+  private static final int PROBE_BATCH_SIZE = 64 * 1024;
+
+  private static final int PROBE_BATCH_COUNT = 16;
+
+  private static final Schema PROBE_SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("id", Types.MinorType.INT.getType()),
+      Field.nullable("amount", Types.MinorType.BIGINT.getType())));
+
+  private static final Schema BUILD_SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", Types.MinorType.INT.getType()),
+      Field.nullable("value", Types.MinorType.BIGINT.getType())));
+
+  @Param({"INNER", "LEFT_OUTER", "SEMI", "ANTI"})
+  public JoinType joinType;
+
+  private BufferAllocator allocator;
+
+  private VectorSchemaRoot buildBatch;
+
+  private VectorSchemaRoot[] probeBatches;
+
+  private static VectorSchemaRoot createBatch(Schema schema, int rowCount, int keyRange, Random random,
+      BufferAllocator allocator) {
+    VectorSchemaRoot batch = VectorSchemaRoot.create(schema, allocator);
+    IntVector keys = (IntVector) batch.getVector(0);
+    BigIntVector values = (BigIntVector) batch.getVector(1);
+    keys.allocateNew(rowCount);
+    values.allocateNew(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      keys.set(i, random.nextInt(keyRange));
+      values.set(i, i);
+    }
+    batch.setRowCount(rowCount);
+    return batch;
+  }
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+    Random random = new Random(0);
+    // about half of the probe rows have a match
+    buildBatch = createBatch(BUILD_SCHEMA, BUILD_SIZE, BUILD_SIZE, random, allocator);
+    probeBatches = new VectorSchemaRoot[PROBE_BATCH_COUNT];
+    for (int i = 0; i < PROBE_BATCH_COUNT; i++) {
+      probeBatches[i] = createBatch(PROBE_SCHEMA, PROBE_BATCH_SIZE, 2 * BUILD_SIZE, random, allocator);
+    }
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() {
+    buildBatch.close();
+    for (VectorSchemaRoot batch : probeBatches) {
+      batch.close();
+    }
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int hashJoin() {
+    int rowCount = 0;
+    try (HashJoin join = new HashJoin(PROBE_SCHEMA, Collections.singletonList("id"), BUILD_SCHEMA,
+        Collections.singletonList("key"), joinType, allocator, Long.MAX_VALUE, ForkJoinPool.commonPool(),
+        SimpleHasher.INSTANCE);
+         VectorSchemaRoot output = VectorSchemaRoot.create(join.getOutputSchema(), allocator)) {
+      join.build(buildBatch);
+      for (VectorSchemaRoot probeBatch : probeBatches) {
+        join.probe(probeBatch, output);
+        rowCount += output.getRowCount();
+      }
+    }
+    return rowCount;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int hashMap() {
+    IntVector buildKeys = (IntVector) buildBatch.getVector(0);
+    BigIntVector buildValues = (BigIntVector) buildBatch.getVector(1);
+    Map<Integer, List<Object[]>> table = new HashMap<>();
+    for (int i = 0; i < buildBatch.getRowCount(); i++) {
+      table.computeIfAbsent(buildKeys.getObject(i), k -> new ArrayList<>())
+          .add(new Object[] {buildKeys.getObject(i), buildValues.getObject(i)});
+    }
+
+    int rowCount = 0;
+    for (VectorSchemaRoot probeBatch : probeBatches) {
+      IntVector probeKeys = (IntVector) probeBatch.getVector(0);
+      BigIntVector probeValues = (BigIntVector) probeBatch.getVector(1);
+      List<Object[]> output = new ArrayList<>();
+      for (int i = 0; i < probeBatch.getRowCount(); i++) {
+        Integer key = probeKeys.getObject(i);
+        List<Object[]> matches = table.get(key);
+        Object[] probeRow = new Object[] {key, probeValues.getObject(i)};
+        switch (joinType) {
+          case INNER:
+          case LEFT_OUTER:
+            if (matches != null) {
+              for (Object[] match : matches) {
+                output.add(new Object[] {probeRow[0], probeRow[1], match[0], match[1]});
+              }
+            } else if (joinType == JoinType.LEFT_OUTER) {
+              output.add(new Object[] {probeRow[0], probeRow[1], null, null});
+            }
+            break;
+          case SEMI:
+            if (matches != null) {
+              output.add(probeRow);
+            }
+            break;
+          default:
+            if (matches == null) {
+              output.add(probeRow);
+            }
+            break;
+        }
+      }
+      rowCount += output.size();
+    }
+    return rowCount;
+  }
+
+  public static void main(String [] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(HashJoinBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.kernel;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link ArithmeticKernels} and {@link ComparisonKernels}, compared with
+ * computing the same results by the get/set methods of the vectors.
+ */
+@State(Scope.Benchmark)
+public class NumericKernelBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  private BufferAllocator allocator;
+
+  private IntVector intLeft;
+
+  private IntVector intRight;
+
+  private IntVector intResult;
+
+  private Float8Vector doubleLeft;
+
+  private Float8Vector doubleRight;
+
+  private Float8Vector doubleResult;
+
+  private BitVector mask;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+    intLeft = new IntVector("int left", allocator);
+    intRight = new IntVector("int right", allocator);
+    intResult = new IntVector("int result", allocator);
+    doubleLeft = new Float8Vector("double left", allocator);
+    doubleRight = new Float8Vector("double right", allocator);
+    doubleResult = new Float8Vector("double result", allocator);
+    mask = new BitVector("mask", allocator);
+
+    intLeft.allocateNew(VECTOR_LENGTH);
+    intRight.allocateNew(VECTOR_LENGTH);
+    doubleLeft.allocateNew(VECTOR_LENGTH);
+    doubleRight.allocateNew(VECTOR_LENGTH);
+    Random random = new Random(0);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      // one value in ten is null
+      if (random.nextInt(10) != 0) {
+        intLeft.set(i, random.nextInt());
+        doubleLeft.set(i, random.nextDouble());
+      }
+      if (random.nextInt(10) != 0) {
+        intRight.set(i, random.nextInt());
+        doubleRight.set(i, random.nextDouble());
+      }
+    }
+    intLeft.setValueCount(VECTOR_LENGTH);
+    intRight.setValueCount(VECTOR_LENGTH);
+    doubleLeft.setValueCount(VECTOR_LENGTH);
+    doubleRight.setValueCount(VECTOR_LENGTH);
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() {
+    intLeft.close();
+    intRight.close();
+    intResult.close();
+    doubleLeft.close();
+    doubleRight.close();
+    doubleResult.close();
+    mask.close();
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int addIntKernel() {
+    ArithmeticKernels.add(intLeft, intRight, intResult);
+    return intResult.getValueCount();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int addIntGetSet() {
+    intResult.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (!intLeft.isNull(i) && !intRight.isNull(i)) {
+        intResult.set(i, intLeft.get(i) + intRight.get(i));
+      }
+    }
+    intResult.setValueCount(VECTOR_LENGTH);
+    return intResult.getValueCount();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int multiplyDoubleKernel() {
+    ArithmeticKernels.multiply(doubleLeft, doubleRight, doubleResult);
+    return doubleResult.getValueCount();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int multiplyDoubleGetSet() {
+    doubleResult.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (!doubleLeft.isNull(i) && !doubleRight.isNull(i)) {
+        doubleResult.set(i, doubleLeft.get(i) * doubleRight.get(i));
+      }
+    }
+    doubleResult.setValueCount(VECTOR_LENGTH);
+    return doubleResult.getValueCount();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int lessThanIntKernel() {
+    ComparisonKernels.compare(intLeft, intRight, ComparisonOperator.LESS_THAN, mask);
+    return mask.getValueCount();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int lessThanIntGetSet() {
+    mask.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (!intLeft.isNull(i) && !intRight.isNull(i)) {
+        mask.set(i, intLeft.get(i) < intRight.get(i) ? 1 : 0);
+      }
+    }
+    mask.setValueCount(VECTOR_LENGTH);
+    return mask.getValueCount();
+  }
+
+  public static void main(String [] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(NumericKernelBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
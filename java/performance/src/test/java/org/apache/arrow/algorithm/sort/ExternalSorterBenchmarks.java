@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link ExternalSorter}, with a memory budget that holds all the data
+ * and with budgets that force the data to be spilled in several runs.
+ */
+@State(Scope.Benchmark)
+public class ExternalSorterBenchmarks {
+
+  private static final int BATCH_SIZE = 64 * 1024;
+
+  private static final int BATCH_COUNT = 16;
+
+  private static final Schema SCHEMA = new Schema(Collections.singletonList(
+      Field.nullable("key", Types.MinorType.INT.getType())));
+
+  /**
+   * The memory budget in MB. The input is about 4.5MB in total.
+   */
+  @Param({"64", "8", "2"})
+  public int memoryBudgetMb;
+
+  private BufferAllocator allocator;
+
+  private VectorSchemaRoot[] batches;
+
+  private File spillDirectory;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() throws IOException {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+    spillDirectory = Files.createTempDirectory("arrow-sort-benchmark").toFile();
+    batches = new VectorSchemaRoot[BATCH_COUNT];
+    Random random = new Random(0);
+    for (int i = 0; i < BATCH_COUNT; i++) {
+      batches[i] = VectorSchemaRoot.create(SCHEMA, allocator);
+      IntVector keys = (IntVector) batches[i].getVector("key");
+      keys.allocateNew(BATCH_SIZE);
+      for (int j = 0; j < BATCH_SIZE; j++) {
+        keys.set(j, random.nextInt());
+      }
+      batches[i].setRowCount(BATCH_SIZE);
+    }
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() {
+    for (VectorSchemaRoot batch : batches) {
+      batch.close();
+    }
+    allocator.close();
+    spillDirectory.delete();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long externalSort() throws IOException {
+    long rowCount = 0;
+    try (ExternalSorter sorter = new ExternalSorter(SCHEMA, Collections.singletonList("key"), allocator,
+        memoryBudgetMb * 1024L * 1024L, spillDirectory);
+         VectorSchemaRoot output = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      for (VectorSchemaRoot batch : batches) {
+        sorter.add(batch);
+      }
+      while (sorter.loadNextBatch(output)) {
+        rowCount += output.getRowCount();
+      }
+    }
+    return rowCount;
+  }
+
+  public static void main(String [] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ExternalSorterBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
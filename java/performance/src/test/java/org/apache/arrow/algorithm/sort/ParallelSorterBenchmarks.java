@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for out-of-place sorters backed by {@link ParallelIndexSorter}, scaling by the number of threads.
+ */
+public class ParallelSorterBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class SortState {
+
+    @Param({"1", "2", "4", "8"})
+    int numThreads;
+
+    BufferAllocator allocator;
+
+    ForkJoinPool pool;
+
+    BigIntVector bigIntVector;
+
+    BigIntVector sortedBigIntVector;
+
+    VarCharVector varCharVector;
+
+    VarCharVector sortedVarCharVector;
+
+    OutOfPlaceVectorSorter<BigIntVector> bigIntSorter;
+
+    OutOfPlaceVectorSorter<VarCharVector> varCharSorter;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Long.MAX_VALUE);
+      pool = new ForkJoinPool(numThreads);
+      Random random = new Random(0);
+
+      bigIntVector = new BigIntVector("bigint", allocator);
+      bigIntVector.allocateNew(VECTOR_LENGTH);
+      varCharVector = new VarCharVector("varchar", allocator);
+      varCharVector.allocateNew(VECTOR_LENGTH * 16L, VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        long value = random.nextLong();
+        bigIntVector.set(i, value);
+        varCharVector.setSafe(i, Long.toHexString(value).getBytes(StandardCharsets.UTF_8));
+      }
+      bigIntVector.setValueCount(VECTOR_LENGTH);
+      varCharVector.setValueCount(VECTOR_LENGTH);
+
+      sortedBigIntVector = new BigIntVector("sorted bigint", allocator);
+      sortedBigIntVector.allocateNew(VECTOR_LENGTH);
+      sortedBigIntVector.setValueCount(VECTOR_LENGTH);
+      sortedVarCharVector = new VarCharVector("sorted varchar", allocator);
+      sortedVarCharVector.allocateNew(varCharVector.getByteCapacity(), VECTOR_LENGTH);
+      sortedVarCharVector.setValueCount(VECTOR_LENGTH);
+
+      bigIntSorter = new FixedWidthOutOfPlaceVectorSorter<>(pool);
+      varCharSorter = new VariableWidthOutOfPlaceVectorSorter<>(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      bigIntVector.close();
+      sortedBigIntVector.close();
+      varCharVector.close();
+      sortedVarCharVector.close();
+      allocator.close();
+      pool.shutdown();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void sortBigIntBenchmark(SortState state) {
+    state.bigIntSorter.sortOutOfPlace(state.bigIntVector, state.sortedBigIntVector,
+        DefaultVectorComparators.createDefaultComparator(state.bigIntVector));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void sortVarCharBenchmark(SortState state) {
+    state.varCharSorter.sortOutOfPlace(state.varCharVector, state.sortedVarCharVector,
+        DefaultVectorComparators.createDefaultComparator(state.varCharVector));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ParallelSorterBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
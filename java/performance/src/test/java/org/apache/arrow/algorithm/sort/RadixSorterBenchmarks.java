@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.algorithm.sort;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link RadixOutOfPlaceVectorSorter}, compared with the quick-sort based
+ * {@link FixedWidthOutOfPlaceVectorSorter}.
+ */
+@State(Scope.Benchmark)
+public class RadixSorterBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  private BufferAllocator allocator;
+
+  private IntVector intVector;
+
+  private IntVector sortedIntVector;
+
+  private BigIntVector bigIntVector;
+
+  private BigIntVector sortedBigIntVector;
+
+  private Float8Vector float8Vector;
+
+  private Float8Vector sortedFloat8Vector;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup(Level.Trial)
+  public void prepare() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    intVector = new IntVector("int", allocator);
+    intVector.allocateNew(VECTOR_LENGTH);
+    bigIntVector = new BigIntVector("bigint", allocator);
+    bigIntVector.allocateNew(VECTOR_LENGTH);
+    float8Vector = new Float8Vector("float8", allocator);
+    float8Vector.allocateNew(VECTOR_LENGTH);
+
+    Random random = new Random(0);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      intVector.set(i, random.nextInt());
+      bigIntVector.set(i, random.nextLong());
+      float8Vector.set(i, random.nextGaussian());
+    }
+    intVector.setValueCount(VECTOR_LENGTH);
+    bigIntVector.setValueCount(VECTOR_LENGTH);
+    float8Vector.setValueCount(VECTOR_LENGTH);
+
+    sortedIntVector = new IntVector("sorted int", allocator);
+    sortedIntVector.allocateNew(VECTOR_LENGTH);
+    sortedIntVector.setValueCount(VECTOR_LENGTH);
+    sortedBigIntVector = new BigIntVector("sorted bigint", allocator);
+    sortedBigIntVector.allocateNew(VECTOR_LENGTH);
+    sortedBigIntVector.setValueCount(VECTOR_LENGTH);
+    sortedFloat8Vector = new Float8Vector("sorted float8", allocator);
+    sortedFloat8Vector.allocateNew(VECTOR_LENGTH);
+    sortedFloat8Vector.setValueCount(VECTOR_LENGTH);
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    intVector.close();
+    sortedIntVector.close();
+    bigIntVector.close();
+    sortedBigIntVector.close();
+    float8Vector.close();
+    sortedFloat8Vector.close();
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void quickSortInt() {
+    new FixedWidthOutOfPlaceVectorSorter<IntVector>().sortOutOfPlace(
+        intVector, sortedIntVector, DefaultVectorComparators.createDefaultComparator(intVector));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void radixSortInt() {
+    new RadixOutOfPlaceVectorSorter<IntVector>().sortOutOfPlace(
+        intVector, sortedIntVector, DefaultVectorComparators.createDefaultComparator(intVector));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void quickSortBigInt() {
+    new FixedWidthOutOfPlaceVectorSorter<BigIntVector>().sortOutOfPlace(
+        bigIntVector, sortedBigIntVector, DefaultVectorComparators.createDefaultComparator(bigIntVector));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void radixSortBigInt() {
+    new RadixOutOfPlaceVectorSorter<BigIntVector>().sortOutOfPlace(
+        bigIntVector, sortedBigIntVector, DefaultVectorComparators.createDefaultComparator(bigIntVector));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void quickSortFloat8() {
+    new FixedWidthOutOfPlaceVectorSorter<Float8Vector>().sortOutOfPlace(
+        float8Vector, sortedFloat8Vector, DefaultVectorComparators.createDefaultComparator(float8Vector));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void radixSortFloat8() {
+    new RadixOutOfPlaceVectorSorter<Float8Vector>().sortOutOfPlace(
+        float8Vector, sortedFloat8Vector, DefaultVectorComparators.createDefaultComparator(float8Vector));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(RadixSorterBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
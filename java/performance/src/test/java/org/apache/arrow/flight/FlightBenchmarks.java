@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for the throughput of DoGet streams between a client and a server on the loopback interface.
+ * A stream transfers {@link #STREAM_BYTES} bytes of record batch bodies, so the number of operations per second
+ * times {@link #STREAM_BYTES} is the throughput in bytes per second.
+ */
+@State(Scope.Benchmark)
+public class FlightBenchmarks {
+
+  private static final long STREAM_BYTES = 256L * 1024 * 1024;
+
+  private static final Schema SCHEMA = new Schema(Collections.singletonList(
+      new Field("longs", FieldType.nullable(new ArrowType.Int(64, true)), null)));
+
+  /**
+   * The number of rows per batch. Small batches fit in a single HTTP/2 frame.
+   */
+  @Param({"1024", "131072"})
+  private int rowsPerBatch;
+
+  private BufferAllocator allocator;
+
+  private FlightServer server;
+
+  private FlightClient client;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() throws Exception {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    server = FlightServer.builder(allocator, Location.forGrpcInsecure("localhost", 0), new Producer(allocator))
+        .build().start();
+    client = FlightClient.builder(allocator, server.getLocation()).build();
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() throws Exception {
+    client.close();
+    server.close();
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public long doGet() throws Exception {
+    long sum = 0;
+    final Ticket ticket = new Ticket(Integer.toString(rowsPerBatch).getBytes(StandardCharsets.UTF_8));
+    try (FlightStream stream = client.getStream(ticket)) {
+      final VectorSchemaRoot root = stream.getRoot();
+      while (stream.next()) {
+        final BigIntVector vector = (BigIntVector) root.getVector("longs");
+        sum += vector.get(root.getRowCount() - 1);
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Streams batches of {@link #STREAM_BYTES} bytes in total, with the number of rows per batch in the ticket.
+   */
+  private static class Producer extends NoOpFlightProducer {
+    private final BufferAllocator allocator;
+
+    Producer(BufferAllocator allocator) {
+      this.allocator = allocator;
+    }
+
+    @Override
+    public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+      final int rowsPerBatch = Integer.parseInt(new String(ticket.getBytes(), StandardCharsets.UTF_8));
+      try (VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator)) {
+        final BigIntVector vector = (BigIntVector) root.getVector("longs");
+        vector.allocateNew(rowsPerBatch);
+        for (int i = 0; i < rowsPerBatch; i++) {
+          vector.set(i, i);
+        }
+        root.setRowCount(rowsPerBatch);
+
+        listener.start(root);
+        final long batches = STREAM_BYTES / ((long) rowsPerBatch * BigIntVector.TYPE_WIDTH);
+        for (long batch = 0; batch < batches; batch++) {
+          listener.putNext();
+        }
+        listener.completed();
+      }
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(FlightBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
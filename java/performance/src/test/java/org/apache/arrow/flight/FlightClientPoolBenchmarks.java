@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for the latency of a call to a local server, with a new client per call or a client of a
+ * {@link FlightClientPool}.
+ */
+@State(Scope.Benchmark)
+public class FlightClientPoolBenchmarks {
+
+  private static final Action ACTION = new Action("ping");
+
+  private BufferAllocator allocator;
+
+  private FlightServer server;
+
+  private FlightClientPool clientPool;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() throws Exception {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    server = FlightServer.builder(allocator, Location.forGrpcInsecure("localhost", 0), new Producer()).build().start();
+    clientPool = FlightClientPool.builder(allocator).idleTimeout(1, TimeUnit.MINUTES).build();
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() throws Exception {
+    clientPool.close();
+    server.close();
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int newClientPerCall() throws Exception {
+    try (FlightClient client = FlightClient.builder(allocator, server.getLocation()).build()) {
+      return call(client);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int pooledClient() {
+    try (FlightClientPool.PooledClient client = clientPool.acquire(server.getLocation())) {
+      return call(client.getClient());
+    }
+  }
+
+  private static int call(FlightClient client) {
+    int length = 0;
+    final Iterator<Result> results = client.doAction(ACTION);
+    while (results.hasNext()) {
+      length += results.next().getBody().length;
+    }
+    return length;
+  }
+
+  /**
+   * Answers each action with a single empty result.
+   */
+  private static class Producer extends NoOpFlightProducer {
+    @Override
+    public void doAction(CallContext context, Action action, StreamListener<Result> listener) {
+      listener.onNext(new Result(new byte[0]));
+      listener.onCompleted();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(FlightClientPoolBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
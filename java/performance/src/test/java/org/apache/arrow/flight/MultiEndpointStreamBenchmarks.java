@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.flight;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for reading a flight with an endpoint per local server, one endpoint after the other with
+ * {@link FlightClient#getStream}, or concurrently with {@link MultiEndpointStream}.
+ */
+@State(Scope.Benchmark)
+public class MultiEndpointStreamBenchmarks {
+
+  private static final int ROWS_PER_BATCH = 64 * 1024;
+
+  private static final int BATCHES_PER_ENDPOINT = 64;
+
+  private static final Schema SCHEMA = new Schema(Collections.singletonList(
+      new Field("longs", FieldType.nullable(new ArrowType.Int(64, true)), null)));
+
+  @Param({"4"})
+  private int servers;
+
+  @Param({"1", "4"})
+  private int maxConcurrency;
+
+  private BufferAllocator allocator;
+
+  private List<FlightServer> flightServers;
+
+  private FlightClientPool clientPool;
+
+  private FlightInfo info;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() throws Exception {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    flightServers = new ArrayList<>();
+    final List<FlightEndpoint> endpoints = new ArrayList<>();
+    for (int i = 0; i < servers; i++) {
+      final FlightServer server = FlightServer.builder(allocator, Location.forGrpcInsecure("localhost", 0),
+          new Producer(allocator)).build().start();
+      flightServers.add(server);
+      endpoints.add(new FlightEndpoint(new Ticket(new byte[0]), server.getLocation()));
+    }
+    info = new FlightInfo(SCHEMA, FlightDescriptor.path("benchmark"), endpoints, -1, -1);
+    clientPool = new FlightClientPool(allocator);
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() throws Exception {
+    clientPool.close();
+    AutoCloseables.close(flightServers);
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long sequential() throws Exception {
+    long sum = 0;
+    for (final FlightEndpoint endpoint : info.getEndpoints()) {
+      try (FlightClientPool.PooledClient client = clientPool.acquire(endpoint.getLocations().get(0));
+           FlightStream stream = client.getClient().getStream(endpoint.getTicket())) {
+        final VectorSchemaRoot root = stream.getRoot();
+        while (stream.next()) {
+          sum += ((BigIntVector) root.getVector("longs")).get(root.getRowCount() - 1);
+        }
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long endpointOrder() throws Exception {
+    return read(MultiEndpointStream.Order.ENDPOINT);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long arrivalOrder() throws Exception {
+    return read(MultiEndpointStream.Order.ARRIVAL);
+  }
+
+  private long read(MultiEndpointStream.Order order) throws Exception {
+    long sum = 0;
+    try (MultiEndpointStream stream = MultiEndpointStream.builder(clientPool, allocator, info)
+        .order(order)
+        .maxConcurrency(maxConcurrency)
+        .build()) {
+      final VectorSchemaRoot root = stream.getRoot();
+      while (stream.next()) {
+        sum += ((BigIntVector) root.getVector("longs")).get(root.getRowCount() - 1);
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Streams {@link #BATCHES_PER_ENDPOINT} batches of {@link #ROWS_PER_BATCH} rows.
+   */
+  private static class Producer extends NoOpFlightProducer {
+    private final BufferAllocator allocator;
+
+    Producer(BufferAllocator allocator) {
+      this.allocator = allocator;
+    }
+
+    @Override
+    public void getStream(CallContext context, Ticket ticket, ServerStreamListener listener) {
+      try (VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator)) {
+        final BigIntVector vector = (BigIntVector) root.getVector("longs");
+        vector.allocateNew(ROWS_PER_BATCH);
+        for (int i = 0; i < ROWS_PER_BATCH; i++) {
+          vector.set(i, i);
+        }
+        root.setRowCount(ROWS_PER_BATCH);
+
+        listener.start(root);
+        for (int batch = 0; batch < BATCHES_PER_ENDPOINT; batch++) {
+          listener.putNext();
+        }
+        listener.completed();
+      }
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(MultiEndpointStreamBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
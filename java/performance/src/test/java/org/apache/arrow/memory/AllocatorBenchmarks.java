@@ -17,6 +17,7 @@
 
 package org.apache.arrow.memory;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.arrow.memory.ArrowBuf;
@@ -24,8 +25,15 @@ import org.apache.arrow.memory.rounding.RoundingPolicy;
 import org.apache.arrow.memory.rounding.SegmentRoundingPolicy;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -84,6 +92,155 @@ public class AllocatorBenchmarks {
     }
   }
 
+  /**
+   * State object for the allocate/release churn benchmark.
+   */
+  @State(Scope.Benchmark)
+  public static class ChurnState {
+
+    private static final int MIN_BUFFER_SIZE = 64;
+
+    private static final int MAX_BUFFER_SIZE = 256 * 1024;
+
+    @Param({"Netty", "Unsafe", "Pooled"})
+    public String managerType;
+
+    private PooledAllocationManagerFactory pooledFactory;
+
+    private RootAllocator allocator;
+
+    /**
+     * Setup the root allocator with the allocation manager under test.
+     */
+    @Setup(Level.Trial)
+    public void prepare() {
+      final AllocationManager.Factory factory;
+      switch (managerType) {
+        case "Netty":
+          factory = NettyAllocationManager.FACTORY;
+          break;
+        case "Unsafe":
+          factory = UnsafeAllocationManager.FACTORY;
+          break;
+        case "Pooled":
+          pooledFactory = new PooledAllocationManagerFactory();
+          factory = pooledFactory;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown allocation manager type: " + managerType);
+      }
+      allocator = new RootAllocator(BaseAllocator.configBuilder().allocationManagerFactory(factory).build());
+    }
+
+    /**
+     * Tear down allocators.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      allocator.close();
+      if (pooledFactory != null) {
+        pooledFactory.close();
+      }
+    }
+  }
+
+  /**
+   * Benchmark for short-lived buffers of mixed sizes allocated and released by several threads
+   * from a shared root allocator.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(8)
+  public void allocateReleaseChurnBenchmark(ChurnState state) {
+    final int numBuffers = 64;
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    ArrowBuf[] buffers = new ArrowBuf[numBuffers];
+
+    for (int i = 0; i < numBuffers; i++) {
+      buffers[i] = state.allocator.buffer(random.nextInt(ChurnState.MIN_BUFFER_SIZE, ChurnState.MAX_BUFFER_SIZE));
+    }
+
+    for (int i = 0; i < numBuffers; i++) {
+      buffers[i].close();
+    }
+  }
+
+  /**
+   * Shared root allocator for the child allocator benchmark.
+   */
+  @State(Scope.Benchmark)
+  public static class SharedRootState {
+
+    @Param({"0", "1048576"})
+    public long creditSize;
+
+    private RootAllocator allocator;
+
+    /**
+     * Setup the root allocator with the credit size under test.
+     */
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(BaseAllocator.configBuilder().creditSize(creditSize).build());
+    }
+
+    /**
+     * Tear down allocators.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      allocator.close();
+    }
+  }
+
+  /**
+   * Per-thread child allocator of the shared root.
+   */
+  @State(Scope.Thread)
+  public static class ChildState {
+
+    private BufferAllocator allocator;
+
+    /**
+     * Setup the child allocator.
+     */
+    @Setup(Level.Trial)
+    public void prepare(SharedRootState root) {
+      allocator = root.allocator.newChildAllocator("child", 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Tear down allocators.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      allocator.close();
+    }
+  }
+
+  /**
+   * Benchmark for many threads allocating from their own child allocators of a shared root.
+   * Without credits, every allocation updates the root's counters.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(64)
+  public void childAllocatorAccountingBenchmark(ChildState state) {
+    final int bufferSize = 1024;
+    final int numBuffers = 16;
+    ArrowBuf[] buffers = new ArrowBuf[numBuffers];
+
+    for (int i = 0; i < numBuffers; i++) {
+      buffers[i] = state.allocator.buffer(bufferSize);
+    }
+
+    for (int i = 0; i < numBuffers; i++) {
+      buffers[i].close();
+    }
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(AllocatorBenchmarks.class.getSimpleName())
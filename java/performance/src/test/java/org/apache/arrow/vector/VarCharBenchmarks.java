@@ -17,8 +17,11 @@
 
 package org.apache.arrow.vector;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.arrow.algorithm.kernel.StringKernels;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -50,6 +53,8 @@ public class VarCharBenchmarks {
 
   private VarCharVector fromVector;
 
+  private BitVector mask;
+
   /**
    * Setup benchmarks.
    */
@@ -70,6 +75,8 @@ public class VarCharBenchmarks {
       }
     }
     fromVector.setValueCount(VECTOR_LENGTH);
+
+    mask = new BitVector("mask", allocator);
   }
 
   /**
@@ -79,6 +86,7 @@ public class VarCharBenchmarks {
   public void tearDown() {
     vector.close();
     fromVector.close();
+    mask.close();
     allocator.close();
   }
 
@@ -91,6 +99,47 @@ public class VarCharBenchmarks {
     }
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void upperKernelBenchmark() {
+    StringKernels.upper(fromVector, vector);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void upperTextBenchmark() {
+    vector.reset();
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (!fromVector.isNull(i)) {
+        String value = fromVector.getObject(i).toString();
+        vector.setSafe(i, value.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    vector.setValueCount(VECTOR_LENGTH);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void likeKernelBenchmark() {
+    StringKernels.like(fromVector, "%00_0%", mask);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void likeTextBenchmark() {
+    mask.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (!fromVector.isNull(i)) {
+        mask.set(i, fromVector.getObject(i).toString().matches(".*00.0.*") ? 1 : 0);
+      }
+    }
+    mask.setValueCount(VECTOR_LENGTH);
+  }
+
   public static void main(String [] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(VarCharBenchmarks.class.getSimpleName())
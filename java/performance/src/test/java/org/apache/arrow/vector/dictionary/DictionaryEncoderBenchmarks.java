@@ -23,8 +23,11 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.arrow.algorithm.dictionary.HashTableBasedDictionaryBuilder;
+import org.apache.arrow.algorithm.dictionary.HashTableDictionaryEncoder;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
@@ -32,6 +35,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -117,6 +121,103 @@ public class DictionaryEncoderBenchmarks {
     return 0;
   }
 
+  /**
+   * State for dictionaries with many distinct values.
+   */
+  @State(Scope.Benchmark)
+  public static class HighCardinalityState {
+
+    private static final int VALUE_COUNT = 1024 * 1024;
+
+    @Param({"1000", "1000000"})
+    public int distinctCount;
+
+    private BufferAllocator allocator;
+
+    private VarCharVector vector;
+
+    private VarCharVector dictionaryVector;
+
+    /**
+     * Setup benchmarks.
+     */
+    @Setup
+    public void prepare() {
+      allocator = new RootAllocator(Long.MAX_VALUE);
+      vector = new VarCharVector("vector", allocator);
+      dictionaryVector = new VarCharVector("dict", allocator);
+
+      dictionaryVector.allocateNew(distinctCount * 16L, distinctCount);
+      for (int i = 0; i < distinctCount; i++) {
+        dictionaryVector.setSafe(i, ("key-" + i).getBytes(StandardCharsets.UTF_8));
+      }
+      dictionaryVector.setValueCount(distinctCount);
+
+      Random random = new Random(0);
+      vector.allocateNew(VALUE_COUNT * 16L, VALUE_COUNT);
+      for (int i = 0; i < VALUE_COUNT; i++) {
+        vector.setSafe(i, ("key-" + random.nextInt(distinctCount)).getBytes(StandardCharsets.UTF_8));
+      }
+      vector.setValueCount(VALUE_COUNT);
+    }
+
+    /**
+     * Tear down benchmarks.
+     */
+    @TearDown
+    public void tearDown() {
+      vector.close();
+      dictionaryVector.close();
+      allocator.close();
+    }
+  }
+
+  /**
+   * Test encode for {@link DictionaryEncoder} with many distinct values, including building the hash table.
+   * @return useless. To avoid DCE by JIT.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int testEncodeHighCardinality(HighCardinalityState state) {
+    Dictionary dictionary = new Dictionary(state.dictionaryVector, new DictionaryEncoding(1L, false, null));
+    try (ValueVector encoded = DictionaryEncoder.encode(state.vector, dictionary)) {
+      return encoded.getValueCount();
+    }
+  }
+
+  /**
+   * Test encode for {@link HashTableDictionaryEncoder} with many distinct values, including building the hash table.
+   * @return useless. To avoid DCE by JIT.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int testHashTableEncoderHighCardinality(HighCardinalityState state) {
+    HashTableDictionaryEncoder<IntVector, VarCharVector> encoder =
+        new HashTableDictionaryEncoder<>(state.dictionaryVector);
+    try (IntVector encoded = new IntVector("encoded", state.allocator)) {
+      encoded.allocateNew(state.vector.getValueCount());
+      encoder.encode(state.vector, encoded);
+      return encoded.getValueCount();
+    }
+  }
+
+  /**
+   * Test building a dictionary with {@link HashTableBasedDictionaryBuilder} from many distinct values.
+   * @return useless. To avoid DCE by JIT.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int testBuildDictionaryHighCardinality(HighCardinalityState state) {
+    try (VarCharVector dictionary = new VarCharVector("dict", state.allocator)) {
+      HashTableBasedDictionaryBuilder<VarCharVector> builder = new HashTableBasedDictionaryBuilder<>(dictionary);
+      dictionary.allocateNew();
+      return builder.addValues(state.vector);
+    }
+  }
+
   private int generateRandomIndex(int max) {
     Random random = new Random();
     return random.nextInt(max);
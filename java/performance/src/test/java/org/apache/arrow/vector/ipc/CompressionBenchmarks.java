@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.compression.DefaultCompressionCodecFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for writing and reading IPC streams with compressed record batch bodies.
+ * The write benchmark reports the compression ratio of each codec as an auxiliary counter.
+ */
+@State(Scope.Benchmark)
+public class CompressionBenchmarks {
+
+  private static final int ROW_COUNT = 64 * 1024;
+
+  private static final int BATCH_COUNT = 16;
+
+  @Param({"NO_COMPRESSION", "LZ4_FRAME", "ZSTD"})
+  public String codecType;
+
+  private BufferAllocator allocator;
+
+  private VectorSchemaRoot root;
+
+  private IpcOption option;
+
+  private byte[] serialized;
+
+  private long uncompressedSize;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup(Level.Trial)
+  public void prepare() throws IOException {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+
+    List<FieldVector> vectors = new ArrayList<>();
+    IntVector ints = new IntVector("ints", allocator);
+    BigIntVector longs = new BigIntVector("longs", allocator);
+    Float8Vector doubles = new Float8Vector("doubles", allocator);
+    VarCharVector strings = new VarCharVector("strings", allocator);
+    vectors.add(ints);
+    vectors.add(longs);
+    vectors.add(doubles);
+    vectors.add(strings);
+    root = new VectorSchemaRoot(vectors);
+
+    // data with the kind of redundancy typical of real tables: small ranges,
+    // monotonic ids, low cardinality strings and some nulls
+    Random random = new Random(0);
+    ints.allocateNew(ROW_COUNT);
+    longs.allocateNew(ROW_COUNT);
+    doubles.allocateNew(ROW_COUNT);
+    strings.allocateNew(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      if (i % 50 == 0) {
+        ints.setNull(i);
+      } else {
+        ints.set(i, random.nextInt(1000));
+      }
+      longs.set(i, 1_000_000_000L + i);
+      doubles.set(i, random.nextInt(10000) / 100.0);
+      strings.setSafe(i, ("category-" + random.nextInt(20)).getBytes());
+    }
+    root.setRowCount(ROW_COUNT);
+
+    option = new IpcOption();
+    option.codec = DefaultCompressionCodecFactory.INSTANCE.createCodec(CompressionUtil.CodecType.valueOf(codecType));
+    serialized = write().toByteArray();
+    uncompressedSize = write(new IpcOption()).size();
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    root.close();
+    allocator.close();
+  }
+
+  private ByteArrayOutputStream write() throws IOException {
+    return write(option);
+  }
+
+  private ByteArrayOutputStream write(IpcOption option) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out), option)) {
+      writer.start();
+      for (int i = 0; i < BATCH_COUNT; i++) {
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+    return out;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int writeBenchmark(Ratio ratio) throws IOException {
+    int size = write().size();
+    ratio.compressionRatio = (double) uncompressedSize / size;
+    return size;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int readBenchmark() throws IOException {
+    int rows = 0;
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(serialized), allocator,
+        DefaultCompressionCodecFactory.INSTANCE)) {
+      while (reader.loadNextBatch()) {
+        rows += reader.getVectorSchemaRoot().getRowCount();
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Reports the size of the uncompressed stream relative to the written stream.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Ratio {
+
+    public double compressionRatio;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      compressionRatio = 0;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(CompressionBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
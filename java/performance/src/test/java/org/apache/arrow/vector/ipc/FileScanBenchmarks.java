@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for scanning all record batches of an arrow file, with a single reader and with
+ * per-thread batch readers.
+ */
+@State(Scope.Benchmark)
+public class FileScanBenchmarks {
+
+  private static final int ROW_COUNT = 32 * 1024;
+
+  private static final int COLUMN_COUNT = 8;
+
+  private static final int BATCH_COUNT = 64;
+
+  @Param({"1", "4"})
+  public int parallelism;
+
+  private BufferAllocator allocator;
+
+  private File file;
+
+  private ForkJoinPool pool;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup(Level.Trial)
+  public void prepare() throws IOException {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    pool = new ForkJoinPool(parallelism);
+    file = File.createTempFile("arrow-scan", ".arrow");
+    file.deleteOnExit();
+
+    List<Field> fields = new ArrayList<>();
+    for (int i = 0; i < COLUMN_COUNT; i++) {
+      fields.add(Field.nullable("c" + i, new ArrowType.Int(32, true)));
+    }
+    try (VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), allocator);
+         FileOutputStream out = new FileOutputStream(file);
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, out.getChannel())) {
+      writer.start();
+      for (int batch = 0; batch < BATCH_COUNT; batch++) {
+        for (FieldVector vector : root.getFieldVectors()) {
+          IntVector intVector = (IntVector) vector;
+          intVector.allocateNew(ROW_COUNT);
+          for (int i = 0; i < ROW_COUNT; i++) {
+            intVector.set(i, batch + i);
+          }
+        }
+        root.setRowCount(ROW_COUNT);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+    allocator.close();
+    file.delete();
+  }
+
+  private static long sum(VectorSchemaRoot root) {
+    long sum = 0;
+    for (FieldVector vector : root.getFieldVectors()) {
+      IntVector intVector = (IntVector) vector;
+      for (int i = 0; i < root.getRowCount(); i += 64) {
+        sum += intVector.get(i);
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long sequentialScan() throws IOException {
+    long sum = 0;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+      while (reader.loadNextBatch()) {
+        sum += sum(reader.getVectorSchemaRoot());
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long parallelScan() throws IOException {
+    AtomicLong sum = new AtomicLong();
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+      reader.scanRecordBatches(pool, allocator, (index, root) -> sum.addAndGet(sum(root)));
+    }
+    return sum.get();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(FileScanBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
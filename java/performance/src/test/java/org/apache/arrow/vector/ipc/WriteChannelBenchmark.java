@@ -18,10 +18,27 @@
 package org.apache.arrow.vector.ipc;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
@@ -76,6 +93,166 @@ public class WriteChannelBenchmark {
     state.writeChannel.align();
   }
 
+  /**
+   * Channel writing to /dev/null that counts the writes issued to it.
+   */
+  private static class CountingChannel implements WritableByteChannel {
+
+    protected final FileChannel channel;
+
+    protected WriteCounters counters;
+
+    CountingChannel(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      counters.writeCalls++;
+      return channel.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+
+  /**
+   * Gathering channel writing to /dev/null that counts the writes issued to it.
+   */
+  private static class CountingGatheringChannel extends CountingChannel implements GatheringByteChannel {
+
+    CountingGatheringChannel(FileChannel channel) {
+      super(channel);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+      counters.writeCalls++;
+      return channel.write(srcs, offset, length);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) throws IOException {
+      return write(srcs, 0, srcs.length);
+    }
+  }
+
+  /**
+   * Number of writes issued to the channel and number of batches written, per iteration.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WriteCounters {
+
+    public long writeCalls;
+
+    public long batches;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      writeCalls = 0;
+      batches = 0;
+    }
+  }
+
+  /**
+   * State object for the batch write benchmark, a record batch of 200 int columns.
+   */
+  @State(Scope.Benchmark)
+  public static class BatchState {
+
+    private static final int COLUMN_COUNT = 200;
+
+    private static final int ROW_COUNT = 1024;
+
+    /**
+     * The way batches are written.
+     * <ul>
+     *   <li>gathering: the channel supports gathering writes</li>
+     *   <li>buffered: the channel does not support gathering writes</li>
+     *   <li>perBuffer: one write per body buffer and padding, as done before gathering writes</li>
+     * </ul>
+     */
+    @Param({"gathering", "buffered", "perBuffer"})
+    public String mode;
+
+    private BufferAllocator allocator;
+
+    private ArrowRecordBatch batch;
+
+    private CountingChannel channel;
+
+    private WriteChannel writeChannel;
+
+    /**
+     * Setup benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+      allocator = new RootAllocator(Long.MAX_VALUE);
+      List<FieldVector> vectors = new ArrayList<>(COLUMN_COUNT);
+      for (int i = 0; i < COLUMN_COUNT; i++) {
+        IntVector vector = new IntVector("col" + i, allocator);
+        vector.allocateNew(ROW_COUNT);
+        for (int j = 0; j < ROW_COUNT; j++) {
+          vector.set(j, i + j);
+        }
+        vectors.add(vector);
+      }
+      try (VectorSchemaRoot root = new VectorSchemaRoot(vectors)) {
+        root.setRowCount(ROW_COUNT);
+        batch = new VectorUnloader(root).getRecordBatch();
+      }
+
+      FileChannel devNull = new FileOutputStream("/dev/null").getChannel();
+      channel = mode.equals("gathering") ? new CountingGatheringChannel(devNull) : new CountingChannel(devNull);
+      writeChannel = new WriteChannel(channel);
+    }
+
+    /**
+     * Tear down benchmarks.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      writeChannel.close();
+      batch.close();
+      allocator.close();
+    }
+  }
+
+  /**
+   * Writes a 200-column batch. The ratio of the writeCalls and batches counters is the number of
+   * writes issued to the channel per batch.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public long writeBatchBenchmark(BatchState state, WriteCounters counters) throws IOException {
+    state.channel.counters = counters;
+    counters.batches++;
+    if (state.mode.equals("perBuffer")) {
+      ByteBuffer metadata = MessageSerializer.serializeMetadata(state.batch);
+      long written = state.writeChannel.writeIntLittleEndian(MessageSerializer.IPC_CONTINUATION_TOKEN);
+      written += state.writeChannel.writeIntLittleEndian(metadata.remaining());
+      written += state.writeChannel.write(metadata);
+      written += state.writeChannel.align();
+      for (ArrowBuf buffer : state.batch.getBuffers()) {
+        state.writeChannel.write(buffer);
+        written += buffer.readableBytes();
+        written += state.writeChannel.align();
+      }
+      return written;
+    }
+    return MessageSerializer.serialize(state.writeChannel, state.batch).getBodyLength();
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
         .include(WriteChannelBenchmark.class.getSimpleName())
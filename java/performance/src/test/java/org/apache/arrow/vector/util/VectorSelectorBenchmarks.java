@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link VectorSelector}, compared with copying the selected values one by one.
+ */
+@State(Scope.Benchmark)
+public class VectorSelectorBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  private static final long ALLOCATOR_CAPACITY = 256 * 1024 * 1024L;
+
+  /**
+   * The shape of the mask: random bits, or long runs of set and unset bits.
+   */
+  @Param({"random", "runs"})
+  public String maskType;
+
+  private BufferAllocator allocator;
+
+  private IntVector intVector;
+
+  private VarCharVector varCharVector;
+
+  private BitVector mask;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup
+  public void prepare() {
+    allocator = new RootAllocator(ALLOCATOR_CAPACITY);
+    intVector = new IntVector("intVector", allocator);
+    varCharVector = new VarCharVector("varCharVector", allocator);
+    mask = new BitVector("mask", allocator);
+
+    intVector.allocateNew(VECTOR_LENGTH);
+    varCharVector.allocateNew(VECTOR_LENGTH);
+    mask.allocateNew(VECTOR_LENGTH);
+
+    Random random = new Random(0);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (i % 10 == 0) {
+        intVector.setNull(i);
+        varCharVector.setNull(i);
+      } else {
+        intVector.set(i, random.nextInt());
+        varCharVector.setSafe(i, ("teststring" + i).getBytes(StandardCharsets.UTF_8));
+      }
+      boolean selected = "random".equals(maskType) ? random.nextBoolean() : (i / 1000) % 2 == 0;
+      mask.set(i, selected ? 1 : 0);
+    }
+    intVector.setValueCount(VECTOR_LENGTH);
+    varCharVector.setValueCount(VECTOR_LENGTH);
+    mask.setValueCount(VECTOR_LENGTH);
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown
+  public void tearDown() {
+    intVector.close();
+    varCharVector.close();
+    mask.close();
+    allocator.close();
+  }
+
+  private int copyByValue(ValueVector source, ValueVector target) {
+    int count = 0;
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      if (mask.get(i) == 1) {
+        target.copyFromSafe(i, count++, source);
+      }
+    }
+    target.setValueCount(count);
+    return count;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int filterIntVector() {
+    try (IntVector target = new IntVector("target", allocator)) {
+      VectorSelector.filter(intVector, mask, target);
+      return target.getValueCount();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int copyFromIntVector() {
+    try (IntVector target = new IntVector("target", allocator)) {
+      return copyByValue(intVector, target);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int filterVarCharVector() {
+    try (VarCharVector target = new VarCharVector("target", allocator)) {
+      VectorSelector.filter(varCharVector, mask, target);
+      return target.getValueCount();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int copyFromVarCharVector() {
+    try (VarCharVector target = new VarCharVector("target", allocator)) {
+      return copyByValue(varCharVector, target);
+    }
+  }
+
+  public static void main(String [] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(VectorSelectorBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
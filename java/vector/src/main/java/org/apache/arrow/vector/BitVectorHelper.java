@@ -441,4 +441,44 @@ public class BitVectorHelper {
       output.setByte(numBytes1 + numFullBytes, leftByte);
     }
   }
+
+  /**
+   * Computes the bitwise AND of two validity buffers, a word at a time.
+   * A value of the output is valid only if the values of both inputs are valid.
+   * @param input1 the first validity buffer.
+   * @param input2 the second validity buffer.
+   * @param output the output validity buffer. It can be the same one as either input.
+   *     The caller must make sure the output buffer has enough capacity.
+   * @param numBits the number of bits to process. Bits of the last byte beyond this number are cleared.
+   */
+  public static void and(ArrowBuf input1, ArrowBuf input2, ArrowBuf output, int numBits) {
+    final int numBytes = getValidityBufferSize(numBits);
+    if (BoundsChecking.BOUNDS_CHECKING_ENABLED) {
+      input1.checkBytes(0, numBytes);
+      input2.checkBytes(0, numBytes);
+      output.checkBytes(0, numBytes);
+    }
+
+    final long address1 = input1.memoryAddress();
+    final long address2 = input2.memoryAddress();
+    final long outputAddress = output.memoryAddress();
+
+    int index = 0;
+    while (index + 8 <= numBytes) {
+      PlatformDependent.putLong(outputAddress + index, getLong(address1 + index) & getLong(address2 + index));
+      index += 8;
+    }
+
+    while (index < numBytes) {
+      PlatformDependent.putByte(outputAddress + index, (byte) (getByte(address1 + index) & getByte(address2 + index)));
+      index += 1;
+    }
+
+    // clear the bits beyond the last value
+    final int remainder = bitIndex(numBits);
+    if (remainder != 0) {
+      final long lastAddress = outputAddress + numBytes - 1;
+      PlatformDependent.putByte(lastAddress, (byte) (getByte(lastAddress) & ((1 << remainder) - 1)));
+    }
+  }
 }
@@ -25,6 +25,9 @@ import java.util.List;
 
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.util.Collections2;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.types.pojo.Field;
@@ -36,13 +39,26 @@ public class VectorLoader {
 
   private final VectorSchemaRoot root;
 
+  private final CompressionCodec.Factory factory;
+
   /**
    * Construct with a root to load and will create children in root based on schema.
    *
    * @param root the root to add vectors to based on schema
    */
   public VectorLoader(VectorSchemaRoot root) {
+    this(root, NoCompressionCodec.Factory.INSTANCE);
+  }
+
+  /**
+   * Construct with a root to load and will create children in root based on schema.
+   *
+   * @param root the root to add vectors to based on schema.
+   * @param factory the factory to create codec for decompressing compressed record batches.
+   */
+  public VectorLoader(VectorSchemaRoot root, CompressionCodec.Factory factory) {
     this.root = root;
+    this.factory = factory;
   }
 
   /**
@@ -54,8 +70,11 @@ public class VectorLoader {
   public void load(ArrowRecordBatch recordBatch) {
     Iterator<ArrowBuf> buffers = recordBatch.getBuffers().iterator();
     Iterator<ArrowFieldNode> nodes = recordBatch.getNodes().iterator();
+    CompressionUtil.CodecType codecType =
+        CompressionUtil.CodecType.fromCompressionType(recordBatch.getBodyCompression().getCodec());
+    CompressionCodec codec = factory.createCodec(codecType);
     for (FieldVector fieldVector : root.getFieldVectors()) {
-      loadBuffers(fieldVector, fieldVector.getField(), buffers, nodes);
+      loadBuffers(fieldVector, fieldVector.getField(), buffers, nodes, codec);
     }
     root.setRowCount(recordBatch.getLength());
     if (nodes.hasNext() || buffers.hasNext()) {
@@ -68,19 +87,29 @@ public class VectorLoader {
       FieldVector vector,
       Field field,
       Iterator<ArrowBuf> buffers,
-      Iterator<ArrowFieldNode> nodes) {
+      Iterator<ArrowFieldNode> nodes,
+      CompressionCodec codec) {
     checkArgument(nodes.hasNext(), "no more field nodes for for field %s and vector %s", field, vector);
     ArrowFieldNode fieldNode = nodes.next();
     int bufferLayoutCount = TypeLayout.getTypeBufferCount(field.getType());
+    boolean decompress = codec.getCodecType() != CompressionUtil.CodecType.NO_COMPRESSION;
     List<ArrowBuf> ownBuffers = new ArrayList<>(bufferLayoutCount);
-    for (int j = 0; j < bufferLayoutCount; j++) {
-      ownBuffers.add(buffers.next());
-    }
     try {
+      for (int j = 0; j < bufferLayoutCount; j++) {
+        ArrowBuf nextBuf = buffers.next();
+        ownBuffers.add(decompress ? codec.decompress(vector.getAllocator(), nextBuf) : nextBuf);
+      }
       vector.loadFieldBuffers(fieldNode, ownBuffers);
     } catch (RuntimeException e) {
       throw new IllegalArgumentException("Could not load buffers for field " +
           field + ". error message: " + e.getMessage(), e);
+    } finally {
+      if (decompress) {
+        // the decompressed buffers are retained by the vector if loaded successfully
+        for (ArrowBuf buf : ownBuffers) {
+          buf.getReferenceManager().release();
+        }
+      }
     }
     List<Field> children = field.getChildren();
     if (children.size() > 0) {
@@ -91,7 +120,7 @@ public class VectorLoader {
       for (int i = 0; i < childrenFromFields.size(); i++) {
         Field child = children.get(i);
         FieldVector fieldVector = childrenFromFields.get(i);
-        loadBuffers(fieldVector, child, buffers, nodes);
+        loadBuffers(fieldVector, child, buffers, nodes, codec);
       }
     }
   }
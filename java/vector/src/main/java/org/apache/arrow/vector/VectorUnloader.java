@@ -21,6 +21,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 
@@ -32,6 +35,7 @@ public class VectorUnloader {
 
   private final VectorSchemaRoot root;
   private final boolean includeNullCount;
+  private final CompressionCodec codec;
   private final boolean alignBuffers;
 
   /**
@@ -49,8 +53,23 @@ public class VectorUnloader {
    * @param alignBuffers Controls if buffers get aligned to 8-byte boundaries.
    */
   public VectorUnloader(VectorSchemaRoot root, boolean includeNullCount, boolean alignBuffers) {
+    this(root, includeNullCount, NoCompressionCodec.INSTANCE, alignBuffers);
+  }
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param root  The set of vectors to serialize to an {@link ArrowRecordBatch}.
+   * @param includeNullCount Controls whether null count is copied to the {@link ArrowRecordBatch}
+   * @param codec the codec for compressing data. If it is null, then no compression is needed.
+   *     Codecs are not thread-safe, so the codec must not be used by other threads at the same time.
+   * @param alignBuffers Controls if buffers get aligned to 8-byte boundaries.
+   */
+  public VectorUnloader(
+      VectorSchemaRoot root, boolean includeNullCount, CompressionCodec codec, boolean alignBuffers) {
     this.root = root;
     this.includeNullCount = includeNullCount;
+    this.codec = codec == null ? NoCompressionCodec.INSTANCE : codec;
     this.alignBuffers = alignBuffers;
   }
 
@@ -61,10 +80,29 @@ public class VectorUnloader {
   public ArrowRecordBatch getRecordBatch() {
     List<ArrowFieldNode> nodes = new ArrayList<>();
     List<ArrowBuf> buffers = new ArrayList<>();
-    for (FieldVector vector : root.getFieldVectors()) {
-      appendNodes(vector, nodes, buffers);
+    final ArrowRecordBatch recordBatch;
+    try {
+      for (FieldVector vector : root.getFieldVectors()) {
+        appendNodes(vector, nodes, buffers);
+      }
+      recordBatch = new ArrowRecordBatch(root.getRowCount(), nodes, buffers,
+          CompressionUtil.createBodyCompression(codec), alignBuffers);
+    } catch (RuntimeException e) {
+      if (codec.getCodecType() != CompressionUtil.CodecType.NO_COMPRESSION) {
+        // release the buffers compressed before the failure
+        for (ArrowBuf buffer : buffers) {
+          buffer.getReferenceManager().release();
+        }
+      }
+      throw e;
     }
-    return new ArrowRecordBatch(root.getRowCount(), nodes, buffers, alignBuffers);
+    if (codec.getCodecType() != CompressionUtil.CodecType.NO_COMPRESSION) {
+      // the compressed buffers are now retained by the record batch
+      for (ArrowBuf buffer : buffers) {
+        buffer.getReferenceManager().release();
+      }
+    }
+    return recordBatch;
   }
 
   private void appendNodes(FieldVector vector, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers) {
@@ -76,7 +114,13 @@ public class VectorUnloader {
           "wrong number of buffers for field %s in vector %s. found: %s",
           vector.getField(), vector.getClass().getSimpleName(), fieldBuffers));
     }
-    buffers.addAll(fieldBuffers);
+    if (codec.getCodecType() == CompressionUtil.CodecType.NO_COMPRESSION) {
+      buffers.addAll(fieldBuffers);
+    } else {
+      for (ArrowBuf buffer : fieldBuffers) {
+        buffers.add(codec.compress(vector.getAllocator(), buffer));
+      }
+    }
     for (FieldVector child : vector.getChildrenFromFields()) {
       appendNodes(child, nodes, buffers);
     }
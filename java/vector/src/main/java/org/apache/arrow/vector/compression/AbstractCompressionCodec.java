@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * The base class for concrete compression codecs, responsible for the common logic of handling
+ * the uncompressed length prefix, empty buffers and buffers that don't compress well.
+ */
+public abstract class AbstractCompressionCodec implements CompressionCodec {
+
+  @Override
+  public ArrowBuf compress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
+    long uncompressedLength = uncompressedBuffer.writerIndex();
+    if (uncompressedLength == 0) {
+      // empty buffers are written as is, without the length prefix
+      return allocator.getEmpty();
+    }
+
+    ArrowBuf compressedBuffer = doCompress(allocator, uncompressedBuffer);
+    long compressedLength = compressedBuffer.writerIndex() - CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH;
+    if (compressedLength >= uncompressedLength) {
+      // compression does not pay off, so write the raw data instead
+      compressedBuffer.close();
+      return CompressionUtil.packageRawBuffer(allocator, uncompressedBuffer);
+    }
+
+    compressedBuffer.setLong(0, uncompressedLength);
+    return compressedBuffer;
+  }
+
+  @Override
+  public ArrowBuf decompress(BufferAllocator allocator, ArrowBuf compressedBuffer) {
+    long compressedLength = compressedBuffer.writerIndex();
+    if (compressedLength == 0) {
+      return allocator.getEmpty();
+    }
+    Preconditions.checkArgument(compressedLength >= CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH,
+        "Not enough data to decompress.");
+
+    long decompressedLength = compressedBuffer.getLong(0);
+    if (decompressedLength == 0) {
+      return allocator.getEmpty();
+    }
+    if (decompressedLength == CompressionUtil.NO_COMPRESSION_LENGTH) {
+      return CompressionUtil.extractUncompressedBuffer(compressedBuffer);
+    }
+
+    ArrowBuf decompressedBuffer = doDecompress(allocator, compressedBuffer, decompressedLength);
+    decompressedBuffer.writerIndex(decompressedLength);
+    return decompressedBuffer;
+  }
+
+  /**
+   * Compresses the whole of the given buffer (up to its writer index).
+   *
+   * @param allocator the allocator for the result.
+   * @param uncompressedBuffer the data to compress.
+   * @return a buffer with {@link CompressionUtil#SIZE_OF_UNCOMPRESSED_LENGTH} bytes reserved at the start,
+   *     followed by the compressed data. Its writer index must be set to the end of the compressed data.
+   */
+  protected abstract ArrowBuf doCompress(BufferAllocator allocator, ArrowBuf uncompressedBuffer);
+
+  /**
+   * Decompresses the data that follows the uncompressed length prefix of the given buffer.
+   *
+   * @param allocator the allocator for the result.
+   * @param compressedBuffer the compressed data, including the uncompressed length prefix.
+   * @param decompressedLength the expected length of the decompressed data.
+   * @return a buffer holding the decompressed data.
+   */
+  protected abstract ArrowBuf doDecompress(BufferAllocator allocator, ArrowBuf compressedBuffer,
+      long decompressedLength);
+}
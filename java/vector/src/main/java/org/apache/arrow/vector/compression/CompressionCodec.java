@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.compression;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+
+/**
+ * The codec for compression/decompression of IPC message body buffers.
+ *
+ * <p>Implementations may keep compression state between calls and are not thread-safe. A codec must
+ * not be shared by writers or readers that are used concurrently; create one per thread with a
+ * {@link Factory} instead.
+ */
+public interface CompressionCodec {
+
+  /**
+   * Compress a buffer.
+   *
+   * <p>The result is laid out as described by {@link org.apache.arrow.flatbuf.BodyCompressionMethod#BUFFER}:
+   * the uncompressed length as a 64-bit little-endian integer, followed by the compressed data.
+   *
+   * @param allocator the allocator for allocating the compressed buffer.
+   * @param uncompressedBuffer the buffer to compress. It is not released by this method.
+   * @return the compressed buffer, owned by the caller.
+   */
+  ArrowBuf compress(BufferAllocator allocator, ArrowBuf uncompressedBuffer);
+
+  /**
+   * Decompress a buffer produced by {@link #compress(BufferAllocator, ArrowBuf)}.
+   *
+   * @param allocator the allocator for allocating the decompressed buffer.
+   * @param compressedBuffer the buffer to decompress. It is not released by this method.
+   * @return the decompressed buffer, owned by the caller.
+   */
+  ArrowBuf decompress(BufferAllocator allocator, ArrowBuf compressedBuffer);
+
+  /**
+   * Gets the type of the codec.
+   * @return the type of the codec.
+   */
+  CompressionUtil.CodecType getCodecType();
+
+  /**
+   * Factory to create compression codecs.
+   */
+  interface Factory {
+
+    /**
+     * Creates the codec based on the codec type.
+     */
+    CompressionCodec createCodec(CompressionUtil.CodecType codecType);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Loads record batches of an arrow file by block into its own {@link VectorSchemaRoot}, see
+ * {@link ArrowFileReader#newBatchReader(BufferAllocator)}. A batch reader is meant to be used by a
+ * single thread, while other threads read the same file with their own batch readers.
+ *
+ * <p>Dictionaries are loaded once by the file reader and shared by all its batch readers, so
+ * {@link #lookup(long)} returns the file reader's dictionaries.
+ */
+public class ArrowFileBatchReader implements DictionaryProvider, AutoCloseable {
+
+  private final ArrowFileReader fileReader;
+  private final BufferAllocator allocator;
+  private final VectorSchemaRoot root;
+  private final VectorLoader loader;
+  private long bytesRead;
+
+  ArrowFileBatchReader(ArrowFileReader fileReader, Schema schema, BufferAllocator allocator,
+      CompressionCodec.Factory compressionFactory) {
+    this.fileReader = fileReader;
+    this.allocator = allocator;
+    this.root = VectorSchemaRoot.create(schema, allocator);
+    this.loader = new VectorLoader(root, compressionFactory);
+  }
+
+  /**
+   * Returns the vector schema root. This will be loaded with new values on every call to
+   * loadRecordBatch.
+   */
+  public VectorSchemaRoot getVectorSchemaRoot() {
+    return root;
+  }
+
+  /**
+   * Returns the {@link ArrowBlock} metadata of the record batches in the file.
+   */
+  public List<ArrowBlock> getRecordBlocks() throws IOException {
+    return fileReader.getRecordBlocks();
+  }
+
+  /**
+   * Loads the record batch of the given block into the root.
+   *
+   * @param block a record batch block of the file
+   * @throws IOException on error
+   */
+  public void loadRecordBatch(ArrowBlock block) throws IOException {
+    root.setRowCount(0);
+    ArrowRecordBatch batch = fileReader.readRecordBatchAt(block, allocator);
+    try {
+      loader.load(batch);
+    } finally {
+      batch.close();
+    }
+    bytesRead += block.getMetadataLength() + block.getBodyLength();
+  }
+
+  /**
+   * Loads the record batch at the given index of {@link #getRecordBlocks()} into the root.
+   *
+   * @param index the index of the record batch in the file
+   * @throws IOException on error
+   */
+  public void loadRecordBatch(int index) throws IOException {
+    loadRecordBatch(getRecordBlocks().get(index));
+  }
+
+  /**
+   * Returns the number of bytes of the batches read by this batch reader.
+   */
+  public long bytesRead() {
+    return bytesRead;
+  }
+
+  @Override
+  public Dictionary lookup(long id) {
+    return fileReader.lookup(id);
+  }
+
+  /**
+   * Closes the root. The file is left open, it is closed along with the file reader.
+   */
+  @Override
+  public void close() {
+    root.close();
+  }
+}
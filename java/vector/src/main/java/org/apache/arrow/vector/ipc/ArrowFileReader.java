@@ -18,18 +18,30 @@
 package org.apache.arrow.vector.ipc;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.arrow.flatbuf.Footer;
+import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.MappedAllocationManager;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowBlock;
 import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
 import org.apache.arrow.vector.ipc.message.ArrowFooter;
+import org.apache.arrow.vector.ipc.message.ArrowMessage;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.ipc.message.MessageSerializer;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -45,17 +57,84 @@ public class ArrowFileReader extends ArrowReader {
   private static final Logger LOGGER = LoggerFactory.getLogger(ArrowFileReader.class);
 
   private SeekableReadChannel in;
+  // the underlying file, if any, which batch readers read from with positional reads.
+  private final FileChannel file;
+  // the file to map record batches from, or null if batches are read into allocated buffers.
+  private final FileChannel mappedFile;
   private ArrowFooter footer;
   private int currentDictionaryBatch = 0;
   private int currentRecordBatch = 0;
 
+  /**
+   * Constructs a reader that reads batches from the given channel into buffers allocated from the
+   * given allocator.
+   */
   public ArrowFileReader(SeekableReadChannel in, BufferAllocator allocator) {
-    super(allocator);
+    this(in, allocator, NoCompressionCodec.Factory.INSTANCE);
+  }
+
+  /**
+   * Constructs a reader that reads batches from the given channel into buffers allocated from the
+   * given allocator, decompressing them with codecs from the given factory.
+   */
+  public ArrowFileReader(SeekableReadChannel in, BufferAllocator allocator,
+      CompressionCodec.Factory compressionFactory) {
+    super(allocator, compressionFactory);
     this.in = in;
+    this.file = null;
+    this.mappedFile = null;
   }
 
   public ArrowFileReader(SeekableByteChannel in, BufferAllocator allocator) {
-    this(new SeekableReadChannel(in), allocator);
+    this(in, allocator, NoCompressionCodec.Factory.INSTANCE);
+  }
+
+  /**
+   * Constructs a reader that reads batches from the given channel into buffers allocated from the
+   * given allocator, decompressing them with codecs from the given factory. If the channel is a
+   * {@link FileChannel}, {@link #newBatchReader(BufferAllocator)} can be used to read the file
+   * from several threads.
+   */
+  public ArrowFileReader(SeekableByteChannel in, BufferAllocator allocator,
+      CompressionCodec.Factory compressionFactory) {
+    super(allocator, compressionFactory);
+    this.in = new SeekableReadChannel(in);
+    this.file = in instanceof FileChannel ? (FileChannel) in : null;
+    this.mappedFile = null;
+  }
+
+  /**
+   * Constructs a reader for the given file that optionally memory-maps record and dictionary
+   * batches instead of reading them into freshly allocated buffers.
+   *
+   * <p>When memoryMapped is true, each batch is mapped read-only and the loaded vectors point
+   * directly into the mapping, which stays alive until the last buffer referencing it is released.
+   * Such vectors must not be modified.
+   *
+   * @param in the file to read
+   * @param allocator the allocator that the mapped regions and vectors are accounted to
+   * @param memoryMapped whether to memory-map batches
+   */
+  public ArrowFileReader(FileChannel in, BufferAllocator allocator, boolean memoryMapped) {
+    this(in, allocator, memoryMapped, NoCompressionCodec.Factory.INSTANCE);
+  }
+
+  /**
+   * Constructs a reader for the given file that optionally memory-maps record and dictionary
+   * batches, see {@link #ArrowFileReader(FileChannel, BufferAllocator, boolean)}. Compressed
+   * batches are decompressed into buffers allocated from the allocator.
+   *
+   * @param in the file to read
+   * @param allocator the allocator that the mapped regions and vectors are accounted to
+   * @param memoryMapped whether to memory-map batches
+   * @param compressionFactory the factory to create compression codec.
+   */
+  public ArrowFileReader(FileChannel in, BufferAllocator allocator, boolean memoryMapped,
+      CompressionCodec.Factory compressionFactory) {
+    super(allocator, compressionFactory);
+    this.in = new SeekableReadChannel(in);
+    this.file = in;
+    this.mappedFile = memoryMapped ? in : null;
   }
 
   @Override
@@ -154,6 +233,21 @@ public class ArrowFileReader extends ArrowReader {
     }
   }
 
+  @Override
+  protected ArrowMessage readNextMessage(BufferAllocator bodyAllocator) throws IOException {
+    if (footer.getRecordBatches().size() == 0) {
+      return null;
+    }
+    if (currentDictionaryBatch < footer.getDictionaries().size()) {
+      ArrowBlock block = footer.getDictionaries().get(currentDictionaryBatch++);
+      return readDictionaryBatch(in, block, bodyAllocator);
+    }
+    if (currentRecordBatch < footer.getRecordBatches().size()) {
+      ArrowBlock block = footer.getRecordBatches().get(currentRecordBatch++);
+      return readRecordBatch(in, block, bodyAllocator);
+    }
+    return null;
+  }
 
   public List<ArrowBlock> getDictionaryBlocks() throws IOException {
     ensureInitialized();
@@ -181,13 +275,76 @@ public class ArrowFileReader extends ArrowReader {
     return loadNextBatch();
   }
 
+  /**
+   * Creates a reader that loads record batches of this file into its own
+   * {@link org.apache.arrow.vector.VectorSchemaRoot}. Batch readers read the file with positional
+   * reads (or map it, if this reader memory-maps batches) and share no state with this reader or
+   * each other besides the dictionaries, so each thread can use its own batch reader to read
+   * batches concurrently.
+   *
+   * @param allocator the allocator for the batch reader's vectors and the batches it reads
+   * @return a new batch reader, which must be closed by the caller
+   * @throws IOException if the footer or the dictionaries can't be read
+   * @throws IllegalStateException if this reader wasn't constructed from a {@link FileChannel}
+   */
+  public ArrowFileBatchReader newBatchReader(BufferAllocator allocator) throws IOException {
+    ensureInitialized();
+    Preconditions.checkState(file != null, "Batch readers require the reader to be constructed from a FileChannel");
+    return new ArrowFileBatchReader(this, getVectorSchemaRoot().getSchema(), allocator, compressionFactory);
+  }
+
+  /**
+   * Loads all record batches of the file using the given pool, and passes each batch to the
+   * consumer. The blocks are split into ranges and each range is read by its own
+   * {@link ArrowFileBatchReader}, so the consumer is called concurrently with different roots,
+   * and a root is only valid until the consumer returns.
+   *
+   * @param pool the pool to read the batches in
+   * @param allocator the allocator for the vectors and the batches read
+   * @param consumer the consumer of the loaded batches
+   * @throws IOException if a batch can't be read, or the consumer failed with an IOException
+   */
+  public void scanRecordBatches(ForkJoinPool pool, BufferAllocator allocator, RecordBatchConsumer consumer)
+      throws IOException {
+    List<ArrowBlock> blocks = getRecordBlocks();
+    int rangeSize = Math.max(1, blocks.size() / (pool.getParallelism() * 4));
+    try {
+      pool.invoke(new ScanTask(blocks, 0, blocks.size(), rangeSize, allocator, consumer));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Reads the record batch of the given block without changing the state of this reader, for
+   * {@link ArrowFileBatchReader}.
+   */
+  ArrowRecordBatch readRecordBatchAt(ArrowBlock block, BufferAllocator allocator) throws IOException {
+    final ArrowRecordBatch batch;
+    if (mappedFile != null) {
+      batch = MessageSerializer.deserializeRecordBatch(block, mapBlock(block, allocator));
+    } else {
+      ReadChannel channel = new ReadChannel(new PositionalReadChannel(file, block.getOffset()));
+      batch = MessageSerializer.deserializeRecordBatch(channel, block, allocator);
+    }
+    if (batch == null) {
+      throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
+    }
+    return batch;
+  }
+
   private ArrowDictionaryBatch readDictionaryBatch(SeekableReadChannel in,
                                                    ArrowBlock block,
                                                    BufferAllocator allocator) throws IOException {
     LOGGER.debug("DictionaryRecordBatch at {}, metadata: {}, body: {}",
         block.getOffset(), block.getMetadataLength(), block.getBodyLength());
-    in.setPosition(block.getOffset());
-    ArrowDictionaryBatch batch = MessageSerializer.deserializeDictionaryBatch(in, block, allocator);
+    final ArrowDictionaryBatch batch;
+    if (mappedFile != null) {
+      batch = MessageSerializer.deserializeDictionaryBatch(block, mapBlock(block, allocator));
+    } else {
+      in.setPosition(block.getOffset());
+      batch = MessageSerializer.deserializeDictionaryBatch(in, block, allocator);
+    }
     if (batch == null) {
       throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
     }
@@ -200,11 +357,114 @@ public class ArrowFileReader extends ArrowReader {
     LOGGER.debug("RecordBatch at {}, metadata: {}, body: {}",
         block.getOffset(), block.getMetadataLength(),
         block.getBodyLength());
-    in.setPosition(block.getOffset());
-    ArrowRecordBatch batch = MessageSerializer.deserializeRecordBatch(in, block, allocator);
+    final ArrowRecordBatch batch;
+    if (mappedFile != null) {
+      batch = MessageSerializer.deserializeRecordBatch(block, mapBlock(block, allocator));
+    } else {
+      in.setPosition(block.getOffset());
+      batch = MessageSerializer.deserializeRecordBatch(in, block, allocator);
+    }
     if (batch == null) {
       throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
     }
     return batch;
   }
+
+  private ArrowBuf mapBlock(ArrowBlock block, BufferAllocator allocator) throws IOException {
+    long totalLen = block.getMetadataLength() + block.getBodyLength();
+    if (block.getOffset() + totalLen > mappedFile.size()) {
+      throw new IOException("Unexpected end of input trying to read batch.");
+    }
+    return MappedAllocationManager.map(allocator, mappedFile, FileChannel.MapMode.READ_ONLY,
+        block.getOffset(), totalLen);
+  }
+
+  /**
+   * Consumer of the batches loaded by {@link #scanRecordBatches}.
+   */
+  @FunctionalInterface
+  public interface RecordBatchConsumer {
+
+    /**
+     * Consumes the batch of the block at the given index in {@link #getRecordBlocks()}.
+     *
+     * @param blockIndex the index of the block of the batch
+     * @param root the root the batch is loaded into
+     * @throws IOException on error
+     */
+    void accept(int blockIndex, VectorSchemaRoot root) throws IOException;
+  }
+
+  /**
+   * Reads a range of blocks with a single batch reader, or splits the range in two.
+   */
+  private final class ScanTask extends RecursiveAction {
+    private final List<ArrowBlock> blocks;
+    private final int start;
+    private final int end;
+    private final int rangeSize;
+    private final BufferAllocator allocator;
+    private final RecordBatchConsumer consumer;
+
+    ScanTask(List<ArrowBlock> blocks, int start, int end, int rangeSize, BufferAllocator allocator,
+        RecordBatchConsumer consumer) {
+      this.blocks = blocks;
+      this.start = start;
+      this.end = end;
+      this.rangeSize = rangeSize;
+      this.allocator = allocator;
+      this.consumer = consumer;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start > rangeSize) {
+        int mid = (start + end) >>> 1;
+        invokeAll(new ScanTask(blocks, start, mid, rangeSize, allocator, consumer),
+            new ScanTask(blocks, mid, end, rangeSize, allocator, consumer));
+        return;
+      }
+      try (ArrowFileBatchReader reader = newBatchReader(allocator)) {
+        for (int i = start; i < end; i++) {
+          reader.loadRecordBatch(blocks.get(i));
+          consumer.accept(i, reader.getVectorSchemaRoot());
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Reads a file sequentially from a starting position with positional reads, which leave the
+   * position of the file channel alone and can be issued concurrently.
+   */
+  private static final class PositionalReadChannel implements ReadableByteChannel {
+    private final FileChannel file;
+    private long position;
+
+    PositionalReadChannel(FileChannel file, long position) {
+      this.file = file;
+      this.position = position;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      int read = file.read(dst, position);
+      if (read > 0) {
+        position += read;
+      }
+      return read;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return file.isOpen();
+    }
+
+    @Override
+    public void close() {
+      // the file is owned by the file reader
+    }
+  }
 }
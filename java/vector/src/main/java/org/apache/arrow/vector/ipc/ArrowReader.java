@@ -28,9 +28,12 @@ import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorLoader;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.dictionary.Dictionary;
 import org.apache.arrow.vector.dictionary.DictionaryProvider;
 import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
+import org.apache.arrow.vector.ipc.message.ArrowMessage;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -49,8 +52,15 @@ public abstract class ArrowReader implements DictionaryProvider, AutoCloseable {
   protected Map<Long, Dictionary> dictionaries;
   private boolean initialized = false;
 
+  protected final CompressionCodec.Factory compressionFactory;
+
   protected ArrowReader(BufferAllocator allocator) {
+    this(allocator, NoCompressionCodec.Factory.INSTANCE);
+  }
+
+  protected ArrowReader(BufferAllocator allocator, CompressionCodec.Factory compressionFactory) {
     this.allocator = allocator;
+    this.compressionFactory = compressionFactory;
   }
 
   /**
@@ -151,6 +161,21 @@ public abstract class ArrowReader implements DictionaryProvider, AutoCloseable {
    */
   protected abstract Schema readSchema() throws IOException;
 
+  /**
+   * Read the next dictionary or record batch from the source without loading it, for readers that
+   * decode batches on a different thread than the one loading them (see
+   * {@link PrefetchingArrowReader}). Must be called after {@link #readSchema()}, and not mixed
+   * with {@link #loadNextBatch()}.
+   *
+   * @param bodyAllocator the allocator to read the message bodies into
+   * @return the next message, or null on EOS
+   * @throws IOException on error
+   * @throws UnsupportedOperationException if the reader can't read messages independently
+   */
+  protected ArrowMessage readNextMessage(BufferAllocator bodyAllocator) throws IOException {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support reading messages");
+  }
+
   /**
    * Initialize if not done previously.
    *
@@ -181,7 +206,7 @@ public abstract class ArrowReader implements DictionaryProvider, AutoCloseable {
     Schema schema = new Schema(fields, originalSchema.getCustomMetadata());
 
     this.root = new VectorSchemaRoot(schema, vectors, 0);
-    this.loader = new VectorLoader(root);
+    this.loader = new VectorLoader(root, compressionFactory);
     this.dictionaries = Collections.unmodifiableMap(dictionaries);
   }
 
@@ -236,7 +261,7 @@ public abstract class ArrowReader implements DictionaryProvider, AutoCloseable {
     VectorSchemaRoot root = new VectorSchemaRoot(
         Collections.singletonList(vector.getField()),
         Collections.singletonList(vector), 0);
-    VectorLoader loader = new VectorLoader(root);
+    VectorLoader loader = new VectorLoader(root, compressionFactory);
     try {
       loader.load(dictionaryBatch.getDictionary());
     } finally {
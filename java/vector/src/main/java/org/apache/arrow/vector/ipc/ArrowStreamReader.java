@@ -26,7 +26,10 @@ import org.apache.arrow.flatbuf.MessageHeader;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
+import org.apache.arrow.vector.ipc.message.ArrowMessage;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.ipc.message.MessageChannelReader;
 import org.apache.arrow.vector.ipc.message.MessageResult;
@@ -50,7 +53,19 @@ public class ArrowStreamReader extends ArrowReader {
    * @param allocator to allocate new buffers
    */
   public ArrowStreamReader(MessageChannelReader messageReader, BufferAllocator allocator) {
-    super(allocator);
+    this(messageReader, allocator, NoCompressionCodec.Factory.INSTANCE);
+  }
+
+  /**
+   * Constructs a streaming reader using a MessageChannelReader. Non-blocking.
+   *
+   * @param messageReader reader used to get messages from a ReadChannel
+   * @param allocator to allocate new buffers
+   * @param compressionFactory the factory to create compression codec.
+   */
+  public ArrowStreamReader(MessageChannelReader messageReader, BufferAllocator allocator,
+      CompressionCodec.Factory compressionFactory) {
+    super(allocator, compressionFactory);
     this.messageReader = messageReader;
   }
 
@@ -61,7 +76,19 @@ public class ArrowStreamReader extends ArrowReader {
    * @param allocator to allocate new buffers
    */
   public ArrowStreamReader(ReadableByteChannel in, BufferAllocator allocator) {
-    this(new MessageChannelReader(new ReadChannel(in), allocator), allocator);
+    this(in, allocator, NoCompressionCodec.Factory.INSTANCE);
+  }
+
+  /**
+   * Constructs a streaming reader from a ReadableByteChannel input. Non-blocking.
+   *
+   * @param in ReadableByteChannel to read messages from
+   * @param allocator to allocate new buffers
+   * @param compressionFactory the factory to create compression codec.
+   */
+  public ArrowStreamReader(ReadableByteChannel in, BufferAllocator allocator,
+      CompressionCodec.Factory compressionFactory) {
+    this(new MessageChannelReader(new ReadChannel(in), allocator), allocator, compressionFactory);
   }
 
   /**
@@ -74,6 +101,17 @@ public class ArrowStreamReader extends ArrowReader {
     this(Channels.newChannel(in), allocator);
   }
 
+  /**
+   * Constructs a streaming reader from an InputStream. Non-blocking.
+   *
+   * @param in InputStream to read messages from
+   * @param allocator to allocate new buffers
+   * @param compressionFactory the factory to create compression codec.
+   */
+  public ArrowStreamReader(InputStream in, BufferAllocator allocator, CompressionCodec.Factory compressionFactory) {
+    this(Channels.newChannel(in), allocator, compressionFactory);
+  }
+
   /**
    * Get the number of bytes read from the stream since constructing the reader.
    *
@@ -109,25 +147,41 @@ public class ArrowStreamReader extends ArrowReader {
       return false;
     }
 
-    if (result.getMessage().headerType() == MessageHeader.RecordBatch) {
-      ArrowBuf bodyBuffer = result.getBodyBuffer();
-
-      // For zero-length batches, need an empty buffer to deserialize the batch
-      if (bodyBuffer == null) {
-        bodyBuffer = allocator.getEmpty();
-      }
-
-      ArrowRecordBatch batch = MessageSerializer.deserializeRecordBatch(result.getMessage(), bodyBuffer);
-      loadRecordBatch(batch);
+    ArrowMessage message = deserializeMessage(result);
+    if (message.getMessageType() == MessageHeader.RecordBatch) {
+      loadRecordBatch((ArrowRecordBatch) message);
       checkDictionaries();
       return true;
-    } else if (result.getMessage().headerType() == MessageHeader.DictionaryBatch) {
+    } else {
       // if it's dictionary message, read dictionary message out and continue to read unless get a batch or eos.
-      ArrowDictionaryBatch dictionaryBatch = readDictionary(result);
-      loadDictionary(dictionaryBatch);
+      loadDictionary((ArrowDictionaryBatch) message);
       loadedDictionaryCount++;
       return loadNextBatch();
+    }
+  }
+
+  @Override
+  protected ArrowMessage readNextMessage(BufferAllocator bodyAllocator) throws IOException {
+    MessageResult result = messageReader.readNext(bodyAllocator);
+    return result == null ? null : deserializeMessage(result);
+  }
+
+  private ArrowMessage deserializeMessage(MessageResult result) throws IOException {
+    ArrowBuf bodyBuffer = result.getBodyBuffer();
+
+    // For zero-length batches, need an empty buffer to deserialize the batch
+    if (bodyBuffer == null) {
+      bodyBuffer = allocator.getEmpty();
+    }
+
+    if (result.getMessage().headerType() == MessageHeader.RecordBatch) {
+      return MessageSerializer.deserializeRecordBatch(result.getMessage(), bodyBuffer);
+    } else if (result.getMessage().headerType() == MessageHeader.DictionaryBatch) {
+      return MessageSerializer.deserializeDictionaryBatch(result.getMessage(), bodyBuffer);
     } else {
+      if (result.getBodyBuffer() != null) {
+        result.getBodyBuffer().close();
+      }
       throw new IOException("Expected RecordBatch or DictionaryBatch but header was " +
           result.getMessage().headerType());
     }
@@ -171,17 +225,4 @@ public class ArrowStreamReader extends ArrowReader {
 
     return MessageSerializer.deserializeSchema(result.getMessage());
   }
-
-
-  private ArrowDictionaryBatch readDictionary(MessageResult result) throws IOException {
-
-    ArrowBuf bodyBuffer = result.getBodyBuffer();
-
-    // For zero-length batches, need an empty buffer to deserialize the batch
-    if (bodyBuffer == null) {
-      bodyBuffer = allocator.getEmpty();
-    }
-
-    return MessageSerializer.deserializeDictionaryBatch(result.getMessage(), bodyBuffer);
-  }
 }
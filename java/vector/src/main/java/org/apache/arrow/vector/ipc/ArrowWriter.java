@@ -76,7 +76,7 @@ public abstract class ArrowWriter implements AutoCloseable {
    * @param option   IPC write options
    */
   protected ArrowWriter(VectorSchemaRoot root, DictionaryProvider provider, WritableByteChannel out, IpcOption option) {
-    this.unloader = new VectorUnloader(root);
+    this.unloader = new VectorUnloader(root, true, option.codec, true);
     this.out = new WriteChannel(out);
     this.option = option;
 
@@ -98,7 +98,7 @@ public abstract class ArrowWriter implements AutoCloseable {
           Collections.singletonList(vector.getField()),
           Collections.singletonList(vector),
           count);
-      VectorUnloader unloader = new VectorUnloader(dictRoot);
+      VectorUnloader unloader = new VectorUnloader(dictRoot, true, option.codec, true);
       ArrowRecordBatch batch = unloader.getRecordBatch();
       this.dictionaries.add(new ArrowDictionaryBatch(id, batch));
     }
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.memory.AllocationListener;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
+import org.apache.arrow.vector.ipc.message.ArrowMessage;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * An {@link ArrowReader} that reads and deserializes the batches of another reader on a background
+ * thread, so that I/O and decoding of the next batches overlap with the processing of the current
+ * one. {@link #loadNextBatch()} loads the batches into this reader's {@link #getVectorSchemaRoot()}
+ * in the same order, along with any dictionary batches.
+ *
+ * <p>Read ahead is bounded both by a number of messages and by a memory budget. The message bodies
+ * are read into buffers of a child allocator of the given allocator, and the background thread
+ * waits before allocating more once the child holds more than the budget. The budget covers only
+ * the prefetched batches: loading a batch moves its buffers to the vectors of the root, which are
+ * allocated from the given allocator, so the batch currently loaded in the root does not count. The
+ * budget is exceeded only when nothing is prefetched, so that a single batch larger than the budget
+ * can still be read.
+ *
+ * <p>The source reader must support reading messages independently of loading them, which
+ * {@link ArrowStreamReader} and {@link ArrowFileReader} do, and must not be used directly once
+ * wrapped. Closing this reader stops the background thread and closes the source. It does not interrupt
+ * the background thread, but waits for a read in progress to complete, so that a channel the caller
+ * keeps open with {@link #close(boolean)} stays usable.
+ */
+public class PrefetchingArrowReader extends ArrowReader {
+
+  /** How long the background thread waits on the memory budget or the queue before checking it again. */
+  private static final long BUDGET_RECHECK_MILLIS = 10;
+
+  private final ArrowReader source;
+  private final BufferAllocator prefetchAllocator;
+  private final long memoryBudget;
+  private final BlockingQueue<Prefetched> queue;
+  private final ExecutorService executor;
+  private final boolean ownsExecutor;
+
+  private final Object budgetLock = new Object();
+  private final CountDownLatch finished = new CountDownLatch(1);
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile boolean closed;
+  private Future<?> task;
+
+  private boolean exhausted;
+  private Throwable failure;
+
+  /**
+   * Constructs a reader that prefetches from the source on its own background thread.
+   *
+   * @param source the reader to read the batches from
+   * @param allocator the allocator for the vectors, and the parent of the prefetch allocator
+   * @param maxPrefetched the maximum number of record and dictionary batches to read ahead
+   * @param memoryBudget the number of bytes the background thread may read ahead
+   */
+  public PrefetchingArrowReader(ArrowReader source, BufferAllocator allocator, int maxPrefetched,
+      long memoryBudget) {
+    this(source, allocator, maxPrefetched, memoryBudget, null);
+  }
+
+  /**
+   * Constructs a reader that prefetches from the source on a thread of the given executor.
+   *
+   * @param source the reader to read the batches from
+   * @param allocator the allocator for the vectors, and the parent of the prefetch allocator
+   * @param maxPrefetched the maximum number of record and dictionary batches to read ahead
+   * @param memoryBudget the number of bytes the background thread may read ahead
+   * @param executor the executor to run the background reads on, or null to use a dedicated thread
+   */
+  public PrefetchingArrowReader(ArrowReader source, BufferAllocator allocator, int maxPrefetched,
+      long memoryBudget, ExecutorService executor) {
+    super(allocator, source.compressionFactory);
+    Preconditions.checkArgument(maxPrefetched > 0, "the number of prefetched batches must be positive");
+    Preconditions.checkArgument(memoryBudget > 0, "the memory budget must be positive");
+    this.source = source;
+    this.memoryBudget = memoryBudget;
+    this.queue = new ArrayBlockingQueue<>(maxPrefetched);
+    this.prefetchAllocator = allocator.newChildAllocator("prefetch", new BudgetListener(), 0, Long.MAX_VALUE);
+    if (executor == null) {
+      this.executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "arrow-prefetch");
+        thread.setDaemon(true);
+        return thread;
+      });
+      this.ownsExecutor = true;
+    } else {
+      this.executor = executor;
+      this.ownsExecutor = false;
+    }
+  }
+
+  /**
+   * Returns the allocator the prefetched batches are read into.
+   */
+  public BufferAllocator getPrefetchAllocator() {
+    return prefetchAllocator;
+  }
+
+  @Override
+  protected void initialize() throws IOException {
+    super.initialize();
+    task = executor.submit(this::prefetch);
+  }
+
+  @Override
+  public boolean loadNextBatch() throws IOException {
+    prepareLoadNextBatch();
+    while (!exhausted) {
+      if (failure != null) {
+        throw failure instanceof IOException ? (IOException) failure : new IOException(failure);
+      }
+      final Prefetched next;
+      try {
+        next = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the next batch");
+      }
+      synchronized (budgetLock) {
+        budgetLock.notifyAll();
+      }
+
+      if (next.failure != null) {
+        failure = next.failure;
+      } else if (next.message == null) {
+        exhausted = true;
+      } else if (next.message.getMessageType() == MessageHeader.RecordBatch) {
+        loadRecordBatch((ArrowRecordBatch) next.message);
+        return true;
+      } else {
+        loadDictionary((ArrowDictionaryBatch) next.message);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the number of bytes read from the source, including batches that were prefetched but
+   * not loaded yet.
+   */
+  @Override
+  public long bytesRead() {
+    return source.bytesRead();
+  }
+
+  @Override
+  public void close(boolean closeReadSource) throws IOException {
+    try {
+      stopPrefetching();
+      super.close(closeReadSource);
+    } finally {
+      prefetchAllocator.close();
+      if (ownsExecutor) {
+        executor.shutdown();
+      }
+    }
+  }
+
+  @Override
+  protected void closeReadSource() throws IOException {
+    source.close();
+  }
+
+  @Override
+  protected Schema readSchema() throws IOException {
+    return source.readSchema();
+  }
+
+  private void prefetch() {
+    if (!started.compareAndSet(false, true)) {
+      // closed before the task got to run
+      return;
+    }
+    try {
+      while (!closed) {
+        ArrowMessage message = source.readNextMessage(prefetchAllocator);
+        if (!enqueue(new Prefetched(message, null))) {
+          if (message != null) {
+            release(message);
+          }
+          return;
+        }
+        if (message == null) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable t) {
+      try {
+        enqueue(new Prefetched(null, t));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    } finally {
+      finished.countDown();
+    }
+  }
+
+  /**
+   * Waits for room in the queue and adds the prefetched message to it, unless the reader is closed
+   * in the meantime.
+   *
+   * @return false if the reader was closed and the message was not added
+   */
+  private boolean enqueue(Prefetched prefetched) throws InterruptedException {
+    while (!closed) {
+      if (queue.offer(prefetched, BUDGET_RECHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void stopPrefetching() {
+    closed = true;
+    if (task != null) {
+      // Do not interrupt the background thread: an interrupted read from a FileChannel closes the
+      // channel, which belongs to the caller when the read source is not closed. The thread sees the
+      // flag once its current read completes.
+      task.cancel(false);
+      synchronized (budgetLock) {
+        budgetLock.notifyAll();
+      }
+      if (!started.compareAndSet(false, true)) {
+        boolean interrupted = false;
+        while (true) {
+          try {
+            finished.await();
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+    Prefetched next;
+    while ((next = queue.poll()) != null) {
+      if (next.message != null) {
+        release(next.message);
+      }
+    }
+  }
+
+  private static void release(ArrowMessage message) {
+    if (message.getMessageType() == MessageHeader.RecordBatch) {
+      ((ArrowRecordBatch) message).close();
+    } else {
+      ((ArrowDictionaryBatch) message).close();
+    }
+  }
+
+  /**
+   * Holds back allocations of the background thread while batches are waiting to be loaded and
+   * the prefetch allocator is over budget.
+   */
+  private final class BudgetListener implements AllocationListener {
+
+    @Override
+    public void onPreAllocation(long size) {
+      synchronized (budgetLock) {
+        while (!closed && !queue.isEmpty() && prefetchAllocator.getAllocatedMemory() + size > memoryBudget) {
+          try {
+            budgetLock.wait(BUDGET_RECHECK_MILLIS);
+          } catch (InterruptedException e) {
+            // let the allocation go through, the background read will stop at its next blocking call
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+
+    @Override
+    public void onRelease(long size) {
+      synchronized (budgetLock) {
+        budgetLock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * A prefetched message, null at the end of the stream, or the failure that stopped the reads.
+   */
+  private static final class Prefetched {
+    private final ArrowMessage message;
+    private final Throwable failure;
+
+    Prefetched(ArrowMessage message, Throwable failure) {
+      this.message = message;
+      this.failure = failure;
+    }
+  }
+}
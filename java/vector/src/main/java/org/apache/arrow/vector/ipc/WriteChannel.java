@@ -19,6 +19,7 @@ package org.apache.arrow.vector.ipc;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.WritableByteChannel;
 
 import org.apache.arrow.memory.ArrowBuf;
@@ -46,12 +47,17 @@ public class WriteChannel implements AutoCloseable {
 
   private static final byte[] ZERO_BYTES = new byte[8];
 
+  // size of the buffer used to coalesce small writes for channels that don't support gathering writes
+  private static final int STAGING_BUFFER_SIZE = 64 * 1024;
+
   private final byte[] intBuf = new byte[4];
 
   private long currentPosition = 0;
 
   private final WritableByteChannel out;
 
+  private ByteBuffer stagingBuffer;
+
   public WriteChannel(WritableByteChannel out) {
     this.out = out;
   }
@@ -108,13 +114,71 @@ public class WriteChannel implements AutoCloseable {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Writing buffer with size: {}", length);
     }
-    while (buffer.hasRemaining()) {
-      out.write(buffer);
+    writeFully(buffer);
+    currentPosition += length;
+    return length;
+  }
+
+  /**
+   * Writes all data from <code>buffers</code>, in order, to the underlying channel.
+   *
+   * <p>If the channel is a {@link GatheringByteChannel}, the buffers are handed to it in a single
+   * gathering write (repeated only if the channel writes them partially). Otherwise small buffers
+   * are coalesced in a staging buffer, so that the channel sees few large writes rather than one
+   * write per buffer.
+   */
+  public long write(ByteBuffer[] buffers) throws IOException {
+    long length = 0;
+    for (ByteBuffer buffer : buffers) {
+      length += buffer.remaining();
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Writing {} buffers with total size: {}", buffers.length, length);
+    }
+
+    if (out instanceof GatheringByteChannel) {
+      GatheringByteChannel gatheringOut = (GatheringByteChannel) out;
+      int offset = 0;
+      while (offset < buffers.length) {
+        gatheringOut.write(buffers, offset, buffers.length - offset);
+        while (offset < buffers.length && !buffers[offset].hasRemaining()) {
+          offset++;
+        }
+      }
+    } else {
+      for (ByteBuffer buffer : buffers) {
+        if (buffer.remaining() >= STAGING_BUFFER_SIZE) {
+          flushStagingBuffer();
+          writeFully(buffer);
+        } else {
+          if (stagingBuffer == null) {
+            stagingBuffer = ByteBuffer.allocate(STAGING_BUFFER_SIZE);
+          } else if (stagingBuffer.remaining() < buffer.remaining()) {
+            flushStagingBuffer();
+          }
+          stagingBuffer.put(buffer);
+        }
+      }
+      flushStagingBuffer();
     }
     currentPosition += length;
     return length;
   }
 
+  private void flushStagingBuffer() throws IOException {
+    if (stagingBuffer != null && stagingBuffer.position() > 0) {
+      stagingBuffer.flip();
+      writeFully(stagingBuffer);
+      stagingBuffer.clear();
+    }
+  }
+
+  private void writeFully(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+  }
+
   /**
    * Writes <code>v</code> in little-endian format to the underlying channel.
    */
@@ -26,6 +26,7 @@ import org.apache.arrow.flatbuf.RecordBatch;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.DataSizeRoundingUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +53,8 @@ public class ArrowRecordBatch implements ArrowMessage {
 
   private final List<ArrowBuffer> buffersLayout;
 
+  private final ArrowBodyCompression bodyCompression;
+
   private boolean closed = false;
 
   public ArrowRecordBatch(int length, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers) {
@@ -66,10 +69,25 @@ public class ArrowRecordBatch implements ArrowMessage {
    * @param buffers will be retained until this recordBatch is closed
    */
   public ArrowRecordBatch(int length, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers, boolean alignBuffers) {
+    this(length, nodes, buffers, NoCompressionCodec.DEFAULT_BODY_COMPRESSION, alignBuffers);
+  }
+
+  /**
+   * Construct a record batch from nodes.
+   *
+   * @param length  how many rows in this batch
+   * @param nodes   field level info
+   * @param buffers will be retained until this recordBatch is closed
+   * @param bodyCompression compression info, the buffers are expected to be compressed accordingly
+   * @param alignBuffers Controls if buffers get aligned to 8-byte boundaries.
+   */
+  public ArrowRecordBatch(int length, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers,
+      ArrowBodyCompression bodyCompression, boolean alignBuffers) {
     super();
     this.length = length;
     this.nodes = nodes;
     this.buffers = buffers;
+    this.bodyCompression = bodyCompression;
     List<ArrowBuffer> arrowBuffers = new ArrayList<>(buffers.size());
     long offset = 0;
     for (ArrowBuf arrowBuf : buffers) {
@@ -91,10 +109,12 @@ public class ArrowRecordBatch implements ArrowMessage {
   // this constructor is different from the public ones in that the reference manager's
   // <code>retain</code> method is not called, so the first <code>dummy</code> parameter is used
   // to distinguish this from the public constructor.
-  private ArrowRecordBatch(boolean dummy, int length, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers) {
+  private ArrowRecordBatch(boolean dummy, int length, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers,
+      ArrowBodyCompression bodyCompression) {
     this.length = length;
     this.nodes = nodes;
     this.buffers = buffers;
+    this.bodyCompression = bodyCompression;
     this.closed = false;
     List<ArrowBuffer> arrowBuffers = new ArrayList<>();
     long offset = 0;
@@ -123,6 +143,15 @@ public class ArrowRecordBatch implements ArrowMessage {
     return nodes;
   }
 
+  /**
+   * Get the body compression information.
+   *
+   * @return the compression applied to the buffers of this batch
+   */
+  public ArrowBodyCompression getBodyCompression() {
+    return bodyCompression;
+  }
+
   /**
    * Get the record batch buffers.
    *
@@ -151,7 +180,7 @@ public class ArrowRecordBatch implements ArrowMessage {
             .writerIndex(buf.writerIndex()))
         .collect(Collectors.toList());
     close();
-    return new ArrowRecordBatch(false, length, nodes, newBufs);
+    return new ArrowRecordBatch(false, length, nodes, newBufs, bodyCompression);
   }
 
   /**
@@ -169,10 +198,17 @@ public class ArrowRecordBatch implements ArrowMessage {
     int nodesOffset = FBSerializables.writeAllStructsToVector(builder, nodes);
     RecordBatch.startBuffersVector(builder, buffers.size());
     int buffersOffset = FBSerializables.writeAllStructsToVector(builder, buffersLayout);
+    int compressOffset = 0;
+    if (bodyCompression.getCodec() != NoCompressionCodec.COMPRESSION_TYPE) {
+      compressOffset = bodyCompression.writeTo(builder);
+    }
     RecordBatch.startRecordBatch(builder);
     RecordBatch.addLength(builder, length);
     RecordBatch.addNodes(builder, nodesOffset);
     RecordBatch.addBuffers(builder, buffersOffset);
+    if (bodyCompression.getCodec() != NoCompressionCodec.COMPRESSION_TYPE) {
+      RecordBatch.addCompression(builder, compressOffset);
+    }
     return RecordBatch.endRecordBatch(builder);
   }
 
@@ -197,7 +233,7 @@ public class ArrowRecordBatch implements ArrowMessage {
   @Override
   public String toString() {
     return "ArrowRecordBatch [length=" + length + ", nodes=" + nodes + ", #buffers=" + buffers.size() +
-      ", buffersLayout=" + buffersLayout + ", closed=" + closed + "]";
+      ", buffersLayout=" + buffersLayout + ", bodyCompression=" + bodyCompression + ", closed=" + closed + "]";
   }
 
   /**
@@ -17,6 +17,9 @@
 
 package org.apache.arrow.vector.ipc.message;
 
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
+
 /**
  * IPC options, now only use for write.
  */
@@ -25,4 +28,8 @@ public class IpcOption {
   // Write the pre-0.15.0 encapsulated IPC message format
   // consisting of a 4-byte prefix instead of 8 byte
   public boolean write_legacy_ipc_format = false;
+
+  // Codec used to compress the body buffers of record batches and dictionary batches.
+  // Readers need a CompressionCodec.Factory that supports the codec to read the data back
+  public CompressionCodec codec = NoCompressionCodec.INSTANCE;
 }
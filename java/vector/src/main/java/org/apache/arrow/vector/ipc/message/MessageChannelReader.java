@@ -52,6 +52,18 @@ public class MessageChannelReader implements AutoCloseable {
    * @throws IOException on error
    */
   public MessageResult readNext() throws IOException {
+    return readNext(allocator);
+  }
+
+  /**
+   * Read a message from the ReadChannel, see {@link #readNext()}, reading the message body data
+   * into a buffer allocated from the given allocator rather than the reader's allocator.
+   *
+   * @param bodyAllocator BufferAllocator used to read the Message body into an ArrowBuf.
+   * @return MessageResult or null if reached end-of-stream
+   * @throws IOException on error
+   */
+  public MessageResult readNext(BufferAllocator bodyAllocator) throws IOException {
 
     // Read the flatbuf message and check for end-of-stream
     MessageMetadataResult result = MessageSerializer.readMessage(in);
@@ -64,7 +76,7 @@ public class MessageChannelReader implements AutoCloseable {
     // Read message body data if defined in message
     if (result.messageHasBody()) {
       long bodyLength = result.getMessageBodyLength();
-      bodyBuffer = MessageSerializer.readMessageBody(in, bodyLength, allocator);
+      bodyBuffer = MessageSerializer.readMessageBody(in, bodyLength, bodyAllocator);
     }
 
     return new MessageResult(message, bodyBuffer);
@@ -21,9 +21,12 @@ import static org.apache.arrow.memory.util.LargeMemoryUtil.checkedCastToInt;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.arrow.flatbuf.BodyCompression;
+import org.apache.arrow.flatbuf.BodyCompressionMethod;
 import org.apache.arrow.flatbuf.Buffer;
 import org.apache.arrow.flatbuf.DictionaryBatch;
 import org.apache.arrow.flatbuf.FieldNode;
@@ -34,6 +37,7 @@ import org.apache.arrow.flatbuf.RecordBatch;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.ReadChannel;
 import org.apache.arrow.vector.ipc.WriteChannel;
 import org.apache.arrow.vector.types.pojo.Schema;
@@ -60,6 +64,8 @@ public class MessageSerializer {
   // This 0xFFFFFFFF value is the first 4 bytes of a valid IPC message
   public static final int IPC_CONTINUATION_TOKEN = -1;
 
+  private static final byte[] PADDING = new byte[8];
+
   /**
    * Convert an array of 4 bytes to a little endian i32 value.
    *
@@ -236,20 +242,25 @@ public class MessageSerializer {
    * @throws IOException if something went wrong
    */
   public static ArrowBlock serialize(WriteChannel out, ArrowRecordBatch batch, IpcOption option) throws IOException {
+    return serializeBatch(out, batch, batch, option);
+  }
 
+  /**
+   * Serializes the metadata of a record or dictionary batch message, followed by the buffers of the
+   * record batch holding its data. Everything, including the padding, is handed to the channel in a
+   * single {@link WriteChannel#write(ByteBuffer[])} call.
+   */
+  private static ArrowBlock serializeBatch(WriteChannel out, ArrowMessage message, ArrowRecordBatch batch,
+      IpcOption option) throws IOException {
     long start = out.getCurrentPosition();
-    long bodyLength = batch.computeBodyLength();
+    long bodyLength = message.computeBodyLength();
     Preconditions.checkArgument(bodyLength % 8 == 0, "batch is not aligned");
 
-    ByteBuffer serializedMessage = serializeMetadata(batch);
+    ByteBuffer serializedMessage = serializeMetadata(message);
 
     int metadataLength = serializedMessage.remaining();
 
-    int prefixSize = 4;
-    if (!option.write_legacy_ipc_format) {
-      out.writeIntLittleEndian(IPC_CONTINUATION_TOKEN);
-      prefixSize = 8;
-    }
+    int prefixSize = option.write_legacy_ipc_format ? 4 : 8;
 
     // calculate alignment bytes so that metadata length points to the correct location after alignment
     int padding = (int) ((start + metadataLength + prefixSize) % 8);
@@ -257,15 +268,25 @@ public class MessageSerializer {
       metadataLength += (8 - padding);
     }
 
-    out.writeIntLittleEndian(metadataLength);
-    out.write(serializedMessage);
-
-    // Align the output to 8 byte boundary.
-    out.align();
-
-    long bufferLength = writeBatchBuffers(out, batch);
+    List<ByteBuffer> buffers = new ArrayList<>(2 * batch.getBuffers().size() + 4);
+    ByteBuffer prefix = ByteBuffer.allocate(prefixSize).order(ByteOrder.LITTLE_ENDIAN);
+    if (!option.write_legacy_ipc_format) {
+      prefix.putInt(IPC_CONTINUATION_TOKEN);
+    }
+    prefix.putInt(metadataLength);
+    prefix.flip();
+    buffers.add(prefix);
+    // pad the metadata so that the body is aligned to an 8 byte boundary.
+    int metadataPadding = metadataLength - serializedMessage.remaining();
+    buffers.add(serializedMessage);
+    addZeros(buffers, metadataPadding);
+
+    long bufferStart = start + prefixSize + metadataLength;
+    long bufferLength = addBatchBuffers(buffers, batch, bufferStart);
     Preconditions.checkArgument(bufferLength % 8 == 0, "out is not aligned");
 
+    out.write(buffers.toArray(new ByteBuffer[0]));
+
     // Metadata size in the Block account for the size prefix
     return new ArrowBlock(start, metadataLength + prefixSize, bufferLength);
   }
@@ -279,25 +300,59 @@ public class MessageSerializer {
    * @throws IOException on error
    */
   public static long writeBatchBuffers(WriteChannel out, ArrowRecordBatch batch) throws IOException {
-    long bufferStart = out.getCurrentPosition();
-    List<ArrowBuf> buffers = batch.getBuffers();
+    List<ByteBuffer> buffers = new ArrayList<>(2 * batch.getBuffers().size() + 1);
+    long bufferLength = addBatchBuffers(buffers, batch, out.getCurrentPosition());
+    out.write(buffers.toArray(new ByteBuffer[0]));
+    return bufferLength;
+  }
+
+  /**
+   * Adds the Arrow buffers of the record batch to the list of buffers to write, along with the
+   * padding required by the batch layout and to align the end to an 8 byte boundary.
+   *
+   * @param buffers the list to add the buffers to
+   * @param batch the batch containing the buffers
+   * @param bufferStart the position in the output of the first buffer
+   * @return the number of bytes added
+   */
+  private static long addBatchBuffers(List<ByteBuffer> buffers, ArrowRecordBatch batch, long bufferStart) {
+    List<ArrowBuf> arrowBufs = batch.getBuffers();
     List<ArrowBuffer> buffersLayout = batch.getBuffersLayout();
 
-    for (int i = 0; i < buffers.size(); i++) {
-      ArrowBuf buffer = buffers.get(i);
+    long position = bufferStart;
+    for (int i = 0; i < arrowBufs.size(); i++) {
+      ArrowBuf buffer = arrowBufs.get(i);
       ArrowBuffer layout = buffersLayout.get(i);
       long startPosition = bufferStart + layout.getOffset();
-      if (startPosition != out.getCurrentPosition()) {
-        out.writeZeros(startPosition - out.getCurrentPosition());
+      if (startPosition != position) {
+        addZeros(buffers, startPosition - position);
+        position = startPosition;
+      }
+      long size = buffer.readableBytes();
+      if (size != layout.getSize()) {
+        throw new IllegalStateException("wrong buffer size: " + size + " != " + layout.getSize());
       }
-      out.write(buffer);
-      if (out.getCurrentPosition() != startPosition + layout.getSize()) {
-        throw new IllegalStateException("wrong buffer size: " + out.getCurrentPosition() +
-                                        " != " + startPosition + layout.getSize());
+      for (long written = 0; written < size; ) {
+        int chunkSize = (int) Math.min(Integer.MAX_VALUE, size - written);
+        buffers.add(buffer.nioBuffer(buffer.readerIndex() + written, chunkSize));
+        written += chunkSize;
       }
+      position += size;
+    }
+
+    int trailingByteSize = (int) (position % 8);
+    if (trailingByteSize != 0) {
+      addZeros(buffers, 8 - trailingByteSize);
+      position += 8 - trailingByteSize;
+    }
+    return position - bufferStart;
+  }
+
+  private static void addZeros(List<ByteBuffer> buffers, long zeroCount) {
+    if (zeroCount > 0) {
+      buffers.add(zeroCount <= PADDING.length ? ByteBuffer.wrap(PADDING, 0, (int) zeroCount) :
+          ByteBuffer.allocate(checkedCastToInt(zeroCount)));
     }
-    out.align();
-    return out.getCurrentPosition() - bufferStart;
   }
 
   /**
@@ -362,25 +417,42 @@ public class MessageSerializer {
     long totalLen = block.getMetadataLength() + block.getBodyLength();
 
     ArrowBuf buffer = alloc.buffer(totalLen);
-    if (in.readFully(buffer, totalLen) != totalLen) {
-      throw new IOException("Unexpected end of input trying to read batch.");
-    }
-
-    int prefixSize = buffer.getInt(0) == IPC_CONTINUATION_TOKEN ? 8 : 4;
+    readFullyOrRelease(in, buffer, totalLen);
 
-    ArrowBuf metadataBuffer = buffer.slice(prefixSize, block.getMetadataLength() - prefixSize);
+    return deserializeRecordBatch(block, buffer);
+  }
 
-    Message messageFB =
-        Message.getRootAsMessage(metadataBuffer.nioBuffer().asReadOnlyBuffer());
+  /**
+   * Deserializes an ArrowRecordBatch from a buffer holding the entire message of the given block,
+   * i.e. the metadata followed by the body. The body buffers of the batch are slices of the given
+   * buffer, no data is copied. This takes over the reference held on the buffer by the caller.
+   *
+   * @param block the block describing the message
+   * @param buffer the buffer holding the message, e.g. a memory-mapped region of a file
+   * @return the deserialized ArrowRecordBatch
+   * @throws IOException if something went wrong
+   */
+  public static ArrowRecordBatch deserializeRecordBatch(ArrowBlock block, ArrowBuf buffer) throws IOException {
+    Message messageFB = readBlockMetadata(block, buffer);
 
     RecordBatch recordBatchFB = (RecordBatch) messageFB.header(new RecordBatch());
 
     // Now read the body
-    final ArrowBuf body = buffer.slice(block.getMetadataLength(),
-         totalLen - block.getMetadataLength());
+    final ArrowBuf body = buffer.slice(block.getMetadataLength(), block.getBodyLength());
     return deserializeRecordBatch(recordBatchFB, body);
   }
 
+  private static Message readBlockMetadata(ArrowBlock block, ArrowBuf buffer) {
+    Preconditions.checkArgument(buffer.capacity() >= block.getMetadataLength() + block.getBodyLength(),
+        "The buffer is smaller than the block");
+
+    int prefixSize = buffer.getInt(0) == IPC_CONTINUATION_TOKEN ? 8 : 4;
+
+    ArrowBuf metadataBuffer = buffer.slice(prefixSize, block.getMetadataLength() - prefixSize);
+
+    return Message.getRootAsMessage(metadataBuffer.nioBuffer().asReadOnlyBuffer());
+  }
+
   /**
    * Deserializes an ArrowRecordBatch given the Flatbuffer metadata and in-memory body.
    *
@@ -411,8 +483,17 @@ public class MessageSerializer {
     if ((int) recordBatchFB.length() != recordBatchFB.length()) {
       throw new IOException("Cannot currently deserialize record batches with more than INT_MAX records.");
     }
-    ArrowRecordBatch arrowRecordBatch =
-        new ArrowRecordBatch(checkedCastToInt(recordBatchFB.length()), nodes, buffers);
+
+    ArrowBodyCompression bodyCompression = NoCompressionCodec.DEFAULT_BODY_COMPRESSION;
+    BodyCompression compressionFB = recordBatchFB.compression();
+    if (compressionFB != null) {
+      if (compressionFB.method() != BodyCompressionMethod.BUFFER) {
+        throw new IOException("Unsupported body compression method " + compressionFB.method());
+      }
+      bodyCompression = new ArrowBodyCompression(compressionFB.codec(), compressionFB.method());
+    }
+    ArrowRecordBatch arrowRecordBatch = new ArrowRecordBatch(checkedCastToInt(recordBatchFB.length()),
+        nodes, buffers, bodyCompression, true);
     body.getReferenceManager().release();
     return arrowRecordBatch;
   }
@@ -441,39 +522,8 @@ public class MessageSerializer {
    */
   public static ArrowBlock serialize(WriteChannel out, ArrowDictionaryBatch batch, IpcOption option)
       throws IOException {
-    long start = out.getCurrentPosition();
-
-    long bodyLength = batch.computeBodyLength();
-    Preconditions.checkArgument(bodyLength % 8 == 0, "batch is not aligned");
-
-    ByteBuffer serializedMessage = serializeMetadata(batch);
-
-    int metadataLength = serializedMessage.remaining();
-
-    int prefixSize = 4;
-    if (!option.write_legacy_ipc_format) {
-      out.writeIntLittleEndian(IPC_CONTINUATION_TOKEN);
-      prefixSize = 8;
-    }
-
-    // calculate alignment bytes so that metadata length points to the correct location after alignment
-    int padding = (int) ((start + metadataLength + prefixSize) % 8);
-    if (padding != 0) {
-      metadataLength += (8 - padding);
-    }
-
-    out.writeIntLittleEndian(metadataLength);
-    out.write(serializedMessage);
-
-    // Align the output to 8 byte boundary.
-    out.align();
-
     // write the embedded record batch
-    long bufferLength = writeBatchBuffers(out, batch.getDictionary());
-    Preconditions.checkArgument(bufferLength % 8 == 0, "out is not aligned");
-
-    // Metadata size in the Block account for the size prefix
-    return new ArrowBlock(start, metadataLength + prefixSize, bufferLength);
+    return serializeBatch(out, batch, batch.getDictionary(), option);
   }
 
   /**
@@ -547,22 +597,28 @@ public class MessageSerializer {
     long totalLen = block.getMetadataLength() + block.getBodyLength();
 
     ArrowBuf buffer = alloc.buffer(totalLen);
-    if (in.readFully(buffer, totalLen) != totalLen) {
-      throw new IOException("Unexpected end of input trying to read batch.");
-    }
-
-    int prefixSize = buffer.getInt(0) == IPC_CONTINUATION_TOKEN ? 8 : 4;
+    readFullyOrRelease(in, buffer, totalLen);
 
-    ArrowBuf metadataBuffer = buffer.slice(prefixSize, block.getMetadataLength() - prefixSize);
+    return deserializeDictionaryBatch(block, buffer);
+  }
 
-    Message messageFB =
-        Message.getRootAsMessage(metadataBuffer.nioBuffer().asReadOnlyBuffer());
+  /**
+   * Deserializes an ArrowDictionaryBatch from a buffer holding the entire message of the given
+   * block, without copying the body. This takes over the reference held on the buffer by the caller.
+   *
+   * @param block the block describing the message
+   * @param buffer the buffer holding the message, e.g. a memory-mapped region of a file
+   * @return the deserialized ArrowDictionaryBatch
+   * @throws IOException if something went wrong
+   */
+  public static ArrowDictionaryBatch deserializeDictionaryBatch(ArrowBlock block, ArrowBuf buffer)
+      throws IOException {
+    Message messageFB = readBlockMetadata(block, buffer);
 
     DictionaryBatch dictionaryBatchFB = (DictionaryBatch) messageFB.header(new DictionaryBatch());
 
     // Now read the body
-    final ArrowBuf body = buffer.slice(block.getMetadataLength(),
-         totalLen - block.getMetadataLength());
+    final ArrowBuf body = buffer.slice(block.getMetadataLength(), block.getBodyLength());
     ArrowRecordBatch recordBatch = deserializeRecordBatch(dictionaryBatchFB.data(), body);
     return new ArrowDictionaryBatch(dictionaryBatchFB.id(), recordBatch, dictionaryBatchFB.isDelta());
   }
@@ -688,9 +744,25 @@ public class MessageSerializer {
   public static ArrowBuf readMessageBody(ReadChannel in, long bodyLength,
       BufferAllocator allocator) throws IOException {
     ArrowBuf bodyBuffer = allocator.buffer(bodyLength);
-    if (in.readFully(bodyBuffer, bodyLength) != bodyLength) {
-      throw new IOException("Unexpected end of input trying to read batch.");
-    }
+    readFullyOrRelease(in, bodyBuffer, bodyLength);
     return bodyBuffer;
   }
+
+  /**
+   * Reads exactly length bytes into the buffer, releasing it if the read fails or the input ends
+   * early (e.g. when a channel is closed by an interrupt).
+   */
+  private static void readFullyOrRelease(ReadChannel in, ArrowBuf buffer, long length) throws IOException {
+    boolean success = false;
+    try {
+      if (in.readFully(buffer, length) != length) {
+        throw new IOException("Unexpected end of input trying to read batch.");
+      }
+      success = true;
+    } finally {
+      if (!success) {
+        buffer.close();
+      }
+    }
+  }
 }
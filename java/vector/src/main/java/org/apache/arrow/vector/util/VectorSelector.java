@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.util;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compare.TypeEqualsVisitor;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Utility to select rows of vectors and {@link VectorSchemaRoot}s, either by their indices (take)
+ * or by a boolean mask (filter).
+ *
+ * <p>Runs of consecutive selected rows are copied in bulk, and the data buffers of variable-width
+ * vectors are sized up front from the offsets of the selected rows. All types of the vector and
+ * vector.complex packages are supported, including lists, structs and unions.
+ */
+public class VectorSelector {
+
+  private VectorSelector() {
+  }
+
+  /**
+   * Gathers the values of a vector at the given indices.
+   * @param sourceVector the vector to take values from.
+   * @param indices the indices of the values to take. A null index produces a null value.
+   * @param targetVector the vector to populate, with the same type as the source vector.
+   *     Its previous content is discarded, and its value count is set to the number of indices.
+   * @throws IllegalArgumentException if the vectors have different types.
+   * @throws IndexOutOfBoundsException if an index is out of the range of the source vector.
+   */
+  public static void take(ValueVector sourceVector, IntVector indices, ValueVector targetVector) {
+    TypeEqualsVisitor typeVisitor = new TypeEqualsVisitor(targetVector, /* check name */ false,
+        /* check meta data */ false);
+    Preconditions.checkArgument(typeVisitor.equals(sourceVector),
+        "The target vector must have the same type as the source vector");
+    sourceVector.accept(new VectorTaker(targetVector, indices), null);
+  }
+
+  /**
+   * Gathers the rows of a {@link VectorSchemaRoot} at the given indices.
+   * @param sourceRoot the root to take rows from.
+   * @param indices the indices of the rows to take.
+   * @param targetRoot the root to populate, with the same schema as the source root.
+   *     Its previous content is discarded.
+   */
+  public static void take(VectorSchemaRoot sourceRoot, IntVector indices, VectorSchemaRoot targetRoot) {
+    Preconditions.checkArgument(sourceRoot.getFieldVectors().size() == targetRoot.getFieldVectors().size(),
+        "Vector schema roots have different numbers of child vectors.");
+    for (int i = 0; i < sourceRoot.getFieldVectors().size(); i++) {
+      take(sourceRoot.getVector(i), indices, targetRoot.getVector(i));
+    }
+    targetRoot.setRowCount(indices.getValueCount());
+  }
+
+  /**
+   * Copies the values of a vector whose bits are set in the mask. Null mask values are not selected.
+   * @param sourceVector the vector to filter.
+   * @param mask the selection mask, with at most as many values as the source vector.
+   * @param targetVector the vector to populate, with the same type as the source vector.
+   *     Its previous content is discarded.
+   */
+  public static void filter(ValueVector sourceVector, BitVector mask, ValueVector targetVector) {
+    try (IntVector indices = getSelectedIndices(mask, sourceVector.getAllocator())) {
+      take(sourceVector, indices, targetVector);
+    }
+  }
+
+  /**
+   * Copies the rows of a {@link VectorSchemaRoot} whose bits are set in the mask.
+   * Null mask values are not selected.
+   * @param sourceRoot the root to filter.
+   * @param mask the selection mask, with at most as many values as the source root has rows.
+   * @param targetRoot the root to populate, with the same schema as the source root.
+   *     Its previous content is discarded.
+   */
+  public static void filter(VectorSchemaRoot sourceRoot, BitVector mask, VectorSchemaRoot targetRoot) {
+    try (IntVector indices = getSelectedIndices(mask, mask.getAllocator())) {
+      take(sourceRoot, indices, targetRoot);
+    }
+  }
+
+  /**
+   * Converts a selection mask to a selection vector.
+   * @param mask the selection mask. Null mask values are not selected.
+   * @param allocator the allocator for the selection vector.
+   * @return the ascending indices of the set bits of the mask. The caller must close the vector.
+   */
+  public static IntVector getSelectedIndices(BitVector mask, BufferAllocator allocator) {
+    final int maskCount = mask.getValueCount();
+    final long validityAddress = mask.getValidityBuffer().memoryAddress();
+    final long dataAddress = mask.getDataBuffer().memoryAddress();
+    final int wordCount = maskCount / Long.SIZE;
+
+    int selectedCount = 0;
+    for (int i = 0; i < wordCount; i++) {
+      selectedCount += Long.bitCount(getSelectedBits(validityAddress, dataAddress, i));
+    }
+    for (int i = wordCount * Long.SIZE; i < maskCount; i++) {
+      if (!mask.isNull(i) && mask.get(i) != 0) {
+        selectedCount += 1;
+      }
+    }
+
+    IntVector indices = new IntVector("selected indices", allocator);
+    try {
+      indices.allocateNew(selectedCount);
+      final long indexAddress = indices.getDataBuffer().memoryAddress();
+      int selected = 0;
+      for (int i = 0; i < wordCount; i++) {
+        long bits = getSelectedBits(validityAddress, dataAddress, i);
+        while (bits != 0) {
+          PlatformDependent.putInt(indexAddress + (long) selected * IntVector.TYPE_WIDTH,
+              i * Long.SIZE + Long.numberOfTrailingZeros(bits));
+          selected += 1;
+          bits &= bits - 1;
+        }
+      }
+      for (int i = wordCount * Long.SIZE; i < maskCount; i++) {
+        if (!mask.isNull(i) && mask.get(i) != 0) {
+          PlatformDependent.putInt(indexAddress + (long) selected * IntVector.TYPE_WIDTH, i);
+          selected += 1;
+        }
+      }
+
+      // all the indices are non-null
+      final ArrowBuf indexValidity = indices.getValidityBuffer();
+      PlatformDependent.setMemory(indexValidity.memoryAddress(), selectedCount / Byte.SIZE, (byte) 0xff);
+      for (int i = selectedCount / Byte.SIZE * Byte.SIZE; i < selectedCount; i++) {
+        BitVectorHelper.setBit(indexValidity, i);
+      }
+      indices.setValueCount(selectedCount);
+      return indices;
+    } catch (RuntimeException e) {
+      indices.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets 64 bits of a mask, where a bit is set when both the validity bit and the data bit are set.
+   */
+  private static long getSelectedBits(long validityAddress, long dataAddress, int wordIndex) {
+    final long offset = (long) wordIndex * Long.BYTES;
+    return PlatformDependent.getLong(validityAddress + offset) & PlatformDependent.getLong(dataAddress + offset);
+  }
+}
@@ -0,0 +1,540 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.util;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.NullVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.DenseUnionVector;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.UnionVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Utility to gather the values of a vector at the given indices into a target vector.
+ * Runs of consecutive indices are copied with bulk memory copies, and null indices produce nulls.
+ * The target vector must have the same type as the visited vector; its previous content is discarded.
+ */
+class VectorTaker implements VectorVisitor<ValueVector, Void> {
+
+  /**
+   * The width of a type id in the type buffer of a sparse union vector.
+   */
+  private static final int UNION_TYPE_WIDTH = 1;
+
+  /**
+   * The vector to populate.
+   */
+  private final ValueVector targetVector;
+
+  /**
+   * The indices of the values to take from the visited vector.
+   */
+  private final IntVector indices;
+
+  /**
+   * Constructs a new taker.
+   * @param targetVector the vector to populate.
+   * @param indices the indices of the values to take, in the order of the target vector.
+   */
+  VectorTaker(ValueVector targetVector, IntVector indices) {
+    this.targetVector = targetVector;
+    this.indices = indices;
+  }
+
+  /**
+   * Consumer of the runs of the indices vector.
+   */
+  @FunctionalInterface
+  private interface RunConsumer {
+    /**
+     * Accepts a run of consecutive source indices.
+     * @param targetIndex the first index in the target vector.
+     * @param sourceIndex the first index in the source vector, or -1 for a null index.
+     * @param length the length of the run, which is always 1 for a null index.
+     */
+    void accept(int targetIndex, int sourceIndex, int length);
+  }
+
+  /**
+   * Splits the indices into runs of consecutive values.
+   */
+  private void forEachRun(ValueVector sourceVector, RunConsumer consumer) {
+    final int count = indices.getValueCount();
+    final int sourceCount = sourceVector.getValueCount();
+    final boolean hasNulls = indices.getNullCount() > 0;
+    final long validityAddress = indices.getValidityBuffer().memoryAddress();
+    final long indexAddress = indices.getDataBuffer().memoryAddress();
+    int i = 0;
+    while (i < count) {
+      if (hasNulls && !getBit(validityAddress, i)) {
+        consumer.accept(i, -1, 1);
+        i += 1;
+        continue;
+      }
+      final int start = PlatformDependent.getInt(indexAddress + (long) i * IntVector.TYPE_WIDTH);
+      int end = i + 1;
+      while (end < count && (!hasNulls || getBit(validityAddress, end)) &&
+          PlatformDependent.getInt(indexAddress + (long) end * IntVector.TYPE_WIDTH) == start + (end - i)) {
+        end += 1;
+      }
+      Preconditions.checkElementIndex(start, sourceCount);
+      Preconditions.checkPositionIndex(start + (end - i), sourceCount);
+      consumer.accept(i, start, end - i);
+      i = end;
+    }
+  }
+
+  private static boolean getBit(long address, int index) {
+    return ((PlatformDependent.getByte(address + (index >>> 3)) >>> (index & 7)) & 1) != 0;
+  }
+
+  private static void setBit(long address, int index) {
+    final long byteAddress = address + (index >>> 3);
+    PlatformDependent.putByte(byteAddress, (byte) (PlatformDependent.getByte(byteAddress) | (1 << (index & 7))));
+  }
+
+  /**
+   * Copies bits between validity (or bit data) buffers. The target bits must be clear.
+   */
+  private static void copyBits(ArrowBuf source, int sourceIndex, ArrowBuf target, int targetIndex, int length) {
+    final long sourceAddress = source.memoryAddress();
+    final long targetAddress = target.memoryAddress();
+    int copied = 0;
+    if ((sourceIndex & 7) == 0 && (targetIndex & 7) == 0) {
+      int bytes = length >>> 3;
+      PlatformDependent.copyMemory(sourceAddress + (sourceIndex >>> 3), targetAddress + (targetIndex >>> 3), bytes);
+      copied = bytes << 3;
+    }
+    for (; copied < length; copied++) {
+      if (getBit(sourceAddress, sourceIndex + copied)) {
+        setBit(targetAddress, targetIndex + copied);
+      }
+    }
+  }
+
+  /**
+   * Copies memory, avoiding the overhead of a bulk copy for single values of common widths.
+   */
+  private static void copyMemory(long sourceAddress, long targetAddress, long bytes) {
+    if (bytes == 8) {
+      PlatformDependent.putLong(targetAddress, PlatformDependent.getLong(sourceAddress));
+    } else if (bytes == 4) {
+      PlatformDependent.putInt(targetAddress, PlatformDependent.getInt(sourceAddress));
+    } else {
+      PlatformDependent.copyMemory(sourceAddress, targetAddress, bytes);
+    }
+  }
+
+  /**
+   * Allocates the target vector, so that it can hold the given number of values.
+   */
+  private static void allocate(ValueVector vector, int valueCount) {
+    vector.allocateNew();
+    while (vector.getValueCapacity() < valueCount) {
+      vector.reAlloc();
+    }
+  }
+
+  @Override
+  public ValueVector visit(BaseFixedWidthVector sourceVector, Void value) {
+    final BaseFixedWidthVector target = (BaseFixedWidthVector) targetVector;
+    final int count = indices.getValueCount();
+    target.allocateNew(count);
+
+    final ArrowBuf sourceValidity = sourceVector.getValidityBuffer();
+    final ArrowBuf sourceData = sourceVector.getDataBuffer();
+    final ArrowBuf targetValidity = target.getValidityBuffer();
+    final ArrowBuf targetData = target.getDataBuffer();
+    final boolean isBitVector = sourceVector instanceof BitVector;
+    final long typeWidth = sourceVector.getTypeWidth();
+
+    forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+      if (sourceIndex < 0) {
+        // the target is zeroed, so the value is already null
+        return;
+      }
+      copyBits(sourceValidity, sourceIndex, targetValidity, targetIndex, length);
+      if (isBitVector) {
+        copyBits(sourceData, sourceIndex, targetData, targetIndex, length);
+      } else {
+        copyMemory(sourceData.memoryAddress() + sourceIndex * typeWidth,
+            targetData.memoryAddress() + targetIndex * typeWidth, length * typeWidth);
+      }
+    });
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(BaseVariableWidthVector sourceVector, Void value) {
+    final BaseVariableWidthVector target = (BaseVariableWidthVector) targetVector;
+    final int count = indices.getValueCount();
+    final ArrowBuf sourceOffsets = sourceVector.getOffsetBuffer();
+
+    // size the data buffer from the offsets, so that it is never reallocated
+    final long[] dataSize = new long[1];
+    forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+      if (sourceIndex >= 0) {
+        dataSize[0] += sourceOffsets.getInt((long) (sourceIndex + length) * BaseVariableWidthVector.OFFSET_WIDTH) -
+            sourceOffsets.getInt((long) sourceIndex * BaseVariableWidthVector.OFFSET_WIDTH);
+      }
+    });
+    Preconditions.checkArgument(dataSize[0] <= Integer.MAX_VALUE,
+        "The selected values have %s bytes, more than a variable width vector can hold", dataSize[0]);
+    target.allocateNew(dataSize[0], count);
+
+    final ArrowBuf sourceValidity = sourceVector.getValidityBuffer();
+    final ArrowBuf sourceData = sourceVector.getDataBuffer();
+    final ArrowBuf targetValidity = target.getValidityBuffer();
+    final ArrowBuf targetOffsets = target.getOffsetBuffer();
+    final ArrowBuf targetData = target.getDataBuffer();
+    final int[] targetOffset = new int[1];
+
+    forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+      if (sourceIndex < 0) {
+        targetOffsets.setInt((long) (targetIndex + 1) * BaseVariableWidthVector.OFFSET_WIDTH, targetOffset[0]);
+        return;
+      }
+      copyBits(sourceValidity, sourceIndex, targetValidity, targetIndex, length);
+
+      final long sourceOffsetAddress =
+          sourceOffsets.memoryAddress() + (long) sourceIndex * BaseVariableWidthVector.OFFSET_WIDTH;
+      final long targetOffsetAddress =
+          targetOffsets.memoryAddress() + (long) targetIndex * BaseVariableWidthVector.OFFSET_WIDTH;
+      final int sourceStart = PlatformDependent.getInt(sourceOffsetAddress);
+      final int delta = targetOffset[0] - sourceStart;
+      for (int i = 1; i <= length; i++) {
+        final long offset = (long) i * BaseVariableWidthVector.OFFSET_WIDTH;
+        PlatformDependent.putInt(targetOffsetAddress + offset,
+            PlatformDependent.getInt(sourceOffsetAddress + offset) + delta);
+      }
+      final int sourceEnd =
+          PlatformDependent.getInt(sourceOffsetAddress + (long) length * BaseVariableWidthVector.OFFSET_WIDTH);
+      copyMemory(sourceData.memoryAddress() + sourceStart,
+          targetData.memoryAddress() + targetOffset[0], sourceEnd - sourceStart);
+      targetOffset[0] += sourceEnd - sourceStart;
+    });
+    target.setLastSet(count - 1);
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(BaseLargeVariableWidthVector sourceVector, Void value) {
+    final BaseLargeVariableWidthVector target = (BaseLargeVariableWidthVector) targetVector;
+    final int count = indices.getValueCount();
+    final ArrowBuf sourceOffsets = sourceVector.getOffsetBuffer();
+
+    // size the data buffer from the offsets, so that it is never reallocated
+    final long[] dataSize = new long[1];
+    forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+      if (sourceIndex >= 0) {
+        dataSize[0] +=
+            sourceOffsets.getLong((long) (sourceIndex + length) * BaseLargeVariableWidthVector.OFFSET_WIDTH) -
+            sourceOffsets.getLong((long) sourceIndex * BaseLargeVariableWidthVector.OFFSET_WIDTH);
+      }
+    });
+    target.allocateNew(dataSize[0], count);
+
+    final ArrowBuf sourceValidity = sourceVector.getValidityBuffer();
+    final ArrowBuf sourceData = sourceVector.getDataBuffer();
+    final ArrowBuf targetValidity = target.getValidityBuffer();
+    final ArrowBuf targetOffsets = target.getOffsetBuffer();
+    final ArrowBuf targetData = target.getDataBuffer();
+    final long[] targetOffset = new long[1];
+
+    forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+      if (sourceIndex < 0) {
+        targetOffsets.setLong((long) (targetIndex + 1) * BaseLargeVariableWidthVector.OFFSET_WIDTH, targetOffset[0]);
+        return;
+      }
+      copyBits(sourceValidity, sourceIndex, targetValidity, targetIndex, length);
+
+      final long sourceOffsetAddress =
+          sourceOffsets.memoryAddress() + (long) sourceIndex * BaseLargeVariableWidthVector.OFFSET_WIDTH;
+      final long targetOffsetAddress =
+          targetOffsets.memoryAddress() + (long) targetIndex * BaseLargeVariableWidthVector.OFFSET_WIDTH;
+      final long sourceStart = PlatformDependent.getLong(sourceOffsetAddress);
+      final long delta = targetOffset[0] - sourceStart;
+      for (int i = 1; i <= length; i++) {
+        final long offset = (long) i * BaseLargeVariableWidthVector.OFFSET_WIDTH;
+        PlatformDependent.putLong(targetOffsetAddress + offset,
+            PlatformDependent.getLong(sourceOffsetAddress + offset) + delta);
+      }
+      final long sourceEnd =
+          PlatformDependent.getLong(sourceOffsetAddress + (long) length * BaseLargeVariableWidthVector.OFFSET_WIDTH);
+      copyMemory(sourceData.memoryAddress() + sourceStart,
+          targetData.memoryAddress() + targetOffset[0], sourceEnd - sourceStart);
+      targetOffset[0] += sourceEnd - sourceStart;
+    });
+    target.setLastSet(count - 1);
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(ListVector sourceVector, Void value) {
+    final ListVector target = (ListVector) targetVector;
+    final int count = indices.getValueCount();
+    final ArrowBuf sourceOffsets = sourceVector.getOffsetBuffer();
+
+    // count the child values to take
+    final long[] childCount = new long[1];
+    forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+      if (sourceIndex >= 0) {
+        childCount[0] += sourceOffsets.getInt((long) (sourceIndex + length) * ListVector.OFFSET_WIDTH) -
+            sourceOffsets.getInt((long) sourceIndex * ListVector.OFFSET_WIDTH);
+      }
+    });
+    Preconditions.checkArgument(childCount[0] <= Integer.MAX_VALUE,
+        "The selected lists have %s values, more than a list vector can hold", childCount[0]);
+
+    target.addOrGetVector(sourceVector.getDataVector().getField().getFieldType());
+    allocate(target, count);
+
+    final ArrowBuf sourceValidity = sourceVector.getValidityBuffer();
+    final ArrowBuf targetValidity = target.getValidityBuffer();
+    final ArrowBuf targetOffsets = target.getOffsetBuffer();
+
+    try (IntVector childIndices = new IntVector("child indices", indices.getAllocator())) {
+      childIndices.allocateNew((int) childCount[0]);
+      final int[] targetOffset = new int[1];
+      forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+        if (sourceIndex < 0) {
+          targetOffsets.setInt((long) (targetIndex + 1) * ListVector.OFFSET_WIDTH, targetOffset[0]);
+          return;
+        }
+        copyBits(sourceValidity, sourceIndex, targetValidity, targetIndex, length);
+
+        final int sourceStart = sourceOffsets.getInt((long) sourceIndex * ListVector.OFFSET_WIDTH);
+        for (int i = 1; i <= length; i++) {
+          int sourceOffset = sourceOffsets.getInt((long) (sourceIndex + i) * ListVector.OFFSET_WIDTH);
+          targetOffsets.setInt((long) (targetIndex + i) * ListVector.OFFSET_WIDTH,
+              targetOffset[0] + sourceOffset - sourceStart);
+        }
+        final int sourceEnd = sourceOffsets.getInt((long) (sourceIndex + length) * ListVector.OFFSET_WIDTH);
+        for (int i = sourceStart; i < sourceEnd; i++) {
+          childIndices.set(targetOffset[0]++, i);
+        }
+      });
+      childIndices.setValueCount(targetOffset[0]);
+
+      sourceVector.getDataVector().accept(new VectorTaker(target.getDataVector(), childIndices), null);
+    }
+
+    target.setLastSet(count - 1);
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(FixedSizeListVector sourceVector, Void value) {
+    final FixedSizeListVector target = (FixedSizeListVector) targetVector;
+    final int count = indices.getValueCount();
+    final int listSize = sourceVector.getListSize();
+    Preconditions.checkArgument(target.getListSize() == listSize,
+        "FixedSizeListVector must have the same list size to take values");
+
+    target.addOrGetVector(sourceVector.getDataVector().getField().getFieldType());
+    allocate(target, count);
+
+    final ArrowBuf sourceValidity = sourceVector.getValidityBuffer();
+    final ArrowBuf targetValidity = target.getValidityBuffer();
+
+    try (IntVector childIndices = new IntVector("child indices", indices.getAllocator())) {
+      childIndices.allocateNew(count * listSize);
+      forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+        if (sourceIndex < 0) {
+          // the child values of a null list are null
+          for (int i = 0; i < listSize; i++) {
+            childIndices.setNull(targetIndex * listSize + i);
+          }
+          return;
+        }
+        copyBits(sourceValidity, sourceIndex, targetValidity, targetIndex, length);
+        for (int i = 0; i < length * listSize; i++) {
+          childIndices.set(targetIndex * listSize + i, sourceIndex * listSize + i);
+        }
+      });
+      childIndices.setValueCount(count * listSize);
+
+      sourceVector.getDataVector().accept(new VectorTaker(target.getDataVector(), childIndices), null);
+    }
+
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(NonNullableStructVector sourceVector, Void value) {
+    final NonNullableStructVector target = (NonNullableStructVector) targetVector;
+    final int count = indices.getValueCount();
+
+    if (sourceVector instanceof StructVector) {
+      allocate(target, count);
+      final ArrowBuf sourceValidity = sourceVector.getValidityBuffer();
+      final ArrowBuf targetValidity = target.getValidityBuffer();
+      forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+        if (sourceIndex >= 0) {
+          copyBits(sourceValidity, sourceIndex, targetValidity, targetIndex, length);
+        }
+      });
+    }
+
+    // the children are taken with the same indices
+    for (int i = 0; i < sourceVector.getChildrenFromFields().size(); i++) {
+      ValueVector sourceChild = sourceVector.getVectorById(i);
+      ValueVector targetChild = target.getVectorById(i);
+      sourceChild.accept(new VectorTaker(targetChild, indices), null);
+    }
+
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(UnionVector sourceVector, Void value) {
+    final UnionVector target = (UnionVector) targetVector;
+    final int count = indices.getValueCount();
+    allocate(target, count);
+
+    // copy the type ids, a null index gets the null type id 0
+    final ArrowBuf sourceTypes = sourceVector.getValidityBuffer();
+    final ArrowBuf targetTypes = target.getValidityBuffer();
+    forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+      if (sourceIndex >= 0) {
+        copyMemory(sourceTypes.memoryAddress() + (long) sourceIndex * UNION_TYPE_WIDTH,
+            targetTypes.memoryAddress() + (long) targetIndex * UNION_TYPE_WIDTH,
+            (long) length * UNION_TYPE_WIDTH);
+      }
+    });
+
+    // the child vectors of a sparse union have the length of the union, so they are taken with the same indices
+    for (ValueVector sourceChild : sourceVector.getChildrenFromFields()) {
+      ValueVector targetChild = target.getVectorByType(
+          sourceChild.getMinorType().ordinal(), sourceChild.getField().getType());
+      sourceChild.accept(new VectorTaker(targetChild, indices), null);
+    }
+
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(DenseUnionVector sourceVector, Void value) {
+    final DenseUnionVector target = (DenseUnionVector) targetVector;
+    final int count = indices.getValueCount();
+    allocate(target, count);
+
+    final ArrowBuf sourceValidity = sourceVector.getValidityBuffer();
+    final ArrowBuf targetValidity = target.getValidityBuffer();
+    final ArrowBuf targetOffsets = target.getOffsetBuffer();
+
+    // count the values to take from each child
+    final int[] childCounts = new int[Byte.MAX_VALUE + 1];
+    for (int i = 0; i < count; i++) {
+      if (!indices.isNull(i) && !sourceVector.isNull(indices.get(i))) {
+        childCounts[sourceVector.getTypeId(indices.get(i))] += 1;
+      }
+    }
+
+    final IntVector[] childIndices = new IntVector[childCounts.length];
+    try {
+      for (int typeId = 0; typeId < childCounts.length; typeId++) {
+        if (childCounts[typeId] > 0) {
+          childIndices[typeId] = new IntVector("child indices", indices.getAllocator());
+          childIndices[typeId].allocateNew(childCounts[typeId]);
+          childIndices[typeId].setValueCount(childCounts[typeId]);
+        }
+      }
+
+      final int[] childOffsets = new int[childCounts.length];
+      forEachRun(sourceVector, (targetIndex, sourceIndex, length) -> {
+        if (sourceIndex < 0) {
+          return;
+        }
+        copyBits(sourceValidity, sourceIndex, targetValidity, targetIndex, length);
+        for (int i = 0; i < length; i++) {
+          if (!sourceVector.isNull(sourceIndex + i)) {
+            byte typeId = sourceVector.getTypeId(sourceIndex + i);
+            target.setTypeId(targetIndex + i, typeId);
+            targetOffsets.setInt((long) (targetIndex + i) * DenseUnionVector.OFFSET_WIDTH, childOffsets[typeId]);
+            childIndices[typeId].set(childOffsets[typeId]++, sourceVector.getOffset(sourceIndex + i));
+          }
+        }
+      });
+
+      final int[] targetTypeIds = ((ArrowType.Union) target.getField().getType()).getTypeIds();
+      for (int typeId = 0; typeId < childIndices.length; typeId++) {
+        if (childIndices[typeId] == null) {
+          continue;
+        }
+        ValueVector sourceChild = sourceVector.getVectorByType((byte) typeId);
+        ValueVector targetChild = target.getVectorByType((byte) typeId);
+        if (targetChild == null) {
+          // the type id may be registered in the target without its child vector having been created
+          if (!containsTypeId(targetTypeIds, typeId)) {
+            byte newTypeId = target.registerNewTypeId(sourceChild.getField());
+            Preconditions.checkState(newTypeId == typeId,
+                "The target vector has different type ids than the source vector");
+          }
+          targetChild = target.addVector((byte) typeId, sourceChild.getField().createVector(target.getAllocator()));
+        }
+        sourceChild.accept(new VectorTaker(targetChild, childIndices[typeId]), null);
+      }
+    } finally {
+      for (IntVector vector : childIndices) {
+        if (vector != null) {
+          vector.close();
+        }
+      }
+    }
+
+    target.setValueCount(count);
+    return target;
+  }
+
+  private static boolean containsTypeId(int[] typeIds, int typeId) {
+    for (int id : typeIds) {
+      if (id == typeId) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public ValueVector visit(NullVector sourceVector, Void value) {
+    targetVector.setValueCount(indices.getValueCount());
+    return targetVector;
+  }
+}
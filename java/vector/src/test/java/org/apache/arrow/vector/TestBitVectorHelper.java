@@ -221,6 +221,42 @@ public class TestBitVectorHelper {
     }
   }
 
+  @Test
+  public void testAndBits() {
+    try (RootAllocator allocator = new RootAllocator(1024 * 1024)) {
+      try (ArrowBuf buf1 = allocator.buffer(20);
+           ArrowBuf buf2 = allocator.buffer(20);
+           ArrowBuf output = allocator.buffer(20)) {
+        buf1.setZero(0, buf1.capacity());
+        buf2.setZero(0, buf2.capacity());
+        output.setOne(0, (int) output.capacity());
+
+        final int maxCount = 150;
+        for (int i = 0; i < maxCount; i++) {
+          if (i % 2 == 0) {
+            BitVectorHelper.setValidityBitToOne(buf1, i);
+          }
+          if (i % 3 == 0) {
+            BitVectorHelper.setValidityBitToOne(buf2, i);
+          }
+        }
+
+        // the number of bits spans two words and a partial byte
+        BitVectorHelper.and(buf1, buf2, output, 141);
+        for (int i = 0; i < 144; i++) {
+          int expected = i < 141 && i % 6 == 0 ? 1 : 0;
+          assertEquals(expected, BitVectorHelper.get(output, i));
+        }
+
+        // the output is the same as the first input
+        BitVectorHelper.and(buf1, buf2, buf1, 64);
+        for (int i = 0; i < 64; i++) {
+          assertEquals(i % 6 == 0 ? 1 : 0, BitVectorHelper.get(buf1, i));
+        }
+      }
+    }
+  }
+
   private void concatAndVerify(ArrowBuf buf1, int count1, ArrowBuf buf2, int count2, ArrowBuf output) {
     BitVectorHelper.concatBits(buf1, count1, buf2, count2, output);
     int outputIdx = 0;
@@ -112,6 +112,29 @@ public class TestDictionaryVector {
     }
   }
 
+  @Test
+  public void testEncodeWithDuplicateDictionaryValues() {
+    try (final VarCharVector vector = newVarCharVector("foo", allocator);
+         final VarCharVector dictionaryVector = newVarCharVector("dict", allocator);) {
+
+      setVector(vector, zero, one, two, zero);
+      // zero appears twice, values are encoded to their latest index in the dictionary
+      setVector(dictionaryVector, zero, one, zero, two, one);
+
+      Dictionary dictionary =
+          new Dictionary(dictionaryVector, new DictionaryEncoding(1L, false, null));
+
+      try (final ValueVector encoded = DictionaryEncoder.encode(vector, dictionary)) {
+        IntVector index = ((IntVector) encoded);
+        assertEquals(4, index.getValueCount());
+        assertEquals(2, index.get(0));
+        assertEquals(4, index.get(1));
+        assertEquals(3, index.get(2));
+        assertEquals(2, index.get(3));
+      }
+    }
+  }
+
   @Test
   public void testEncodeLargeVector() {
     // Create a new value vector
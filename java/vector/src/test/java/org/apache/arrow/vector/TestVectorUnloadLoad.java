@@ -21,6 +21,7 @@ import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -38,8 +39,11 @@ import org.apache.arrow.vector.complex.writer.BaseWriter.ListWriter;
 import org.apache.arrow.vector.complex.writer.BaseWriter.StructWriter;
 import org.apache.arrow.vector.complex.writer.BigIntWriter;
 import org.apache.arrow.vector.complex.writer.IntWriter;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.FieldType;
@@ -273,6 +277,46 @@ public class TestVectorUnloadLoad {
     }
   }
 
+  @Test
+  public void testUnloadCompressionFailure() {
+    // a codec that fails on the third buffer
+    CompressionCodec failingCodec = new CompressionCodec() {
+      private int compressed = 0;
+
+      @Override
+      public ArrowBuf compress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
+        if (++compressed > 2) {
+          throw new IllegalStateException("compression failure");
+        }
+        return CompressionUtil.packageRawBuffer(allocator, uncompressedBuffer);
+      }
+
+      @Override
+      public ArrowBuf decompress(BufferAllocator allocator, ArrowBuf compressedBuffer) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public CompressionUtil.CodecType getCodecType() {
+        return CompressionUtil.CodecType.ZSTD;
+      }
+    };
+
+    try (IntVector ints = new IntVector("ints", allocator);
+         IntVector moreInts = new IntVector("moreInts", allocator)) {
+      ValueVectorDataPopulator.setVector(ints, 1, null, 3);
+      ValueVectorDataPopulator.setVector(moreInts, 4, 5, null);
+      VectorSchemaRoot root = VectorSchemaRoot.of(ints, moreInts);
+      long allocated = allocator.getAllocatedMemory();
+
+      VectorUnloader unloader = new VectorUnloader(root, true, failingCodec, true);
+      assertThrows(IllegalStateException.class, unloader::getRecordBatch);
+
+      // the buffers compressed before the failure are released
+      assertEquals(allocated, allocator.getAllocatedMemory());
+    }
+  }
+
   @Test
   public void testUnloadLoadDuplicates() throws IOException {
     int count = 10;
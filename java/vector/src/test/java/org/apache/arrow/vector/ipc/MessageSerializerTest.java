@@ -29,15 +29,20 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 import org.apache.arrow.vector.ipc.message.ArrowMessage;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.IpcOption;
 import org.apache.arrow.vector.ipc.message.MessageSerializer;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
@@ -170,6 +175,114 @@ public class MessageSerializerTest {
     verifyBatch((ArrowRecordBatch) deserialized, validity, values);
   }
 
+  /**
+   * Channel that records the number of writes issued to it.
+   */
+  private static class CountingChannel implements WritableByteChannel {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int writes;
+
+    @Override
+    public int write(ByteBuffer src) {
+      writes++;
+      return copy(src);
+    }
+
+    int copy(ByteBuffer src) {
+      int length = src.remaining();
+      byte[] bytes = new byte[length];
+      src.get(bytes);
+      out.write(bytes, 0, length);
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Gathering channel that records the number of gathering writes issued to it.
+   */
+  private static class CountingGatheringChannel extends CountingChannel implements GatheringByteChannel {
+    int gatheringWrites;
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+      gatheringWrites++;
+      long written = 0;
+      // write partially to exercise the retry loop
+      for (int i = offset; i < offset + Math.min(length, 3); i++) {
+        written += copy(srcs[i]);
+      }
+      return written;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) {
+      return write(srcs, 0, srcs.length);
+    }
+  }
+
+  @Test
+  public void testSerializeRecordBatchSingleWrite() throws IOException {
+    final int numColumns = 50;
+    try (BufferAllocator alloc = new RootAllocator(Long.MAX_VALUE)) {
+      List<ArrowFieldNode> nodes = new ArrayList<>();
+      List<ArrowBuf> buffers = new ArrayList<>();
+      for (int i = 0; i < numColumns; i++) {
+        nodes.add(new ArrowFieldNode(3, 0));
+        buffers.add(buf(alloc, new byte[] {7}));
+        buffers.add(buf(alloc, new byte[] {(byte) i, 1, 2}));
+      }
+      try (ArrowRecordBatch batch = new ArrowRecordBatch(3, nodes, buffers)) {
+        buffers.forEach(ArrowBuf::close);
+
+        for (boolean legacyFormat : new boolean[] {false, true}) {
+          IpcOption option = new IpcOption();
+          option.write_legacy_ipc_format = legacyFormat;
+
+          CountingChannel plain = new CountingChannel();
+          WriteChannel plainOut = new WriteChannel(plain);
+          plainOut.write(new byte[3]);
+          ArrowBlock plainBlock = MessageSerializer.serialize(plainOut, batch, option);
+          // the unaligned prefix, and the whole batch coalesced in a single write
+          assertEquals(2, plain.writes);
+
+          CountingGatheringChannel gathering = new CountingGatheringChannel();
+          WriteChannel gatheringOut = new WriteChannel(gathering);
+          gatheringOut.write(new byte[3]);
+          ArrowBlock gatheringBlock = MessageSerializer.serialize(gatheringOut, batch, option);
+          // the unaligned prefix, and the batch in gathering writes only
+          assertEquals(1, gathering.writes);
+          // the channel only takes 3 buffers per call, so the write is resumed
+          assertTrue(gathering.gatheringWrites > numColumns);
+
+          assertEquals(plainBlock.getOffset(), gatheringBlock.getOffset());
+          assertEquals(plainBlock.getMetadataLength(), gatheringBlock.getMetadataLength());
+          assertEquals(plainBlock.getBodyLength(), gatheringBlock.getBodyLength());
+          assertEquals(plainOut.getCurrentPosition(), gatheringOut.getCurrentPosition());
+          assertArrayEquals(plain.out.toByteArray(), gathering.out.toByteArray());
+          assertEquals(0, (plainBlock.getOffset() + plainBlock.getMetadataLength()) % 8);
+
+          byte[] serialized = plain.out.toByteArray();
+          ReadChannel in = new ReadChannel(Channels.newChannel(
+              new ByteArrayInputStream(serialized, 3, serialized.length - 3)));
+          try (ArrowRecordBatch deserialized =
+                   (ArrowRecordBatch) MessageSerializer.deserializeMessageBatch(in, alloc)) {
+            assertEquals(2 * numColumns, deserialized.getBuffers().size());
+            assertArrayEquals(new byte[] {(byte) 12, 1, 2}, array(deserialized.getBuffers().get(25)));
+          }
+        }
+      }
+    }
+  }
+
   public static Schema testSchema() {
     return new Schema(asList(new Field(
         "testField", FieldType.nullable(new ArrowType.Int(8, true)), Collections.<Field>emptyList())));
@@ -63,6 +63,7 @@ import org.apache.arrow.vector.types.pojo.ArrowType.Int;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.FieldType;
 import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
 import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -154,6 +155,53 @@ public class TestArrowFile extends BaseFileTest {
     }
   }
 
+  @Test
+  public void testWriteReadMemoryMapped() throws IOException {
+    File file = new File("target/mytest_mmap.arrow");
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    int count = COUNT;
+
+    // write
+    try (BufferAllocator originalVectorAllocator =
+           allocator.newChildAllocator("original vectors", 0, Integer.MAX_VALUE);
+         StructVector parent = StructVector.empty("parent", originalVectorAllocator)) {
+      writeData(count, parent);
+      write(parent.getChild("root"), file, stream);
+    }
+
+    // read
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Integer.MAX_VALUE)) {
+      VectorSchemaRoot transferred;
+      try (FileInputStream fileInputStream = new FileInputStream(file);
+           ArrowFileReader arrowReader = new ArrowFileReader(fileInputStream.getChannel(), readerAllocator, true)) {
+        VectorSchemaRoot root = arrowReader.getVectorSchemaRoot();
+        assertEquals(1, arrowReader.getRecordBlocks().size());
+        assertTrue(arrowReader.loadNextBatch());
+        assertEquals(count, root.getRowCount());
+        validateContent(count, root);
+
+        // the mapped region is accounted to the reader's allocator
+        long fileSize = fileInputStream.getChannel().size();
+        assertTrue(readerAllocator.getAllocatedMemory() > 0);
+        assertTrue(readerAllocator.getAllocatedMemory() < fileSize);
+
+        // take ownership of the loaded vectors
+        List<FieldVector> vectors = new ArrayList<>();
+        for (FieldVector vector : root.getFieldVectors()) {
+          TransferPair transferPair = vector.getTransferPair(readerAllocator);
+          transferPair.transfer();
+          vectors.add((FieldVector) transferPair.getTo());
+        }
+        transferred = new VectorSchemaRoot(root.getSchema(), vectors, count);
+      }
+
+      // the mapping outlives the reader and the file until the vectors are closed
+      validateContent(count, transferred);
+      transferred.close();
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    }
+  }
+
   @Test
   public void testWriteReadComplex() throws IOException {
     File file = new File("target/mytest_complex.arrow");
@@ -499,6 +547,15 @@ public class TestArrowFile extends BaseFileTest {
       assertEquals(numDictionaryBlocksWritten, arrowReader.getDictionaryBlocks().size());
     }
 
+    // read from memory-mapped file
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Integer.MAX_VALUE);
+         FileInputStream fileInputStream = new FileInputStream(file);
+         ArrowFileReader arrowReader = new ArrowFileReader(fileInputStream.getChannel(), readerAllocator, true)) {
+      VectorSchemaRoot root = arrowReader.getVectorSchemaRoot();
+      Assert.assertTrue(arrowReader.loadNextBatch());
+      validateFlatDictionary(root, arrowReader);
+    }
+
     // Read from stream
     try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Integer.MAX_VALUE);
          ByteArrayInputStream input = new ByteArrayInputStream(stream.toByteArray());
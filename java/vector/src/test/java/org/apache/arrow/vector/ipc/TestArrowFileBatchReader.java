@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.ipc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ArrowFileBatchReader} and {@link ArrowFileReader#scanRecordBatches}.
+ */
+public class TestArrowFileBatchReader {
+
+  private static final int NUM_BATCHES = 64;
+  private static final int BATCH_SIZE = 1000;
+
+  private BufferAllocator allocator;
+  private File file;
+
+  @Before
+  public void init() throws IOException {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+    file = File.createTempFile("arrow-batch-reader", ".arrow");
+    file.deleteOnExit();
+
+    Schema schema = new Schema(Collections.singletonList(Field.nullable("ints", new ArrowType.Int(32, true))));
+    try (VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator);
+         FileOutputStream out = new FileOutputStream(file);
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, out.getChannel())) {
+      writer.start();
+      IntVector ints = (IntVector) root.getVector("ints");
+      for (int batch = 0; batch < NUM_BATCHES; batch++) {
+        ints.allocateNew(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          ints.set(i, batch * BATCH_SIZE + i);
+        }
+        root.setRowCount(BATCH_SIZE);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+  }
+
+  @After
+  public void terminate() {
+    allocator.close();
+    file.delete();
+  }
+
+  private static void validateBatch(int batch, VectorSchemaRoot root) {
+    assertEquals(BATCH_SIZE, root.getRowCount());
+    IntVector ints = (IntVector) root.getVector("ints");
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      assertEquals(batch * BATCH_SIZE + i, ints.get(i));
+    }
+  }
+
+  @Test
+  public void testConcurrentBatchReaders() throws Exception {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         ArrowFileReader fileReader = new ArrowFileReader(channel, allocator)) {
+      List<ArrowBlock> blocks = fileReader.getRecordBlocks();
+      assertEquals(NUM_BATCHES, blocks.size());
+
+      final int numThreads = 4;
+      final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+      Thread[] threads = new Thread[numThreads];
+      for (int t = 0; t < numThreads; t++) {
+        final int offset = t;
+        threads[t] = new Thread(() -> {
+          try (ArrowFileBatchReader reader = fileReader.newBatchReader(allocator)) {
+            // each thread reads all the batches, starting at a different one
+            for (int i = 0; i < NUM_BATCHES; i++) {
+              int batch = (i + offset * NUM_BATCHES / numThreads) % NUM_BATCHES;
+              reader.loadRecordBatch(blocks.get(batch));
+              validateBatch(batch, reader.getVectorSchemaRoot());
+            }
+          } catch (Throwable e) {
+            failures.add(e);
+          }
+        });
+        threads[t].start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      assertEquals(Collections.emptyList(), failures);
+
+      // the batch readers leave the file reader alone
+      for (int batch = 0; batch < NUM_BATCHES; batch++) {
+        fileReader.loadNextBatch();
+        validateBatch(batch, fileReader.getVectorSchemaRoot());
+      }
+    }
+  }
+
+  private void scan(boolean memoryMapped) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         ArrowFileReader fileReader = new ArrowFileReader(channel, allocator, memoryMapped)) {
+      ForkJoinPool pool = new ForkJoinPool(4);
+      try {
+        AtomicIntegerArray seen = new AtomicIntegerArray(NUM_BATCHES);
+        fileReader.scanRecordBatches(pool, allocator, (index, root) -> {
+          validateBatch(index, root);
+          seen.incrementAndGet(index);
+        });
+        for (int i = 0; i < NUM_BATCHES; i++) {
+          assertEquals(1, seen.get(i));
+        }
+      } finally {
+        pool.shutdown();
+      }
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testScanRecordBatches() throws IOException {
+    scan(false);
+  }
+
+  @Test
+  public void testScanRecordBatchesMemoryMapped() throws IOException {
+    scan(true);
+  }
+
+  @Test
+  public void testScanFailure() throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         ArrowFileReader fileReader = new ArrowFileReader(channel, allocator)) {
+      fileReader.scanRecordBatches(ForkJoinPool.commonPool(), allocator, (index, root) -> {
+        if (index == NUM_BATCHES / 2) {
+          throw new IOException("failed at " + index);
+        }
+      });
+      fail("expected the scan to fail");
+    } catch (IOException e) {
+      assertNotNull(e.getMessage());
+      assertEquals("failed at " + NUM_BATCHES / 2, e.getMessage());
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRequiresFileChannel() throws IOException {
+    byte[] data = Files.readAllBytes(file.toPath());
+    try (ArrowFileReader fileReader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(data), allocator)) {
+      fileReader.newBatchReader(allocator);
+    }
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.ipc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link PrefetchingArrowReader}.
+ */
+public class TestPrefetchingArrowReader {
+
+  private static final int NUM_BATCHES = 10;
+  private static final int BATCH_SIZE = 1024;
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() {
+    allocator.close();
+  }
+
+  private byte[] writeData(boolean file) throws IOException {
+    DictionaryEncoding encoding = new DictionaryEncoding(1L, false, null);
+    Field intField = Field.nullable("ints", new ArrowType.Int(32, true));
+    Field encodedField = new Field("encoded", new FieldType(true, new ArrowType.Int(32, true), encoding), null);
+    Schema schema = new Schema(Arrays.asList(intField, encodedField));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (VarCharVector dictionaryVector = new VarCharVector("dict", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator)) {
+      dictionaryVector.allocateNew();
+      dictionaryVector.setSafe(0, "foo".getBytes(StandardCharsets.UTF_8));
+      dictionaryVector.setSafe(1, "bar".getBytes(StandardCharsets.UTF_8));
+      dictionaryVector.setValueCount(2);
+      DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+      provider.put(new Dictionary(dictionaryVector, encoding));
+
+      ArrowWriter writer = file ?
+          new ArrowFileWriter(root, provider, Channels.newChannel(out)) :
+          new ArrowStreamWriter(root, provider, out);
+      try {
+        writer.start();
+        IntVector ints = (IntVector) root.getVector("ints");
+        IntVector encoded = (IntVector) root.getVector("encoded");
+        for (int batch = 0; batch < NUM_BATCHES; batch++) {
+          ints.allocateNew(BATCH_SIZE);
+          encoded.allocateNew(BATCH_SIZE);
+          for (int i = 0; i < BATCH_SIZE; i++) {
+            ints.set(i, batch * BATCH_SIZE + i);
+            encoded.set(i, i % 2);
+          }
+          root.setRowCount(BATCH_SIZE);
+          writer.writeBatch();
+        }
+        writer.end();
+      } finally {
+        writer.close();
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private void validateData(ArrowReader reader) throws IOException {
+    VectorSchemaRoot root = reader.getVectorSchemaRoot();
+    for (int batch = 0; batch < NUM_BATCHES; batch++) {
+      assertTrue(reader.loadNextBatch());
+      assertEquals(BATCH_SIZE, root.getRowCount());
+      IntVector ints = (IntVector) root.getVector("ints");
+      IntVector encoded = (IntVector) root.getVector("encoded");
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        assertEquals(batch * BATCH_SIZE + i, ints.get(i));
+        assertEquals(i % 2, encoded.get(i));
+      }
+    }
+    assertFalse(reader.loadNextBatch());
+    assertFalse(reader.loadNextBatch());
+
+    Dictionary dictionary = reader.lookup(1L);
+    assertNotNull(dictionary);
+    VarCharVector dictionaryVector = (VarCharVector) dictionary.getVector();
+    assertEquals(2, dictionaryVector.getValueCount());
+    assertEquals("foo", new String(dictionaryVector.get(0), StandardCharsets.UTF_8));
+    assertEquals("bar", new String(dictionaryVector.get(1), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testReadStream() throws IOException {
+    byte[] data = writeData(false);
+    ArrowStreamReader source = new ArrowStreamReader(new ByteArrayInputStream(data), allocator);
+    try (PrefetchingArrowReader reader = new PrefetchingArrowReader(source, allocator, 4, Long.MAX_VALUE)) {
+      validateData(reader);
+      assertEquals(data.length, reader.bytesRead());
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testReadFile() throws IOException {
+    byte[] data = writeData(true);
+    ArrowFileReader source = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(data), allocator);
+    try (PrefetchingArrowReader reader = new PrefetchingArrowReader(source, allocator, 4, Long.MAX_VALUE)) {
+      validateData(reader);
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testMemoryBudget() throws Exception {
+    byte[] data = writeData(false);
+
+    // the memory held by a single loaded batch
+    final long batchMemory;
+    try (BufferAllocator child = allocator.newChildAllocator("child", 0, Long.MAX_VALUE);
+         ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(data), child)) {
+      reader.getVectorSchemaRoot();
+      reader.getDictionaryVectors().values().forEach(dictionary -> dictionary.getVector().close());
+      long dictionaryMemory = child.getAllocatedMemory();
+      assertTrue(reader.loadNextBatch());
+      assertTrue(reader.loadNextBatch());
+      batchMemory = child.getAllocatedMemory() - dictionaryMemory;
+    }
+
+    // without a budget, the reader fills up the queue
+    ArrowStreamReader unbounded = new ArrowStreamReader(new ByteArrayInputStream(data), allocator);
+    try (PrefetchingArrowReader reader = new PrefetchingArrowReader(unbounded, allocator, 8, Long.MAX_VALUE)) {
+      assertTrue(reader.loadNextBatch());
+      for (int i = 0; i < 200 && reader.getPrefetchAllocator().getAllocatedMemory() <= 2 * batchMemory; i++) {
+        Thread.sleep(10);
+      }
+      assertTrue(reader.getPrefetchAllocator().getAllocatedMemory() > 2 * batchMemory);
+    }
+
+    // with a budget smaller than a batch, the reader stays a single batch ahead
+    ArrowStreamReader bounded = new ArrowStreamReader(new ByteArrayInputStream(data), allocator);
+    try (PrefetchingArrowReader reader = new PrefetchingArrowReader(bounded, allocator, 8, 1)) {
+      for (int batch = 0; batch < NUM_BATCHES; batch++) {
+        assertTrue(reader.loadNextBatch());
+        Thread.sleep(20);
+        assertTrue(reader.getPrefetchAllocator().getAllocatedMemory() <= 2 * batchMemory);
+        assertEquals(batch * BATCH_SIZE, ((IntVector) reader.getVectorSchemaRoot().getVector("ints")).get(0));
+      }
+      assertFalse(reader.loadNextBatch());
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testCloseBeforeEnd() throws Exception {
+    byte[] data = writeData(false);
+    ArrowStreamReader source = new ArrowStreamReader(new ByteArrayInputStream(data), allocator);
+    try (PrefetchingArrowReader reader = new PrefetchingArrowReader(source, allocator, 2, Long.MAX_VALUE)) {
+      assertTrue(reader.loadNextBatch());
+      // let the background thread block on the full queue
+      Thread.sleep(50);
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testCloseKeepsChannelOpen() throws Exception {
+    byte[] data = writeData(true);
+    Path path = Files.createTempFile("prefetch", ".arrow");
+    try {
+      Files.write(path, data);
+      for (int i = 0; i < 20; i++) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+          ArrowFileReader source = new ArrowFileReader(channel, allocator);
+          PrefetchingArrowReader reader = new PrefetchingArrowReader(source, allocator, 1, Long.MAX_VALUE);
+          assertTrue(reader.loadNextBatch());
+          // close while the background thread may be reading from the channel
+          reader.close(false);
+          assertTrue(channel.isOpen());
+          source.close();
+        }
+      }
+    } finally {
+      Files.delete(path);
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testReadFailure() throws IOException {
+    byte[] data = writeData(false);
+    byte[] truncated = Arrays.copyOf(data, data.length - 1000);
+    ArrowStreamReader source = new ArrowStreamReader(new ByteArrayInputStream(truncated), allocator);
+    try (PrefetchingArrowReader reader = new PrefetchingArrowReader(source, allocator, 4, Long.MAX_VALUE)) {
+      int loaded = 0;
+      try {
+        while (reader.loadNextBatch()) {
+          loaded++;
+        }
+        fail("expected the truncated stream to fail");
+      } catch (IOException e) {
+        assertEquals(NUM_BATCHES - 1, loaded);
+      }
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testUnsupportedSource() throws Exception {
+    ArrowReader source = new ArrowReader(allocator) {
+      @Override
+      public boolean loadNextBatch() {
+        return false;
+      }
+
+      @Override
+      public long bytesRead() {
+        return 0;
+      }
+
+      @Override
+      protected void closeReadSource() {
+      }
+
+      @Override
+      protected Schema readSchema() {
+        return new Schema(Collections.<Field>emptyList());
+      }
+    };
+    try (PrefetchingArrowReader reader = new PrefetchingArrowReader(source, allocator, 4, Long.MAX_VALUE)) {
+      for (FieldVector vector : reader.getVectorSchemaRoot().getFieldVectors()) {
+        fail("unexpected vector " + vector);
+      }
+      reader.loadNextBatch();
+    } catch (IOException e) {
+      throw (Exception) e.getCause();
+    }
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.arrow.vector.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.DenseUnionVector;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.UnionVector;
+import org.apache.arrow.vector.holders.NullableBigIntHolder;
+import org.apache.arrow.vector.holders.NullableIntHolder;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link VectorSelector}.
+ */
+public class TestVectorSelector {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  /**
+   * Creates indices with runs, repeated and out-of-order values, and a null index.
+   */
+  private IntVector createIndices(int sourceCount) {
+    IntVector indices = new IntVector("indices", allocator);
+    ValueVectorDataPopulator.setVector(indices, 1, 2, 3, null, sourceCount - 1, 0, 0, 2, sourceCount - 2,
+        sourceCount - 1);
+    return indices;
+  }
+
+  private void verifyTake(ValueVector source) {
+    try (FieldVector target = source.getField().createVector(allocator)) {
+      verifyTake(source, target);
+    }
+  }
+
+  private void verifyTake(ValueVector source, ValueVector target) {
+    try (IntVector indices = createIndices(source.getValueCount())) {
+      VectorSelector.take(source, indices, target);
+
+      assertEquals(indices.getValueCount(), target.getValueCount());
+      for (int i = 0; i < indices.getValueCount(); i++) {
+        Object expected = indices.isNull(i) ? null : source.getObject(indices.get(i));
+        assertEquals(expected, target.getObject(i));
+      }
+    }
+  }
+
+  @Test
+  public void testTakeFixedWidthVector() {
+    try (IntVector source = new IntVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(source, 0, 1, 2, 3, 4, 5, 6, null, 8, 9, 10, 11, 12, null);
+      verifyTake(source);
+    }
+  }
+
+  @Test
+  public void testTakeBitVector() {
+    try (BitVector source = new BitVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(source, 1, 0, 1, null, 1, 1, 0, 0, 1, null);
+      verifyTake(source);
+    }
+  }
+
+  @Test
+  public void testTakeVariableWidthVector() {
+    try (VarCharVector source = new VarCharVector("", allocator);
+         LargeVarCharVector largeSource = new LargeVarCharVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(source, "a0", "a1", "", "a3", null, "a5", "a6", "a7", "abcdefghij", null);
+      ValueVectorDataPopulator.setVector(largeSource, "a0", null, "a22", "a3", null, "", "a6", "a7", "a8", "a9");
+      verifyTake(source);
+      verifyTake(largeSource);
+    }
+  }
+
+  @Test
+  public void testTakeListVector() {
+    try (ListVector source = ListVector.empty("source", allocator)) {
+      ValueVectorDataPopulator.setVector(source,
+          Arrays.asList(0, 1),
+          Arrays.asList(2, 3),
+          null,
+          Arrays.asList(),
+          Arrays.asList(8, 9, 10),
+          Arrays.asList(10));
+      verifyTake(source);
+    }
+  }
+
+  @Test
+  public void testTakeFixedSizeListVector() {
+    try (FixedSizeListVector source = FixedSizeListVector.empty("source", 2, allocator)) {
+      ValueVectorDataPopulator.setVector(source,
+          Arrays.asList(0, 1),
+          Arrays.asList(2, 3),
+          null,
+          Arrays.asList(6, 7),
+          Arrays.asList(8, 9));
+      verifyTake(source);
+    }
+  }
+
+  @Test
+  public void testTakeStructVector() {
+    try (StructVector source = StructVector.empty("source", allocator)) {
+      IntVector child1 = source.addOrGet("f0", FieldType.nullable(new ArrowType.Int(32, true)), IntVector.class);
+      VarCharVector child2 = source.addOrGet("f1", FieldType.nullable(new ArrowType.Utf8()), VarCharVector.class);
+      ValueVectorDataPopulator.setVector(child1, 0, 1, 2, 3, 4, null, 6, 7);
+      ValueVectorDataPopulator.setVector(child2, "a0", "a1", "a2", "a3", "a4", "a5", null, "a7");
+      for (int i = 0; i < 8; i++) {
+        if (i != 3) {
+          source.setIndexDefined(i);
+        }
+      }
+      source.setValueCount(8);
+      verifyTake(source);
+    }
+  }
+
+  @Test
+  public void testTakeUnionVector() {
+    final NullableIntHolder intHolder = new NullableIntHolder();
+    intHolder.isSet = 1;
+    final NullableBigIntHolder longHolder = new NullableBigIntHolder();
+    longHolder.isSet = 1;
+
+    try (UnionVector source = new UnionVector("source", allocator, null)) {
+      source.allocateNew();
+      for (int i = 0; i < 6; i++) {
+        if (i == 2) {
+          continue;
+        }
+        if (i % 2 == 0) {
+          intHolder.value = i;
+          source.setType(i, Types.MinorType.INT);
+          source.setSafe(i, intHolder);
+        } else {
+          longHolder.value = i * 10L;
+          source.setType(i, Types.MinorType.BIGINT);
+          source.setSafe(i, longHolder);
+        }
+      }
+      source.setValueCount(6);
+      verifyTake(source);
+    }
+  }
+
+  @Test
+  public void testTakeDenseUnionVector() {
+    final NullableIntHolder intHolder = new NullableIntHolder();
+    intHolder.isSet = 1;
+    final NullableBigIntHolder longHolder = new NullableBigIntHolder();
+    longHolder.isSet = 1;
+
+    final Field intField = Field.nullable("int", Types.MinorType.INT.getType());
+    final Field longField = Field.nullable("long", Types.MinorType.BIGINT.getType());
+
+    try (DenseUnionVector source = new DenseUnionVector("source", allocator, null, null);
+         DenseUnionVector target = new DenseUnionVector("target", allocator, null, null)) {
+      source.allocateNew();
+      byte intTypeId = source.registerNewTypeId(intField);
+      byte longTypeId = source.registerNewTypeId(longField);
+      target.registerNewTypeId(intField);
+      target.registerNewTypeId(longField);
+      for (int i = 0; i < 6; i++) {
+        if (i == 3) {
+          continue;
+        }
+        if (i % 2 == 0) {
+          source.setTypeId(i, intTypeId);
+          intHolder.value = i;
+          source.setSafe(i, intHolder);
+        } else {
+          source.setTypeId(i, longTypeId);
+          longHolder.value = i * 10L;
+          source.setSafe(i, longHolder);
+        }
+      }
+      source.setValueCount(6);
+      verifyTake(source, target);
+    }
+  }
+
+  @Test
+  public void testFilterVectorSchemaRoot() {
+    try (IntVector ints = new IntVector("ints", allocator);
+         VarCharVector strings = new VarCharVector("strings", allocator);
+         BitVector mask = new BitVector("mask", allocator)) {
+      ValueVectorDataPopulator.setVector(ints, 0, 1, null, 3, 4, 5);
+      ValueVectorDataPopulator.setVector(strings, "a0", "a1", "a2", null, "a4", "a5");
+      ValueVectorDataPopulator.setVector(mask, 1, 0, 1, 1, null, 1);
+
+      VectorSchemaRoot source = VectorSchemaRoot.of(ints, strings);
+      try (VectorSchemaRoot target = VectorSchemaRoot.create(source.getSchema(), allocator)) {
+        VectorSelector.filter(source, mask, target);
+
+        assertEquals(4, target.getRowCount());
+        IntVector filteredInts = (IntVector) target.getVector("ints");
+        VarCharVector filteredStrings = (VarCharVector) target.getVector("strings");
+        assertEquals(0, filteredInts.get(0));
+        assertTrue(filteredInts.isNull(1));
+        assertEquals(3, filteredInts.get(2));
+        assertEquals(5, filteredInts.get(3));
+        assertEquals("a0", filteredStrings.getObject(0).toString());
+        assertEquals("a2", filteredStrings.getObject(1).toString());
+        assertTrue(filteredStrings.isNull(2));
+        assertEquals("a5", filteredStrings.getObject(3).toString());
+      }
+    }
+  }
+
+  @Test
+  public void testGetSelectedIndices() {
+    try (BitVector mask = new BitVector("mask", allocator)) {
+      ValueVectorDataPopulator.setVector(mask, 0, 1, null, 1, 0);
+      try (IntVector indices = VectorSelector.getSelectedIndices(mask, allocator)) {
+        assertEquals(2, indices.getValueCount());
+        assertEquals(1, indices.get(0));
+        assertEquals(3, indices.get(1));
+        assertFalse(indices.isNull(1));
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    try (IntVector source = new IntVector("", allocator);
+         BigIntVector target = new BigIntVector("", allocator);
+         IntVector intTarget = new IntVector("", allocator);
+         IntVector indices = new IntVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(source, 0, 1, 2);
+      ValueVectorDataPopulator.setVector(indices, 0, 3);
+
+      assertThrows(IllegalArgumentException.class, () -> VectorSelector.take(source, indices, target));
+      assertThrows(IndexOutOfBoundsException.class, () -> VectorSelector.take(source, indices, intTarget));
+    }
+  }
+}